@@ -1,5 +1,6 @@
 package uk.gov.defra.plants.applicationform;
 
+import static uk.gov.defra.plants.applicationform.service.FormVersionMigrationJob.FORM_VERSION_MIGRATION_EXECUTOR;
 import static uk.gov.defra.plants.backend.adapter.BackendServiceAdapter.CASE_MANAGEMENT_ADAPTER_CONFIGURATION;
 import static uk.gov.defra.plants.backend.adapter.BackendServiceAdapter.CASE_MANAGEMENT_SERVICE_CLIENT;
 import static uk.gov.defra.plants.certificate.adapter.CertificateServiceAdapter.CERTIFICATE_ADAPTER_CONFIGURATION;
@@ -13,12 +14,15 @@ import io.dropwizard.client.JerseyClientBuilder;
 import io.dropwizard.jdbi3.JdbiFactory;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import java.util.concurrent.ExecutorService;
 import javax.inject.Singleton;
 import javax.ws.rs.client.Client;
 import lombok.extern.slf4j.Slf4j;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.process.internal.RequestScoped;
 import org.jdbi.v3.core.Jdbi;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalDAO;
 import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalRepository;
@@ -45,6 +49,7 @@ import uk.gov.defra.plants.applicationform.mapper.ResponseItemMapper;
 import uk.gov.defra.plants.applicationform.resource.ApplicationFormResource;
 import uk.gov.defra.plants.applicationform.resource.ApplicationResource;
 import uk.gov.defra.plants.applicationform.resource.ConsignmentResource;
+import uk.gov.defra.plants.applicationform.resource.FormVersionMigrationResource;
 import uk.gov.defra.plants.applicationform.resource.HealthCertificatePdfResource;
 import uk.gov.defra.plants.applicationform.resource.InspectionResource;
 import uk.gov.defra.plants.applicationform.resource.PackerDetailsResource;
@@ -55,15 +60,19 @@ import uk.gov.defra.plants.applicationform.service.AnswerToFieldMappingService;
 import uk.gov.defra.plants.applicationform.service.AnswerValidationService;
 import uk.gov.defra.plants.applicationform.service.ApplicationFormService;
 import uk.gov.defra.plants.applicationform.service.ApplicationService;
+import uk.gov.defra.plants.applicationform.service.BackgroundAuthorizationFilter;
 import uk.gov.defra.plants.applicationform.service.CommodityInfoService;
 import uk.gov.defra.plants.applicationform.service.CommodityService;
 import uk.gov.defra.plants.applicationform.service.ConsignmentService;
+import uk.gov.defra.plants.applicationform.service.FormVersionMigrationJob;
 import uk.gov.defra.plants.applicationform.service.FormVersionValidationService;
 import uk.gov.defra.plants.applicationform.service.HealthCertificatePdfService;
 import uk.gov.defra.plants.applicationform.service.InspectionService;
 import uk.gov.defra.plants.applicationform.service.ReforwardingDetailsService;
 import uk.gov.defra.plants.applicationform.service.PackerDetailsService;
+import uk.gov.defra.plants.applicationform.service.SampleReferenceAllocator;
 import uk.gov.defra.plants.applicationform.service.SampleReferenceService;
+import uk.gov.defra.plants.applicationform.service.cache.CaseStatusCache;
 import uk.gov.defra.plants.applicationform.service.commodity.CommodityHMIService;
 import uk.gov.defra.plants.applicationform.service.commodity.CommodityPlantProductsService;
 import uk.gov.defra.plants.applicationform.service.commodity.CommodityPlantsService;
@@ -71,6 +80,7 @@ import uk.gov.defra.plants.applicationform.service.commodity.CommodityPotatoesSe
 import uk.gov.defra.plants.applicationform.service.commodity.CommodityUsedFarmMachineryService;
 import uk.gov.defra.plants.applicationform.service.commodity.common.CommodityServiceFactory;
 import uk.gov.defra.plants.applicationform.service.helper.ApplicationFormAnswerMigrationService;
+import uk.gov.defra.plants.applicationform.service.helper.FormConfigurationLookup;
 import uk.gov.defra.plants.applicationform.service.helper.HealthCertificateStatusChecker;
 import uk.gov.defra.plants.applicationform.service.helper.MergedFormPageNormaliser;
 import uk.gov.defra.plants.applicationform.service.populators.AdditionalDeclarationPopulator;
@@ -164,7 +174,8 @@ public class ApplicationFormServiceApplication
     final Client formConfigurationServiceClient =
         new JerseyClientBuilder(environment)
             .using(configuration.getFormConfigurationServiceClient())
-            .build("form-configuration-service-client");
+            .build("form-configuration-service-client")
+            .register(new BackgroundAuthorizationFilter());
 
     final Client caseManagementServiceClient =
         new JerseyClientBuilder(environment)
@@ -176,6 +187,14 @@ public class ApplicationFormServiceApplication
             .using(configuration.getCertificateServiceClient())
             .build("certificate-service-client");
 
+    final ExecutorService formVersionMigrationExecutor =
+        environment
+            .lifecycle()
+            .executorService("form-version-migration-%d")
+            .minThreads(1)
+            .maxThreads(1)
+            .build();
+
     environment
         .jersey()
         .register(
@@ -298,9 +317,22 @@ public class ApplicationFormServiceApplication
                 bind(CommodityService.class).to(CommodityService.class);
                 bind(ConsignmentService.class).to(ConsignmentService.class);
                 bind(ReforwardingDetailsService.class).to(ReforwardingDetailsService.class);
+                bind(SampleReferenceAllocator.class)
+                    .to(SampleReferenceAllocator.class)
+                    .in(Singleton.class);
                 bind(SampleReferenceService.class).to(SampleReferenceService.class);
                 bind(AmendApplicationService.class).to(AmendApplicationService.class);
                 bind(ApplicationFormService.class).to(ApplicationFormService.class);
+                bind(CaseStatusCache.class).to(CaseStatusCache.class).in(Singleton.class);
+                bind(ApplicationFormOwnershipCache.class)
+                    .to(ApplicationFormOwnershipCache.class)
+                    .in(Singleton.class);
+                bind(formVersionMigrationExecutor)
+                    .to(ExecutorService.class)
+                    .named(FORM_VERSION_MIGRATION_EXECUTOR);
+                bind(FormVersionMigrationJob.class)
+                    .to(FormVersionMigrationJob.class)
+                    .in(Singleton.class);
                 bind(InspectionService.class).to(InspectionService.class);
                 bind(ApplicationService.class).to(ApplicationService.class);
 
@@ -309,6 +341,9 @@ public class ApplicationFormServiceApplication
 
                 bind(ResponseItemMapper.class).to(ResponseItemMapper.class);
                 bind(MergedFormPageNormaliser.class).to(MergedFormPageNormaliser.class);
+                bind(FormConfigurationLookup.class)
+                    .to(FormConfigurationLookup.class)
+                    .in(RequestScoped.class);
                 bind(ApplicationFormAnswerMigrationService.class)
                     .to(ApplicationFormAnswerMigrationService.class);
                 bind(UserPreferencesService.class).to(UserPreferencesService.class);
@@ -325,7 +360,8 @@ public class ApplicationFormServiceApplication
     environment.jersey().register(HealthCertificatePdfResource.class);
     environment.jersey().register(UserPreferencesResource.class);
     environment.jersey().register(PackerDetailsResource.class);
-    environment.jersey().register(new ResourceOwnerCheck(jdbi));
+    environment.jersey().register(FormVersionMigrationResource.class);
+    environment.jersey().register(ResourceOwnerCheck.class);
 
     environment.servlets()
         .addServlet("customHealthCheck-servlet", new CustomHealthCheckServlet(environment.healthChecks()))
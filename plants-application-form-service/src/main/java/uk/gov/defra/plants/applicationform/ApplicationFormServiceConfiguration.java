@@ -3,6 +3,7 @@ package uk.gov.defra.plants.applicationform;
 import io.dropwizard.client.JerseyClientConfiguration;
 import io.dropwizard.db.DataSourceFactory;
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
@@ -24,5 +25,13 @@ public class ApplicationFormServiceConfiguration extends BaseConfiguration {
   @Valid @NotNull private AdapterConfiguration certificateService;
   @Valid @NotNull private JerseyClientConfiguration certificateServiceClient;
 
+  @Min(1) private int sampleReferenceBlockSize;
+
+  @Valid @NotNull private FormVersionMigrationConfiguration formVersionMigration;
+
+  @Valid @NotNull private CaseStatusCacheConfiguration caseStatusCache;
+
+  @Valid @NotNull private ApplicationFormOwnershipCacheConfiguration applicationFormOwnershipCache;
+
   @Valid private boolean automatedTestsActive;
 }
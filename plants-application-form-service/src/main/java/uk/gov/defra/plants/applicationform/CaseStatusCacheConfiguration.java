@@ -0,0 +1,27 @@
+package uk.gov.defra.plants.applicationform;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.dropwizard.util.Duration;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.applicationform.CaseStatusCacheConfiguration.CaseStatusCacheConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = CaseStatusCacheConfigurationBuilder.class)
+public class CaseStatusCacheConfiguration {
+
+  @Min(0)
+  @Builder.Default
+  private final long maximumSize = 10_000;
+
+  @NotNull
+  @Builder.Default
+  private final Duration expiry = Duration.seconds(30);
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class CaseStatusCacheConfigurationBuilder {}
+}
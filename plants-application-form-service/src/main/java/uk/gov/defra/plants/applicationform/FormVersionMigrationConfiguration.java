@@ -0,0 +1,27 @@
+package uk.gov.defra.plants.applicationform;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.dropwizard.util.Duration;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.applicationform.FormVersionMigrationConfiguration.FormVersionMigrationConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = FormVersionMigrationConfigurationBuilder.class)
+public class FormVersionMigrationConfiguration {
+
+  @Min(1)
+  @Builder.Default
+  private final int batchSize = 50;
+
+  @NotNull
+  @Builder.Default
+  private final Duration pauseBetweenBatches = Duration.seconds(1);
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class FormVersionMigrationConfigurationBuilder {}
+}
@@ -10,11 +10,15 @@ import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.statement.GetGeneratedKeys;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import uk.gov.defra.plants.applicationform.dao.mapper.PersistentApplicationFormDataColumnMapper;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormDataTuple;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormSummaryDAOResponse;
+import uk.gov.defra.plants.applicationform.model.DashboardCursor;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
 import uk.gov.defra.plants.applicationform.representation.ConsignmentTransportDetails;
@@ -23,6 +27,8 @@ import uk.gov.defra.plants.applicationform.representation.ConsignmentTransportDe
 @RegisterConstructorMapper(ApplicationFormSummaryDAOResponse.class)
 @RegisterColumnMapper(PersistentApplicationFormDataColumnMapper.class)
 @RegisterConstructorMapper(ApplicationFormDataTuple.class)
+@RegisterConstructorMapper(ApplicationFormOwnership.class)
+@RegisterConstructorMapper(ApplicationFormSearchToken.class)
 public interface ApplicationFormDAO {
 
   String SELECT_QUERY_BASE =
@@ -74,48 +80,117 @@ public interface ApplicationFormDAO {
       + " af.inspectionContactEmail, "
       + " af.inspectionDate, ";
 
+  String CERTIFICATE_COUNT =
+      " certificateCount = (SELECT count(*) FROM consignment c WHERE c.applicationId = af.id) ";
+
   String SELECT_QUERY_DASHBOARD =
           SELECT_DASHBOARD_FIELDS +
           " overallCount = count(*) OVER(), "
-          + " certificateCount = (SELECT count(*) FROM consignment c WHERE c.applicationId = af.id) "
+          + CERTIFICATE_COUNT
           + " FROM"
           + " applicationForm af";
 
   String SELECT_QUERY_DASHBOARD_WITHOUT_COUNT =
+      SELECT_DASHBOARD_FIELDS
+          + CERTIFICATE_COUNT
+          + " FROM"
+          + " applicationForm af";
+
+  /*
+   * Later pages do not count the matching rows again: the first page's total travels in the
+   * cursor and is handed back on every page read after it.
+   */
+  String SELECT_QUERY_DASHBOARD_PAGE =
       SELECT_DASHBOARD_FIELDS +
-          " certificateCount = (SELECT count(*) FROM consignment c WHERE c.applicationId = af.id) "
+          " overallCount = :cursor.overallCount, "
+          + CERTIFICATE_COUNT
           + " FROM"
           + " applicationForm af";
 
-  String OR = "          OR ";
+  /*
+   * Filters through applicationFormSearchToken, see ApplicationFormSearchTokens: the id, reference
+   * and submitted date match on any substring, destination countries on any of a comma separated
+   * list. Forms saved before the table existed are tokenised by
+   * db/migration/applicationFormSearchToken.sql.
+   */
   String FILTER_SQL_FRAGMENT =
-      "(:filter IS NULL OR cast(af.id as varchar) LIKE '%' + :filter + '%')"
-          + OR
-          + "          (:filter IS NULL OR lower(af.reference) LIKE '%' + lower(:filter) + '%')"
-          + OR
-          + "          (:filter IS NULL OR lower(af.destinationCountry) IN (select value from STRING_SPLIT(lower(:filter),',')) )"
-          + OR
-          + "          (:filter IS NULL OR convert(varchar, submitted, 105) LIKE '%' + :filter + '%')";
+      "(:filter IS NULL OR af.id IN ("
+          + " SELECT st.applicationId FROM applicationFormSearchToken st"
+          + " WHERE (st.source IN ('ID', 'REFERENCE', 'SUBMITTED') AND st.token LIKE lower(:filter) + '%')"
+          + " OR (st.source = 'DESTINATION_COUNTRY'"
+          + "   AND st.token IN (SELECT value FROM STRING_SPLIT(lower(:filter), ',')))))";
 
   String STATUS_SQL_FRAGMENT =
       "(:selectedStatus IS NULL OR af.status = :selectedStatus)";
 
+  String DASHBOARD_ORDER = " ORDER BY af.status asc, af.submitted desc, af.created desc, af.id desc ";
+
+  String OFFSET_PAGE = " offset :offset rows fetch next :limit rows only ";
+
+  String FIRST_PAGE = " offset 0 rows fetch next :limit rows only ";
+
+  /**
+   * Every write to the data column bumps $.version and only applies if the row is still at the
+   * version the form was read at, so a write based on a stale read changes no rows.
+   */
+  String DATA_VERSION = "ISNULL(CAST(JSON_VALUE(data, '$.version') AS INT), 0)";
+
+  String NEXT_DATA_VERSION = DATA_VERSION + " + 1";
+
+  /*
+   * Seek predicate for rows after the cursor in DASHBOARD_ORDER. SQL Server sorts nulls last
+   * when descending, so unsubmitted forms follow every submitted form of the same status.
+   */
+  String AFTER_CURSOR_SQL_FRAGMENT =
+      "(af.status > :cursor.status"
+          + " OR (af.status = :cursor.status AND ("
+          + "   (:cursor.submitted IS NOT NULL AND (af.submitted < :cursor.submitted OR af.submitted IS NULL))"
+          + "   OR ((af.submitted = :cursor.submitted OR (af.submitted IS NULL AND :cursor.submitted IS NULL))"
+          + "     AND (af.created < :cursor.created"
+          + "       OR (af.created = :cursor.created AND af.id < :cursor.id))))))";
+
+  String APPLICANT_SCOPE = " af.applicant = :applicant ";
+
+  String AGENT_AND_COLLEAGUES_SCOPE =
+      " af.applicant IN (<applicants>) "
+          + " AND af.exporterOrganisation = :exporterOrganisation "
+          + " AND af.agencyOrganisation = :agencyOrganisation "
+          + " AND af.intermediary = 'true' ";
+
+  String EXPORTER_AND_DOA_AGENCIES_SCOPE =
+      " af.exporterOrganisation = :exporterOrganisation "
+          + " AND ((af.agencyOrganisation is NOT NULL OR (af.agencyOrganisation IS NULL AND af.intermediary = 'true')) "
+          + " OR af.applicant = :applicant) ";
+
+  String EXPORTER_NO_AGENT_SCOPE =
+      " af.exporterOrganisation = :exporterOrganisation "
+          + " AND af.agencyOrganisation IS NULL "
+          + " AND af.intermediary = 'false' ";
+
+  String INDIVIDUAL_AGENT_SCOPE =
+      " af.exporterOrganisation = :exporterOrganisation "
+          + " AND af.agencyOrganisation IS NULL "
+          + " AND af.intermediary = 'true' "
+          + " AND af.applicant IN (<applicants>) ";
+
+  String FILTERED_BY_STATUS = " AND (" + FILTER_SQL_FRAGMENT + ") AND " + STATUS_SQL_FRAGMENT;
+
   @SqlQuery(SELECT_QUERY_BASE + " WHERE " + " af.id = :id")
   @SingleValue
   PersistentApplicationForm getApplicationFormById(@Bind("id") Long id);
 
+  @SqlQuery(
+      "SELECT id, applicant, exporterOrganisation, status FROM applicationForm WHERE id = :id")
+  @SingleValue
+  ApplicationFormOwnership getApplicationFormOwnership(@Bind("id") Long id);
+
   @SqlQuery(
       SELECT_QUERY_DASHBOARD
           + " WHERE "
-          + " af.applicant = :applicant "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
-          + " AND "
-          + STATUS_SQL_FRAGMENT
-          + " ORDER BY af.status asc, af.submitted desc, af.created desc "
-          + " offset :offset rows "
-          + " fetch next :limit rows only ")
+          + APPLICANT_SCOPE
+          + FILTERED_BY_STATUS
+          + DASHBOARD_ORDER
+          + OFFSET_PAGE)
   List<ApplicationFormSummaryDAOResponse> getApplicationFormsByApplicant(
       @Bind("applicant") UUID applicant,
       @Bind("filter") String filter,
@@ -124,20 +199,28 @@ public interface ApplicationFormDAO {
       @Bind("limit") int limit);
 
   @SqlQuery(
-      SELECT_QUERY_DASHBOARD
+      SELECT_QUERY_DASHBOARD_PAGE
           + " WHERE "
-          + " af.applicant IN (<applicants>) "
-          + " AND af.exporterOrganisation = :exporterOrganisation "
-          + " AND af.agencyOrganisation = :agencyOrganisation "
-          + " AND af.intermediary = 'true' "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
+          + APPLICANT_SCOPE
+          + FILTERED_BY_STATUS
           + " AND "
-          + STATUS_SQL_FRAGMENT
-          + " ORDER BY af.status asc, af.submitted desc, af.created desc "
-          + " offset :offset rows "
-          + " fetch next :limit rows only ")
+          + AFTER_CURSOR_SQL_FRAGMENT
+          + DASHBOARD_ORDER
+          + FIRST_PAGE)
+  List<ApplicationFormSummaryDAOResponse> getApplicationFormsByApplicantAfter(
+      @Bind("applicant") UUID applicant,
+      @Bind("filter") String filter,
+      @Bind("selectedStatus") ApplicationFormStatus selectedStatus,
+      @BindBean("cursor") DashboardCursor cursor,
+      @Bind("limit") int limit);
+
+  @SqlQuery(
+      SELECT_QUERY_DASHBOARD
+          + " WHERE "
+          + AGENT_AND_COLLEAGUES_SCOPE
+          + FILTERED_BY_STATUS
+          + DASHBOARD_ORDER
+          + OFFSET_PAGE)
   List<ApplicationFormSummaryDAOResponse> getApplicationFormsForAgentAndColleagues(
       @BindList("applicants") List<UUID> applicants,
       @Bind("exporterOrganisation") UUID exporterOrganisation,
@@ -147,35 +230,40 @@ public interface ApplicationFormDAO {
       @Bind("offset") int offset,
       @Bind("limit") int limit);
 
+  @SqlQuery(
+      SELECT_QUERY_DASHBOARD_PAGE
+          + " WHERE "
+          + AGENT_AND_COLLEAGUES_SCOPE
+          + FILTERED_BY_STATUS
+          + " AND "
+          + AFTER_CURSOR_SQL_FRAGMENT
+          + DASHBOARD_ORDER
+          + FIRST_PAGE)
+  List<ApplicationFormSummaryDAOResponse> getApplicationFormsForAgentAndColleaguesAfter(
+      @BindList("applicants") List<UUID> applicants,
+      @Bind("exporterOrganisation") UUID exporterOrganisation,
+      @Bind("agencyOrganisation") UUID agencyOrganisation,
+      @Bind("filter") String filter,
+      @Bind("selectedStatus") ApplicationFormStatus selectedStatus,
+      @BindBean("cursor") DashboardCursor cursor,
+      @Bind("limit") int limit);
+
   @SqlQuery(
       SELECT_DASHBOARD_FIELDS +
-          " certificateCount = (SELECT count(*) FROM consignment c WHERE c.applicationId = af.id), "
+          " af.certificateCount, "
           + " overallCount = count(*) OVER() FROM ( " +
       SELECT_QUERY_DASHBOARD_WITHOUT_COUNT
           + " WHERE "
-          + " af.applicant IN (<applicants>) "
-          + " AND af.exporterOrganisation = :exporterOrganisation "
-          + " AND af.agencyOrganisation = :agencyOrganisation "
-          + " AND af.intermediary = 'true' "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
-          + " AND "
-          + STATUS_SQL_FRAGMENT
+          + AGENT_AND_COLLEAGUES_SCOPE
+          + FILTERED_BY_STATUS
           + " UNION "
       + SELECT_QUERY_DASHBOARD_WITHOUT_COUNT
-          + " WHERE af.exporterOrganisation = :exporterOrganisation "
-          + " AND af.agencyOrganisation IS NULL "
-          + " AND af.intermediary = 'false' "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
-          + " AND "
-          + STATUS_SQL_FRAGMENT +
-          " ) as af " +
-          " ORDER BY af.status asc, af.submitted desc, af.created desc "
-          + " offset :offset rows "
-          + " fetch next :limit rows only ")
+          + " WHERE "
+          + EXPORTER_NO_AGENT_SCOPE
+          + FILTERED_BY_STATUS +
+          " ) as af "
+          + DASHBOARD_ORDER
+          + OFFSET_PAGE)
   List<ApplicationFormSummaryDAOResponse> getApplicationFormsForExporterAndAgent(
       @BindList("applicants") List<UUID> applicants,
       @Bind("exporterOrganisation") UUID exporterOrganisation,
@@ -185,19 +273,38 @@ public interface ApplicationFormDAO {
       @Bind("offset") int offset,
       @Bind("limit") int limit);
 
+  /*
+   * The two halves of the UNION above select disjoint rows (intermediary true / false), so the
+   * seek variant reads them with a single OR and can walk the dashboard index directly.
+   */
   @SqlQuery(
-      SELECT_QUERY_DASHBOARD
-          + " WHERE af.exporterOrganisation = :exporterOrganisation "
-          + " AND ((af.agencyOrganisation is NOT NULL OR (af.agencyOrganisation IS NULL AND af.intermediary = 'true')) "
-          + " OR af.applicant = :applicant) "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
+      SELECT_QUERY_DASHBOARD_PAGE
+          + " WHERE (("
+          + AGENT_AND_COLLEAGUES_SCOPE
+          + ") OR ("
+          + EXPORTER_NO_AGENT_SCOPE
+          + ")) "
+          + FILTERED_BY_STATUS
           + " AND "
-          + STATUS_SQL_FRAGMENT
-          + " ORDER BY af.status asc, af.submitted desc, af.created desc "
-          + " offset :offset rows "
-          + " fetch next :limit rows only ")
+          + AFTER_CURSOR_SQL_FRAGMENT
+          + DASHBOARD_ORDER
+          + FIRST_PAGE)
+  List<ApplicationFormSummaryDAOResponse> getApplicationFormsForExporterAndAgentAfter(
+      @BindList("applicants") List<UUID> applicants,
+      @Bind("exporterOrganisation") UUID exporterOrganisation,
+      @Bind("agencyOrganisation") UUID agencyOrganisation,
+      @Bind("filter") String filter,
+      @Bind("selectedStatus") ApplicationFormStatus selectedStatus,
+      @BindBean("cursor") DashboardCursor cursor,
+      @Bind("limit") int limit);
+
+  @SqlQuery(
+      SELECT_QUERY_DASHBOARD
+          + " WHERE "
+          + EXPORTER_AND_DOA_AGENCIES_SCOPE
+          + FILTERED_BY_STATUS
+          + DASHBOARD_ORDER
+          + OFFSET_PAGE)
   List<ApplicationFormSummaryDAOResponse> getApplicationFormsForExporterAndDOAAgencies(
       @Bind("applicant") UUID applicant,
       @Bind("exporterOrganisation") UUID exporterOrganisation,
@@ -206,20 +313,31 @@ public interface ApplicationFormDAO {
       @Bind("offset") int offset,
       @Bind("limit") int limit);
 
+  @SqlQuery(
+      SELECT_QUERY_DASHBOARD_PAGE
+          + " WHERE "
+          + EXPORTER_AND_DOA_AGENCIES_SCOPE
+          + FILTERED_BY_STATUS
+          + " AND "
+          + AFTER_CURSOR_SQL_FRAGMENT
+          + DASHBOARD_ORDER
+          + FIRST_PAGE)
+  List<ApplicationFormSummaryDAOResponse> getApplicationFormsForExporterAndDOAAgenciesAfter(
+      @Bind("applicant") UUID applicant,
+      @Bind("exporterOrganisation") UUID exporterOrganisation,
+      @Bind("filter") String filter,
+      @Bind("selectedStatus") ApplicationFormStatus selectedStatus,
+      @BindBean("cursor") DashboardCursor cursor,
+      @Bind("limit") int limit);
+
   @SqlQuery(
       SELECT_QUERY_DASHBOARD
-          + " WHERE af.exporterOrganisation = :exporterOrganisation "
-          + " AND af.agencyOrganisation IS NULL "
-          + " AND af.intermediary = 'false' "
+          + " WHERE "
+          + EXPORTER_NO_AGENT_SCOPE
           + " AND af.applicant IN (<applicants>) "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
-          + " AND "
-          + STATUS_SQL_FRAGMENT
-          + " ORDER BY af.status asc, af.submitted desc, af.created desc "
-          + " offset :offset rows "
-          + " fetch next :limit rows only ")
+          + FILTERED_BY_STATUS
+          + DASHBOARD_ORDER
+          + OFFSET_PAGE)
   List<ApplicationFormSummaryDAOResponse> getApplicationFormsForExporterNoAgent(
       @BindList("applicants") List<UUID> applicants,
       @Bind("exporterOrganisation") UUID exporterOrganisation,
@@ -228,34 +346,40 @@ public interface ApplicationFormDAO {
       @Bind("offset") int offset,
       @Bind("limit") int limit);
 
+  @SqlQuery(
+      SELECT_QUERY_DASHBOARD_PAGE
+          + " WHERE "
+          + EXPORTER_NO_AGENT_SCOPE
+          + " AND af.applicant IN (<applicants>) "
+          + FILTERED_BY_STATUS
+          + " AND "
+          + AFTER_CURSOR_SQL_FRAGMENT
+          + DASHBOARD_ORDER
+          + FIRST_PAGE)
+  List<ApplicationFormSummaryDAOResponse> getApplicationFormsForExporterNoAgentAfter(
+      @BindList("applicants") List<UUID> applicants,
+      @Bind("exporterOrganisation") UUID exporterOrganisation,
+      @Bind("filter") String filter,
+      @Bind("selectedStatus") ApplicationFormStatus selectedStatus,
+      @BindBean("cursor") DashboardCursor cursor,
+      @Bind("limit") int limit);
+
   @SqlQuery(
       SELECT_DASHBOARD_FIELDS +
-          " certificateCount = (SELECT count(*) FROM consignment c WHERE c.applicationId = af.id), "
+          " af.certificateCount, "
           + " overallCount = count(*) OVER() FROM ( " +
       SELECT_QUERY_DASHBOARD_WITHOUT_COUNT
-          + " WHERE af.exporterOrganisation = :exporterOrganisation "
-          + " AND af.agencyOrganisation IS NULL "
-          + " AND af.intermediary = 'true' "
-          + " AND af.applicant IN (<applicants>) "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
-          + " AND "
-          + STATUS_SQL_FRAGMENT
+          + " WHERE "
+          + INDIVIDUAL_AGENT_SCOPE
+          + FILTERED_BY_STATUS
           + " union "
       + SELECT_QUERY_DASHBOARD_WITHOUT_COUNT
-          + " WHERE af.exporterOrganisation = :exporterOrganisation "
-          + " AND af.agencyOrganisation IS NULL "
-          + " AND af.intermediary = 'false' "
-          + " AND ("
-          + FILTER_SQL_FRAGMENT
-          + ") "
-          + " AND "
-          + STATUS_SQL_FRAGMENT +
-          " ) as af " +
-          " ORDER BY af.status asc, af.submitted desc, af.created desc "
-          + " offset :offset rows "
-          + " fetch next :limit rows only ")
+          + " WHERE "
+          + EXPORTER_NO_AGENT_SCOPE
+          + FILTERED_BY_STATUS +
+          " ) as af "
+          + DASHBOARD_ORDER
+          + OFFSET_PAGE)
   List<ApplicationFormSummaryDAOResponse> getApplicationFormsForIndividualAgent(
       @BindList("applicants") List<UUID> applicants,
       @Bind("exporterOrganisation") UUID exporterOrganisation,
@@ -264,6 +388,26 @@ public interface ApplicationFormDAO {
       @Bind("offset") int offset,
       @Bind("limit") int limit);
 
+  @SqlQuery(
+      SELECT_QUERY_DASHBOARD_PAGE
+          + " WHERE (("
+          + INDIVIDUAL_AGENT_SCOPE
+          + ") OR ("
+          + EXPORTER_NO_AGENT_SCOPE
+          + ")) "
+          + FILTERED_BY_STATUS
+          + " AND "
+          + AFTER_CURSOR_SQL_FRAGMENT
+          + DASHBOARD_ORDER
+          + FIRST_PAGE)
+  List<ApplicationFormSummaryDAOResponse> getApplicationFormsForIndividualAgentAfter(
+      @BindList("applicants") List<UUID> applicants,
+      @Bind("exporterOrganisation") UUID exporterOrganisation,
+      @Bind("filter") String filter,
+      @Bind("selectedStatus") ApplicationFormStatus selectedStatus,
+      @BindBean("cursor") DashboardCursor cursor,
+      @Bind("limit") int limit);
+
   @SqlQuery(
       "SELECT COUNT(*)"
           + " FROM"
@@ -291,7 +435,9 @@ public interface ApplicationFormDAO {
       "UPDATE"
           + " applicationForm"
           + " SET"
-          + " data = :data, "
+          + " data = JSON_MODIFY(:data, '$.version', "
+          + NEXT_DATA_VERSION
+          + "), "
           + " status = :status, "
           + " lastUpdated = GETUTCDATE(), "
           + " submitted = :submitted,"
@@ -300,9 +446,46 @@ public interface ApplicationFormDAO {
           + " reference = :reference, "
           + " dateNeeded = :dateNeeded "
           + " WHERE"
-          + " id = :id ")
+          + " id = :id "
+          + " AND "
+          + DATA_VERSION
+          + " = ISNULL(CAST(JSON_VALUE(:data, '$.version') AS INT), 0)")
   Integer updateApplicationForm(@BindBean PersistentApplicationForm persistentApplicationForm);
 
+  @SqlUpdate(
+      "UPDATE applicationForm"
+          + " SET data = JSON_MODIFY("
+          + "  JSON_MODIFY(data, '$.responseItems', JSON_QUERY(:responseItems)),"
+          + "  '$.version', "
+          + NEXT_DATA_VERSION
+          + "),"
+          + " lastUpdated = GETUTCDATE()"
+          + " WHERE id = :id"
+          + " AND "
+          + DATA_VERSION
+          + " = ISNULL(:version, 0)")
+  Integer updateResponseItems(
+      @Bind("id") Long id,
+      @Bind("responseItems") String responseItems,
+      @Bind("version") Integer version);
+
+  @SqlUpdate(
+      "UPDATE applicationForm"
+          + " SET data = JSON_MODIFY("
+          + "  JSON_MODIFY(data, '$.supplementaryDocuments', JSON_QUERY(:supplementaryDocuments)),"
+          + "  '$.version', "
+          + NEXT_DATA_VERSION
+          + "),"
+          + " lastUpdated = GETUTCDATE()"
+          + " WHERE id = :id"
+          + " AND "
+          + DATA_VERSION
+          + " = ISNULL(:version, 0)")
+  Integer updateSupplementaryDocuments(
+      @Bind("id") Long id,
+      @Bind("supplementaryDocuments") String supplementaryDocuments,
+      @Bind("version") Integer version);
+
   @SqlUpdate(
       "UPDATE"
           + " applicationForm"
@@ -315,6 +498,27 @@ public interface ApplicationFormDAO {
   @SqlUpdate("DELETE FROM applicationForm WHERE id=:id")
   Integer delete(@Bind("id") Long id);
 
+  @SqlQuery(
+      "SELECT applicationId, source, token FROM applicationFormSearchToken"
+          + " WHERE applicationId = :applicationId"
+          + " AND source IN (<sources>)")
+  List<ApplicationFormSearchToken> getSearchTokens(
+      @Bind("applicationId") Long applicationId,
+      @BindList("sources") List<ApplicationFormSearchToken.Source> sources);
+
+  @SqlUpdate(
+      "DELETE FROM applicationFormSearchToken"
+          + " WHERE applicationId = :applicationId"
+          + " AND source IN (<sources>)")
+  void deleteSearchTokens(
+      @Bind("applicationId") Long applicationId,
+      @BindList("sources") List<ApplicationFormSearchToken.Source> sources);
+
+  @SqlBatch(
+      "INSERT INTO applicationFormSearchToken (applicationId, source, token)"
+          + " VALUES (:applicationId, :source, :token)")
+  int[] insertSearchTokens(@BindBean List<ApplicationFormSearchToken> searchTokens);
+
   @SqlQuery(
       "SELECT JSON_VALUE(data, '$.ehc.name') as ehcName "
           + "FROM applicationForm af "
@@ -332,6 +536,26 @@ public interface ApplicationFormDAO {
   Integer updateDestinationCountry(@Bind("id") Long id,
       @Bind("destinationCountryCode") String destinationCountryCode);
 
+  @SqlQuery(
+      "SELECT DISTINCT ehcNumber FROM applicationForm"
+          + " WHERE status = :status AND ehcNumber IS NOT NULL")
+  List<String> getEhcNumbersWithStatus(@Bind("status") ApplicationFormStatus status);
+
+  @SqlQuery(
+      "SELECT id FROM applicationForm"
+          + " WHERE status = :status"
+          + " AND ehcNumber = :ehcNumber"
+          + " AND JSON_VALUE(data, '$.ehc.version') <> :ehcVersion"
+          + " AND id > :afterId"
+          + " ORDER BY id"
+          + FIRST_PAGE)
+  List<Long> getIdsNotOnEhcVersion(
+      @Bind("status") ApplicationFormStatus status,
+      @Bind("ehcNumber") String ehcNumber,
+      @Bind("ehcVersion") String ehcVersion,
+      @Bind("afterId") Long afterId,
+      @Bind("limit") int limit);
+
   @SqlQuery("SELECT ehcNumber, max(created) as created"
       + "       FROM applicationForm "
       + "       WHERE applicant = :userId"
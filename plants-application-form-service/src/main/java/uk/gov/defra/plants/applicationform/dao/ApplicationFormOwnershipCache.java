@@ -0,0 +1,65 @@
+package uk.gov.defra.plants.applicationform.dao;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import lombok.NonNull;
+import org.jdbi.v3.core.Jdbi;
+import uk.gov.defra.plants.applicationform.ApplicationFormOwnershipCacheConfiguration;
+import uk.gov.defra.plants.applicationform.ApplicationFormServiceConfiguration;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
+import uk.gov.defra.plants.common.jdbi.DbHelper;
+
+/**
+ * Who owns each application form and its status, read without the form data for request
+ * authorisation. The services that submit, cancel or delete a form drop its entry once their
+ * transaction has committed, as a reader could otherwise cache the row as it was before the commit.
+ * Changes made through other instances are seen here when the entry expires. Forms that do not
+ * exist are not cached.
+ */
+public class ApplicationFormOwnershipCache {
+
+  private final Jdbi jdbi;
+  private final Cache<Long, ApplicationFormOwnership> ownerships;
+
+  @Inject
+  public ApplicationFormOwnershipCache(
+      final Jdbi jdbi, final ApplicationFormServiceConfiguration configuration) {
+    this(jdbi, configuration.getApplicationFormOwnershipCache());
+  }
+
+  public ApplicationFormOwnershipCache(
+      final Jdbi jdbi, final ApplicationFormOwnershipCacheConfiguration configuration) {
+    this.jdbi = jdbi;
+    this.ownerships =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(configuration.getExpiry().toMilliseconds(), TimeUnit.MILLISECONDS)
+            .maximumSize(configuration.getMaximumSize())
+            .build();
+  }
+
+  public Optional<ApplicationFormOwnership> get(@NonNull final Long id) {
+    final ApplicationFormOwnership cached = ownerships.getIfPresent(id);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    final ApplicationFormDAO dao = jdbi.onDemand(ApplicationFormDAO.class);
+    final ApplicationFormOwnership ownership =
+        DbHelper.doSqlQuery(
+            () -> dao.getApplicationFormOwnership(id),
+            () -> "fetch owner of applicationFormId=" + id);
+    if (ownership != null) {
+      ownerships.put(id, ownership);
+    }
+    return Optional.ofNullable(ownership);
+  }
+
+  public void invalidate(final Long id) {
+    if (id != null) {
+      ownerships.invalidate(id);
+    }
+  }
+}
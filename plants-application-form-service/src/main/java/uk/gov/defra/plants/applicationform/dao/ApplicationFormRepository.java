@@ -1,16 +1,31 @@
 package uk.gov.defra.plants.applicationform.dao;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static javax.ws.rs.core.Response.Status.CONFLICT;
+import static uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus.DRAFT;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.NotFoundException;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken.Source;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormItem;
 import uk.gov.defra.plants.applicationform.representation.ConsignmentTransportDetails;
 import uk.gov.defra.plants.common.jdbi.DbHelper;
+import uk.gov.defra.plants.common.json.ItemsMapper;
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.CustomQuestions;
 
 @Slf4j
@@ -20,10 +35,73 @@ public class ApplicationFormRepository {
 
   public void update(
       final ApplicationFormDAO dao, @NonNull final PersistentApplicationForm applicationForm) {
-    DbHelper.doSqlUpdate(
-        () -> dao.updateApplicationForm(extractResponseItemsToColumns(applicationForm)),
-        () -> "update application form id=" + applicationForm.getId(),
-        DbHelper.ZERO_ROWS_THROWS_NOT_FOUND_EXCEPTION);
+    final PersistentApplicationForm extracted = extractResponseItemsToColumns(applicationForm);
+    try {
+      DbHelper.doSqlUpdate(
+          () -> dao.updateApplicationForm(extracted),
+          () -> "update application form id=" + applicationForm.getId(),
+          DbHelper.ZERO_ROWS_THROWS_NOT_FOUND_EXCEPTION);
+    } catch (NotFoundException e) {
+      throw conflictIfStillExists(dao, applicationForm.getId(), e);
+    }
+    replaceChangedSearchTokens(dao, extracted);
+  }
+
+  /**
+   * Writes the form's response items without rewriting the rest of the form data. Like a full
+   * update, it is refused if the form has been written since it was read, and an answer to the
+   * applicant reference question is kept in its column.
+   */
+  public void updateResponseItems(
+      final ApplicationFormDAO dao, @NonNull final PersistentApplicationForm applicationForm) {
+    final PersistentApplicationForm extracted = extractResponseItemsToColumns(applicationForm);
+    try {
+      DbHelper.doSqlUpdate(
+          () ->
+              dao.updateResponseItems(
+                  extracted.getId(),
+                  ItemsMapper.toJson(extracted.getData().getResponseItems()),
+                  extracted.getData().getVersion()),
+          () -> "update response items of application form id=" + extracted.getId(),
+          DbHelper.ZERO_ROWS_THROWS_NOT_FOUND_EXCEPTION);
+    } catch (NotFoundException e) {
+      throw conflictIfStillExists(dao, extracted.getId(), e);
+    }
+
+    if (!Objects.equals(extracted.getReference(), applicationForm.getReference())) {
+      updateApplicationReference(dao, extracted.getId(), extracted.getReference());
+    }
+  }
+
+  /**
+   * Writes the form's supplementary documents without rewriting the rest of the form data, refused
+   * like a full update if the form has been written since it was read.
+   */
+  public void updateSupplementaryDocuments(
+      final ApplicationFormDAO dao, @NonNull final PersistentApplicationForm applicationForm) {
+    try {
+      DbHelper.doSqlUpdate(
+          () ->
+              dao.updateSupplementaryDocuments(
+                  applicationForm.getId(),
+                  ItemsMapper.toJson(applicationForm.getData().getSupplementaryDocuments()),
+                  applicationForm.getData().getVersion()),
+          () -> "update supplementary documents of application form id=" + applicationForm.getId(),
+          DbHelper.ZERO_ROWS_THROWS_NOT_FOUND_EXCEPTION);
+    } catch (NotFoundException e) {
+      throw conflictIfStillExists(dao, applicationForm.getId(), e);
+    }
+  }
+
+  // a versioned write that changes no rows either lost a race with another write or has no form
+  private RuntimeException conflictIfStillExists(
+      final ApplicationFormDAO dao, final Long id, final NotFoundException notFound) {
+    if (dao.getApplicationFormOwnership(id) != null) {
+      return new ClientErrorException(
+          "application form id=" + id + " was changed by another request since it was read",
+          CONFLICT);
+    }
+    return notFound;
   }
 
   public void updateApplicationReference(
@@ -32,14 +110,27 @@ public class ApplicationFormRepository {
         () -> dao.updateApplicationReference(id, applicationReference),
         () -> String.format("update application id=%d, reference=%s", id, applicationReference),
         DbHelper.ZERO_ROWS_THROWS_NOT_FOUND_EXCEPTION);
+    replaceSearchTokens(
+        dao,
+        id,
+        List.of(Source.REFERENCE),
+        ApplicationFormSearchTokens.forReference(id, applicationReference));
   }
 
   public Long insertApplicationForm(
       final ApplicationFormDAO dao, final PersistentApplicationForm paf) {
 
-    return DbHelper.doSqlInsert(
-        () -> dao.insertApplicationForm(extractResponseItemsToColumns(paf)),
-        () -> "created application form id=" + paf.getId());
+    final PersistentApplicationForm extracted = extractResponseItemsToColumns(paf);
+    final Long id =
+        DbHelper.doSqlInsert(
+            () -> dao.insertApplicationForm(extracted),
+            () -> "created application form id=" + paf.getId());
+    replaceSearchTokens(
+        dao,
+        id,
+        List.of(Source.values()),
+        ApplicationFormSearchTokens.forApplicationForm(extracted.toBuilder().id(id).build()));
+    return id;
   }
 
   public void deleteApplicationForm(final ApplicationFormDAO dao, final Long id) {
@@ -75,6 +166,62 @@ public class ApplicationFormRepository {
         () -> dao.updateDestinationCountry(id, countryCode),
         () -> String.format("update application form id=%d, countryCode=%s", id, countryCode),
         DbHelper.ZERO_ROWS_THROWS_NOT_FOUND_EXCEPTION);
+    replaceSearchTokens(
+        dao,
+        id,
+        List.of(Source.DESTINATION_COUNTRY),
+        ApplicationFormSearchTokens.forDestinationCountry(id, countryCode));
+  }
+
+  // most saves leave the reference, submitted date and destination country as they were, so only
+  // the sources whose tokens differ from the stored ones are rewritten
+  private void replaceChangedSearchTokens(
+      final ApplicationFormDAO dao, final PersistentApplicationForm applicationForm) {
+    final List<Source> sources =
+        List.of(Source.REFERENCE, Source.SUBMITTED, Source.DESTINATION_COUNTRY);
+    final List<ApplicationFormSearchToken> searchTokens =
+        ApplicationFormSearchTokens.forApplicationForm(applicationForm);
+    final Map<Source, Set<String>> storedTokens =
+        tokensBySource(dao.getSearchTokens(applicationForm.getId(), sources));
+    final Map<Source, Set<String>> tokens = tokensBySource(searchTokens);
+
+    final List<Source> changedSources =
+        sources.stream()
+            .filter(
+                source ->
+                    !storedTokens
+                        .getOrDefault(source, Set.of())
+                        .equals(tokens.getOrDefault(source, Set.of())))
+            .collect(toList());
+    if (!changedSources.isEmpty()) {
+      replaceSearchTokens(
+          dao,
+          applicationForm.getId(),
+          changedSources,
+          searchTokens.stream()
+              .filter(searchToken -> changedSources.contains(searchToken.getSource()))
+              .collect(toList()));
+    }
+  }
+
+  private static Map<Source, Set<String>> tokensBySource(
+      final List<ApplicationFormSearchToken> searchTokens) {
+    return searchTokens.stream()
+        .collect(
+            groupingBy(
+                ApplicationFormSearchToken::getSource,
+                mapping(ApplicationFormSearchToken::getToken, toSet())));
+  }
+
+  private void replaceSearchTokens(
+      final ApplicationFormDAO dao,
+      final Long id,
+      final List<Source> sources,
+      final List<ApplicationFormSearchToken> searchTokens) {
+    dao.deleteSearchTokens(id, sources);
+    if (!searchTokens.isEmpty()) {
+      dao.insertSearchTokens(searchTokens);
+    }
   }
 
   private PersistentApplicationForm extractResponseItemsToColumns(
@@ -123,6 +270,25 @@ public class ApplicationFormRepository {
     }
   }
 
+  public List<String> loadEhcNumbersWithDrafts(final ApplicationFormDAO dao) {
+    return DbHelper.doSqlQuery(
+        () -> dao.getEhcNumbersWithStatus(DRAFT), () -> "fetch ehc numbers with draft forms");
+  }
+
+  public List<Long> loadDraftIdsNotOnEhcVersion(
+      final ApplicationFormDAO dao,
+      @NonNull final String ehcNumber,
+      @NonNull final String ehcVersion,
+      @NonNull final Long afterId,
+      final int limit) {
+    return DbHelper.doSqlQuery(
+        () -> dao.getIdsNotOnEhcVersion(DRAFT, ehcNumber, ehcVersion, afterId, limit),
+        () ->
+            String.format(
+                "fetch draft ids for ehc=%s not on version=%s after id=%d",
+                ehcNumber, ehcVersion, afterId));
+  }
+
   private PersistentApplicationForm getFromDb(Long id, ApplicationFormDAO dao) {
     return DbHelper.doSqlQuery(
         () -> dao.getApplicationFormById(id), () -> "fetch applicationFormId=" + id + " for read");
@@ -0,0 +1,82 @@
+package uk.gov.defra.plants.applicationform.dao;
+
+import static java.util.stream.Collectors.toList;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken.Source;
+import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
+
+/**
+ * Builds the rows of the applicationFormSearchToken table that back the dashboard filter.
+ *
+ * <p>The filter matches any part of the id, reference or submitted date, so every suffix of those
+ * values is stored: a substring of a value is a prefix of one of its suffixes, which lets the
+ * lookup be an index seek on {@code token LIKE :filter + '%'}. Destination countries are matched
+ * whole, as before.
+ */
+public class ApplicationFormSearchTokens {
+
+  // matches convert(varchar, submitted, 105) used by the dashboard before the token table existed
+  private static final DateTimeFormatter SUBMITTED_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+  private ApplicationFormSearchTokens() {}
+
+  public static List<ApplicationFormSearchToken> forApplicationForm(
+      final PersistentApplicationForm paf) {
+    final List<ApplicationFormSearchToken> tokens = new ArrayList<>(forId(paf.getId()));
+    tokens.addAll(forReference(paf.getId(), paf.getReference()));
+    tokens.addAll(forSubmitted(paf.getId(), paf.getSubmitted()));
+    tokens.addAll(forDestinationCountry(paf.getId(), paf.getDestinationCountry()));
+    return tokens;
+  }
+
+  public static List<ApplicationFormSearchToken> forId(final Long id) {
+    return suffixes(id, Source.ID, Objects.toString(id, null));
+  }
+
+  public static List<ApplicationFormSearchToken> forReference(
+      final Long id, final String reference) {
+    return suffixes(id, Source.REFERENCE, reference);
+  }
+
+  public static List<ApplicationFormSearchToken> forSubmitted(
+      final Long id, final LocalDateTime submitted) {
+    return suffixes(
+        id, Source.SUBMITTED, submitted == null ? null : SUBMITTED_FORMAT.format(submitted));
+  }
+
+  public static List<ApplicationFormSearchToken> forDestinationCountry(
+      final Long id, final String destinationCountry) {
+    final List<ApplicationFormSearchToken> tokens = new ArrayList<>();
+    if (destinationCountry != null && !destinationCountry.isEmpty()) {
+      tokens.add(token(id, Source.DESTINATION_COUNTRY, destinationCountry.toLowerCase(Locale.ROOT)));
+    }
+    return tokens;
+  }
+
+  private static List<ApplicationFormSearchToken> suffixes(
+      final Long id, final Source source, final String value) {
+    if (value == null || value.isEmpty()) {
+      return new ArrayList<>();
+    }
+    final String normalised = value.toLowerCase(Locale.ROOT);
+    final Set<String> suffixes = new LinkedHashSet<>();
+    for (int start = 0; start < normalised.length(); start++) {
+      suffixes.add(normalised.substring(start));
+    }
+    return suffixes.stream().map(suffix -> token(id, source, suffix)).collect(toList());
+  }
+
+  private static ApplicationFormSearchToken token(
+      final Long id, final Source source, final String token) {
+    return ApplicationFormSearchToken.builder().applicationId(id).source(source).token(token).build();
+  }
+}
@@ -13,6 +13,7 @@ import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
 import uk.gov.defra.plants.applicationform.model.CommoditySampleReference;
 import uk.gov.defra.plants.applicationform.model.PersistentCommodityBotanical;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
 
 @RegisterConstructorMapper(PersistentCommodityBotanical.class)
 public interface CommodityBotanicalDAO {
@@ -44,6 +45,36 @@ public interface CommodityBotanicalDAO {
   int[] insertCommodities(
       @BindBean List<PersistentCommodityBotanical> persistentCommodityBotanical);
 
+  @SqlUpdate(
+      "INSERT INTO"
+          + " commodityBotanical ("
+          + " originCountry,"
+          + " consignmentId, "
+          + " genus, "
+          + " species, "
+          + " variety, "
+          + " additionalCountries, "
+          + " eppoCode, "
+          + " numberOfPackages, "
+          + " packagingType, "
+          + " packagingMaterial, "
+          + " distinguishingMarks, "
+          + " quantityOrWeightPerPackage, "
+          + " parentCommonName, "
+          + " commonName, "
+          + " commodityType, "
+          + " commodityClass, "
+          + " unitOfMeasurement,"
+          + " description "
+          + " ) SELECT"
+          + " originCountry, :newConsignmentId, genus, species, variety, additionalCountries, eppoCode, numberOfPackages, packagingType, packagingMaterial, distinguishingMarks, quantityOrWeightPerPackage, parentCommonName, commonName, commodityType, commodityClass, unitOfMeasurement, description"
+          + " FROM commodityBotanical"
+          + " WHERE consignmentId = :originalConsignmentId"
+          + " ORDER BY id")
+  Integer cloneCommodities(
+      @Bind("originalConsignmentId") UUID originalConsignmentId,
+      @Bind("newConsignmentId") UUID newConsignmentId);
+
   @SqlUpdate("DELETE FROM commodityBotanical " + "WHERE commodityUuid = :commodityUuid")
   Integer deleteCommodityByUuid(@Bind("commodityUuid") UUID commodityUuid);
 
@@ -82,11 +113,25 @@ public interface CommodityBotanicalDAO {
   List<PersistentCommodityBotanical> getCommoditiesByConsignmentId(
       @Bind("consignmentId") UUID consignmentId);
 
-  @SqlQuery("SELECT sampleReferenceCounter from commoditySampleReference WITH (UPDLOCK)")
+  @SqlUpdate(
+      "UPDATE commoditySampleReference"
+          + " SET sampleReferenceCounter = sampleReferenceCounter + :blockSize")
+  Integer incrementSampleRefCounter(@Bind("blockSize") Integer blockSize);
+
+  @SqlQuery("SELECT sampleReferenceCounter FROM commoditySampleReference")
   Integer getSampleRefCounter();
 
-  @SqlUpdate("UPDATE commoditySampleReference SET sampleReferenceCounter = :nextValue")
-  Integer updateSampleRefCounter(@Bind("nextValue") Integer nextValue);
+  @SqlQuery(
+      "SELECT count(*) FROM commodityBotanical cb"
+          + " JOIN consignment c ON c.id = cb.consignmentId"
+          + " JOIN applicationForm af ON af.id = c.applicationId"
+          + " WHERE af.id = :applicationFormId"
+          + " AND af.commodityGroup = :commodityGroup"
+          + " AND af.status <> :excludedStatus")
+  Integer countCommodities(
+      @Bind("applicationFormId") Long applicationFormId,
+      @Bind("commodityGroup") String commodityGroup,
+      @Bind("excludedStatus") ApplicationFormStatus excludedStatus);
 
   @SqlBatch("UPDATE commodityBotanical SET sampleReference = :sampleReference WHERE id = :id ")
   int[] updateSampleReferences(@BindBean List<CommoditySampleReference> commoditySampleReferences);
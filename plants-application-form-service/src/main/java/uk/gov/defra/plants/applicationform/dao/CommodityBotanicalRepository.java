@@ -7,6 +7,7 @@ import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.defra.plants.applicationform.model.CommoditySampleReference;
 import uk.gov.defra.plants.applicationform.model.PersistentCommodityBotanical;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
 import uk.gov.defra.plants.common.jdbi.DbHelper;
 
 @Slf4j
@@ -20,6 +21,17 @@ public class CommodityBotanicalRepository {
         () -> "created commodity botanical");
   }
 
+  public Integer cloneCommodities(
+      final CommodityBotanicalDAO dao, final UUID originalConsignmentId, final UUID newConsignmentId) {
+    return DbHelper.doSqlInsert(
+        () -> dao.cloneCommodities(originalConsignmentId, newConsignmentId),
+        () ->
+            "cloned commodity botanical from consignment id="
+                + originalConsignmentId
+                + " to consignment id="
+                + newConsignmentId);
+  }
+
   public void updateCommodity(
       final CommodityBotanicalDAO dao,
       final PersistentCommodityBotanical persistentCommodityBotanical) {
@@ -48,15 +60,34 @@ public class CommodityBotanicalRepository {
         () -> "delete commodity by uuid=" + commodityUuid);
   }
 
-  public Integer getSampleRefCounter(CommodityBotanicalDAO dao) {
-    return DbHelper.doSqlQuery(
-        dao::getSampleRefCounter, () -> "get sample reference counter value");
+  /**
+   * Moves the shared counter on by {@code blockSize} and returns the first reference of the block.
+   * Must run in a transaction: the update keeps the counter row locked until the transaction ends,
+   * so the read that follows it sees this reservation and no other.
+   */
+  public Integer reserveSampleRefBlock(CommodityBotanicalDAO dao, Integer blockSize) {
+    DbHelper.doSqlUpdate(
+        () -> dao.incrementSampleRefCounter(blockSize),
+        () -> "reserve block of sample references size=" + blockSize,
+        DbHelper.ZERO_ROWS_THROWS_NOT_FOUND_EXCEPTION);
+    final Integer counter =
+        DbHelper.doSqlQuery(
+            () -> dao.getSampleRefCounter(), () -> "fetch sample reference counter");
+    return counter - blockSize;
   }
 
-  public void updateSampleRefCounter(CommodityBotanicalDAO dao, Integer nextValue) {
-    DbHelper.doSqlUpdate(
-        () -> dao.updateSampleRefCounter(nextValue),
-        () -> "update sample reference counter value=" + nextValue);
+  /**
+   * Counts the commodities of an application form that is in the given commodity group and not in
+   * the excluded status.
+   */
+  public Integer countCommodities(
+      CommodityBotanicalDAO dao,
+      Long applicationFormId,
+      String commodityGroup,
+      ApplicationFormStatus excludedStatus) {
+    return DbHelper.doSqlQuery(
+        () -> dao.countCommodities(applicationFormId, commodityGroup, excludedStatus),
+        () -> "count commodities of application form id=" + applicationFormId);
   }
 
   public void updateSampleReference(
@@ -31,6 +31,24 @@ public interface CommodityMachineryDAO {
   int[] insertCommodities(
       @BindBean List<PersistentCommodityMachinery> persistentCommodityMachinery);
 
+  @SqlUpdate(
+      "INSERT INTO"
+          + " commodityMachinery ("
+          + " originCountry,"
+          + " consignmentId, "
+          + " machineryType, "
+          + " make, "
+          + " model, "
+          + " uniqueId "
+          + " ) SELECT"
+          + " originCountry, :newConsignmentId, machineryType, make, model, uniqueId"
+          + " FROM commodityMachinery"
+          + " WHERE consignmentId = :originalConsignmentId"
+          + " ORDER BY id")
+  Integer cloneCommodities(
+      @Bind("originalConsignmentId") UUID originalConsignmentId,
+      @Bind("newConsignmentId") UUID newConsignmentId);
+
   @SqlUpdate("DELETE FROM commodityMachinery " + "WHERE commodityUuid = :commodityUuid")
   Integer deleteCommodityByUuid(@Bind("commodityUuid") UUID commodityUuid);
 
@@ -17,6 +17,17 @@ public class CommodityMachineryRepository {
         () -> "created commodity machineries");
   }
 
+  public Integer cloneCommodities(
+      final CommodityMachineryDAO dao, final UUID originalConsignmentId, final UUID newConsignmentId) {
+    return DbHelper.doSqlInsert(
+        () -> dao.cloneCommodities(originalConsignmentId, newConsignmentId),
+        () ->
+            "cloned commodity machineries from consignment id="
+                + originalConsignmentId
+                + " to consignment id="
+                + newConsignmentId);
+  }
+
   public void updateCommodity(
       final CommodityMachineryDAO dao,
       final PersistentCommodityMachinery persistentCommodityMachinery) {
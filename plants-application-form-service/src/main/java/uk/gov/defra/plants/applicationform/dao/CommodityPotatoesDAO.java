@@ -37,6 +37,31 @@ public interface CommodityPotatoesDAO {
           + " ) ")
   int[] insertCommodities(@BindBean List<PersistentCommodityPotatoes> persistentCommodityPotatoes);
 
+  @SqlUpdate(
+      "INSERT INTO"
+          + " commodityPotatoes ("
+          + " consignmentId, "
+          + " potatoType,"
+          + " soilSamplingApplicationNumber, "
+          + " stockNumber, "
+          + " lotReference, "
+          + " variety, "
+          + " chemicalUsed, "
+          + " numberOfPackages, "
+          + " packagingType, "
+          + " packagingMaterial, "
+          + " distinguishingMarks,"
+          + " quantity,"
+          + " unitOfMeasurement"
+          + " ) SELECT"
+          + " :newConsignmentId, potatoType, soilSamplingApplicationNumber, stockNumber, lotReference, variety, chemicalUsed, numberOfPackages, packagingType, packagingMaterial, distinguishingMarks, quantity, unitOfMeasurement"
+          + " FROM commodityPotatoes"
+          + " WHERE consignmentId = :originalConsignmentId"
+          + " ORDER BY id")
+  Integer cloneCommodities(
+      @Bind("originalConsignmentId") UUID originalConsignmentId,
+      @Bind("newConsignmentId") UUID newConsignmentId);
+
   @SqlUpdate("DELETE FROM commodityPotatoes " + "WHERE commodityUuid = :commodityUuid")
   Integer deleteCommodityByUuid(@Bind("commodityUuid") UUID commodityUuid);
 
@@ -17,6 +17,17 @@ public class CommodityPotatoesRepository {
         () -> "created commodity potatoes");
   }
 
+  public Integer cloneCommodities(
+      final CommodityPotatoesDAO dao, final UUID originalConsignmentId, final UUID newConsignmentId) {
+    return DbHelper.doSqlInsert(
+        () -> dao.cloneCommodities(originalConsignmentId, newConsignmentId),
+        () ->
+            "cloned commodity potatoes from consignment id="
+                + originalConsignmentId
+                + " to consignment id="
+                + newConsignmentId);
+  }
+
   public void updateCommodity(
       final CommodityPotatoesDAO dao,
       final PersistentCommodityPotatoes persistentCommodityPotatoes) {
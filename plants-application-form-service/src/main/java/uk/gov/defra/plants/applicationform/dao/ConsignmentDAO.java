@@ -49,4 +49,10 @@ public interface ConsignmentDAO {
           + " ORDER by c.created ASC")
   List<PersistentConsignment> getConsignmentsForAppForm(
       @Bind("applicationFormId") Long applicationFormId);
+
+  @SqlQuery(
+      "SELECT TOP 1 c.id FROM consignment c"
+          + " WHERE c.applicationId = :applicationFormId"
+          + " ORDER by c.created ASC")
+  UUID getFirstConsignmentIdForAppForm(@Bind("applicationFormId") Long applicationFormId);
 }
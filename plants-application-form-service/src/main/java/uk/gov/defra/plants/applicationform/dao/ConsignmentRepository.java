@@ -73,6 +73,13 @@ public class ConsignmentRepository {
     return getFromDb(dao, applicationFormId);
   }
 
+  public UUID loadFirstConsignmentIdForApplication(
+      final ConsignmentDAO dao, final Long applicationFormId) {
+    return DbHelper.doSqlQuery(
+        () -> dao.getFirstConsignmentIdForAppForm(applicationFormId),
+        () -> "fetch first consignment id with appForm id=" + applicationFormId);
+  }
+
   private List<PersistentConsignment> getFromDb(ConsignmentDAO dao, Long appFormId) {
     return DbHelper.doSqlQuery(
         () -> dao.getConsignmentsForAppForm(appFormId),
@@ -53,4 +53,12 @@ public interface PackerDetailsDAO {
   @GetGeneratedKeys
   Long insertPackerDetails(
       @BindBean PersistentPackerDetails persistentPackerDetails);
+
+  @SqlUpdate(
+      "INSERT INTO packerDetails (applicationId, packerType, packerCode, packerName, buildingNameOrNumber, subBuildingName, street, townOrCity, county, postcode) "
+          + "SELECT :newApplicationId, packerType, packerCode, packerName, buildingNameOrNumber, subBuildingName, street, townOrCity, county, postcode "
+          + "FROM packerDetails WHERE applicationId = :originalApplicationId")
+  Integer clonePackerDetails(
+      @Bind("originalApplicationId") Long originalApplicationId,
+      @Bind("newApplicationId") Long newApplicationId);
 }
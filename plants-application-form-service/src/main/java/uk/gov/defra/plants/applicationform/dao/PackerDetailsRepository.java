@@ -16,6 +16,18 @@ public class PackerDetailsRepository {
                 + persistentPackerDetails.getApplicationId());
   }
 
+  public Integer clonePackerDetails(
+      final PackerDetailsDAO dao, final Long originalApplicationId, final Long newApplicationId) {
+
+    return DbHelper.doSqlInsert(
+        () -> dao.clonePackerDetails(originalApplicationId, newApplicationId),
+        () ->
+            "cloned packer details from application id ="
+                + originalApplicationId
+                + " to application id ="
+                + newApplicationId);
+  }
+
   public void updatePackerDetails(
       final PackerDetailsDAO dao,
       final PersistentPackerDetails persistentPackerDetails) {
@@ -41,4 +41,12 @@ public interface ReforwardingDetailsDAO {
   @GetGeneratedKeys
   Long insertReforwardingDetails(
       @BindBean PersistentReforwardingDetails persistentReforwardingDetails);
+
+  @SqlUpdate(
+      "INSERT INTO reforwardingDetails (applicationId, importCertificateNumber, originCountry, consignmentRepackaging) "
+          + "SELECT :newApplicationId, importCertificateNumber, originCountry, consignmentRepackaging "
+          + "FROM reforwardingDetails WHERE applicationId = :originalApplicationId")
+  Integer cloneReforwardingDetails(
+      @Bind("originalApplicationId") Long originalApplicationId,
+      @Bind("newApplicationId") Long newApplicationId);
 }
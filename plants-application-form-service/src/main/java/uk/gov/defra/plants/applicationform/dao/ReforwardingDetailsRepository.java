@@ -16,6 +16,20 @@ public class ReforwardingDetailsRepository {
                 + persistentReforwardingDetails.getApplicationId());
   }
 
+  public Integer cloneReforwardingDetails(
+      final ReforwardingDetailsDAO dao,
+      final Long originalApplicationFormId,
+      final Long newApplicationFormId) {
+
+    return DbHelper.doSqlInsert(
+        () -> dao.cloneReforwardingDetails(originalApplicationFormId, newApplicationFormId),
+        () ->
+            "cloned reforwarding details from application form id="
+                + originalApplicationFormId
+                + " to application form id="
+                + newApplicationFormId);
+  }
+
   public void updateReforwardingDetails(
       final ReforwardingDetailsDAO dao,
       final PersistentReforwardingDetails persistentReforwardingDetails) {
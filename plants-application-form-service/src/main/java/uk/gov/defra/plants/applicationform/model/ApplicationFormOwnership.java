@@ -0,0 +1,21 @@
+package uk.gov.defra.plants.applicationform.model;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
+
+@Value
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class ApplicationFormOwnership {
+
+  Long id;
+
+  UUID applicant;
+
+  UUID exporterOrganisation;
+
+  ApplicationFormStatus status;
+}
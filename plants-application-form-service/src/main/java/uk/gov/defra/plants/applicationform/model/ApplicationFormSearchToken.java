@@ -0,0 +1,24 @@
+package uk.gov.defra.plants.applicationform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class ApplicationFormSearchToken {
+
+  public enum Source {
+    ID,
+    REFERENCE,
+    SUBMITTED,
+    DESTINATION_COUNTRY
+  }
+
+  private Long applicationId;
+
+  private Source source;
+
+  private String token;
+}
@@ -17,4 +17,6 @@ public class ApplicationFormsSummaryResult {
   int overallCount;
   @Singular
   List<ApplicationFormSummary> applicationForms;
+
+  String nextCursor;
 }
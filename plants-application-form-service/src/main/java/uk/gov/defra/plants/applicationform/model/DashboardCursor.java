@@ -0,0 +1,77 @@
+package uk.gov.defra.plants.applicationform.model;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import javax.ws.rs.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
+
+/**
+ * Position of the last application form on a dashboard page, in the dashboard sort order of
+ * (status, submitted, created, id). Handed to clients as an opaque token so the next page can be
+ * read by seeking past it rather than by skipping rows. It also carries the overall count from the
+ * first page, so later pages report the same total without counting the matching rows again.
+ */
+@Value
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class DashboardCursor {
+
+  private static final String SEPARATOR = "|";
+
+  @NonNull ApplicationFormStatus status;
+
+  LocalDateTime submitted;
+
+  @NonNull LocalDateTime created;
+
+  @NonNull Long id;
+
+  int overallCount;
+
+  public static DashboardCursor after(
+      final ApplicationFormSummaryDAOResponse lastOnPage, final int overallCount) {
+    return DashboardCursor.builder()
+        .status(lastOnPage.getStatus())
+        .submitted(lastOnPage.getSubmitted())
+        .created(lastOnPage.getCreated())
+        .id(lastOnPage.getId())
+        .overallCount(overallCount)
+        .build();
+  }
+
+  public String encode() {
+    final String position =
+        String.join(
+            SEPARATOR,
+            status.name(),
+            submitted == null ? "" : submitted.toString(),
+            created.toString(),
+            id.toString(),
+            String.valueOf(overallCount));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(UTF_8));
+  }
+
+  public static DashboardCursor decode(final String cursor) {
+    try {
+      final String[] position =
+          StringUtils.splitPreserveAllTokens(
+              new String(Base64.getUrlDecoder().decode(cursor), UTF_8), SEPARATOR);
+      return DashboardCursor.builder()
+          .status(ApplicationFormStatus.valueOf(position[0]))
+          .submitted(position[1].isEmpty() ? null : LocalDateTime.parse(position[1]))
+          .created(LocalDateTime.parse(position[2]))
+          .id(Long.valueOf(position[3]))
+          .overallCount(Integer.parseInt(position[4]))
+          .build();
+    } catch (RuntimeException e) {
+      throw new BadRequestException("invalid dashboard cursor=" + cursor);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package uk.gov.defra.plants.applicationform.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * Where the background migration of draft forms to the active form version has got to. Forms that
+ * had nothing to migrate are counted as unchanged, and forms submitted, deleted or edited after
+ * they were picked up are counted as skipped.
+ */
+@Value
+@Builder(toBuilder = true)
+@AllArgsConstructor
+public class FormVersionMigrationProgress {
+
+  boolean running;
+
+  LocalDateTime started;
+
+  LocalDateTime finished;
+
+  String ehcNumber;
+
+  String ehcVersion;
+
+  Long lastProcessedId;
+
+  long migrated;
+
+  long unchanged;
+
+  long skipped;
+
+  long failed;
+
+  @Singular List<Long> failedApplicationFormIds;
+
+  String error;
+}
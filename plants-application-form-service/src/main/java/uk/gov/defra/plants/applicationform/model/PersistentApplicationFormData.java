@@ -37,6 +37,9 @@ public class PersistentApplicationFormData implements JsonData {
   CertifierInfo certifierInfo;
   CertificateDeliveryAddress certificateDeliveryAddress;
 
+  // incremented in the database on every write, see ApplicationFormDAO.DATA_VERSION
+  Integer version;
+
   @JsonPOJOBuilder(withPrefix = "")
   public static class PersistentApplicationFormDataBuilder {
 
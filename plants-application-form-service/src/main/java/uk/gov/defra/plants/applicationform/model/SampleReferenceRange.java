@@ -0,0 +1,16 @@
+package uk.gov.defra.plants.applicationform.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SampleReferenceRange {
+
+  public static final SampleReferenceRange NONE =
+      SampleReferenceRange.builder().first(0).count(0).build();
+
+  private int first;
+
+  private int count;
+}
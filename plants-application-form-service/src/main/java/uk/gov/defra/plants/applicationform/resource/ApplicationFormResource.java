@@ -2,6 +2,7 @@ package uk.gov.defra.plants.applicationform.resource;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static uk.gov.defra.plants.applicationform.resource.filters.ResourceOwnerCheck.APPLICATION_FORM_OWNERSHIP;
 import static uk.gov.defra.plants.common.security.UserRoles.ADMIN_ROLE;
 import static uk.gov.defra.plants.common.security.UserRoles.CASE_WORKER_ROLE;
 import static uk.gov.defra.plants.common.security.UserRoles.EXPORTER_ROLE;
@@ -34,10 +35,13 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormsSummaryResult;
 import uk.gov.defra.plants.applicationform.representation.ApplicationCommodityType;
 import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
@@ -275,14 +279,25 @@ public class ApplicationFormResource {
       @ApiParam(value = "used for skipping number of forms from ordered results", name = "limit")
           @DefaultValue("30")
           @QueryParam("limit")
-          String limit) {
+          String limit,
+      @ApiParam(
+              value = "nextCursor of the previous page, used instead of offset to read the next page",
+              name = "cursor")
+          @QueryParam("cursor")
+          String cursor) {
     LOGGER.debug(
         "get request for application forms with orgId={} and applicantId={}",
         user.getSelectedOrganisation(),
         user.getUserId());
 
     return applicationFormService.getApplicationFormsForExporter(
-        user, filter, selectedStatus, contactIds, Integer.parseInt(offset), Integer.parseInt(limit));
+        user,
+        filter,
+        selectedStatus,
+        contactIds,
+        Integer.parseInt(offset),
+        Integer.parseInt(limit),
+        cursor);
   }
 
   @GET
@@ -306,8 +321,18 @@ public class ApplicationFormResource {
   @RolesAllowed(EXPORTER_ROLE)
   @ApiOperation(
       value = "delete an application for user, given application form id, Allowed by EXPORTER")
-  public void delete(@PathParam(Params.APPLICATION_FORM_ID) @NotNull Long id, @Auth User user) {
+  public void delete(
+      @PathParam(Params.APPLICATION_FORM_ID) @NotNull Long id,
+      @Auth User user,
+      @Context ContainerRequestContext requestContext) {
     LOGGER.debug("DELETE request for application form with id={}", id);
+    // forms never go back to draft, so one the owner check already saw as submitted stays put
+    final ApplicationFormOwnership ownership =
+        (ApplicationFormOwnership) requestContext.getProperty(APPLICATION_FORM_OWNERSHIP);
+    if (ownership != null && ownership.getStatus() != ApplicationFormStatus.DRAFT) {
+      LOGGER.debug("application form with id={} is not a draft, nothing to delete", id);
+      return;
+    }
     applicationFormService.delete(id);
   }
 
@@ -0,0 +1,73 @@
+package uk.gov.defra.plants.applicationform.resource;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static uk.gov.defra.plants.common.security.UserRoles.ADMIN_ROLE;
+
+import io.dropwizard.auth.Auth;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.defra.plants.applicationform.model.FormVersionMigrationProgress;
+import uk.gov.defra.plants.applicationform.service.FormVersionMigrationJob;
+import uk.gov.defra.plants.common.security.User;
+
+@Path("/form-version-migration")
+@Slf4j
+@AllArgsConstructor(onConstructor = @__({@Inject}))
+@Produces(APPLICATION_JSON)
+@Api
+public class FormVersionMigrationResource {
+
+  private final FormVersionMigrationJob formVersionMigrationJob;
+
+  @POST
+  @RolesAllowed({ADMIN_ROLE})
+  @ApiOperation(
+      value =
+          "starts migrating draft application forms to the active form version, for one ehc or all, Allowed by ADMIN")
+  public Response start(
+      @ApiParam(value = "Authorised user", required = true, name = "User") @Auth User user,
+      @HeaderParam(HttpHeaders.AUTHORIZATION) final String authorization,
+      @QueryParam("ehcNumber") final String ehcNumber) {
+    LOGGER.info("request to migrate drafts to active form version for ehc={}", ehcNumber);
+    if (!formVersionMigrationJob.start(ehcNumber, authorization)) {
+      throw new ClientErrorException("form version migration already running", Status.CONFLICT);
+    }
+    return Response.accepted(formVersionMigrationJob.getProgress()).build();
+  }
+
+  @GET
+  @RolesAllowed({ADMIN_ROLE})
+  @ApiOperation(value = "gets progress of the form version migration, Allowed by ADMIN")
+  public FormVersionMigrationProgress getProgress(
+      @ApiParam(value = "Authorised user", required = true, name = "User") @Auth User user) {
+    return formVersionMigrationJob.getProgress();
+  }
+
+  @DELETE
+  @RolesAllowed({ADMIN_ROLE})
+  @ApiOperation(
+      value =
+          "stops the form version migration after the current form, a later start on this instance carries on from there, Allowed by ADMIN")
+  public FormVersionMigrationProgress stop(
+      @ApiParam(value = "Authorised user", required = true, name = "User") @Auth User user) {
+    LOGGER.info("request to stop form version migration");
+    formVersionMigrationJob.stop();
+    return formVersionMigrationJob.getProgress();
+  }
+}
@@ -9,6 +9,7 @@ import static uk.gov.defra.plants.common.security.UserRoles.CASE_WORKER_ROLE;
 import java.security.Principal;
 import java.util.UUID;
 import javax.annotation.Priority;
+import javax.inject.Inject;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.Priorities;
@@ -16,9 +17,8 @@ import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.core.MultivaluedMap;
 import lombok.extern.slf4j.Slf4j;
-import org.jdbi.v3.core.Jdbi;
-import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
-import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
 import uk.gov.defra.plants.applicationform.resource.Params;
 import uk.gov.defra.plants.common.security.BasicUser;
 import uk.gov.defra.plants.common.security.EnrolledOrganisation;
@@ -33,10 +33,12 @@ public class ResourceOwnerCheck implements ContainerRequestFilter {
   public static final String CLONE_APPLICATION = "/clone-application";
   public static final String SUPPLEMENTARY_DOCUMENTS = "/supplementary-documents";
   public static final String UPLOAD_QUESTION = "/items/upload-question";
-  private final Jdbi jdbi;
+  public static final String APPLICATION_FORM_OWNERSHIP = "applicationFormOwnership";
+  private final ApplicationFormOwnershipCache applicationFormOwnershipCache;
 
-  public ResourceOwnerCheck(Jdbi jdbi) {
-    this.jdbi = jdbi;
+  @Inject
+  public ResourceOwnerCheck(ApplicationFormOwnershipCache applicationFormOwnershipCache) {
+    this.applicationFormOwnershipCache = applicationFormOwnershipCache;
   }
 
   @Override
@@ -68,11 +70,11 @@ public class ResourceOwnerCheck implements ContainerRequestFilter {
         return;
       }
 
-      PersistentApplicationForm form =
-          jdbi.onDemand(ApplicationFormDAO.class).getApplicationFormById(applicationFormId);
-      if (form == null) {
-        throw new NotFoundException();
-      }
+      ApplicationFormOwnership form =
+          applicationFormOwnershipCache
+              .get(applicationFormId)
+              .orElseThrow(NotFoundException::new);
+      requestContext.setProperty(APPLICATION_FORM_OWNERSHIP, form);
 
       if (user != null) {
         throwExceptionIfOperationNotAllowed(user, form, requestContext);
@@ -80,7 +82,7 @@ public class ResourceOwnerCheck implements ContainerRequestFilter {
     }
   }
 
-  private void throwExceptionIfOperationNotAllowed(User user, PersistentApplicationForm form,
+  private void throwExceptionIfOperationNotAllowed(User user, ApplicationFormOwnership form,
       ContainerRequestContext requestContext) {
 
     boolean userIsApplicant = form.getApplicant().equals(user.getUserId());
@@ -108,7 +110,7 @@ public class ResourceOwnerCheck implements ContainerRequestFilter {
     }
   }
 
-  private boolean isGetOrCloneApplicationRequest(PersistentApplicationForm form,
+  private boolean isGetOrCloneApplicationRequest(ApplicationFormOwnership form,
       ContainerRequestContext requestContext) {
 
     final String requestMethod = requestContext.getMethod();
@@ -124,7 +126,7 @@ public class ResourceOwnerCheck implements ContainerRequestFilter {
     return isGetApplication || isCloneApplication;
   }
 
-  private boolean isSupplementaryDocumentOrUploadQuestionRequest(PersistentApplicationForm form,
+  private boolean isSupplementaryDocumentOrUploadQuestionRequest(ApplicationFormOwnership form,
       ContainerRequestContext requestContext) {
 
     final String requestMethod = requestContext.getMethod();
@@ -20,10 +20,10 @@ import org.apache.commons.lang3.StringUtils;
 import uk.gov.defra.plants.applicationform.representation.AnswersMappedToFields;
 import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
 import uk.gov.defra.plants.applicationform.service.helper.CertificatePdfResponseItemsSupplier;
+import uk.gov.defra.plants.applicationform.service.helper.FormConfigurationLookup;
 import uk.gov.defra.plants.applicationform.service.populators.ApplicationFormFieldPopulatorFactory;
 import uk.gov.defra.plants.backend.representation.CertificateInfo;
 import uk.gov.defra.plants.certificate.constants.TemplateFieldConstants;
-import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
 import uk.gov.defra.plants.formconfiguration.representation.TemplateFileReference;
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage;
@@ -36,7 +36,7 @@ import uk.gov.defra.plants.reference.representation.Country;
 public class AnswerToFieldMappingService {
 
   private final ApplicationFormService applicationFormService;
-  private final FormConfigurationServiceAdapter formConfigurationServiceAdapter;
+  private final FormConfigurationLookup formConfigurationLookup;
   private final ReferenceDataServiceAdapter referenceDataServiceAdapter;
   private final ApplicationFormFieldPopulatorFactory applicationFormFieldPopulatorFactory;
 
@@ -55,7 +55,7 @@ public class AnswerToFieldMappingService {
       @NonNull final ApplicationForm applicationForm, Optional<UUID> consignmentId) {
 
     final MergedForm mergedForm =
-        formConfigurationServiceAdapter.getMergedFormIgnoreScope(
+        formConfigurationLookup.getMergedFormIgnoreScope(
             applicationForm.getEhc().getName(),
             applicationForm.getEhc().getVersion(),
             applicationForm.getExa().getName(),
@@ -64,7 +64,7 @@ public class AnswerToFieldMappingService {
     final String formName = mergedForm.getEhc().getName();
 
     final List<MergedFormPage> mergedFormPages =
-        formConfigurationServiceAdapter.getMergedFormPagesIgnoreScope(
+        formConfigurationLookup.getMergedFormPagesIgnoreScope(
             applicationForm.getEhc().getName(),
             applicationForm.getEhc().getVersion(),
             applicationForm.getExa().getName(),
@@ -19,9 +19,9 @@ import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormItem;
 import uk.gov.defra.plants.applicationform.representation.Consignment;
 import uk.gov.defra.plants.applicationform.representation.ValidationError;
+import uk.gov.defra.plants.applicationform.service.helper.FormConfigurationLookup;
 import uk.gov.defra.plants.applicationform.validation.answers.AnswerValidator;
 import uk.gov.defra.plants.common.representation.CertificateApplicationError;
-import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
 import uk.gov.defra.plants.formconfiguration.adapter.HealthCertificateServiceAdapter;
 import uk.gov.defra.plants.formconfiguration.representation.AnswerConstraint;
 import uk.gov.defra.plants.formconfiguration.representation.AnswerConstraintType;
@@ -36,13 +36,13 @@ import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFor
 public class AnswerValidationService {
 
   private static final long CERTIFICATE_REFERENCE_NUMBER_QUESTION_ID = -8;
-  private final FormConfigurationServiceAdapter formConfigurationServiceAdapter;
+  private final FormConfigurationLookup formConfigurationLookup;
 
   @Inject
   public AnswerValidationService(
-      final FormConfigurationServiceAdapter formConfigurationServiceAdapter,
+      final FormConfigurationLookup formConfigurationLookup,
       final HealthCertificateServiceAdapter healthCertificateServiceAdapter) {
-    this.formConfigurationServiceAdapter = formConfigurationServiceAdapter;
+    this.formConfigurationLookup = formConfigurationLookup;
   }
 
   List<ValidationError> validatePartial(
@@ -177,7 +177,7 @@ public class AnswerValidationService {
       final ApplicationForm applicationForm, final List<Long> answerFormQuestionIds) {
 
     List<MergedFormPage> mergedFormPages =
-        formConfigurationServiceAdapter.getMergedFormPages(
+        formConfigurationLookup.getMergedFormPages(
             applicationForm.getEhc().getName(),
             applicationForm.getEhc().getVersion(),
             applicationForm.getExa().getName(),
@@ -285,7 +285,7 @@ public class AnswerValidationService {
 
   private List<MergedFormPage> getMergedFormPages(final ApplicationForm applicationForm) {
 
-    return formConfigurationServiceAdapter.getMergedFormPages(
+    return formConfigurationLookup.getMergedFormPages(
         applicationForm.getEhc().getName(),
         applicationForm.getEhc().getVersion(),
         applicationForm.getExa().getName(),
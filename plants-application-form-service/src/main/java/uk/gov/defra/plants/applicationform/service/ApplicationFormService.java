@@ -35,6 +35,7 @@ import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 import uk.gov.defra.plants.applicationform.dao.ConsignmentDAO;
 import uk.gov.defra.plants.applicationform.dao.ConsignmentRepository;
@@ -42,10 +43,12 @@ import uk.gov.defra.plants.applicationform.mapper.ApplicationFormMapper;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormDataTuple;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormSummaryDAOResponse;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormsSummaryResult;
+import uk.gov.defra.plants.applicationform.model.DashboardCursor;
 import uk.gov.defra.plants.applicationform.model.MultiplesApplicationValidationErrors;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationFormData;
 import uk.gov.defra.plants.applicationform.model.PersistentConsignment;
+import uk.gov.defra.plants.applicationform.model.SampleReferenceRange;
 import uk.gov.defra.plants.applicationform.representation.ApplicationCommodityType;
 import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormItem;
@@ -61,6 +64,7 @@ import uk.gov.defra.plants.applicationform.representation.ConsignmentTransportDe
 import uk.gov.defra.plants.applicationform.representation.CreateApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.DocumentInfo;
 import uk.gov.defra.plants.applicationform.representation.ValidationError;
+import uk.gov.defra.plants.applicationform.service.cache.CaseStatusCache;
 import uk.gov.defra.plants.applicationform.service.helper.ApplicationFormAnswerMigrationService;
 import uk.gov.defra.plants.applicationform.service.helper.HealthCertificateStatusChecker;
 import uk.gov.defra.plants.applicationform.service.helper.ResponseItemFilter;
@@ -116,6 +120,8 @@ public class ApplicationFormService {
   private final FileNameValidator fileNameValidator;
   private final DateNeededValidator dateNeededValidator;
   private final PackerDetailsService packerDetailsService;
+  private final CaseStatusCache caseStatusCache;
+  private final ApplicationFormOwnershipCache applicationFormOwnershipCache;
 
   private final Predicate<ApplicationFormItem> excludeUploadQuestionForClone =
       appResponseItem ->
@@ -271,7 +277,7 @@ public class ApplicationFormService {
     PersistentApplicationForm updatedPaf =
         pafFromDb.toBuilder().data(newPersistentApplicationFormData).build();
 
-    applicationFormRepository.update(h.attach(ApplicationFormDAO.class), updatedPaf);
+    applicationFormRepository.updateResponseItems(h.attach(ApplicationFormDAO.class), updatedPaf);
   }
 
   public void deletePageOccurrence(
@@ -370,7 +376,8 @@ public class ApplicationFormService {
       @NonNull ApplicationFormSubmission applicationFormSubmission,
       @NonNull User user) {
 
-    Integer initialSampleRef = sampleReferenceService.incrementSampleRefCounter(id);
+    final SampleReferenceRange sampleReferences =
+        sampleReferenceService.reserveSampleReferences(id);
 
     LOGGER.info("Call to submit Application with Id: " + id);
     jdbi.useTransaction(
@@ -410,6 +417,7 @@ public class ApplicationFormService {
           applicationFormRepository.update(h.attach(ApplicationFormDAO.class), pafForUpdate);
 
           if (SUBMITTED.equals(targetForm.getStatus())) {
+            caseStatusCache.invalidate(id);
             backendServiceAdapter.updateCase(
                 applicationFormMapper.asApplicationFormWithAdditionalDetails(
                     pafForUpdate,
@@ -417,13 +425,14 @@ public class ApplicationFormService {
                     reforwardingDetailsService.getReforwardingDetails(id),
                     packerDetailsService.getPackerDetails(id)));
           } else {
-            if (initialSampleRef != null) {
+            if (CommodityGroup.PLANT_PRODUCTS.name()
+                .equalsIgnoreCase(pafForUpdate.getCommodityGroup())) {
               sampleReferenceService.updateSampleReference(
                   h,
                   consignmentService.getCommoditiesByConsignmentId(
                       consignments.get(0).getConsignmentId(),
                       CommodityGroup.valueOf(pafForUpdate.getCommodityGroup()), pafForUpdate.getEhcNumber()),
-                  initialSampleRef);
+                  sampleReferences);
             }
 
             if (!configuredForm.getHealthCertificate().getApplicationType()
@@ -437,6 +446,7 @@ public class ApplicationFormService {
             }
           }
         });
+    applicationFormOwnershipCache.invalidate(id);
   }
 
   private void createConsignment(PersistentApplicationForm persistentApplicationForm, Handle h) {
@@ -535,6 +545,7 @@ public class ApplicationFormService {
             applicationFormRepository.deleteApplicationForm(h.attach(ApplicationFormDAO.class), id);
           }
         });
+    applicationFormOwnershipCache.invalidate(id);
   }
 
   public Optional<ApplicationForm> getApplicationForm(@NonNull final Long id) {
@@ -597,35 +608,39 @@ public class ApplicationFormService {
       ApplicationFormStatus selectedStatus,
       List<UUID> contactIds,
       int offset,
-      int limit) {
+      int limit,
+      String cursor) {
     final ApplicationFormDAO dao = jdbi.onDemand(ApplicationFormDAO.class);
+    final DashboardCursor after = cursor == null ? null : DashboardCursor.decode(cursor);
 
-    ApplicationFormsSummaryResult applicationFormsSummaryResult =
+    final List<ApplicationFormSummaryDAOResponse> applicationFormSummaryDAOResponses =
         user.getSelectedOrganisation()
             .map(
-                selectedOrg -> {
-                    List<ApplicationFormSummaryDAOResponse> applicationFormSummaryDAOResponses;
-                    applicationFormSummaryDAOResponses = getApplicationFormSummaries(
-                        user, contactIds, filter, selectedStatus, offset, limit, dao,
-                        selectedOrg);
-                return applicationFormMapper
-                    .asApplicationFormsSummaryResult(applicationFormSummaryDAOResponses,
-                        includesDelegatedAuthorityApplications(user, contactIds, selectedOrg));
-              }
-            ).orElseGet(
-            () ->
-                DbHelper.doSqlQuery(
-                    () ->
-                        applicationFormMapper.asApplicationFormsSummaryResult(
-                            dao.getApplicationFormsByApplicant(
-                                user.getUserId(),
-                                filter,
-                                selectedStatus,
-                                offset,
-                                limit), INCLUDES_NO_DELEGATED_AUTHORITY_APPLICATIONS),
-                    () ->
-                        "fetch all applications for exporter with applicantId=%s"
-                            + user.getUserId()));
+                selectedOrg ->
+                    getApplicationFormSummaries(
+                        user, contactIds, filter, selectedStatus, offset, after, limit, dao,
+                        selectedOrg))
+            .orElseGet(
+                () ->
+                    DbHelper.doSqlQuery(
+                        () ->
+                            after == null
+                                ? dao.getApplicationFormsByApplicant(
+                                    user.getUserId(), filter, selectedStatus, offset, limit)
+                                : dao.getApplicationFormsByApplicantAfter(
+                                    user.getUserId(), filter, selectedStatus, after, limit),
+                        () ->
+                            "fetch all applications for exporter with applicantId=%s"
+                                + user.getUserId()));
+
+    final ApplicationFormsSummaryResult applicationFormsSummaryResult =
+        applicationFormMapper.asApplicationFormsSummaryResult(
+            applicationFormSummaryDAOResponses,
+            user.getSelectedOrganisation()
+                .map(
+                    selectedOrg ->
+                        includesDelegatedAuthorityApplications(user, contactIds, selectedOrg))
+                .orElse(INCLUDES_NO_DELEGATED_AUTHORITY_APPLICATIONS));
 
     UUID orgIdToSearch = user.getSelectedOrganisation()
         .map(EnrolledOrganisation::getExporterOrganisationId)
@@ -636,16 +651,42 @@ public class ApplicationFormService {
         .applicationForms(
             addCaseStatusesToApplicationForms(
                 updateCertificateCount(applicationFormsSummaryResult.getApplicationForms()), limit,
-                orgIdToSearch))
+                orgIdToSearch, user.getUserId()))
+        .overallCount(
+            after == null
+                ? applicationFormsSummaryResult.getOverallCount()
+                : after.getOverallCount())
+        .nextCursor(
+            nextCursor(
+                applicationFormSummaryDAOResponses,
+                limit,
+                after == null
+                    ? applicationFormsSummaryResult.getOverallCount()
+                    : after.getOverallCount()))
         .build();
   }
 
+  private String nextCursor(
+      List<ApplicationFormSummaryDAOResponse> applicationFormSummaryDAOResponses,
+      int limit,
+      int overallCount) {
+    if (applicationFormSummaryDAOResponses.isEmpty()
+        || applicationFormSummaryDAOResponses.size() < limit) {
+      return null;
+    }
+    return DashboardCursor.after(
+            applicationFormSummaryDAOResponses.get(applicationFormSummaryDAOResponses.size() - 1),
+            overallCount)
+        .encode();
+  }
+
   private List<ApplicationFormSummaryDAOResponse> getApplicationFormSummaries(
       User user,
       List<UUID> userIds,
       String filter,
       ApplicationFormStatus selectedStatus,
       int offset,
+      DashboardCursor after,
       int limit,
       ApplicationFormDAO dao,
       EnrolledOrganisation selectedOrg) {
@@ -654,13 +695,21 @@ public class ApplicationFormService {
       if (includesDelegatedAuthorityApplications(user, userIds, selectedOrg)) {
         return DbHelper.doSqlQuery(
             () ->
-          dao.getApplicationFormsForExporterAndDOAAgencies(
-              user.getUserId(),
-              selectedOrg.getExporterOrganisationId(),
-              filter,
-              selectedStatus,
-              offset,
-              limit),
+                after == null
+                    ? dao.getApplicationFormsForExporterAndDOAAgencies(
+                        user.getUserId(),
+                        selectedOrg.getExporterOrganisationId(),
+                        filter,
+                        selectedStatus,
+                        offset,
+                        limit)
+                    : dao.getApplicationFormsForExporterAndDOAAgenciesAfter(
+                        user.getUserId(),
+                        selectedOrg.getExporterOrganisationId(),
+                        filter,
+                        selectedStatus,
+                        after,
+                        limit),
               () ->
                   format(
                       "fetch submitted applications for exporter and all those created for them by DOA with applicantIds=%s selectedOrgId=%s, agencyOrgId=%s",
@@ -669,13 +718,21 @@ public class ApplicationFormService {
 
       return DbHelper.doSqlQuery(
           () ->
-              dao.getApplicationFormsForExporterNoAgent(
-                  userIds,
-                  selectedOrg.getExporterOrganisationId(),
-                  filter,
-                  selectedStatus,
-                  offset,
-                  limit),
+              after == null
+                  ? dao.getApplicationFormsForExporterNoAgent(
+                      userIds,
+                      selectedOrg.getExporterOrganisationId(),
+                      filter,
+                      selectedStatus,
+                      offset,
+                      limit)
+                  : dao.getApplicationFormsForExporterNoAgentAfter(
+                      userIds,
+                      selectedOrg.getExporterOrganisationId(),
+                      filter,
+                      selectedStatus,
+                      after,
+                      limit),
           () ->
               format(
                   "fetch submitted applications for exporter with applicantIds=%s selectedOrgId=%s intermediary=%s",
@@ -685,13 +742,21 @@ public class ApplicationFormService {
     if (isIndividualAgentRelationship(selectedOrg)) {
       return DbHelper.doSqlQuery(
           () ->
-              dao.getApplicationFormsForIndividualAgent(
-                  userIds,
-                  selectedOrg.getExporterOrganisationId(),
-                  filter,
-                  selectedStatus,
-                  offset,
-                  limit),
+              after == null
+                  ? dao.getApplicationFormsForIndividualAgent(
+                      userIds,
+                      selectedOrg.getExporterOrganisationId(),
+                      filter,
+                      selectedStatus,
+                      offset,
+                      limit)
+                  : dao.getApplicationFormsForIndividualAgentAfter(
+                      userIds,
+                      selectedOrg.getExporterOrganisationId(),
+                      filter,
+                      selectedStatus,
+                      after,
+                      limit),
           () ->
               format(
                   "fetch submitted applications for exporter with applicantIds=%s selectedOrgId=%s intermediary=%s",
@@ -701,14 +766,23 @@ public class ApplicationFormService {
     if (isRequestedForColleagues(user, userIds)) {
       return DbHelper.doSqlQuery(
           () ->
-              dao.getApplicationFormsForAgentAndColleagues(
-                  userIds,
-                  selectedOrg.getExporterOrganisationId(),
-                  selectedOrg.getAgencyOrganisationId(),
-                  filter,
-                  selectedStatus,
-                  offset,
-                  limit),
+              after == null
+                  ? dao.getApplicationFormsForAgentAndColleagues(
+                      userIds,
+                      selectedOrg.getExporterOrganisationId(),
+                      selectedOrg.getAgencyOrganisationId(),
+                      filter,
+                      selectedStatus,
+                      offset,
+                      limit)
+                  : dao.getApplicationFormsForAgentAndColleaguesAfter(
+                      userIds,
+                      selectedOrg.getExporterOrganisationId(),
+                      selectedOrg.getAgencyOrganisationId(),
+                      filter,
+                      selectedStatus,
+                      after,
+                      limit),
           () ->
               format(
                   "fetch submitted applications for agent and colleagues with applicantIds=%s selectedOrgId=%s, agencyOrgId=%s",
@@ -718,14 +792,23 @@ public class ApplicationFormService {
 
     return DbHelper.doSqlQuery(
         () ->
-            dao.getApplicationFormsForExporterAndAgent(
-                userIds,
-                selectedOrg.getExporterOrganisationId(),
-                selectedOrg.getAgencyOrganisationId(),
-                filter,
-                selectedStatus,
-                offset,
-                limit),
+            after == null
+                ? dao.getApplicationFormsForExporterAndAgent(
+                    userIds,
+                    selectedOrg.getExporterOrganisationId(),
+                    selectedOrg.getAgencyOrganisationId(),
+                    filter,
+                    selectedStatus,
+                    offset,
+                    limit)
+                : dao.getApplicationFormsForExporterAndAgentAfter(
+                    userIds,
+                    selectedOrg.getExporterOrganisationId(),
+                    selectedOrg.getAgencyOrganisationId(),
+                    filter,
+                    selectedStatus,
+                    after,
+                    limit),
         () ->
             format(
                 "fetch submitted applications for agent and exporter with applicantIds=%s selectedOrgId=%s, agencyOrgId=%s",
@@ -766,7 +849,10 @@ public class ApplicationFormService {
   }
 
   private List<ApplicationFormSummary> addCaseStatusesToApplicationForms(
-      List<ApplicationFormSummary> applicationFormSummaries, int pageSize, UUID organisationId) {
+      List<ApplicationFormSummary> applicationFormSummaries,
+      int pageSize,
+      UUID organisationId,
+      UUID contactId) {
 
     List<Long> nonDraftApplicationFormIds =
         applicationFormSummaries.stream()
@@ -776,8 +862,8 @@ public class ApplicationFormService {
 
     if (!nonDraftApplicationFormIds.isEmpty()) {
       Map<Long, ApplicationTradeStatus> caseStatusMap =
-          backendServiceAdapter.getCaseStatusesForApplications(
-              nonDraftApplicationFormIds, pageSize, organisationId);
+          caseStatusCache.getCaseStatusesForApplications(
+              nonDraftApplicationFormIds, pageSize, organisationId, contactId);
 
       LOGGER.debug(
           "Query to case management service for statuses of applications {} returned {}",
@@ -858,38 +944,37 @@ public class ApplicationFormService {
                   .data(cloneApplicationFormData(pafBeingCloned.getData()))
                   .build();
 
-          List<PersistentConsignment> originalConsignments =
-              consignmentRepository.loadConsignmentsForApplication(
+          // the form data is rewritten on the way, but everything hanging off the form is
+          // copied in the database with one statement per table
+          final UUID originalConsignmentId =
+              consignmentRepository.loadFirstConsignmentIdForApplication(
                   h.attach(ConsignmentDAO.class), id);
 
-          Long newApplicationFormId =
+          final Long newApplicationFormId =
               applicationFormRepository.insertApplicationForm(
                   h.attach(ApplicationFormDAO.class), clonedPaf);
 
-          PersistentApplicationForm newPaf =
-              applicationFormRepository.load(
-                  h.attach(ApplicationFormDAO.class), newApplicationFormId);
-
-          consignmentRepository.cloneConsignment(h.attach(ConsignmentDAO.class), newPaf);
-
-          List<PersistentConsignment> persistentConsignments =
-              consignmentRepository.loadConsignmentsForApplication(
-                  h.attach(ConsignmentDAO.class), newApplicationFormId);
+          // nothing is copied from the original consignment: the clone gets a new, empty one, so
+          // this is a single insert whose generated key the commodity copies need
+          final UUID newConsignmentId =
+              consignmentRepository.cloneConsignment(
+                  h.attach(ConsignmentDAO.class),
+                  clonedPaf.toBuilder().id(newApplicationFormId).build());
 
           commodityservice.cloneCommodities(
               h,
-              originalConsignments.get(0).getId(),
-              persistentConsignments.get(0).getId(),
+              originalConsignmentId,
+              newConsignmentId,
               ApplicationCommodityType.lookup(CommodityGroup.valueOf(pafBeingCloned.getCommodityGroup()),
                   getApplicationType(pafBeingCloned.getEhcNumber())));
 
-          if (newPaf.getInspectionLocationId() != null) {
+          if (clonedPaf.getInspectionLocationId() != null) {
             inspectionService.deleteInspectionDetailsIfLocationIsNotValid(
-                newPaf.getId(), newPaf.getInspectionLocationId());
+                newApplicationFormId, clonedPaf.getInspectionLocationId());
           }
 
           reforwardingDetailsService.cloneReForwardingDetails(
-              pafBeingCloned.getId(), newApplicationFormId);
+              h, pafBeingCloned.getId(), newApplicationFormId);
 
           packerDetailsService.clonePackerDetails(h, pafBeingCloned.getId(), newApplicationFormId);
 
@@ -897,8 +982,12 @@ public class ApplicationFormService {
         });
   }
 
-  public void updateApplicationFormToActiveVersion(@NonNull final Long id) {
-    jdbi.useTransaction(
+  /**
+   * Migrates the answers of a draft form and its consignments to the form's current version,
+   * writing only the rows the migration changed. Returns false when there was nothing to migrate.
+   */
+  public boolean updateApplicationFormToActiveVersion(@NonNull final Long id) {
+    return jdbi.inTransaction(
         h -> {
           final ApplicationFormDAO dao = h.attach(ApplicationFormDAO.class);
           PersistentApplicationForm persistentApplicationForm =
@@ -924,23 +1013,26 @@ public class ApplicationFormService {
                     .build();
           }
 
-          Optional<PersistentApplicationForm> updated =
-              applicationFormAnswerMigrationService.migrateAnswersToLatestFormVersion(
-                  persistentApplicationForm);
+          final PersistentApplicationForm original = persistentApplicationForm;
+          final Optional<PersistentApplicationForm> updated =
+              applicationFormAnswerMigrationService
+                  .migrateAnswersToLatestFormVersion(original)
+                  .filter(applicationForm -> !applicationForm.equals(original));
 
           updated.ifPresent(
               applicationForm -> {
                 applicationFormRepository.update(
                     h.attach(ApplicationFormDAO.class), applicationForm);
                 if (hasConsignments) {
-                  applicationForm
-                      .getPersistentConsignments()
+                  applicationForm.getPersistentConsignments().stream()
+                      .filter(consignment -> !persistentConsignments.contains(consignment))
                       .forEach(
                           updatedPaf ->
                               consignmentRepository.update(
                                   h.attach(ConsignmentDAO.class), updatedPaf));
                 }
               });
+          return updated.isPresent();
         });
   }
 
@@ -989,7 +1081,8 @@ public class ApplicationFormService {
           PersistentApplicationForm pafForUpdate =
               persistentApplicationForm.toBuilder().data(pafDataForUpdate).build();
 
-          applicationFormRepository.update(h.attach(ApplicationFormDAO.class), pafForUpdate);
+          applicationFormRepository.updateSupplementaryDocuments(
+              h.attach(ApplicationFormDAO.class), pafForUpdate);
         });
   }
 
@@ -1033,7 +1126,8 @@ public class ApplicationFormService {
           PersistentApplicationForm pafForUpdate =
               persistentApplicationForm.toBuilder().data(pafDataForUpdate).build();
 
-          applicationFormRepository.update(h.attach(ApplicationFormDAO.class), pafForUpdate);
+          applicationFormRepository.updateSupplementaryDocuments(
+              h.attach(ApplicationFormDAO.class), pafForUpdate);
         });
   }
 
@@ -20,6 +20,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.backend.adapter.BackendServiceAdapter;
@@ -33,6 +34,7 @@ public class ApplicationService {
   private final Jdbi jdbi;
   private final BackendServiceAdapter backendServiceAdapter;
   private final ApplicationFormRepository applicationFormRepository;
+  private final ApplicationFormOwnershipCache applicationFormOwnershipCache;
 
   public void cancelApplication(final Long applicationId) {
     jdbi.useTransaction(
@@ -60,6 +62,7 @@ public class ApplicationService {
           }
 
         });
+    applicationFormOwnershipCache.invalidate(applicationId);
   }
 
   private boolean isValidStatusForCancellation(final Long applicationId, UUID organisationId) {
@@ -0,0 +1,38 @@
+package uk.gov.defra.plants.applicationform.service;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Adds an Authorization header to calls made by work started with {@link #runWith}. Such work runs
+ * on a background thread with no inbound request whose header could be relayed, so it carries the
+ * header of the request that started it instead. Calls that already have an Authorization header
+ * are left as they are.
+ */
+@Priority(Priorities.USER + 1)
+public class BackgroundAuthorizationFilter implements ClientRequestFilter {
+
+  private static final ThreadLocal<String> AUTHORIZATION = new ThreadLocal<>();
+
+  public static void runWith(final String authorization, final Runnable work) {
+    AUTHORIZATION.set(authorization);
+    try {
+      work.run();
+    } finally {
+      AUTHORIZATION.remove();
+    }
+  }
+
+  @Override
+  public void filter(final ClientRequestContext clientRequestContext) {
+    final String authorization = AUTHORIZATION.get();
+
+    if (authorization != null
+        && !clientRequestContext.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+      clientRequestContext.getHeaders().putSingle(HttpHeaders.AUTHORIZATION, authorization);
+    }
+  }
+}
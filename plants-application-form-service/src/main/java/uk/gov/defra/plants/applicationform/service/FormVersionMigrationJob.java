@@ -0,0 +1,207 @@
+package uk.gov.defra.plants.applicationform.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.ws.rs.ClientErrorException;
+import lombok.extern.slf4j.Slf4j;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.jdbi.v3.core.Jdbi;
+import org.slf4j.MDC;
+import uk.gov.defra.plants.applicationform.ApplicationFormServiceConfiguration;
+import uk.gov.defra.plants.applicationform.FormVersionMigrationConfiguration;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
+import uk.gov.defra.plants.applicationform.model.FormVersionMigrationProgress;
+import uk.gov.defra.plants.common.constants.RequestTracing;
+import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
+
+/**
+ * Migrates draft forms pinned to a superseded EHC version to the active version in the background,
+ * so exporters opening their drafts after an EHC is republished do not all migrate them at once.
+ *
+ * <p>Drafts are read in id order a batch at a time, pausing between batches. The last form
+ * processed for each EHC version is held in memory, so a run that is stopped carries on from there
+ * when started again on the same instance. Nothing is kept across a restart: a new run then starts
+ * from the first draft still on an old version, which includes any it failed to migrate before.
+ *
+ * <p>The form configuration service only accepts authenticated calls, and the job has no inbound
+ * request to relay credentials from. It makes its calls with the Authorization header of the
+ * request that started it, so a run lasts only as long as that token is valid.
+ */
+@Slf4j
+public class FormVersionMigrationJob {
+
+  public static final String FORM_VERSION_MIGRATION_EXECUTOR = "form-version-migration-executor";
+
+  private static final int MAXIMUM_FAILED_IDS = 100;
+
+  private final Jdbi jdbi;
+  private final ApplicationFormRepository applicationFormRepository;
+  private final FormConfigurationServiceAdapter formConfigurationServiceAdapter;
+  private final Provider<ApplicationFormService> applicationFormServiceProvider;
+  private final RequestScope requestScope;
+  private final ExecutorService formVersionMigrationExecutor;
+  private final FormVersionMigrationConfiguration formVersionMigrationConfiguration;
+
+  private final Map<List<String>, Long> checkpoints = new ConcurrentHashMap<>();
+  private final AtomicReference<FormVersionMigrationProgress> progress =
+      new AtomicReference<>(FormVersionMigrationProgress.builder().build());
+  private volatile boolean stopRequested;
+
+  @Inject
+  public FormVersionMigrationJob(
+      final Jdbi jdbi,
+      final ApplicationFormRepository applicationFormRepository,
+      final FormConfigurationServiceAdapter formConfigurationServiceAdapter,
+      final Provider<ApplicationFormService> applicationFormServiceProvider,
+      final RequestScope requestScope,
+      @Named(FORM_VERSION_MIGRATION_EXECUTOR) final ExecutorService formVersionMigrationExecutor,
+      final ApplicationFormServiceConfiguration configuration) {
+    this.jdbi = jdbi;
+    this.applicationFormRepository = applicationFormRepository;
+    this.formConfigurationServiceAdapter = formConfigurationServiceAdapter;
+    this.applicationFormServiceProvider = applicationFormServiceProvider;
+    this.requestScope = requestScope;
+    this.formVersionMigrationExecutor = formVersionMigrationExecutor;
+    this.formVersionMigrationConfiguration = configuration.getFormVersionMigration();
+  }
+
+  /**
+   * Starts migrating the drafts for one EHC, or for every EHC with drafts when ehcNumber is null,
+   * calling other services with the given Authorization header. Returns false without starting
+   * anything if a run is already in progress.
+   */
+  public synchronized boolean start(final String ehcNumber, final String authorization) {
+    if (progress.get().isRunning()) {
+      return false;
+    }
+    stopRequested = false;
+    progress.set(
+        FormVersionMigrationProgress.builder().running(true).started(LocalDateTime.now()).build());
+    formVersionMigrationExecutor.execute(
+        () -> BackgroundAuthorizationFilter.runWith(authorization, () -> run(ehcNumber)));
+    return true;
+  }
+
+  public void stop() {
+    stopRequested = true;
+  }
+
+  public FormVersionMigrationProgress getProgress() {
+    return progress.get();
+  }
+
+  private void run(final String ehcNumber) {
+    MDC.put(RequestTracing.CORRELATION_COUNT, "0");
+    MDC.put(RequestTracing.CORRELATION_HEADER, UUID.randomUUID().toString());
+    try {
+      final List<String> ehcNumbers =
+          ehcNumber != null
+              ? List.of(ehcNumber)
+              : applicationFormRepository.loadEhcNumbersWithDrafts(
+                  jdbi.onDemand(ApplicationFormDAO.class));
+      for (final String ehc : ehcNumbers) {
+        if (stopRequested) {
+          break;
+        }
+        migrateDrafts(ehc);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      LOGGER.error("form version migration stopped", e);
+      update(p -> p.toBuilder().error(e.getMessage()).build());
+    } finally {
+      update(p -> p.toBuilder().running(false).finished(LocalDateTime.now()).build());
+      MDC.clear();
+    }
+  }
+
+  private void migrateDrafts(final String ehcNumber) throws InterruptedException {
+    final MergedForm activeForm = formConfigurationServiceAdapter.getActiveMergedForm(ehcNumber);
+    if (activeForm.getEhc().isOffline()) {
+      LOGGER.info("no active form for ehc={}, leaving its drafts to migrate when opened", ehcNumber);
+      return;
+    }
+
+    final String ehcVersion = activeForm.getEhc().getVersion();
+    final List<String> checkpoint = Arrays.asList(ehcNumber, ehcVersion);
+    final int batchSize = formVersionMigrationConfiguration.getBatchSize();
+    final ApplicationFormDAO dao = jdbi.onDemand(ApplicationFormDAO.class);
+    update(p -> p.toBuilder().ehcNumber(ehcNumber).ehcVersion(ehcVersion).build());
+    LOGGER.info("migrating drafts for ehc={} to version={}", ehcNumber, ehcVersion);
+
+    List<Long> ids;
+    do {
+      ids =
+          applicationFormRepository.loadDraftIdsNotOnEhcVersion(
+              dao, ehcNumber, ehcVersion, checkpoints.getOrDefault(checkpoint, 0L), batchSize);
+
+      // each batch runs in its own request scope, so its services share one form configuration
+      // lookup and each form is fetched once per batch
+      final List<Long> batch = ids;
+      requestScope.runInScope(() -> migrateBatch(batch, checkpoint));
+      if (stopRequested) {
+        return;
+      }
+
+      if (ids.size() == batchSize) {
+        Thread.sleep(formVersionMigrationConfiguration.getPauseBetweenBatches().toMilliseconds());
+      }
+    } while (ids.size() == batchSize && !stopRequested);
+
+    if (!stopRequested) {
+      checkpoints.remove(checkpoint);
+    }
+  }
+
+  private void migrateBatch(final List<Long> ids, final List<String> checkpoint) {
+    final ApplicationFormService applicationFormService = applicationFormServiceProvider.get();
+    for (final Long id : ids) {
+      if (stopRequested) {
+        return;
+      }
+      migrateDraft(applicationFormService, id);
+      checkpoints.put(checkpoint, id);
+    }
+  }
+
+  private void migrateDraft(final ApplicationFormService applicationFormService, final Long id) {
+    try {
+      final boolean migrated = applicationFormService.updateApplicationFormToActiveVersion(id);
+      update(
+          p ->
+              migrated
+                  ? p.toBuilder().lastProcessedId(id).migrated(p.getMigrated() + 1).build()
+                  : p.toBuilder().lastProcessedId(id).unchanged(p.getUnchanged() + 1).build());
+    } catch (ClientErrorException e) {
+      // deleted, submitted or edited since the batch was read
+      update(p -> p.toBuilder().lastProcessedId(id).skipped(p.getSkipped() + 1).build());
+    } catch (RuntimeException e) {
+      LOGGER.warn("failed to migrate application form id={} to active version", id, e);
+      update(
+          p -> {
+            final FormVersionMigrationProgress.FormVersionMigrationProgressBuilder builder =
+                p.toBuilder().lastProcessedId(id).failed(p.getFailed() + 1);
+            return p.getFailedApplicationFormIds().size() < MAXIMUM_FAILED_IDS
+                ? builder.failedApplicationFormId(id).build()
+                : builder.build();
+          });
+    }
+  }
+
+  private void update(final UnaryOperator<FormVersionMigrationProgress> change) {
+    progress.updateAndGet(change);
+  }
+}
@@ -70,13 +70,7 @@ public class PackerDetailsService {
       final Handle h, final Long originalApplicationFormId,
       final Long newApplicationFormId) {
 
-    Optional.ofNullable(getPackerDetails(originalApplicationFormId))
-        .ifPresent(originalPackerDetails -> {
-          PersistentPackerDetails newPackerDetails =
-              packerDetailsMapper.asPersistentPackerDetails(originalPackerDetails, newApplicationFormId);
-
-          packerDetailsRepository.insertPackerDetails(h.attach(PackerDetailsDAO.class), newPackerDetails);
-        });
-
+    packerDetailsRepository.clonePackerDetails(
+        h.attach(PackerDetailsDAO.class), originalApplicationFormId, newApplicationFormId);
   }
 }
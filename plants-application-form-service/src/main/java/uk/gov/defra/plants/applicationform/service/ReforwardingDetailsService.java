@@ -4,6 +4,7 @@ import java.util.Optional;
 import javax.inject.Inject;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
@@ -99,9 +100,14 @@ public class ReforwardingDetailsService {
         });
   }
 
-  public void cloneReForwardingDetails(final Long originalApplicationFormId,
+  /**
+   * Copies the reforwarding details onto a form being created by a clone, in the clone's
+   * transaction. Unlike {@link #upsertReforwardingDetails} it neither checks the form is amendable
+   * nor looks for details to update, as the new form is a draft with no details of its own.
+   */
+  public void cloneReForwardingDetails(final Handle h, final Long originalApplicationFormId,
       final Long newApplicationFormId) {
-    Optional.ofNullable(getReforwardingDetails(originalApplicationFormId))
-        .ifPresent(rfd -> upsertReforwardingDetails(newApplicationFormId, rfd));
+    reforwardingDetailsRepository.cloneReforwardingDetails(
+        h.attach(ReforwardingDetailsDAO.class), originalApplicationFormId, newApplicationFormId);
   }
 }
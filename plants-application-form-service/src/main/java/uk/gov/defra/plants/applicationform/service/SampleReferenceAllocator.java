@@ -0,0 +1,63 @@
+package uk.gov.defra.plants.applicationform.service;
+
+import javax.inject.Inject;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
+import uk.gov.defra.plants.applicationform.ApplicationFormServiceConfiguration;
+import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalDAO;
+import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalRepository;
+
+/**
+ * Hands out sample references from blocks reserved on the shared counter, so a submission only
+ * goes to the counter row once this instance has used up its block. Each block is reserved with a
+ * single atomic update of the counter, so references are unique across instances; any left in a
+ * block when an instance stops, or skipped because a submission needs more than the block has
+ * left, are never used.
+ *
+ * <p>Reserving a block opens a transaction of its own, so this must not be called while holding
+ * another connection, or submissions waiting here could hold every connection in the pool.
+ */
+public class SampleReferenceAllocator {
+
+  private final Jdbi jdbi;
+  private final CommodityBotanicalRepository commodityBotanicalRepository;
+  private final int blockSize;
+
+  private int next;
+  private int end;
+
+  @Inject
+  public SampleReferenceAllocator(
+      final Jdbi jdbi,
+      final CommodityBotanicalRepository commodityBotanicalRepository,
+      final ApplicationFormServiceConfiguration configuration) {
+    this(jdbi, commodityBotanicalRepository, configuration.getSampleReferenceBlockSize());
+  }
+
+  public SampleReferenceAllocator(
+      final Jdbi jdbi,
+      final CommodityBotanicalRepository commodityBotanicalRepository,
+      final int blockSize) {
+    this.jdbi = jdbi;
+    this.commodityBotanicalRepository = commodityBotanicalRepository;
+    this.blockSize = blockSize;
+  }
+
+  /** @return the first of {@code count} consecutive sample references */
+  public synchronized int allocate(final int count) {
+    if (end - next < count) {
+      final int reserved = Math.max(blockSize, count);
+      next =
+          jdbi.inTransaction(
+              TransactionIsolationLevel.READ_COMMITTED,
+              h ->
+                  commodityBotanicalRepository.reserveSampleRefBlock(
+                      h.attach(CommodityBotanicalDAO.class), reserved));
+      end = next + reserved;
+    }
+
+    final int first = next;
+    next += count;
+    return first;
+  }
+}
@@ -1,24 +1,23 @@
 package uk.gov.defra.plants.applicationform.service;
 
+import static javax.ws.rs.core.Response.Status.CONFLICT;
+
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
+import javax.ws.rs.ClientErrorException;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
-import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
-import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalDAO;
 import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalRepository;
-import uk.gov.defra.plants.applicationform.mapper.ApplicationFormMapper;
 import uk.gov.defra.plants.applicationform.model.CommoditySampleReference;
-import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
-import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
+import uk.gov.defra.plants.applicationform.model.SampleReferenceRange;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
 import uk.gov.defra.plants.applicationform.representation.Commodity;
-import uk.gov.defra.plants.applicationform.representation.Consignment;
 import uk.gov.defra.plants.formconfiguration.representation.healthcertificate.CommodityGroup;
 
 @Slf4j
@@ -26,15 +25,44 @@ import uk.gov.defra.plants.formconfiguration.representation.healthcertificate.Co
 public class SampleReferenceService {
 
   private final Jdbi jdbi;
-  private final ConsignmentService consignmentService;
-  private final ApplicationFormMapper applicationFormMapper;
-  private final ApplicationFormRepository applicationFormRepository;
+  private final SampleReferenceAllocator sampleReferenceAllocator;
   private final CommodityBotanicalRepository commodityBotanicalRepository;
 
+  /**
+   * Reserves a sample reference for each commodity of a plant products application that has not
+   * been submitted before. Called before the submission opens its transaction, as reserving may
+   * need a connection of its own.
+   */
+  public SampleReferenceRange reserveSampleReferences(Long applicationFormId) {
+    final int commodities =
+        jdbi.inTransaction(
+            TransactionIsolationLevel.READ_COMMITTED,
+            h ->
+                commodityBotanicalRepository.countCommodities(
+                    h.attach(CommodityBotanicalDAO.class),
+                    applicationFormId,
+                    CommodityGroup.PLANT_PRODUCTS.name(),
+                    ApplicationFormStatus.SUBMITTED));
+    if (commodities == 0) {
+      return SampleReferenceRange.NONE;
+    }
+    return SampleReferenceRange.builder()
+        .first(sampleReferenceAllocator.allocate(commodities))
+        .count(commodities)
+        .build();
+  }
+
   public void updateSampleReference(
-      Handle h, List<Commodity> commodities, Integer initialSampleRef) {
+      Handle h, List<Commodity> commodities, SampleReferenceRange sampleReferences) {
+    if (commodities.isEmpty()) {
+      return;
+    }
+    if (commodities.size() > sampleReferences.getCount()) {
+      throw new ClientErrorException(
+          "commodities were added to the application while it was being submitted", CONFLICT);
+    }
 
-    AtomicInteger count = new AtomicInteger(initialSampleRef);
+    AtomicInteger count = new AtomicInteger(sampleReferences.getFirst());
 
     commodityBotanicalRepository.updateSampleReference(
         h.attach(CommodityBotanicalDAO.class),
@@ -47,38 +75,4 @@ public class SampleReferenceService {
                         .build())
             .collect(Collectors.toList()));
   }
-
-  public Integer incrementSampleRefCounter(Long id) {
-    final ApplicationForm applicationForm =
-        jdbi.inTransaction(
-            TransactionIsolationLevel.READ_COMMITTED,
-            handle -> {
-              final PersistentApplicationForm targetForm =
-                  applicationFormRepository.load(handle.attach(ApplicationFormDAO.class), id);
-
-              List<Consignment> consignments = consignmentService.getConsignments(id);
-
-              return applicationFormMapper.asApplicationForm(targetForm, consignments);
-            });
-
-    if (applicationForm
-        .getCommodityGroup()
-        .equalsIgnoreCase(CommodityGroup.PLANT_PRODUCTS.name())) {
-      return getRefCounterAndUpdate(applicationForm);
-    }
-    return null;
-  }
-
-  private Integer getRefCounterAndUpdate(ApplicationForm applicationForm) {
-    return jdbi.inTransaction(
-        TransactionIsolationLevel.SERIALIZABLE,
-        h -> {
-          CommodityBotanicalDAO commodityDAO = h.attach(CommodityBotanicalDAO.class);
-          Integer initialValue = commodityBotanicalRepository.getSampleRefCounter(commodityDAO);
-          commodityBotanicalRepository.updateSampleRefCounter(
-              commodityDAO, initialValue + applicationForm.getCommodities().size());
-
-          return initialValue;
-        });
-  }
 }
@@ -0,0 +1,170 @@
+package uk.gov.defra.plants.applicationform.service.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.defra.plants.applicationform.ApplicationFormServiceConfiguration;
+import uk.gov.defra.plants.applicationform.CaseStatusCacheConfiguration;
+import uk.gov.defra.plants.backend.adapter.BackendServiceAdapter;
+import uk.gov.defra.plants.backend.representation.ApplicationTradeStatus;
+
+/**
+ * Short-lived cache of case statuses for dashboard lookups. Case management answers a lookup for
+ * the selected organisation, or for the calling contact when there is none, so statuses are cached
+ * per application and per that scope. Only ids that miss the cache are sent to case management,
+ * and an id already being looked up by another request in the same scope is waited on rather than
+ * requested again. A status is dropped when the application is resubmitted from this instance;
+ * any other change to it is only seen once its entry expires.
+ */
+@Slf4j
+public class CaseStatusCache {
+
+  private final BackendServiceAdapter backendServiceAdapter;
+  private final Cache<CaseStatusKey, ApplicationTradeStatus> caseStatuses;
+  private final ConcurrentMap<CaseStatusKey, CompletableFuture<Optional<ApplicationTradeStatus>>>
+      inFlightLookups = new ConcurrentHashMap<>();
+
+  @Inject
+  public CaseStatusCache(
+      final BackendServiceAdapter backendServiceAdapter,
+      final ApplicationFormServiceConfiguration configuration) {
+    this(backendServiceAdapter, configuration.getCaseStatusCache());
+  }
+
+  public CaseStatusCache(
+      final BackendServiceAdapter backendServiceAdapter,
+      final CaseStatusCacheConfiguration configuration) {
+    this.backendServiceAdapter = backendServiceAdapter;
+    this.caseStatuses =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(configuration.getExpiry().toMilliseconds(), TimeUnit.MILLISECONDS)
+            .maximumSize(configuration.getMaximumSize())
+            .build();
+  }
+
+  /**
+   * @param organisationId the selected organisation, or null to look up the contact's own
+   *     applications
+   * @param contactId the calling contact, whose applications are looked up when there is no
+   *     organisation
+   */
+  public Map<Long, ApplicationTradeStatus> getCaseStatusesForApplications(
+      final List<Long> applicationIds,
+      final int pageSize,
+      final UUID organisationId,
+      final UUID contactId) {
+
+    final Map<Long, ApplicationTradeStatus> caseStatusMap = new HashMap<>();
+    final Map<Long, CompletableFuture<Optional<ApplicationTradeStatus>>> claimedLookups =
+        new LinkedHashMap<>();
+    final Map<Long, CompletableFuture<Optional<ApplicationTradeStatus>>> sharedLookups =
+        new HashMap<>();
+
+    for (final Long applicationId : applicationIds) {
+      final CaseStatusKey key = CaseStatusKey.of(applicationId, organisationId, contactId);
+      final ApplicationTradeStatus cached = caseStatuses.getIfPresent(key);
+      if (cached != null) {
+        caseStatusMap.put(applicationId, cached);
+        continue;
+      }
+      final CompletableFuture<Optional<ApplicationTradeStatus>> lookup = new CompletableFuture<>();
+      final CompletableFuture<Optional<ApplicationTradeStatus>> existingLookup =
+          inFlightLookups.putIfAbsent(key, lookup);
+      if (existingLookup == null) {
+        claimedLookups.put(applicationId, lookup);
+      } else {
+        sharedLookups.put(applicationId, existingLookup);
+      }
+    }
+
+    LOGGER.debug(
+        "case statuses: {} cached, {} to fetch, {} already being fetched",
+        caseStatusMap.size(),
+        claimedLookups.size(),
+        sharedLookups.size());
+
+    if (!claimedLookups.isEmpty()) {
+      fetchCaseStatuses(claimedLookups, pageSize, organisationId, contactId);
+    }
+
+    claimedLookups.forEach(
+        (applicationId, lookup) ->
+            join(lookup).ifPresent(status -> caseStatusMap.put(applicationId, status)));
+    sharedLookups.forEach(
+        (applicationId, lookup) ->
+            join(lookup).ifPresent(status -> caseStatusMap.put(applicationId, status)));
+
+    return caseStatusMap;
+  }
+
+  public void invalidate(final Long applicationId) {
+    caseStatuses.asMap().keySet().removeIf(key -> key.getApplicationId().equals(applicationId));
+  }
+
+  private void fetchCaseStatuses(
+      final Map<Long, CompletableFuture<Optional<ApplicationTradeStatus>>> claimedLookups,
+      final int pageSize,
+      final UUID organisationId,
+      final UUID contactId) {
+    try {
+      final Map<Long, ApplicationTradeStatus> fetched =
+          backendServiceAdapter.getCaseStatusesForApplications(
+              new ArrayList<>(claimedLookups.keySet()), pageSize, organisationId);
+      fetched.forEach(
+          (applicationId, status) ->
+              caseStatuses.put(
+                  CaseStatusKey.of(applicationId, organisationId, contactId), status));
+      claimedLookups.forEach(
+          (applicationId, lookup) ->
+              lookup.complete(Optional.ofNullable(fetched.get(applicationId))));
+    } catch (RuntimeException e) {
+      claimedLookups.values().forEach(lookup -> lookup.completeExceptionally(e));
+      throw e;
+    } finally {
+      claimedLookups.forEach(
+          (applicationId, lookup) ->
+              inFlightLookups.remove(
+                  CaseStatusKey.of(applicationId, organisationId, contactId), lookup));
+    }
+  }
+
+  private static Optional<ApplicationTradeStatus> join(
+      final CompletableFuture<Optional<ApplicationTradeStatus>> lookup) {
+    try {
+      return lookup.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  @Value
+  private static class CaseStatusKey {
+    Long applicationId;
+    UUID organisationId;
+    UUID contactId;
+
+    private static CaseStatusKey of(
+        final Long applicationId, final UUID organisationId, final UUID contactId) {
+      // case management ignores the contact when it is given an organisation
+      return new CaseStatusKey(
+          applicationId, organisationId, organisationId == null ? contactId : null);
+    }
+  }
+}
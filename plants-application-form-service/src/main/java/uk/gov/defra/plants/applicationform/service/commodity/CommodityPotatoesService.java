@@ -3,7 +3,6 @@ package uk.gov.defra.plants.applicationform.service.commodity;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -99,16 +98,7 @@ public class CommodityPotatoesService implements CommodityServiceI {
 
   @Override
   public void cloneCommodities(Handle h, UUID originalConsignmentId, UUID newConsignmentId) {
-    List<PersistentCommodityPotatoes> commoditiesBeingCloned =
-        commodityPotatoesRepository.getCommoditiesByConsignmentId(
-            h.attach(CommodityPotatoesDAO.class), originalConsignmentId);
-
-    List<PersistentCommodityPotatoes> newCommodities =
-        commoditiesBeingCloned.stream()
-            .map(commodity -> commodity.toBuilder().consignmentId(newConsignmentId).build())
-            .collect(Collectors.toList());
-
-    commodityPotatoesRepository.insertCommodities(
-        h.attach(CommodityPotatoesDAO.class), newCommodities);
+    commodityPotatoesRepository.cloneCommodities(
+        h.attach(CommodityPotatoesDAO.class), originalConsignmentId, newConsignmentId);
   }
 }
@@ -3,7 +3,6 @@ package uk.gov.defra.plants.applicationform.service.commodity;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -90,16 +89,7 @@ public class CommodityUsedFarmMachineryService implements CommodityServiceI {
 
   @Override
   public void cloneCommodities(Handle h, UUID originalConsignmentId, UUID newConsignmentId) {
-    List<PersistentCommodityMachinery> commoditiesBeingCloned =
-        commodityMachineryRepository.getCommoditiesByConsignmentId(
-            h.attach(CommodityMachineryDAO.class), originalConsignmentId);
-
-    List<PersistentCommodityMachinery> newCommodities =
-        commoditiesBeingCloned.stream()
-            .map(commodity -> commodity.toBuilder().consignmentId(newConsignmentId).build())
-            .collect(Collectors.toList());
-
-    commodityMachineryRepository.insertCommodities(
-        h.attach(CommodityMachineryDAO.class), newCommodities);
+    commodityMachineryRepository.cloneCommodities(
+        h.attach(CommodityMachineryDAO.class), originalConsignmentId, newConsignmentId);
   }
 }
@@ -18,7 +18,6 @@ import uk.gov.defra.plants.applicationform.model.PersistentApplicationFormData;
 import uk.gov.defra.plants.applicationform.model.PersistentConsignment;
 import uk.gov.defra.plants.applicationform.model.PersistentConsignmentData;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormItem;
-import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
 import uk.gov.defra.plants.formconfiguration.representation.form.Form;
 import uk.gov.defra.plants.formconfiguration.representation.form.FormStatus;
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
@@ -30,7 +29,7 @@ import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFor
 public class ApplicationFormAnswerMigrationService {
 
   private static final String QUESTIONID_PAGEOCCURRENCE_DELIMITER = "-";
-  private final FormConfigurationServiceAdapter formConfigurationServiceAdapter;
+  private final FormConfigurationLookup formConfigurationLookup;
   private final ResponseItemMapper responseItemMapper;
   private final MergedFormPageNormaliser mergedFormPageNormaliser;
 
@@ -42,7 +41,7 @@ public class ApplicationFormAnswerMigrationService {
     final PersistentApplicationFormData formData = applicationForm.getData();
 
     List<Form> allVersions =
-        formConfigurationServiceAdapter.getAllVersions(formData.getEhc().getName());
+        formConfigurationLookup.getAllVersions(formData.getEhc().getName());
 
     Optional<Form> currentPrivateForm = findCurrentPrivateForm(allVersions, applicationForm);
 
@@ -51,7 +50,7 @@ public class ApplicationFormAnswerMigrationService {
       return Optional.empty();
     } else {
       final MergedForm activeForm =
-          formConfigurationServiceAdapter.getActiveMergedForm(formData.getEhc().getName());
+          formConfigurationLookup.getActiveMergedForm(formData.getEhc().getName());
 
       if (activeForm.getEhc().isOffline()) {
 
@@ -98,7 +97,7 @@ public class ApplicationFormAnswerMigrationService {
                 Optional.of(
                     migrateApplicationFormDataToLatestFormVersion(
                         applicationForm,
-                        formConfigurationServiceAdapter.getPrivateMergedForm(
+                        formConfigurationLookup.getPrivateMergedForm(
                             formData.getEhc().getName(),
                             newPrivateForm.getPrivateCode().toString()))))
         .orElseGet(
@@ -113,7 +112,7 @@ public class ApplicationFormAnswerMigrationService {
     final PersistentApplicationFormData formData = applicationForm.getData();
     List<MergedFormPage> normalisedMergedFormPages =
         mergedFormPageNormaliser.normaliseMergedFormPages(
-            formConfigurationServiceAdapter.getMergedFormPages(
+            formConfigurationLookup.getMergedFormPages(
                 activeForm.getEhc().getName(),
                 activeForm.getEhc().getVersion(),
                 activeForm.getExa().getName(),
@@ -0,0 +1,114 @@
+package uk.gov.defra.plants.applicationform.service.helper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
+import uk.gov.defra.plants.formconfiguration.representation.form.Form;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage;
+
+/**
+ * Merged forms, their pages and form versions from form configuration, remembered for the rest of
+ * the lookup. One lookup is bound per request and shared by every service handling it, so a
+ * request asks form configuration for each EHC and EXA once; two threads of the same request that
+ * ask for the same form together may both fetch it, and the first answer is kept.
+ */
+public class FormConfigurationLookup {
+
+  private final FormConfigurationServiceAdapter formConfigurationServiceAdapter;
+  private final Map<List<Object>, Object> lookups = new ConcurrentHashMap<>();
+
+  @Inject
+  public FormConfigurationLookup(
+      final FormConfigurationServiceAdapter formConfigurationServiceAdapter) {
+    this.formConfigurationServiceAdapter = formConfigurationServiceAdapter;
+  }
+
+  public MergedForm getMergedFormIgnoreScope(
+      final String ehcNumber,
+      final String ehcVersion,
+      final String exaNumber,
+      final String exaVersion) {
+    return lookup(
+        () ->
+            formConfigurationServiceAdapter.getMergedFormIgnoreScope(
+                ehcNumber, ehcVersion, exaNumber, exaVersion),
+        "mergedFormIgnoreScope",
+        ehcNumber,
+        ehcVersion,
+        exaNumber,
+        exaVersion);
+  }
+
+  public List<MergedFormPage> getMergedFormPagesIgnoreScope(
+      final String ehcNumber,
+      final String ehcVersion,
+      final String exaNumber,
+      final String exaVersion) {
+    return lookup(
+        () ->
+            formConfigurationServiceAdapter.getMergedFormPagesIgnoreScope(
+                ehcNumber, ehcVersion, exaNumber, exaVersion),
+        "mergedFormPagesIgnoreScope",
+        ehcNumber,
+        ehcVersion,
+        exaNumber,
+        exaVersion);
+  }
+
+  public List<MergedFormPage> getMergedFormPages(
+      final String ehcNumber,
+      final String ehcVersion,
+      final String exaNumber,
+      final String exaVersion) {
+    return lookup(
+        () ->
+            formConfigurationServiceAdapter.getMergedFormPages(
+                ehcNumber, ehcVersion, exaNumber, exaVersion),
+        "mergedFormPages",
+        ehcNumber,
+        ehcVersion,
+        exaNumber,
+        exaVersion);
+  }
+
+  public MergedForm getActiveMergedForm(final String ehcNumber) {
+    return lookup(
+        () -> formConfigurationServiceAdapter.getActiveMergedForm(ehcNumber),
+        "activeMergedForm",
+        ehcNumber);
+  }
+
+  public MergedForm getPrivateMergedForm(final String ehcNumber, final String privateCode) {
+    return lookup(
+        () -> formConfigurationServiceAdapter.getPrivateMergedForm(ehcNumber, privateCode),
+        "privateMergedForm",
+        ehcNumber,
+        privateCode);
+  }
+
+  public List<Form> getAllVersions(final String ehcNumber) {
+    return lookup(
+        () -> formConfigurationServiceAdapter.getAllVersions(ehcNumber), "allVersions", ehcNumber);
+  }
+
+  // the adapter call is made outside the map so a slow fetch does not block other keys
+  @SuppressWarnings("unchecked")
+  private <T> T lookup(final Supplier<T> adapterCall, final Object... key) {
+    final List<Object> lookupKey = Arrays.asList(key);
+    final Object known = lookups.get(lookupKey);
+    if (known != null) {
+      return (T) known;
+    }
+    final T fetched = adapterCall.get();
+    if (fetched == null) {
+      return null;
+    }
+    final Object raced = lookups.putIfAbsent(lookupKey, fetched);
+    return raced != null ? (T) raced : fetched;
+  }
+}
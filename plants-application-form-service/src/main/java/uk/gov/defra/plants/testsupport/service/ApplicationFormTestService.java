@@ -5,6 +5,7 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 
 @Slf4j
@@ -12,16 +13,21 @@ public class ApplicationFormTestService {
 
   private final Jdbi jdbi;
   private final ApplicationFormRepository applicationFormRepository;
+  private final ApplicationFormOwnershipCache applicationFormOwnershipCache;
 
   @Inject
   public ApplicationFormTestService(
-      final Jdbi jdbi, final ApplicationFormRepository applicationFormRepository) {
+      final Jdbi jdbi,
+      final ApplicationFormRepository applicationFormRepository,
+      final ApplicationFormOwnershipCache applicationFormOwnershipCache) {
     this.jdbi = jdbi;
     this.applicationFormRepository = applicationFormRepository;
+    this.applicationFormOwnershipCache = applicationFormOwnershipCache;
   }
 
   public void deleteAllVersions(@NonNull final Long id) {
     jdbi.useTransaction(
         h -> applicationFormRepository.deleteApplicationForm(h.attach(ApplicationFormDAO.class), id));
+    applicationFormOwnershipCache.invalidate(id);
   }
 }
@@ -0,0 +1,67 @@
+-- Creates and backfills applicationFormSearchToken, which backs the dashboard filter.
+--
+-- The dashboard only finds forms through this table, so apply this script before deploying a
+-- version of the service that reads it. The tokens written here are the ones
+-- ApplicationFormSearchTokens builds: every lower-cased suffix of the id, the reference and the
+-- dd-MM-yyyy submitted date, plus the whole lower-cased destination country.
+--
+-- The script can be run again. It only creates what is missing, and it only backfills forms that
+-- have no ID token, which the service writes together with every other token of a form.
+
+IF OBJECT_ID('applicationFormSearchToken', 'U') IS NULL
+BEGIN
+  CREATE TABLE applicationFormSearchToken (
+    applicationId BIGINT NOT NULL REFERENCES applicationForm(id) ON DELETE CASCADE,
+    source VARCHAR(20) NOT NULL,
+    token NVARCHAR(400) NOT NULL);
+
+  CREATE INDEX ix_applicationFormSearchToken_source_token
+    ON applicationFormSearchToken (source, token) INCLUDE (applicationId);
+
+  CREATE INDEX ix_applicationFormSearchToken_applicationId
+    ON applicationFormSearchToken (applicationId, source);
+END
+GO
+
+BEGIN TRANSACTION;
+
+SELECT af.id
+INTO #untokenisedApplicationForm
+FROM applicationForm af WITH (UPDLOCK, HOLDLOCK)
+WHERE NOT EXISTS (
+  SELECT 1 FROM applicationFormSearchToken st
+  WHERE st.applicationId = af.id AND st.source = 'ID');
+
+-- a form without an ID token can still have the tokens of a reference or destination change
+DELETE st
+FROM applicationFormSearchToken st
+JOIN #untokenisedApplicationForm u ON u.id = st.applicationId;
+
+WITH suffixStart (n) AS (
+  SELECT TOP 400 ROW_NUMBER() OVER (ORDER BY (SELECT NULL)) FROM sys.all_columns
+),
+searchValue (applicationId, source, value) AS (
+  SELECT af.id, 'ID', CAST(af.id AS NVARCHAR(400))
+  FROM applicationForm af JOIN #untokenisedApplicationForm u ON u.id = af.id
+  UNION ALL
+  SELECT af.id, 'REFERENCE', LOWER(af.reference)
+  FROM applicationForm af JOIN #untokenisedApplicationForm u ON u.id = af.id
+  WHERE af.reference <> ''
+  UNION ALL
+  SELECT af.id, 'SUBMITTED', CONVERT(NVARCHAR(10), af.submitted, 105)
+  FROM applicationForm af JOIN #untokenisedApplicationForm u ON u.id = af.id
+  WHERE af.submitted IS NOT NULL
+)
+INSERT INTO applicationFormSearchToken (applicationId, source, token)
+-- LEN ignores trailing spaces, which are part of a suffix in ApplicationFormSearchTokens
+SELECT sv.applicationId, sv.source, SUBSTRING(sv.value, s.n, 400)
+FROM searchValue sv JOIN suffixStart s ON s.n <= LEN(sv.value + 'x') - 1
+UNION ALL
+SELECT af.id, 'DESTINATION_COUNTRY', LOWER(af.destinationCountry)
+FROM applicationForm af JOIN #untokenisedApplicationForm u ON u.id = af.id
+WHERE af.destinationCountry <> '';
+
+DROP TABLE #untokenisedApplicationForm;
+
+COMMIT TRANSACTION;
+GO
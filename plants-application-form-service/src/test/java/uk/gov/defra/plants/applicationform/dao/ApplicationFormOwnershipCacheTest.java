@@ -0,0 +1,88 @@
+package uk.gov.defra.plants.applicationform.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.dropwizard.util.Duration;
+import java.util.UUID;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.applicationform.ApplicationFormOwnershipCacheConfiguration;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ApplicationFormOwnershipCacheTest {
+
+  private static final ApplicationFormOwnership OWNERSHIP =
+      ApplicationFormOwnership.builder()
+          .id(1L)
+          .applicant(UUID.randomUUID())
+          .exporterOrganisation(UUID.randomUUID())
+          .status(ApplicationFormStatus.DRAFT)
+          .build();
+
+  @Mock private Jdbi jdbi;
+  @Mock private ApplicationFormDAO dao;
+
+  private ApplicationFormOwnershipCache applicationFormOwnershipCache;
+
+  @Before
+  public void before() {
+    when(jdbi.onDemand(ApplicationFormDAO.class)).thenReturn(dao);
+    applicationFormOwnershipCache = new ApplicationFormOwnershipCache(
+            jdbi, ApplicationFormOwnershipCacheConfiguration.builder().build());
+  }
+
+  @Test
+  public void loadsOwnershipOnce() {
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(OWNERSHIP);
+
+    assertThat(applicationFormOwnershipCache.get(1L)).contains(OWNERSHIP);
+    assertThat(applicationFormOwnershipCache.get(1L)).contains(OWNERSHIP);
+
+    verify(dao, times(1)).getApplicationFormOwnership(1L);
+  }
+
+  @Test
+  public void doesNotCacheMissingForms() {
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(null, OWNERSHIP);
+
+    assertThat(applicationFormOwnershipCache.get(1L)).isEmpty();
+    assertThat(applicationFormOwnershipCache.get(1L)).contains(OWNERSHIP);
+  }
+
+  @Test
+  public void reloadsOwnershipOnceInvalidated() {
+    final ApplicationFormOwnership submitted =
+        OWNERSHIP.toBuilder().status(ApplicationFormStatus.SUBMITTED).build();
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(OWNERSHIP, submitted);
+
+    assertThat(applicationFormOwnershipCache.get(1L)).contains(OWNERSHIP);
+    applicationFormOwnershipCache.invalidate(1L);
+
+    assertThat(applicationFormOwnershipCache.get(1L)).contains(submitted);
+  }
+
+  @Test
+  public void reloadsOwnershipOnceExpired() {
+    applicationFormOwnershipCache =
+        new ApplicationFormOwnershipCache(
+            jdbi,
+            ApplicationFormOwnershipCacheConfiguration.builder()
+                .expiry(Duration.seconds(0))
+                .build());
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(OWNERSHIP);
+
+    applicationFormOwnershipCache.get(1L);
+    applicationFormOwnershipCache.get(1L);
+
+    verify(dao, times(2)).getApplicationFormOwnership(1L);
+  }
+}
@@ -1,26 +1,38 @@
 package uk.gov.defra.plants.applicationform.dao;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.SUPPLEMENTARY_DOCUMENT_PDF;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_COUNTRY;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_PERSISTENT_APPLICATION_FORM_DRAFT;
 
+import java.util.ArrayList;
+import java.util.List;
 import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
 import javax.ws.rs.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.defra.plants.applicationform.ApplicationFormTestData;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken.Source;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormItem;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
 import uk.gov.defra.plants.applicationform.representation.ConsignmentTransportDetails;
+import uk.gov.defra.plants.common.json.ItemsMapper;
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.CustomQuestions;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -28,12 +40,13 @@ import uk.gov.defra.plants.formconfiguration.representation.mergedform.CustomQue
 public class ApplicationFormRepositoryTest {
 
   @Mock private ApplicationFormDAO applicationFormDAO;
-  private final ApplicationFormRepository applicationFormRepository =
-      new ApplicationFormRepository();
+  private ApplicationFormRepository applicationFormRepository;
 
   private final ArgumentCaptor<PersistentApplicationForm> captor =
       ArgumentCaptor.forClass(PersistentApplicationForm.class);
 
+  @Captor private ArgumentCaptor<List<ApplicationFormSearchToken>> searchTokensCaptor;
+
   private static final ApplicationFormItem referenceQuestionAnswer =
       ApplicationFormTestData.TEST_APPLICATION_FORM_ITEM
           .toBuilder()
@@ -53,6 +66,7 @@ public class ApplicationFormRepositoryTest {
 
   @Before
   public void setUp() {
+    applicationFormRepository = new ApplicationFormRepository();
     when(applicationFormDAO.updateApplicationForm(any())).thenReturn(1);
   }
 
@@ -69,6 +83,127 @@ public class ApplicationFormRepositoryTest {
     applicationFormRepository.update(applicationFormDAO, applicationFormWithReferenceAnswer);
   }
 
+  @Test
+  public void updateShouldThrowConflictWhenFormChangedSinceRead() {
+    when(applicationFormDAO.updateApplicationForm(any())).thenReturn(0);
+    when(applicationFormDAO.getApplicationFormOwnership(applicationFormWithReferenceAnswer.getId()))
+        .thenReturn(
+            ApplicationFormOwnership.builder()
+                .id(applicationFormWithReferenceAnswer.getId())
+                .status(ApplicationFormStatus.DRAFT)
+                .build());
+
+    final ClientErrorException conflict =
+        catchThrowableOfType(
+            () ->
+                applicationFormRepository.update(
+                    applicationFormDAO, applicationFormWithReferenceAnswer),
+            ClientErrorException.class);
+
+    assertThat(conflict.getResponse().getStatus()).isEqualTo(409);
+  }
+
+  @Test
+  public void shouldUpdateResponseItemsAndKeepReferenceInItsColumn() {
+    final PersistentApplicationForm readAtVersion3 =
+        applicationFormWithReferenceAnswer
+            .toBuilder()
+            .reference("oldReference")
+            .data(applicationFormWithReferenceAnswer.getData().toBuilder().version(3).build())
+            .build();
+    when(applicationFormDAO.updateResponseItems(any(), any(), any())).thenReturn(1);
+    when(applicationFormDAO.updateApplicationReference(1L, "referenceQuestionAnswer"))
+        .thenReturn(1);
+
+    applicationFormRepository.updateResponseItems(applicationFormDAO, readAtVersion3);
+
+    verify(applicationFormDAO)
+        .updateResponseItems(
+            1L,
+            ItemsMapper.toJson(List.of(ApplicationFormTestData.TEST_APPLICATION_FORM_ITEM)),
+            3);
+    verify(applicationFormDAO).updateApplicationReference(1L, "referenceQuestionAnswer");
+    verify(applicationFormDAO, never()).updateApplicationForm(any());
+  }
+
+  @Test
+  public void shouldUpdateResponseItemsWithoutTouchingUnchangedReference() {
+    when(applicationFormDAO.updateResponseItems(any(), any(), any())).thenReturn(1);
+
+    applicationFormRepository.updateResponseItems(
+        applicationFormDAO, TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+
+    verify(applicationFormDAO)
+        .updateResponseItems(
+            1L,
+            ItemsMapper.toJson(TEST_PERSISTENT_APPLICATION_FORM_DRAFT.getData().getResponseItems()),
+            null);
+    verify(applicationFormDAO, never()).updateApplicationReference(any(), any());
+  }
+
+  @Test
+  public void updateResponseItemsShouldThrowConflictWhenFormChangedSinceRead() {
+    when(applicationFormDAO.updateResponseItems(any(), any(), any())).thenReturn(0);
+    when(applicationFormDAO.getApplicationFormOwnership(1L))
+        .thenReturn(
+            ApplicationFormOwnership.builder().id(1L).status(ApplicationFormStatus.DRAFT).build());
+
+    final ClientErrorException conflict =
+        catchThrowableOfType(
+            () ->
+                applicationFormRepository.updateResponseItems(
+                    applicationFormDAO, TEST_PERSISTENT_APPLICATION_FORM_DRAFT),
+            ClientErrorException.class);
+
+    assertThat(conflict.getResponse().getStatus()).isEqualTo(409);
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void updateResponseItemsShouldThrowNotFoundException() {
+    when(applicationFormDAO.updateResponseItems(any(), any(), any())).thenReturn(0);
+    applicationFormRepository.updateResponseItems(
+        applicationFormDAO, TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+  }
+
+  @Test
+  public void shouldUpdateSupplementaryDocuments() {
+    final PersistentApplicationForm withDocument =
+        TEST_PERSISTENT_APPLICATION_FORM_DRAFT
+            .toBuilder()
+            .data(
+                TEST_PERSISTENT_APPLICATION_FORM_DRAFT
+                    .getData()
+                    .toBuilder()
+                    .supplementaryDocument(SUPPLEMENTARY_DOCUMENT_PDF)
+                    .version(2)
+                    .build())
+            .build();
+    when(applicationFormDAO.updateSupplementaryDocuments(any(), any(), any())).thenReturn(1);
+
+    applicationFormRepository.updateSupplementaryDocuments(applicationFormDAO, withDocument);
+
+    verify(applicationFormDAO)
+        .updateSupplementaryDocuments(
+            1L, ItemsMapper.toJson(List.of(SUPPLEMENTARY_DOCUMENT_PDF)), 2);
+  }
+
+  @Test
+  public void updateSupplementaryDocumentsShouldThrowConflictWhenFormChangedSinceRead() {
+    when(applicationFormDAO.updateSupplementaryDocuments(any(), any(), any())).thenReturn(0);
+    when(applicationFormDAO.getApplicationFormOwnership(1L))
+        .thenReturn(
+            ApplicationFormOwnership.builder().id(1L).status(ApplicationFormStatus.DRAFT).build());
+
+    final ClientErrorException conflict =
+        catchThrowableOfType(
+            () ->
+                applicationFormRepository.updateSupplementaryDocuments(
+                    applicationFormDAO, TEST_PERSISTENT_APPLICATION_FORM_DRAFT),
+            ClientErrorException.class);
+
+    assertThat(conflict.getResponse().getStatus()).isEqualTo(409);
+  }
+
   @Test
   public void shouldUpdateApplicationReference() {
     when(applicationFormDAO.updateApplicationReference(1L, "reference")).thenReturn(1);
@@ -76,6 +211,9 @@ public class ApplicationFormRepositoryTest {
     applicationFormRepository.updateApplicationReference(applicationFormDAO, 1L, "reference");
 
     verify(applicationFormDAO, times(1)).updateApplicationReference(1L, "reference");
+    verify(applicationFormDAO).deleteSearchTokens(1L, List.of(Source.REFERENCE));
+    verify(applicationFormDAO)
+        .insertSearchTokens(ApplicationFormSearchTokens.forReference(1L, "reference"));
   }
 
   @Test
@@ -95,6 +233,9 @@ public class ApplicationFormRepositoryTest {
     applicationFormRepository.updateDestinationCountry(applicationFormDAO, 1L, "GB");
 
     verify(applicationFormDAO, times(1)).updateDestinationCountry(1L, "GB");
+    verify(applicationFormDAO).deleteSearchTokens(1L, List.of(Source.DESTINATION_COUNTRY));
+    verify(applicationFormDAO)
+        .insertSearchTokens(ApplicationFormSearchTokens.forDestinationCountry(1L, "GB"));
   }
 
   @Test
@@ -104,6 +245,52 @@ public class ApplicationFormRepositoryTest {
         applicationFormDAO, applicationFormWithReferenceAnswer);
     verify(applicationFormDAO, times(1)).insertApplicationForm(captor.capture());
     checkResponseItemsExtractedToColumns();
+    verify(applicationFormDAO)
+        .insertSearchTokens(
+            ApplicationFormSearchTokens.forApplicationForm(
+                captor.getValue().toBuilder().id(123L).build()));
+  }
+
+  @Test
+  public void shouldRewriteOnlyChangedSearchTokensOnUpdate() {
+    final Long id = applicationFormWithReferenceAnswer.getId();
+    final List<ApplicationFormSearchToken> storedTokens =
+        new ArrayList<>(ApplicationFormSearchTokens.forReference(id, "referenceQuestionAnswer"));
+    storedTokens.addAll(
+        ApplicationFormSearchTokens.forSubmitted(
+            id, applicationFormWithReferenceAnswer.getSubmitted()));
+    storedTokens.addAll(ApplicationFormSearchTokens.forDestinationCountry(id, "DE"));
+    when(applicationFormDAO.getSearchTokens(
+            id, List.of(Source.REFERENCE, Source.SUBMITTED, Source.DESTINATION_COUNTRY)))
+        .thenReturn(storedTokens);
+
+    applicationFormRepository.update(applicationFormDAO, applicationFormWithReferenceAnswer);
+
+    verify(applicationFormDAO).deleteSearchTokens(id, List.of(Source.DESTINATION_COUNTRY));
+    verify(applicationFormDAO).insertSearchTokens(searchTokensCaptor.capture());
+    assertThat(searchTokensCaptor.getValue())
+        .extracting(ApplicationFormSearchToken::getToken)
+        .containsExactly(TEST_COUNTRY.getCode().toLowerCase());
+  }
+
+  @Test
+  public void shouldNotRewriteUnchangedSearchTokensOnUpdate() {
+    final Long id = applicationFormWithReferenceAnswer.getId();
+    final List<ApplicationFormSearchToken> storedTokens =
+        new ArrayList<>(ApplicationFormSearchTokens.forReference(id, "referenceQuestionAnswer"));
+    storedTokens.addAll(
+        ApplicationFormSearchTokens.forSubmitted(
+            id, applicationFormWithReferenceAnswer.getSubmitted()));
+    storedTokens.addAll(
+        ApplicationFormSearchTokens.forDestinationCountry(id, TEST_COUNTRY.getCode()));
+    when(applicationFormDAO.getSearchTokens(
+            id, List.of(Source.REFERENCE, Source.SUBMITTED, Source.DESTINATION_COUNTRY)))
+        .thenReturn(storedTokens);
+
+    applicationFormRepository.update(applicationFormDAO, applicationFormWithReferenceAnswer);
+
+    verify(applicationFormDAO, never()).deleteSearchTokens(any(), any());
+    verify(applicationFormDAO, never()).insertSearchTokens(any());
   }
 
   private void checkResponseItemsExtractedToColumns() {
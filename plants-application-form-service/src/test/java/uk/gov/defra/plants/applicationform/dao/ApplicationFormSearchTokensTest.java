@@ -0,0 +1,61 @@
+package uk.gov.defra.plants.applicationform.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_PERSISTENT_APPLICATION_FORM_DRAFT;
+
+import java.time.LocalDateTime;
+import org.junit.Test;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSearchToken.Source;
+import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
+
+public class ApplicationFormSearchTokensTest {
+
+  @Test
+  public void shouldStoreEverySuffixOfTheId() {
+    assertThat(ApplicationFormSearchTokens.forId(1234L))
+        .extracting(ApplicationFormSearchToken::getToken)
+        .containsExactly("1234", "234", "34", "4");
+  }
+
+  @Test
+  public void shouldStoreLowerCaseSuffixesOfTheReferenceOnce() {
+    assertThat(ApplicationFormSearchTokens.forReference(1L, "AbAb"))
+        .extracting(ApplicationFormSearchToken::getToken)
+        .containsExactly("abab", "bab", "ab", "b");
+  }
+
+  @Test
+  public void shouldFormatSubmittedLikeTheDashboard() {
+    assertThat(
+            ApplicationFormSearchTokens.forSubmitted(1L, LocalDateTime.of(2020, 3, 4, 10, 15)))
+        .extracting(ApplicationFormSearchToken::getToken)
+        .startsWith("04-03-2020", "4-03-2020");
+  }
+
+  @Test
+  public void shouldStoreTheWholeDestinationCountry() {
+    assertThat(ApplicationFormSearchTokens.forDestinationCountry(1L, "GB"))
+        .containsExactly(
+            ApplicationFormSearchToken.builder()
+                .applicationId(1L)
+                .source(Source.DESTINATION_COUNTRY)
+                .token("gb")
+                .build());
+  }
+
+  @Test
+  public void shouldSkipMissingValues() {
+    PersistentApplicationForm draft =
+        TEST_PERSISTENT_APPLICATION_FORM_DRAFT
+            .toBuilder()
+            .reference(null)
+            .submitted(null)
+            .destinationCountry(null)
+            .build();
+
+    assertThat(ApplicationFormSearchTokens.forApplicationForm(draft))
+        .extracting(ApplicationFormSearchToken::getSource)
+        .containsOnly(Source.ID);
+  }
+}
@@ -0,0 +1,336 @@
+package uk.gov.defra.plants.applicationform.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.defra.plants.applicationform.model.PersistentCommodityBotanical;
+import uk.gov.defra.plants.applicationform.model.PersistentCommodityMachinery;
+import uk.gov.defra.plants.applicationform.model.PersistentCommodityPotatoes;
+import uk.gov.defra.plants.applicationform.model.PersistentPackerDetails;
+import uk.gov.defra.plants.applicationform.model.PersistentReforwardingDetails;
+import uk.gov.defra.plants.applicationform.representation.ConsignmentRepackaging;
+import uk.gov.defra.plants.applicationform.representation.PotatoType;
+
+/**
+ * Runs each clone statement and the read-then-insert it replaced against the same rows in an in
+ * memory database, and checks both leave the same rows behind apart from the keys the database
+ * generates.
+ */
+public class CloneStatementsTest {
+
+  private static final UUID ORIGINAL_CONSIGNMENT_ID = UUID.randomUUID();
+  private static final UUID JAVA_CLONE_CONSIGNMENT_ID = UUID.randomUUID();
+  private static final UUID SQL_CLONE_CONSIGNMENT_ID = UUID.randomUUID();
+  private static final Long ORIGINAL_APPLICATION_ID = 1L;
+  private static final Long JAVA_CLONE_APPLICATION_ID = 2L;
+  private static final Long SQL_CLONE_APPLICATION_ID = 3L;
+
+  private Handle h;
+
+  @Before
+  public void before() {
+    final Jdbi jdbi = Jdbi.create("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MSSQLServer");
+    jdbi.installPlugin(new SqlObjectPlugin());
+    h = jdbi.open();
+
+    h.execute(
+        "CREATE TABLE commodityBotanical ("
+            + " id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " commodityUuid UUID DEFAULT RANDOM_UUID() NOT NULL,"
+            + " consignmentId UUID NOT NULL,"
+            + " originCountry VARCHAR(255), genus VARCHAR(255), species VARCHAR(255),"
+            + " variety VARCHAR(255), additionalCountries VARCHAR(255), eppoCode VARCHAR(255),"
+            + " numberOfPackages BIGINT, packagingType VARCHAR(255),"
+            + " packagingMaterial VARCHAR(255), distinguishingMarks VARCHAR(255),"
+            + " quantityOrWeightPerPackage DOUBLE, parentCommonName VARCHAR(255),"
+            + " commonName VARCHAR(255), commodityType VARCHAR(255),"
+            + " commodityClass VARCHAR(255), unitOfMeasurement VARCHAR(255),"
+            + " description VARCHAR(255), sampleReference INT)");
+    h.execute(
+        "CREATE TABLE commodityPotatoes ("
+            + " id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " commodityUuid UUID DEFAULT RANDOM_UUID() NOT NULL,"
+            + " consignmentId UUID NOT NULL,"
+            + " potatoType VARCHAR(255), soilSamplingApplicationNumber VARCHAR(255),"
+            + " stockNumber VARCHAR(255), lotReference VARCHAR(255), variety VARCHAR(255),"
+            + " chemicalUsed VARCHAR(255), numberOfPackages BIGINT,"
+            + " packagingType VARCHAR(255), packagingMaterial VARCHAR(255),"
+            + " distinguishingMarks VARCHAR(255), quantity DOUBLE,"
+            + " unitOfMeasurement VARCHAR(255))");
+    h.execute(
+        "CREATE TABLE commodityMachinery ("
+            + " id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " commodityUuid UUID DEFAULT RANDOM_UUID() NOT NULL,"
+            + " consignmentId UUID NOT NULL,"
+            + " originCountry VARCHAR(255), machineryType VARCHAR(255), make VARCHAR(255),"
+            + " model VARCHAR(255), uniqueId VARCHAR(255))");
+    h.execute(
+        "CREATE TABLE packerDetails ("
+            + " id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " applicationId BIGINT NOT NULL,"
+            + " packerType VARCHAR(255), packerCode VARCHAR(255), packerName VARCHAR(255),"
+            + " buildingNameOrNumber VARCHAR(255), subBuildingName VARCHAR(255),"
+            + " street VARCHAR(255), townOrCity VARCHAR(255), county VARCHAR(255),"
+            + " postcode VARCHAR(255))");
+    h.execute(
+        "CREATE TABLE reforwardingDetails ("
+            + " id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " applicationId BIGINT NOT NULL,"
+            + " importCertificateNumber VARCHAR(255), originCountry VARCHAR(255),"
+            + " consignmentRepackaging VARCHAR(255))");
+  }
+
+  @After
+  public void after() {
+    h.close();
+  }
+
+  @Test
+  public void botanicalCommodityCloneLeavesSameRowsAsJavaClone() {
+    final CommodityBotanicalDAO dao = h.attach(CommodityBotanicalDAO.class);
+    dao.insertCommodities(
+        List.of(
+            botanical("Rosa", "canina", 10.5, null),
+            botanical("Malus", null, 2.0, "Granny Smith"),
+            botanical("Pyrus", "communis", 0.25, "Conference")));
+
+    // the clone before the statement: read each commodity into Java and insert it again
+    dao.insertCommodities(
+        dao.getCommoditiesByConsignmentId(ORIGINAL_CONSIGNMENT_ID).stream()
+            .map(
+                commodity -> commodity.toBuilder().consignmentId(JAVA_CLONE_CONSIGNMENT_ID).build())
+            .collect(Collectors.toList()));
+    final Integer cloned = dao.cloneCommodities(ORIGINAL_CONSIGNMENT_ID, SQL_CLONE_CONSIGNMENT_ID);
+
+    final List<PersistentCommodityBotanical> sqlClone =
+        dao.getCommoditiesByConsignmentId(SQL_CLONE_CONSIGNMENT_ID);
+    assertThat(cloned).isEqualTo(3);
+    assertThat(sqlClone)
+        .extracting(PersistentCommodityBotanical::getConsignmentId)
+        .containsOnly(SQL_CLONE_CONSIGNMENT_ID);
+    assertThat(sqlClone)
+        .extracting(PersistentCommodityBotanical::getCommodityUuid)
+        .doesNotContainAnyElementsOf(
+            dao.getCommoditiesByConsignmentId(ORIGINAL_CONSIGNMENT_ID).stream()
+                .map(PersistentCommodityBotanical::getCommodityUuid)
+                .collect(Collectors.toList()));
+    assertThat(withoutKeys(sqlClone, CloneStatementsTest::clearKeys))
+        .containsExactlyElementsOf(
+            withoutKeys(
+                dao.getCommoditiesByConsignmentId(JAVA_CLONE_CONSIGNMENT_ID),
+                CloneStatementsTest::clearKeys));
+  }
+
+  @Test
+  public void potatoCommodityCloneLeavesSameRowsAsJavaClone() {
+    final CommodityPotatoesDAO dao = h.attach(CommodityPotatoesDAO.class);
+    dao.insertCommodities(
+        List.of(
+            potatoes(PotatoType.SEED, "Maris Piper", null),
+            potatoes(PotatoType.WARE, "King Edward", "none")));
+
+    dao.insertCommodities(
+        dao.getCommoditiesByConsignmentId(ORIGINAL_CONSIGNMENT_ID).stream()
+            .map(
+                commodity -> commodity.toBuilder().consignmentId(JAVA_CLONE_CONSIGNMENT_ID).build())
+            .collect(Collectors.toList()));
+    final Integer cloned = dao.cloneCommodities(ORIGINAL_CONSIGNMENT_ID, SQL_CLONE_CONSIGNMENT_ID);
+
+    assertThat(cloned).isEqualTo(2);
+    assertThat(
+            withoutKeys(
+                dao.getCommoditiesByConsignmentId(SQL_CLONE_CONSIGNMENT_ID),
+                CloneStatementsTest::clearKeys))
+        .containsExactlyElementsOf(
+            withoutKeys(
+                dao.getCommoditiesByConsignmentId(JAVA_CLONE_CONSIGNMENT_ID),
+                CloneStatementsTest::clearKeys));
+  }
+
+  @Test
+  public void machineryCommodityCloneLeavesSameRowsAsJavaClone() {
+    final CommodityMachineryDAO dao = h.attach(CommodityMachineryDAO.class);
+    dao.insertCommodities(List.of(machinery("Tractor", "T1"), machinery("Harvester", "H7")));
+
+    dao.insertCommodities(
+        dao.getCommoditiesByConsignmentId(ORIGINAL_CONSIGNMENT_ID).stream()
+            .map(
+                commodity -> commodity.toBuilder().consignmentId(JAVA_CLONE_CONSIGNMENT_ID).build())
+            .collect(Collectors.toList()));
+    final Integer cloned = dao.cloneCommodities(ORIGINAL_CONSIGNMENT_ID, SQL_CLONE_CONSIGNMENT_ID);
+
+    assertThat(cloned).isEqualTo(2);
+    assertThat(
+            withoutKeys(
+                dao.getCommoditiesByConsignmentId(SQL_CLONE_CONSIGNMENT_ID),
+                CloneStatementsTest::clearKeys))
+        .containsExactlyElementsOf(
+            withoutKeys(
+                dao.getCommoditiesByConsignmentId(JAVA_CLONE_CONSIGNMENT_ID),
+                CloneStatementsTest::clearKeys));
+  }
+
+  @Test
+  public void commodityCloneOfEmptyConsignmentInsertsNothing() {
+    final CommodityBotanicalDAO dao = h.attach(CommodityBotanicalDAO.class);
+
+    assertThat(dao.cloneCommodities(ORIGINAL_CONSIGNMENT_ID, SQL_CLONE_CONSIGNMENT_ID)).isZero();
+    assertThat(dao.getCommoditiesByConsignmentId(SQL_CLONE_CONSIGNMENT_ID)).isEmpty();
+  }
+
+  @Test
+  public void packerDetailsCloneLeavesSameRowAsJavaClone() {
+    final PackerDetailsDAO dao = h.attach(PackerDetailsDAO.class);
+    dao.insertPackerDetails(
+        PersistentPackerDetails.builder()
+            .applicationId(ORIGINAL_APPLICATION_ID)
+            .packerType("PACKER_CODE")
+            .packerCode("A12345")
+            .packerName("packer")
+            .buildingNameOrNumber("1")
+            .subBuildingName("unit 2")
+            .street("street")
+            .townOrCity("town")
+            .county("county")
+            .postcode("AA1 1AA")
+            .build());
+
+    dao.insertPackerDetails(
+        dao.getPackerDetailsByApplicationId(ORIGINAL_APPLICATION_ID).toBuilder()
+            .applicationId(JAVA_CLONE_APPLICATION_ID)
+            .build());
+    final Integer cloned =
+        dao.clonePackerDetails(ORIGINAL_APPLICATION_ID, SQL_CLONE_APPLICATION_ID);
+
+    assertThat(cloned).isEqualTo(1);
+    assertThat(
+            dao.getPackerDetailsByApplicationId(SQL_CLONE_APPLICATION_ID).toBuilder()
+                .id(null)
+                .applicationId(null)
+                .build())
+        .isEqualTo(
+            dao.getPackerDetailsByApplicationId(JAVA_CLONE_APPLICATION_ID).toBuilder()
+                .id(null)
+                .applicationId(null)
+                .build());
+  }
+
+  @Test
+  public void packerDetailsCloneWithoutPackerDetailsInsertsNothing() {
+    final PackerDetailsDAO dao = h.attach(PackerDetailsDAO.class);
+
+    assertThat(dao.clonePackerDetails(ORIGINAL_APPLICATION_ID, SQL_CLONE_APPLICATION_ID)).isZero();
+    assertThat(dao.getPackerDetailsByApplicationId(SQL_CLONE_APPLICATION_ID)).isNull();
+  }
+
+  @Test
+  public void reforwardingDetailsCloneLeavesSameRowAsUpsertIntoNewForm() {
+    final ReforwardingDetailsDAO dao = h.attach(ReforwardingDetailsDAO.class);
+    dao.insertReforwardingDetails(
+        PersistentReforwardingDetails.builder()
+            .applicationId(ORIGINAL_APPLICATION_ID)
+            .importCertificateNumber("IMP-1")
+            .originCountry("FR")
+            .consignmentRepackaging(ConsignmentRepackaging.ORIGINAL)
+            .build());
+
+    // the upsert the clone used to call finds nothing on the new form, so it always inserted
+    assertThat(dao.getReforwardingDetailsByApplicationId(JAVA_CLONE_APPLICATION_ID)).isNull();
+    dao.insertReforwardingDetails(
+        dao.getReforwardingDetailsByApplicationId(ORIGINAL_APPLICATION_ID).toBuilder()
+            .applicationId(JAVA_CLONE_APPLICATION_ID)
+            .build());
+    final Integer cloned =
+        dao.cloneReforwardingDetails(ORIGINAL_APPLICATION_ID, SQL_CLONE_APPLICATION_ID);
+
+    assertThat(cloned).isEqualTo(1);
+    assertThat(dao.getReforwardingDetailsByApplicationId(SQL_CLONE_APPLICATION_ID))
+        .isEqualTo(
+            dao.getReforwardingDetailsByApplicationId(JAVA_CLONE_APPLICATION_ID).toBuilder()
+                .applicationId(SQL_CLONE_APPLICATION_ID)
+                .build());
+  }
+
+  private static <T> List<T> withoutKeys(final List<T> rows, final UnaryOperator<T> clearKeys) {
+    return rows.stream().map(clearKeys).collect(Collectors.toList());
+  }
+
+  private static PersistentCommodityBotanical clearKeys(
+      final PersistentCommodityBotanical commodity) {
+    return commodity.toBuilder().id(null).commodityUuid(null).consignmentId(null).build();
+  }
+
+  private static PersistentCommodityPotatoes clearKeys(
+      final PersistentCommodityPotatoes commodity) {
+    return commodity.toBuilder().id(null).commodityUuid(null).consignmentId(null).build();
+  }
+
+  private static PersistentCommodityMachinery clearKeys(
+      final PersistentCommodityMachinery commodity) {
+    return commodity.toBuilder().id(null).commodityUuid(null).consignmentId(null).build();
+  }
+
+  private static PersistentCommodityBotanical botanical(
+      final String genus, final String species, final Double quantity, final String variety) {
+    return PersistentCommodityBotanical.builder()
+        .consignmentId(ORIGINAL_CONSIGNMENT_ID)
+        .originCountry("GB")
+        .additionalCountries("FR,DE")
+        .genus(genus)
+        .species(species)
+        .variety(variety)
+        .eppoCode("EPPO")
+        .description("description")
+        .commonName("common name")
+        .parentCommonName("parent common name")
+        .commodityType("type")
+        .commodityClass("class")
+        .quantityOrWeightPerPackage(quantity)
+        .unitOfMeasurement("KG")
+        .numberOfPackages(4L)
+        .packagingType("BOX")
+        .packagingMaterial("card")
+        .distinguishingMarks("marks")
+        .build();
+  }
+
+  private static PersistentCommodityPotatoes potatoes(
+      final PotatoType potatoType, final String variety, final String chemicalUsed) {
+    return PersistentCommodityPotatoes.builder()
+        .consignmentId(ORIGINAL_CONSIGNMENT_ID)
+        .potatoType(potatoType)
+        .soilSamplingApplicationNumber("SOIL-1")
+        .stockNumber("STOCK-1")
+        .lotReference("LOT-1")
+        .variety(variety)
+        .chemicalUsed(chemicalUsed)
+        .quantity(12.5)
+        .unitOfMeasurement("TONNES")
+        .numberOfPackages(3L)
+        .packagingType("SACK")
+        .packagingMaterial("jute")
+        .distinguishingMarks("marks")
+        .build();
+  }
+
+  private static PersistentCommodityMachinery machinery(
+      final String machineryType, final String uniqueId) {
+    return PersistentCommodityMachinery.builder()
+        .consignmentId(ORIGINAL_CONSIGNMENT_ID)
+        .originCountry("GB")
+        .machineryType(machineryType)
+        .make("make")
+        .model("model")
+        .uniqueId(uniqueId)
+        .build();
+  }
+}
@@ -22,7 +22,7 @@ import uk.gov.defra.plants.applicationform.model.PersistentCommodityBotanical;
 public class CommodityBotanicalRepositoryTest {
 
   private static final UUID CONSIGNMENT_ID = UUID.randomUUID();
-  private static final Integer SAMPLE_REF_COUNTER = 100;
+  private static final Integer SAMPLE_REF_BLOCK_SIZE = 20;
 
   private static final List<CommoditySampleReference> commoditySampleReferences =
       Arrays.asList(CommoditySampleReference.builder().id(1L).sampleReference(1001).build());
@@ -32,6 +32,7 @@ public class CommodityBotanicalRepositoryTest {
   private CommodityBotanicalRepository commodityRepository;
   private List<PersistentCommodityBotanical> persistantCommodityList;
   private PersistentCommodityBotanical persistentCommodityBotanical;
+  private Integer sampleRefBlockStart;
 
   @Before
   public void beforeEachTest() {
@@ -82,17 +83,10 @@ public class CommodityBotanicalRepositoryTest {
   }
 
   @Test
-  public void getSampleRefCounter() {
+  public void reserveSampleRefBlock() {
     givenARepository();
-    whenICallGetSampleRefCounter();
-    thenGetSampleReferenceCounterCalledOnDao();
-  }
-
-  @Test
-  public void updateSampleRefCounter() {
-    givenARepository();
-    whenICallUpdateSampleRefCounter();
-    thenUpdateSampleRefCounterCalledOnDao();
+    whenICallReserveSampleRefBlock();
+    thenReserveSampleRefBlockCalledOnDao();
   }
 
   @Test
@@ -125,12 +119,11 @@ public class CommodityBotanicalRepositoryTest {
     commodityRepository.updateCommodity(commodityDAO, TEST_PERSISTENT_PARENT_COMMODITY_BOTANICAL);
   }
 
-  private void whenICallGetSampleRefCounter() {
-    commodityRepository.getSampleRefCounter(commodityDAO);
-  }
-
-  private void whenICallUpdateSampleRefCounter() {
-    commodityRepository.updateSampleRefCounter(commodityDAO, SAMPLE_REF_COUNTER);
+  private void whenICallReserveSampleRefBlock() {
+    when(commodityDAO.incrementSampleRefCounter(SAMPLE_REF_BLOCK_SIZE)).thenReturn(1);
+    when(commodityDAO.getSampleRefCounter()).thenReturn(1020);
+    sampleRefBlockStart =
+        commodityRepository.reserveSampleRefBlock(commodityDAO, SAMPLE_REF_BLOCK_SIZE);
   }
 
   private void whenICallUpdateSampleReference() {
@@ -159,12 +152,9 @@ public class CommodityBotanicalRepositoryTest {
     verify(commodityDAO).updateCommodity(TEST_PERSISTENT_PARENT_COMMODITY_BOTANICAL);
   }
 
-  private void thenGetSampleReferenceCounterCalledOnDao() {
-    verify(commodityDAO).getSampleRefCounter();
-  }
-
-  private void thenUpdateSampleRefCounterCalledOnDao() {
-    verify(commodityDAO).updateSampleRefCounter(100);
+  private void thenReserveSampleRefBlockCalledOnDao() {
+    verify(commodityDAO).incrementSampleRefCounter(20);
+    assertThat(sampleRefBlockStart, is(1000));
   }
 
   private void thenUpdateSampleReferenceCalledOnDao() {
@@ -44,6 +44,14 @@ public class ConsignmentRepositoryTest {
     verify(consignmentDAO, times(1)).insertConsignment(any());
   }
 
+  @Test
+  public void testLoadFirstConsignmentIdForApplication() {
+    when(consignmentDAO.getFirstConsignmentIdForAppForm(1L)).thenReturn(TEST_CONSIGNMENT_ID);
+
+    assertThat(consignmentRepository.loadFirstConsignmentIdForApplication(consignmentDAO, 1L))
+        .isEqualTo(TEST_CONSIGNMENT_ID);
+  }
+
   @Test
   public void testDeleteShouldThrowNotFoundWhenNoCertsFound() {
     UUID consignmentId = UUID.randomUUID();
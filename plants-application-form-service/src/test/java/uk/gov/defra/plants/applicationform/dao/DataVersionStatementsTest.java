@@ -0,0 +1,51 @@
+package uk.gov.defra.plants.applicationform.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.junit.Test;
+
+/**
+ * A write based on a stale read is only refused if every write to the data column checks and
+ * moves on its version, so these check that no statement writes the data column without doing
+ * both. What each write puts in the data is decided in Java and tested there.
+ */
+public class DataVersionStatementsTest {
+
+  private static final List<Method> DATA_WRITES =
+      Arrays.stream(ApplicationFormDAO.class.getMethods())
+          .filter(method -> method.isAnnotationPresent(SqlUpdate.class))
+          .filter(method -> sql(method).matches("(?s)^UPDATE.*\\bSET\\s+data\\s*=.*"))
+          .collect(Collectors.toList());
+
+  @Test
+  public void everyWriteToDataBumpsVersion() {
+    assertThat(DATA_WRITES).isNotEmpty();
+    DATA_WRITES.forEach(
+        method ->
+            assertThat(sql(method))
+                .as(method.getName())
+                .contains("'$.version', " + ApplicationFormDAO.NEXT_DATA_VERSION));
+  }
+
+  @Test
+  public void everyWriteToDataChecksVersionItWasReadAt() {
+    DATA_WRITES.forEach(
+        method ->
+            assertThat(sql(method))
+                .as(method.getName())
+                .containsPattern(
+                    "WHERE\\s+id = :id\\s+AND\\s+"
+                        + Pattern.quote(ApplicationFormDAO.DATA_VERSION)
+                        + " = ISNULL\\("));
+  }
+
+  private static String sql(final Method method) {
+    return method.getAnnotation(SqlUpdate.class).value();
+  }
+}
@@ -47,6 +47,14 @@ public class PackerDetailsRepositoryTest {
     thenOneRowIsUpdated();
   }
 
+  @Test
+  public void testClone() {
+    when(dao.clonePackerDetails(APP_FORM_ID, 2L)).thenReturn(1);
+
+    assertThat(packerDetailsRepository.clonePackerDetails(dao, APP_FORM_ID, 2L)).isEqualTo(1);
+    verify(dao).clonePackerDetails(APP_FORM_ID, 2L);
+  }
+
   @Test
   public void testLoad() {
     givenDaoLoadsExistingRecord();
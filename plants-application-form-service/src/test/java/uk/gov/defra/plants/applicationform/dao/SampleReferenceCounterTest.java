@@ -0,0 +1,160 @@
+package uk.gov.defra.plants.applicationform.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.jdbi.v3.core.Jdbi;
+import org.jdbi.v3.core.transaction.TransactionIsolationLevel;
+import org.jdbi.v3.sqlobject.SqlObjectPlugin;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
+import uk.gov.defra.plants.applicationform.service.SampleReferenceAllocator;
+
+/**
+ * Runs the sample reference statements against an in memory database, so the counter is moved on
+ * by the database rather than by a stand in.
+ */
+public class SampleReferenceCounterTest {
+
+  private static final int BLOCK_SIZE = 10;
+
+  private final CommodityBotanicalRepository commodityBotanicalRepository =
+      new CommodityBotanicalRepository();
+
+  private Jdbi jdbi;
+
+  @Before
+  public void before() {
+    jdbi =
+        Jdbi.create(
+            "jdbc:h2:mem:"
+                + UUID.randomUUID()
+                + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+    jdbi.installPlugin(new SqlObjectPlugin());
+
+    jdbi.useHandle(
+        h -> {
+          h.execute("CREATE TABLE commoditySampleReference (sampleReferenceCounter INT NOT NULL)");
+          h.execute("INSERT INTO commoditySampleReference VALUES (1000)");
+          h.execute(
+              "CREATE TABLE applicationForm ("
+                  + " id BIGINT PRIMARY KEY, commodityGroup VARCHAR(255), status VARCHAR(255))");
+          h.execute(
+              "CREATE TABLE consignment (id UUID PRIMARY KEY, applicationId BIGINT NOT NULL)");
+          h.execute(
+              "CREATE TABLE commodityBotanical ("
+                  + " id BIGINT AUTO_INCREMENT PRIMARY KEY, consignmentId UUID NOT NULL)");
+        });
+  }
+
+  @Test
+  public void reservesABlockStartingAtTheCounter() {
+    final Integer first =
+        jdbi.inTransaction(
+            h ->
+                commodityBotanicalRepository.reserveSampleRefBlock(
+                    h.attach(CommodityBotanicalDAO.class), BLOCK_SIZE));
+
+    assertThat(first).isEqualTo(1000);
+    assertThat(counter()).isEqualTo(1000 + BLOCK_SIZE);
+  }
+
+  @Test
+  public void neverHandsOutTheSameReferenceTwiceAcrossInstancesAndThreads() throws Exception {
+    final List<SampleReferenceAllocator> instances =
+        IntStream.range(0, 3)
+            .mapToObj(
+                i -> new SampleReferenceAllocator(jdbi, commodityBotanicalRepository, BLOCK_SIZE))
+            .collect(Collectors.toList());
+    final ConcurrentLinkedQueue<Integer> references = new ConcurrentLinkedQueue<>();
+
+    final List<Callable<Void>> submissions = new ArrayList<>();
+    for (int i = 0; i < 600; i++) {
+      final SampleReferenceAllocator allocator = instances.get(i % instances.size());
+      final int commodities = 1 + i % 4;
+      submissions.add(
+          () -> {
+            final int first = allocator.allocate(commodities);
+            IntStream.range(first, first + commodities).forEach(references::add);
+            return null;
+          });
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      for (Future<Void> submission : executor.invokeAll(submissions)) {
+        submission.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    final int counter = counter();
+    assertThat(references)
+        .hasSize(600 / 4 * (1 + 2 + 3 + 4))
+        .doesNotHaveDuplicates()
+        .allMatch(reference -> reference >= 1000 && reference < counter);
+  }
+
+  @Test
+  public void countsTheCommoditiesOfAnUnsubmittedApplicationInTheCommodityGroup() {
+    givenAnApplicationWithCommodities(1L, "PLANT_PRODUCTS", ApplicationFormStatus.DRAFT, 3);
+    givenAnApplicationWithCommodities(2L, "PLANT_PRODUCTS", ApplicationFormStatus.SUBMITTED, 2);
+    givenAnApplicationWithCommodities(3L, "PLANTS", ApplicationFormStatus.DRAFT, 2);
+
+    assertThat(countCommodities(1L)).isEqualTo(3);
+    assertThat(countCommodities(2L)).isZero();
+    assertThat(countCommodities(3L)).isZero();
+    assertThat(countCommodities(4L)).isZero();
+  }
+
+  private Integer countCommodities(final Long applicationFormId) {
+    return jdbi.inTransaction(
+        TransactionIsolationLevel.READ_COMMITTED,
+        h ->
+            commodityBotanicalRepository.countCommodities(
+                h.attach(CommodityBotanicalDAO.class),
+                applicationFormId,
+                "PLANT_PRODUCTS",
+                ApplicationFormStatus.SUBMITTED));
+  }
+
+  private void givenAnApplicationWithCommodities(
+      final Long id,
+      final String commodityGroup,
+      final ApplicationFormStatus status,
+      final int commodities) {
+    final UUID consignmentId = UUID.randomUUID();
+    jdbi.useHandle(
+        h -> {
+          h.execute(
+              "INSERT INTO applicationForm (id, commodityGroup, status) VALUES (?, ?, ?)",
+              id,
+              commodityGroup,
+              status.name());
+          h.execute(
+              "INSERT INTO consignment (id, applicationId) VALUES (?, ?)", consignmentId, id);
+          for (int i = 0; i < commodities; i++) {
+            h.execute("INSERT INTO commodityBotanical (consignmentId) VALUES (?)", consignmentId);
+          }
+        });
+  }
+
+  private int counter() {
+    return jdbi.withHandle(
+        h ->
+            h.createQuery("SELECT sampleReferenceCounter FROM commoditySampleReference")
+                .mapTo(Integer.class)
+                .one());
+  }
+}
@@ -0,0 +1,45 @@
+package uk.gov.defra.plants.applicationform.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.LocalDateTime;
+import javax.ws.rs.BadRequestException;
+import org.junit.Test;
+import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
+
+public class DashboardCursorTest {
+
+  private static final DashboardCursor SUBMITTED_CURSOR =
+      DashboardCursor.builder()
+          .status(ApplicationFormStatus.SUBMITTED)
+          .submitted(LocalDateTime.of(2020, 3, 4, 10, 15, 30))
+          .created(LocalDateTime.of(2020, 3, 1, 9, 0))
+          .id(42L)
+          .overallCount(75)
+          .build();
+
+  @Test
+  public void shouldRoundTripCursor() {
+    assertThat(DashboardCursor.decode(SUBMITTED_CURSOR.encode())).isEqualTo(SUBMITTED_CURSOR);
+  }
+
+  @Test
+  public void shouldRoundTripCursorForUnsubmittedForm() {
+    DashboardCursor draftCursor =
+        SUBMITTED_CURSOR.toBuilder().status(ApplicationFormStatus.DRAFT).submitted(null).build();
+
+    assertThat(DashboardCursor.decode(draftCursor.encode())).isEqualTo(draftCursor);
+  }
+
+  @Test
+  public void shouldBeUrlSafe() {
+    assertThat(SUBMITTED_CURSOR.encode()).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  public void shouldRejectTamperedCursor() {
+    assertThatExceptionOfType(BadRequestException.class)
+        .isThrownBy(() -> DashboardCursor.decode("not-a-cursor"));
+  }
+}
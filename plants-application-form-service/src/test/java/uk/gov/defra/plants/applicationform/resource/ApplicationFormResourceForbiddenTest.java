@@ -25,8 +25,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.applicationform.ApplicationFormOwnershipCacheConfiguration;
 import uk.gov.defra.plants.applicationform.ApplicationFormTestData;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormItem;
 import uk.gov.defra.plants.applicationform.resource.filters.ResourceOwnerCheck;
 import uk.gov.defra.plants.applicationform.service.ApplicationFormService;
@@ -78,7 +81,9 @@ public class ApplicationFormResourceForbiddenTest {
           .addProvider(RolesAllowedDynamicFeature.class)
           .addProvider(new AuthValueFactoryProvider.Binder<>(User.class))
           .addProvider(ExportsExceptionMapper.class)
-          .addProvider(new ResourceOwnerCheck(JDBI))
+          .addProvider(new ResourceOwnerCheck(
+                  new ApplicationFormOwnershipCache(
+                      JDBI, ApplicationFormOwnershipCacheConfiguration.builder().build()))))
           .addResource(applicationFormResource)
           .addProvider(
               new AbstractBinder() {
@@ -104,11 +109,14 @@ public class ApplicationFormResourceForbiddenTest {
   @BeforeClass
   public static void before() {
     when(JDBI.onDemand(ApplicationFormDAO.class)).thenReturn(DAO);
-    when(DAO.getApplicationFormById(eq(ID)))
+    when(DAO.getApplicationFormOwnership(eq(ID)))
         .thenReturn(
-            TEST_PERSISTENT_APPLICATION_FORM_SUBMITTED_1
-                .toBuilder()
+            ApplicationFormOwnership.builder()
+                .id(ID)
                 .applicant(UUID.randomUUID())
+                .exporterOrganisation(
+                    TEST_PERSISTENT_APPLICATION_FORM_SUBMITTED_1.getExporterOrganisation())
+                .status(TEST_PERSISTENT_APPLICATION_FORM_SUBMITTED_1.getStatus())
                 .build());
   }
 
@@ -35,7 +35,9 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.applicationform.CaseStatusCacheConfiguration;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 import uk.gov.defra.plants.applicationform.dao.ConsignmentDAO;
 import uk.gov.defra.plants.applicationform.dao.ConsignmentRepository;
@@ -53,6 +55,7 @@ import uk.gov.defra.plants.applicationform.service.InspectionService;
 import uk.gov.defra.plants.applicationform.service.PackerDetailsService;
 import uk.gov.defra.plants.applicationform.service.ReforwardingDetailsService;
 import uk.gov.defra.plants.applicationform.service.SampleReferenceService;
+import uk.gov.defra.plants.applicationform.service.cache.CaseStatusCache;
 import uk.gov.defra.plants.applicationform.service.commodity.common.CommodityServiceFactory;
 import uk.gov.defra.plants.applicationform.service.helper.ApplicationFormAnswerMigrationService;
 import uk.gov.defra.plants.applicationform.service.helper.HealthCertificateStatusChecker;
@@ -145,7 +148,10 @@ public class ApplicationFormResourceSubmitTest {
           reforwardingDetailsService,
           fileNameValidator,
           dateNeededValidator,
-          packerDetailsService);
+          packerDetailsService,
+          new CaseStatusCache(
+              backendServiceAdapter, CaseStatusCacheConfiguration.builder().build()),
+          mock(ApplicationFormOwnershipCache.class));
 
   private final ApplicationFormResource applicationFormResource =
       new ApplicationFormResource(applicationFormService);
@@ -486,7 +486,7 @@ public class ApplicationFormResourceTest {
     UUID contactId = USER_ID;
     when(APPLICATION_FORM_SERVICE.getApplicationFormsForExporter(
             TEST_USER_WITH_APPROVED_ORGANISATIONS, "filter", ApplicationFormStatus.DRAFT,
-        List.of(contactId), 0, 30))
+        List.of(contactId), 0, 30, null))
         .thenReturn(TEST_APPLICATION_FORM_SUMMARY_RESULT);
 
     // ACT
@@ -505,7 +505,7 @@ public class ApplicationFormResourceTest {
     verify(APPLICATION_FORM_SERVICE, times(1))
         .getApplicationFormsForExporter(
             TEST_USER_WITH_APPROVED_ORGANISATIONS, "filter", ApplicationFormStatus.DRAFT,
-            List.of(contactId), 0, 30);
+            List.of(contactId), 0, 30, null);
     assertThat(response.getStatus()).isEqualTo(200);
     ApplicationFormsSummaryResult applicationFormsSummaryResult =
         response.readEntity(ApplicationFormsSummaryResult.class);
@@ -0,0 +1,118 @@
+package uk.gov.defra.plants.applicationform.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.defra.plants.common.constants.CustomHttpHeaders.USER_ORGANISATION_CONTEXT;
+import static uk.gov.defra.plants.commontest.factory.AuthTestFactory.TEST_ADMIN_USER;
+import static uk.gov.defra.plants.commontest.factory.AuthTestFactory.TEST_SELECTED_ORGANISATION_JSON_STRING;
+
+import io.dropwizard.auth.AuthValueFactoryProvider;
+import io.dropwizard.testing.junit.ResourceTestRule;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import uk.gov.defra.plants.applicationform.model.FormVersionMigrationProgress;
+import uk.gov.defra.plants.applicationform.service.FormVersionMigrationJob;
+import uk.gov.defra.plants.common.security.User;
+import uk.gov.defra.plants.common.validation.InjectingValidationFeature;
+import uk.gov.defra.plants.commontest.factory.AuthTestFactory;
+
+public class FormVersionMigrationResourceTest {
+
+  private static final String BEARER_TOKEN = "Bearer TOKEN";
+  private static final FormVersionMigrationJob FORM_VERSION_MIGRATION_JOB =
+      mock(FormVersionMigrationJob.class);
+  private static final FormVersionMigrationProgress PROGRESS =
+      FormVersionMigrationProgress.builder().running(true).ehcNumber("EHC123").migrated(3).build();
+
+  @Rule
+  public final ResourceTestRule resources =
+      ResourceTestRule.builder()
+          .setClientConfigurator(
+              config ->
+                  config.register(
+                      (ClientRequestFilter)
+                          requestContext -> {
+                            requestContext
+                                .getHeaders()
+                                .add(HttpHeaders.AUTHORIZATION, BEARER_TOKEN);
+                            requestContext
+                                .getHeaders()
+                                .add(
+                                    USER_ORGANISATION_CONTEXT,
+                                    TEST_SELECTED_ORGANISATION_JSON_STRING);
+                          }))
+          .addProvider(AuthTestFactory.constructBearerFeature(TEST_ADMIN_USER))
+          .addProvider(RolesAllowedDynamicFeature.class)
+          .addProvider(new AuthValueFactoryProvider.Binder<>(User.class))
+          .addResource(new FormVersionMigrationResource(FORM_VERSION_MIGRATION_JOB))
+          .addProvider(
+              new AbstractBinder() {
+                @Override
+                protected void configure() {
+                  bind(FORM_VERSION_MIGRATION_JOB).to(FormVersionMigrationJob.class);
+                }
+              })
+          .addProvider(InjectingValidationFeature.class)
+          .build();
+
+  @Before
+  public void before() {
+    reset(FORM_VERSION_MIGRATION_JOB);
+  }
+
+  @Test
+  public void startsMigrationForEhc() {
+    when(FORM_VERSION_MIGRATION_JOB.start("EHC123", BEARER_TOKEN)).thenReturn(true);
+    when(FORM_VERSION_MIGRATION_JOB.getProgress()).thenReturn(PROGRESS);
+
+    Response response =
+        resources
+            .target("/form-version-migration")
+            .queryParam("ehcNumber", "EHC123")
+            .request()
+            .post(Entity.json(""));
+
+    assertThat(response.getStatus()).isEqualTo(202);
+    assertThat(response.readEntity(FormVersionMigrationProgress.class)).isEqualTo(PROGRESS);
+  }
+
+  @Test
+  public void rejectsStartWhileRunning() {
+    when(FORM_VERSION_MIGRATION_JOB.start(null, BEARER_TOKEN)).thenReturn(false);
+
+    Response response =
+        resources.target("/form-version-migration").request().post(Entity.json(""));
+
+    assertThat(response.getStatus()).isEqualTo(409);
+  }
+
+  @Test
+  public void getsProgress() {
+    when(FORM_VERSION_MIGRATION_JOB.getProgress()).thenReturn(PROGRESS);
+
+    Response response = resources.target("/form-version-migration").request().get();
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.readEntity(FormVersionMigrationProgress.class)).isEqualTo(PROGRESS);
+  }
+
+  @Test
+  public void stopsMigration() {
+    when(FORM_VERSION_MIGRATION_JOB.getProgress()).thenReturn(PROGRESS);
+
+    Response response = resources.target("/form-version-migration").request().delete();
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    verify(FORM_VERSION_MIGRATION_JOB).stop();
+  }
+}
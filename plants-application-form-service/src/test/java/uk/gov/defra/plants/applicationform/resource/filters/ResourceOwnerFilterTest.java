@@ -3,6 +3,7 @@ package uk.gov.defra.plants.applicationform.resource.filters;
 import static java.util.Optional.empty;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_ORGANISATION;
@@ -28,7 +29,10 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.applicationform.ApplicationFormOwnershipCacheConfiguration;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormOwnership;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.common.security.EnrolledOrganisation;
 import uk.gov.defra.plants.common.security.User;
@@ -44,9 +48,14 @@ public class ResourceOwnerFilterTest {
   @Mock private UriInfo uriInfo;
 
   private User user;
+  private ResourceOwnerCheck resourceOwnerCheck;
 
   @Before
   public void before() {
+    resourceOwnerCheck =
+        new ResourceOwnerCheck(
+            new ApplicationFormOwnershipCache(
+                jdbi, ApplicationFormOwnershipCacheConfiguration.builder().build()));
     MultivaluedMap<String, String> pathParams = new MultivaluedHashMap<>();
     pathParams.put("id", Collections.singletonList("1"));
     URI requestURI = URI.create("test");
@@ -70,9 +79,9 @@ public class ResourceOwnerFilterTest {
     final PersistentApplicationForm form =
         TEST_PERSISTENT_APPLICATION_FORM_DRAFT.toBuilder().applicant(user.getUserId()).build();
 
-    when(dao.getApplicationFormById(1L)).thenReturn(form);
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(ownershipOf(form));
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test
@@ -80,9 +89,9 @@ public class ResourceOwnerFilterTest {
     user = TEST_CASEWORKER_USER;
     when(securityContext.getUserPrincipal()).thenReturn(user);
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
 
-    verify(dao, never()).getApplicationFormById(anyLong());
+    verify(dao, never()).getApplicationFormOwnership(anyLong());
   }
 
   @Test
@@ -93,11 +102,11 @@ public class ResourceOwnerFilterTest {
     final PersistentApplicationForm form =
         TEST_PERSISTENT_APPLICATION_FORM_DRAFT.toBuilder().applicant(user.getUserId()).build();
 
-    when(dao.getApplicationFormById(1L)).thenReturn(form);
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(ownershipOf(form));
     when(context.getMethod()).thenReturn("GET");
     when(uriInfo.getPath()).thenReturn("application-forms/1");
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test(expected = ForbiddenException.class)
@@ -108,9 +117,9 @@ public class ResourceOwnerFilterTest {
     final PersistentApplicationForm form =
         TEST_PERSISTENT_APPLICATION_FORM_DRAFT.toBuilder().applicant(UUID.randomUUID()).build();
 
-    when(dao.getApplicationFormById(1L)).thenReturn(form);
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(ownershipOf(form));
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test
@@ -119,8 +128,8 @@ public class ResourceOwnerFilterTest {
     when(securityContext.getUserPrincipal()).thenReturn(user);
     when(uriInfo.getRequestUri()).thenReturn(URI.create("test/teardown"));
 
-    new ResourceOwnerCheck(jdbi).filter(context);
-    verify(dao, never()).getApplicationFormById(anyLong());
+    resourceOwnerCheck.filter(context);
+    verify(dao, never()).getApplicationFormOwnership(anyLong());
   }
 
   @Test(expected = ForbiddenException.class)
@@ -131,9 +140,9 @@ public class ResourceOwnerFilterTest {
     final PersistentApplicationForm form =
         TEST_PERSISTENT_APPLICATION_FORM_DRAFT.toBuilder().applicant(UUID.randomUUID()).build();
 
-    when(dao.getApplicationFormById(1L)).thenReturn(form);
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(ownershipOf(form));
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test(expected = NotFoundException.class)
@@ -141,9 +150,9 @@ public class ResourceOwnerFilterTest {
     user = TEST_EXPORTER_USER_WITH_SELECTED_ORGANISATION;
     when(securityContext.getUserPrincipal()).thenReturn(user);
 
-    when(dao.getApplicationFormById(1L)).thenReturn(null);
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(null);
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test(expected = ForbiddenException.class)
@@ -151,9 +160,10 @@ public class ResourceOwnerFilterTest {
     user = TEST_EXPORTER_USER_WITH_SELECTED_ORGANISATION;
     when(securityContext.getUserPrincipal()).thenReturn(user);
 
-    when(dao.getApplicationFormById(1L)).thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+    when(dao.getApplicationFormOwnership(1L))
+        .thenReturn(ownershipOf(TEST_PERSISTENT_APPLICATION_FORM_DRAFT));
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test
@@ -165,11 +175,12 @@ public class ResourceOwnerFilterTest {
     ).build();
 
     when(securityContext.getUserPrincipal()).thenReturn(agentUser);
-    when(dao.getApplicationFormById(1L)).thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+    when(dao.getApplicationFormOwnership(1L))
+        .thenReturn(ownershipOf(TEST_PERSISTENT_APPLICATION_FORM_DRAFT));
     when(context.getMethod()).thenReturn("GET");
     when(uriInfo.getPath()).thenReturn("application-forms/1");
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test
@@ -181,11 +192,12 @@ public class ResourceOwnerFilterTest {
     ).build();
 
     when(securityContext.getUserPrincipal()).thenReturn(agentUser);
-    when(dao.getApplicationFormById(1L)).thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+    when(dao.getApplicationFormOwnership(1L))
+        .thenReturn(ownershipOf(TEST_PERSISTENT_APPLICATION_FORM_DRAFT));
     when(context.getMethod()).thenReturn("POST");
     when(uriInfo.getPath()).thenReturn("application-forms/1/clone-application");
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
   }
 
   @Test(expected = ForbiddenException.class)
@@ -197,9 +209,61 @@ public class ResourceOwnerFilterTest {
     ).build();
 
     when(securityContext.getUserPrincipal()).thenReturn(agentUser);
-    when(dao.getApplicationFormById(1L)).thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+    when(dao.getApplicationFormOwnership(1L))
+        .thenReturn(ownershipOf(TEST_PERSISTENT_APPLICATION_FORM_DRAFT));
+
+    resourceOwnerCheck.filter(context);
+  }
+
+  @Test
+  public void willShareOwnershipWithTheResourceMethod() {
+    user = exporter();
+    when(securityContext.getUserPrincipal()).thenReturn(user);
+
+    final ApplicationFormOwnership ownership =
+        ownershipOf(
+            TEST_PERSISTENT_APPLICATION_FORM_DRAFT.toBuilder().applicant(user.getUserId()).build());
+    when(dao.getApplicationFormOwnership(1L)).thenReturn(ownership);
+
+    resourceOwnerCheck.filter(context);
+
+    verify(context).setProperty(ResourceOwnerCheck.APPLICATION_FORM_OWNERSHIP, ownership);
+  }
+
+  @Test
+  public void willLoadOwnershipOnceForRepeatedRequests() {
+    user = exporter();
+    when(securityContext.getUserPrincipal()).thenReturn(user);
+
+    when(dao.getApplicationFormOwnership(1L))
+        .thenReturn(
+            ownershipOf(
+                TEST_PERSISTENT_APPLICATION_FORM_DRAFT
+                    .toBuilder()
+                    .applicant(user.getUserId())
+                    .build()));
 
-    new ResourceOwnerCheck(jdbi).filter(context);
+    resourceOwnerCheck.filter(context);
+    resourceOwnerCheck.filter(context);
+
+    verify(dao, times(1)).getApplicationFormOwnership(1L);
+    verify(dao, never()).getApplicationFormById(anyLong());
   }
 
+  private static User exporter() {
+    return User.builder()
+        .userId(UUID.randomUUID())
+        .role(UserRoles.EXPORTER_ROLE)
+        .selectedOrganisation(empty())
+        .build();
+  }
+
+  private static ApplicationFormOwnership ownershipOf(final PersistentApplicationForm form) {
+    return ApplicationFormOwnership.builder()
+        .id(form.getId())
+        .applicant(form.getApplicant())
+        .exporterOrganisation(form.getExporterOrganisation())
+        .status(form.getStatus())
+        .build();
+  }
 }
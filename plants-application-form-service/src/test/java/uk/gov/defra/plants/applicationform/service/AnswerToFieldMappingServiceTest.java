@@ -31,7 +31,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.defra.plants.applicationform.ApplicationFormTestData;
@@ -43,6 +42,7 @@ import uk.gov.defra.plants.applicationform.representation.CommodityMachinery;
 import uk.gov.defra.plants.applicationform.representation.Consignment;
 import uk.gov.defra.plants.applicationform.representation.ConsignmentStatus;
 import uk.gov.defra.plants.applicationform.representation.PackerDetails;
+import uk.gov.defra.plants.applicationform.service.helper.FormConfigurationLookup;
 import uk.gov.defra.plants.applicationform.service.populators.AdditionalDeclarationPopulator;
 import uk.gov.defra.plants.applicationform.service.populators.ApplicationFormFieldPopulatorFactory;
 import uk.gov.defra.plants.applicationform.service.populators.CertificateSerialNumberPopulator;
@@ -96,7 +96,7 @@ public class AnswerToFieldMappingServiceTest {
   @Mock private ApplicationFormFieldPopulatorFactory applicationFormFieldPopulatorFactory;
   @Mock private CommodityInfoService commodityInfoService;
 
-  @InjectMocks private AnswerToFieldMappingService answerToFieldMappingService;
+  private AnswerToFieldMappingService answerToFieldMappingService;
 
   private final List<CertificateSerial> certificateSerials = new ArrayList<CertificateSerial>();
 
@@ -118,6 +118,13 @@ public class AnswerToFieldMappingServiceTest {
 
   @Before
   public void setUp() {
+    answerToFieldMappingService =
+        new AnswerToFieldMappingService(
+            applicationFormService,
+            new FormConfigurationLookup(formConfigurationServiceAdapter),
+            referenceDataServiceAdapter,
+            applicationFormFieldPopulatorFactory);
+
     CertificateSerial certificateSerial =
         CertificateSerial.builder()
             .certificateNumber("TestSerialNumber")
@@ -38,6 +38,7 @@ import uk.gov.defra.plants.applicationform.representation.ApplicationType;
 import uk.gov.defra.plants.applicationform.representation.Consignment;
 import uk.gov.defra.plants.applicationform.representation.ConsignmentStatus;
 import uk.gov.defra.plants.applicationform.representation.ValidationError;
+import uk.gov.defra.plants.applicationform.service.helper.FormConfigurationLookup;
 import uk.gov.defra.plants.certificate.representation.FormFieldDescriptor;
 import uk.gov.defra.plants.certificate.representation.FormFieldType;
 import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
@@ -148,7 +149,8 @@ public class AnswerValidationServiceTest {
     errorMessages = null;
     answerValidationService =
         new AnswerValidationService(
-            formConfigurationServiceAdapter, healthCertificateServiceAdapter);
+            new FormConfigurationLookup(formConfigurationServiceAdapter),
+            healthCertificateServiceAdapter);
   }
 
   @Test
@@ -6,6 +6,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -13,6 +14,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -33,6 +35,7 @@ import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_A
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_APPLICATION_FORM_ID;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_APPLICATION_FORM_SUBMISSION;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_APPLICATION_FORM_SUMMARY_DAO_RESPONSE_DRAFT;
+import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_APPLICATION_FORM_SUMMARY_DAO_RESPONSE_DRAFT_2;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_APPLICATION_FORM_SUMMARY_DAO_RESPONSE_SUBMITTED;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_APPLICATION_FORM_SUMMARY_DAO_RESPONSE_SUBMITTED_2;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_APPLICATION_FORM_SUMMARY_LIST;
@@ -100,20 +103,26 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import uk.gov.defra.plants.applicationform.ApplicationFormTestData;
+import uk.gov.defra.plants.applicationform.CaseStatusCacheConfiguration;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 import uk.gov.defra.plants.applicationform.dao.ConsignmentDAO;
 import uk.gov.defra.plants.applicationform.dao.ConsignmentRepository;
 import uk.gov.defra.plants.applicationform.mapper.ApplicationFormMapper;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormDataTuple;
+import uk.gov.defra.plants.applicationform.model.ApplicationFormSummaryDAOResponse;
 import uk.gov.defra.plants.applicationform.model.ApplicationFormsSummaryResult;
+import uk.gov.defra.plants.applicationform.model.DashboardCursor;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationFormData;
 import uk.gov.defra.plants.applicationform.model.PersistentConsignment;
 import uk.gov.defra.plants.applicationform.model.PersistentConsignmentData;
+import uk.gov.defra.plants.applicationform.model.SampleReferenceRange;
 import uk.gov.defra.plants.applicationform.representation.ApplicationCommodityType;
 import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormItem;
@@ -128,6 +137,7 @@ import uk.gov.defra.plants.applicationform.representation.CreateApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.DocumentInfo;
 import uk.gov.defra.plants.applicationform.representation.PackerDetails;
 import uk.gov.defra.plants.applicationform.representation.ValidationError;
+import uk.gov.defra.plants.applicationform.service.cache.CaseStatusCache;
 import uk.gov.defra.plants.applicationform.service.helper.ApplicationFormAnswerMigrationService;
 import uk.gov.defra.plants.applicationform.service.helper.HealthCertificateStatusChecker;
 import uk.gov.defra.plants.applicationform.validation.answers.DateNeededValidator;
@@ -228,6 +238,7 @@ public class ApplicationFormServiceTest {
   @Mock private PackerDetailsService packerDetailsService;
   @Mock private FileNameValidator fileNameValidator;
   @Mock private DateNeededValidator dateNeededValidator;
+  @Mock private ApplicationFormOwnershipCache applicationFormOwnershipCache;
 
   private final ApplicationFormMapper applicationFormMapper = new ApplicationFormMapper();
   private ApplicationFormService applicationFormService;
@@ -277,7 +288,10 @@ public class ApplicationFormServiceTest {
             reforwardingDetailsService,
             fileNameValidator,
             dateNeededValidator,
-            packerDetailsService);
+            packerDetailsService,
+            new CaseStatusCache(
+                backendServiceAdapter, CaseStatusCacheConfiguration.builder().build()),
+            applicationFormOwnershipCache);
     persistentCertificateApplications.add(TEST_PERSISTENT_CONSIGNMENT);
     when(consignmentService.getCommoditiesByConsignmentId(any(), any(), any()))
         .thenReturn(CONSIGNMENTS.get(0).getCommodities());
@@ -466,7 +480,10 @@ public class ApplicationFormServiceTest {
         .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
 
     applicationFormService.delete(id);
-    verify(applicationFormRepository).deleteApplicationForm(hdao, id);
+
+    final InOrder inOrder = inOrder(applicationFormRepository, applicationFormOwnershipCache);
+    inOrder.verify(applicationFormRepository).deleteApplicationForm(hdao, id);
+    inOrder.verify(applicationFormOwnershipCache).invalidate(id);
   }
 
   @Test
@@ -531,7 +548,7 @@ public class ApplicationFormServiceTest {
     verify(amendApplicationService, times(1)).checkApplicationAmendable(1L);
 
     verify(applicationFormRepository)
-        .update(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
+        .updateResponseItems(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
     PersistentApplicationForm updatedForm = persistentApplicationFormArgumentCaptor.getValue();
 
     assertThat(updatedForm)
@@ -568,7 +585,7 @@ public class ApplicationFormServiceTest {
     applicationFormService.mergeResponseItems(1L, newResponseItems);
 
     verify(applicationFormRepository)
-        .update(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
+        .updateResponseItems(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
     PersistentApplicationForm updatedForm = persistentApplicationFormArgumentCaptor.getValue();
 
     assertThat(updatedForm)
@@ -600,7 +617,7 @@ public class ApplicationFormServiceTest {
     applicationFormService.mergeResponseItems(1L, newResponseItems);
 
     verify(applicationFormRepository)
-        .update(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
+        .updateResponseItems(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
     PersistentApplicationForm updatedForm = persistentApplicationFormArgumentCaptor.getValue();
 
     assertThat(updatedForm)
@@ -660,7 +677,7 @@ public class ApplicationFormServiceTest {
     applicationFormService.mergeResponseItems(1L, newResponseItems);
 
     verify(applicationFormRepository)
-        .update(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
+        .updateResponseItems(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
     PersistentApplicationForm updatedForm = persistentApplicationFormArgumentCaptor.getValue();
 
     assertThat(updatedForm).isEqualToIgnoringGivenFields(existingPersistentApplicationForm, "data");
@@ -684,7 +701,7 @@ public class ApplicationFormServiceTest {
     assertThatExceptionOfType(BadRequestException.class)
         .isThrownBy(() -> applicationFormService.mergeResponseItems(1L, Collections.emptyList()));
 
-    verify(applicationFormRepository, never()).update(any(), any());
+    verify(applicationFormRepository, never()).updateResponseItems(any(), any());
   }
 
   @Test
@@ -716,7 +733,7 @@ public class ApplicationFormServiceTest {
         .isThrownBy(() -> applicationFormService.mergeResponseItems(1L, Collections.emptyList()));
 
     verify(answerValidationService, never()).validatePartial(any(), any());
-    verify(applicationFormRepository, never()).update(any(), any());
+    verify(applicationFormRepository, never()).updateResponseItems(any(), any());
   }
 
   public void testMergeResponseItems_exaOrEhcWithdrawn() {
@@ -737,7 +754,7 @@ public class ApplicationFormServiceTest {
     assertThat(clientErrorExceptionCaught).isSameAs(clientErrorExceptionThrown);
 
     verify(answerValidationService, never()).validatePartial(any(), any());
-    verify(applicationFormRepository, never()).update(any(), any());
+    verify(applicationFormRepository, never()).updateResponseItems(any(), any());
   }
 
   @Test
@@ -753,7 +770,7 @@ public class ApplicationFormServiceTest {
     applicationFormService.mergeResponseItems(1L, Collections.emptyList());
 
     verify(applicationFormRepository)
-        .update(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
+        .updateResponseItems(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
     PersistentApplicationForm updatedForm = persistentApplicationFormArgumentCaptor.getValue();
 
     assertThat(updatedForm.getStatus()).isEqualTo(ApplicationFormStatus.DRAFT);
@@ -784,7 +801,7 @@ public class ApplicationFormServiceTest {
             applicationFormMapper.asApplicationForm(TEST_PERSISTENT_APPLICATION_FORM_DRAFT),
             responseItems);
 
-    verify(dao, never()).updateApplicationForm(any());
+    verify(applicationFormRepository, never()).updateResponseItems(any(), any());
   }
 
   @Test
@@ -900,7 +917,6 @@ public class ApplicationFormServiceTest {
 
   @Test
   public void shouldNotCreateSampleReferencesWhenCommodityIsNotPlantsProducts() {
-    when(sampleReferenceService.incrementSampleRefCounter(anyLong())).thenReturn(null);
     when(applicationFormRepository.load(hdao, 1L))
         .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_SUBMITTED);
 
@@ -917,9 +933,11 @@ public class ApplicationFormServiceTest {
 
   @Test
   public void shouldCreateSampleReferencesWhenCommodityIsPlantsProducts() {
-
+    final SampleReferenceRange sampleReferences =
+        SampleReferenceRange.builder().first(1000).count(1).build();
     when(applicationFormRepository.load(hdao, 1L))
         .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_SUBMITTED);
+    when(sampleReferenceService.reserveSampleReferences(1L)).thenReturn(sampleReferences);
 
     doApplicationSubmissionTest(
         DRAFT,
@@ -927,8 +945,7 @@ public class ApplicationFormServiceTest {
         HealthCertificateMetadataMultipleBlocks.SINGLE_APPLICATION,
         PLANT_PRODUCTS.name(),
         ApplicationType.PHYTO);
-    verify(sampleReferenceService).incrementSampleRefCounter(any());
-    verify(sampleReferenceService).updateSampleReference(eq(h), anyList(), any());
+    verify(sampleReferenceService).updateSampleReference(eq(h), anyList(), eq(sampleReferences));
     verify(consignmentService).getCommoditiesByConsignmentId(any(), any(), any());
   }
 
@@ -992,8 +1009,11 @@ public class ApplicationFormServiceTest {
 
     applicationFormService.submit(1L, TEST_APPLICATION_FORM_SUBMISSION, user);
 
-    verify(applicationFormRepository, times(1))
+    final InOrder inOrder = inOrder(applicationFormRepository, applicationFormOwnershipCache);
+    inOrder
+        .verify(applicationFormRepository, times(1))
         .update(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
+    inOrder.verify(applicationFormOwnershipCache).invalidate(1L);
 
     PersistentApplicationForm updatedForm = persistentApplicationFormArgumentCaptor.getValue();
 
@@ -1053,7 +1073,7 @@ public class ApplicationFormServiceTest {
     ApplicationFormsSummaryResult applicationFormsSummaryResult =
         applicationFormService.getApplicationFormsForExporter(
             TEST_EXPORTER, "filter", ApplicationFormStatus.DRAFT,
-            List.of(TEST_EXPORTER.getUserId()), 0, 30);
+            List.of(TEST_EXPORTER.getUserId()), 0, 30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
@@ -1074,7 +1094,7 @@ public class ApplicationFormServiceTest {
     ApplicationFormsSummaryResult applicationFormsSummaryResult =
         applicationFormService.getApplicationFormsForExporter(
             TEST_INDIVIDUAL_AGENT, "filter", ApplicationFormStatus.DRAFT,
-            List.of(TEST_INDIVIDUAL_AGENT.getUserId()),0, 30);
+            List.of(TEST_INDIVIDUAL_AGENT.getUserId()),0, 30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
@@ -1096,7 +1116,7 @@ public class ApplicationFormServiceTest {
     ApplicationFormsSummaryResult applicationFormsSummaryResult =
         applicationFormService.getApplicationFormsForExporter(
             TEST_AGENCY_EXPORTER, "filter", ApplicationFormStatus.DRAFT,
-            List.of(TEST_AGENCY_EXPORTER.getUserId()), 0, 30);
+            List.of(TEST_AGENCY_EXPORTER.getUserId()), 0, 30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
@@ -1107,7 +1127,7 @@ public class ApplicationFormServiceTest {
 
     applicationFormService.getApplicationFormsForExporter(
         TEST_AGENCY_EXPORTER, "filter", ApplicationFormStatus.DRAFT,
-        List.of(TEST_EXPORTER.getUserId()),0, 30);
+        List.of(TEST_EXPORTER.getUserId()),0, 30, null);
 
     verify(dao)
         .getApplicationFormsForExporterAndAgent(
@@ -1161,7 +1181,7 @@ public class ApplicationFormServiceTest {
         applicationFormService
             .getApplicationFormsForExporter(
                 TEST_EXPORTER, null, ApplicationFormStatus.DRAFT,
-                List.of(TEST_EXPORTER.getUserId()), 100, 100)
+                List.of(TEST_EXPORTER.getUserId()), 100, 100, null)
             .getApplicationForms();
 
     assertThat(applicationFormSummaries.get(0).getApplicationStatus()).isNull();
@@ -1186,7 +1206,7 @@ public class ApplicationFormServiceTest {
 
     applicationFormService.getApplicationFormsForExporter(
         TEST_EXPORTER, null, ApplicationFormStatus.DRAFT,
-        List.of(TEST_EXPORTER.getUserId()), 100, 100);
+        List.of(TEST_EXPORTER.getUserId()), 100, 100, null);
 
     verifyZeroInteractions(backendServiceAdapter);
   }
@@ -1350,6 +1370,48 @@ public class ApplicationFormServiceTest {
     verify(applicationFormRepository, never()).update(hdao, TEST_PERSISTENT_APPLICATION_FORM_2);
   }
 
+  @Test
+  public void shouldNotRewriteApplicationFormAlreadyOnLatestVersion() {
+    when(hdao.getApplicationFormById(1L)).thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+    when(applicationFormAnswerMigrationService.migrateAnswersToLatestFormVersion(
+            TEST_PERSISTENT_APPLICATION_FORM_DRAFT))
+        .thenReturn(Optional.of(TEST_PERSISTENT_APPLICATION_FORM_DRAFT));
+
+    assertThat(applicationFormService.updateApplicationFormToActiveVersion(1L)).isFalse();
+
+    verify(applicationFormRepository, never()).update(any(), any());
+    verify(consignmentRepository, never()).update(any(), any());
+  }
+
+  @Test
+  public void shouldOnlyRewriteConsignmentsChangedByMigration() {
+    final PersistentConsignment unchanged = TEST_PERSISTED_CONSIGNMENTS.get(0);
+    final PersistentConsignment changed =
+        TEST_PERSISTED_CONSIGNMENTS.get(1).toBuilder()
+            .data(PersistentConsignmentData.builder().build())
+            .build();
+    final PersistentApplicationForm withConsignments =
+        TEST_PERSISTENT_APPLICATION_FORM_DRAFT.toBuilder()
+            .persistentConsignments(TEST_PERSISTED_CONSIGNMENTS)
+            .build();
+    when(hdao.getApplicationFormById(1L)).thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+    when(consignmentRepository.loadConsignmentsForApplication(consignmentDAO, 1L))
+        .thenReturn(TEST_PERSISTED_CONSIGNMENTS);
+    final PersistentApplicationForm migrated =
+        TEST_PERSISTENT_APPLICATION_FORM_2.toBuilder()
+            .persistentConsignments(List.of(unchanged, changed))
+            .build();
+    when(applicationFormAnswerMigrationService.migrateAnswersToLatestFormVersion(
+            withConsignments))
+        .thenReturn(Optional.of(migrated));
+
+    assertThat(applicationFormService.updateApplicationFormToActiveVersion(1L)).isTrue();
+
+    verify(applicationFormRepository).update(hdao, migrated);
+    verify(consignmentRepository).update(consignmentDAO, changed);
+    verify(consignmentRepository, never()).update(consignmentDAO, unchanged);
+  }
+
   @Test
   public void shouldNotUpdateApplicationFormToLatestVersion_NotFoundException() {
     when(hdao.getApplicationFormById(1L)).thenReturn(null);
@@ -1380,17 +1442,12 @@ public class ApplicationFormServiceTest {
   public void noExistingCommoditiesToClone() {
     when(applicationFormRepository.load(hdao, 1L))
         .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
-    when(applicationFormRepository.load(hdao, 2L))
-        .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
-    when(consignmentRepository.loadConsignmentsForApplication(consignmentDAO, 1L))
-        .thenReturn(TEST_PERSISTED_CONSIGNMENTS);
-    when(consignmentRepository.loadConsignmentsForApplication(consignmentDAO, 2L))
-        .thenReturn(TEST_PERSISTED_CONSIGNMENTS);
+    when(consignmentRepository.loadFirstConsignmentIdForApplication(consignmentDAO, 1L))
+        .thenReturn(TEST_PERSISTED_CONSIGNMENTS.get(0).getId());
     when(applicationFormRepository.insertApplicationForm(
             eq(hdao), any(PersistentApplicationForm.class)))
         .thenReturn(2L);
-    when(consignmentRepository.cloneConsignment(
-            consignmentDAO, TEST_PERSISTENT_APPLICATION_FORM_DRAFT))
+    when(consignmentRepository.cloneConsignment(eq(consignmentDAO), any()))
         .thenReturn(TEST_CONSIGNMENT_ID);
     when(healthCertificateServiceAdapter.getHealthCertificate(any())).thenReturn(Optional.of(HEALTH_CERTIFICATE));
 
@@ -1416,12 +1473,8 @@ public class ApplicationFormServiceTest {
   public void noExistingPackerDetailsToClone() {
     when(applicationFormRepository.load(hdao, 1L))
         .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
-    when(applicationFormRepository.load(hdao, 2L))
-        .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
-    when(consignmentRepository.loadConsignmentsForApplication(consignmentDAO, 1L))
-        .thenReturn(TEST_PERSISTED_CONSIGNMENTS);
-    when(consignmentRepository.loadConsignmentsForApplication(consignmentDAO, 2L))
-        .thenReturn(TEST_PERSISTED_CONSIGNMENTS);
+    when(consignmentRepository.loadFirstConsignmentIdForApplication(consignmentDAO, 1L))
+        .thenReturn(TEST_PERSISTED_CONSIGNMENTS.get(0).getId());
     when(applicationFormRepository.insertApplicationForm(
         eq(hdao), any(PersistentApplicationForm.class)))
         .thenReturn(2L);
@@ -1435,30 +1488,40 @@ public class ApplicationFormServiceTest {
   private PersistentApplicationForm callCloneApplicationFormToDraft(
       PersistentApplicationForm applicationForm) {
     final Long NEW_ID = 2L;
+    final UUID originalConsignmentId = UUID.randomUUID();
+    final UUID newConsignmentId = UUID.randomUUID();
     when(applicationFormRepository.load(hdao, 1L)).thenReturn(applicationForm);
-    when(applicationFormRepository.load(hdao, 2L)).thenReturn(applicationForm);
 
     when(applicationFormRepository.insertApplicationForm(
             eq(hdao), any(PersistentApplicationForm.class)))
         .thenReturn(NEW_ID);
 
-    when(consignmentRepository.loadConsignmentsForApplication(consignmentDAO, 1L))
-        .thenReturn(TEST_PERSISTED_CONSIGNMENTS);
-
-    when(consignmentRepository.loadConsignmentsForApplication(consignmentDAO, 2L))
-        .thenReturn(TEST_PERSISTED_CONSIGNMENTS);
+    when(consignmentRepository.loadFirstConsignmentIdForApplication(consignmentDAO, 1L))
+        .thenReturn(originalConsignmentId);
+    when(consignmentRepository.cloneConsignment(eq(consignmentDAO), any()))
+        .thenReturn(newConsignmentId);
 
     Long clonedId = applicationFormService.cloneApplicationForm(1L, TEST_EXPORTER);
     assertThat(clonedId).isEqualTo(NEW_ID);
 
     verify(applicationFormRepository).load(hdao, 1L);
+    verify(applicationFormRepository, never()).load(hdao, NEW_ID);
+    verify(consignmentRepository, never()).loadConsignmentsForApplication(any(), any());
 
     verify(applicationFormRepository)
         .insertApplicationForm(eq(hdao), persistentApplicationFormArgumentCaptor.capture());
 
+    final ArgumentCaptor<PersistentApplicationForm> consignmentParentCaptor =
+        ArgumentCaptor.forClass(PersistentApplicationForm.class);
+    verify(consignmentRepository)
+        .cloneConsignment(eq(consignmentDAO), consignmentParentCaptor.capture());
+    assertThat(consignmentParentCaptor.getValue().getId()).isEqualTo(NEW_ID);
+
+    verify(commodityService)
+        .cloneCommodities(eq(h), eq(originalConsignmentId), eq(newConsignmentId), any());
     verify(consignmentRepository, never()).update(any(), any());
-    verify(reforwardingDetailsService).cloneReForwardingDetails(any(), any());
-    verify(packerDetailsService).clonePackerDetails(eq(h), any(), any());
+    verify(reforwardingDetailsService).cloneReForwardingDetails(h, 1L, NEW_ID);
+    verify(packerDetailsService).clonePackerDetails(h, 1L, NEW_ID);
 
     return persistentApplicationFormArgumentCaptor.getValue();
   }
@@ -1564,7 +1627,8 @@ public class ApplicationFormServiceTest {
     final PersistentApplicationForm updatedFormWithSupplementaryDocInfo =
         TEST_PERSISTENT_APPLICATION_FORM_DRAFT.toBuilder().data(updatedData).build();
 
-    verify(applicationFormRepository).update(hdao, updatedFormWithSupplementaryDocInfo);
+    verify(applicationFormRepository)
+        .updateSupplementaryDocuments(hdao, updatedFormWithSupplementaryDocInfo);
   }
 
   @Test
@@ -1589,7 +1653,22 @@ public class ApplicationFormServiceTest {
             .data(updatedData)
             .build();
 
-    verify(applicationFormRepository).update(hdao, updatedFormWithSupplementaryDocInfo);
+    verify(applicationFormRepository)
+        .updateSupplementaryDocuments(hdao, updatedFormWithSupplementaryDocInfo);
+  }
+
+  @Test
+  public void shouldNotDeleteSupplementaryDocumentInfoThatDoesNotExist() {
+    when(applicationFormRepository.load(hdao, 1L))
+        .thenReturn(TEST_PERSISTENT_APPLICATION_FORM_DRAFT);
+
+    assertThatExceptionOfType(NotFoundException.class)
+        .isThrownBy(
+            () ->
+                applicationFormService.deleteSupplementaryDocumentInfo(
+                    1L, SUPPLEMENTARY_DOCUMENT_PDF.getId()));
+
+    verify(applicationFormRepository, never()).updateSupplementaryDocuments(any(), any());
   }
 
   @Test(expected = ForbiddenException.class)
@@ -1688,7 +1767,7 @@ public class ApplicationFormServiceTest {
     ApplicationFormsSummaryResult applicationFormsSummaryResult =
         applicationFormService
             .getApplicationFormsForExporter(TEST_EXPORTER, "EHC123", ApplicationFormStatus.DRAFT,
-                null, 0, 30);
+                null, 0, 30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
@@ -1711,7 +1790,7 @@ public class ApplicationFormServiceTest {
             .getApplicationFormsForExporter(
                 TEST_AGENCY_EXPORTER.toBuilder().userId(otherApplicantContactId).build(), "EHC123",
                 ApplicationFormStatus.DRAFT,
-                List.of(otherApplicantContactId), 0, 30);
+                List.of(otherApplicantContactId), 0, 30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
@@ -1736,7 +1815,7 @@ public class ApplicationFormServiceTest {
             .getApplicationFormsForExporter(
                 TEST_AGENCY_EXPORTER.toBuilder().userId(contactId).build(), "EHC123",
                 ApplicationFormStatus.DRAFT,
-                List.of(colleagueContactId), 0, 30);
+                List.of(colleagueContactId), 0, 30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
@@ -1759,7 +1838,7 @@ public class ApplicationFormServiceTest {
         applicationFormService
             .getApplicationFormsForExporter(TEST_EXPORTER, "filter", ApplicationFormStatus.DRAFT,
                 List.of(otherApplicantContactId), 0,
-                30);
+                30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
@@ -1778,12 +1857,86 @@ public class ApplicationFormServiceTest {
         applicationFormService
             .getApplicationFormsForExporter(userWithNoOrg, "filter", ApplicationFormStatus.DRAFT,
                 List.of(otherApplicantContactId), 0,
-                30);
+                30, null);
 
     assertThat(applicationFormsSummaryResult.getApplicationForms())
         .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
   }
 
+  @Test
+  public void testGetApplicationFormsAfterCursorSeeksPastIt() {
+    DashboardCursor cursor =
+        DashboardCursor.builder()
+            .status(ApplicationFormStatus.DRAFT)
+            .created(LocalDateTime.of(2020, 1, 1, 0, 0))
+            .id(10L)
+            .overallCount(75)
+            .build();
+    when(dao.getApplicationFormsForExporterNoAgentAfter(
+        List.of(TEST_EXPORTER.getUserId()),
+        TEST_SELECTED_ORGANISATION.get().getExporterOrganisationId(),
+        "filter", ApplicationFormStatus.DRAFT, cursor, 30))
+        .thenReturn(TEST_APPLICATION_FORM_DAO_RESPONSE_LIST);
+
+    ApplicationFormsSummaryResult applicationFormsSummaryResult =
+        applicationFormService.getApplicationFormsForExporter(
+            TEST_EXPORTER, "filter", ApplicationFormStatus.DRAFT,
+            List.of(TEST_EXPORTER.getUserId()), 0, 30, cursor.encode());
+
+    assertThat(applicationFormsSummaryResult.getApplicationForms())
+        .isEqualTo(TEST_APPLICATION_FORM_SUMMARY_LIST);
+    assertThat(applicationFormsSummaryResult.getOverallCount()).isEqualTo(75);
+    assertThat(applicationFormsSummaryResult.getNextCursor()).isNull();
+    verify(dao, never())
+        .getApplicationFormsForExporterNoAgent(any(), any(), any(), any(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void testGetApplicationFormsAfterCursorKeepsOverallCountOnEmptyPage() {
+    DashboardCursor cursor =
+        DashboardCursor.builder()
+            .status(ApplicationFormStatus.DRAFT)
+            .created(LocalDateTime.of(2020, 1, 1, 0, 0))
+            .id(10L)
+            .overallCount(30)
+            .build();
+    when(dao.getApplicationFormsForExporterNoAgentAfter(
+        List.of(TEST_EXPORTER.getUserId()),
+        TEST_SELECTED_ORGANISATION.get().getExporterOrganisationId(),
+        "filter", ApplicationFormStatus.DRAFT, cursor, 30))
+        .thenReturn(List.of());
+
+    ApplicationFormsSummaryResult applicationFormsSummaryResult =
+        applicationFormService.getApplicationFormsForExporter(
+            TEST_EXPORTER, "filter", ApplicationFormStatus.DRAFT,
+            List.of(TEST_EXPORTER.getUserId()), 0, 30, cursor.encode());
+
+    assertThat(applicationFormsSummaryResult.getApplicationForms()).isEmpty();
+    assertThat(applicationFormsSummaryResult.getOverallCount()).isEqualTo(30);
+  }
+
+  @Test
+  public void testGetApplicationFormsReturnsCursorForLastRowOfFullPage() {
+    LocalDateTime created = LocalDateTime.of(2020, 1, 1, 0, 0);
+    List<ApplicationFormSummaryDAOResponse> fullPage =
+        List.of(
+            TEST_APPLICATION_FORM_SUMMARY_DAO_RESPONSE_DRAFT.toBuilder().created(created).build(),
+            TEST_APPLICATION_FORM_SUMMARY_DAO_RESPONSE_DRAFT_2.toBuilder().created(created).build());
+    when(dao.getApplicationFormsForExporterNoAgent(
+        List.of(TEST_EXPORTER.getUserId()),
+        TEST_SELECTED_ORGANISATION.get().getExporterOrganisationId(),
+        "filter", ApplicationFormStatus.DRAFT, 0, 2))
+        .thenReturn(fullPage);
+
+    ApplicationFormsSummaryResult applicationFormsSummaryResult =
+        applicationFormService.getApplicationFormsForExporter(
+            TEST_EXPORTER, "filter", ApplicationFormStatus.DRAFT,
+            List.of(TEST_EXPORTER.getUserId()), 0, 2, null);
+
+    assertThat(DashboardCursor.decode(applicationFormsSummaryResult.getNextCursor()))
+        .isEqualTo(DashboardCursor.after(fullPage.get(1), fullPage.get(0).getOverallCount()));
+  }
+
   @SuppressWarnings("unused")
   protected static Object[] testUsers() {
     return new Object[] {TEST_EXPORTER, TEST_ADMIN};
@@ -32,6 +32,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormOwnershipCache;
 import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
 import uk.gov.defra.plants.backend.adapter.BackendServiceAdapter;
 import uk.gov.defra.plants.backend.representation.ApplicationTradeStatus;
@@ -46,6 +47,7 @@ public class ApplicationServiceTest {
   @Mock private ApplicationFormDAO applicationFormDAO;
   @Mock private BackendServiceAdapter backendServiceAdapter;
   @Mock private ApplicationFormRepository applicationFormRepository;
+  @Mock private ApplicationFormOwnershipCache applicationFormOwnershipCache;
 
   private ApplicationService applicationService;
 
@@ -53,7 +55,8 @@ public class ApplicationServiceTest {
   public void before() {
     initMocks(this);
     applicationService =
-        new ApplicationService(jdbi, backendServiceAdapter, applicationFormRepository);
+        new ApplicationService(
+            jdbi, backendServiceAdapter, applicationFormRepository, applicationFormOwnershipCache);
 
     JdbiMock.givenJdbiWillRunHandle(jdbi, h);
     when(h.attach(ApplicationFormDAO.class)).thenReturn(applicationFormDAO);
@@ -127,6 +130,7 @@ public class ApplicationServiceTest {
                 .toBuilder()
                 .status(CANCELLATION_REQUESTED)
                 .build());
+    verify(applicationFormOwnershipCache).invalidate(1L);
   }
 
   @SuppressWarnings("unused")
@@ -0,0 +1,58 @@
+package uk.gov.defra.plants.applicationform.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BackgroundAuthorizationFilterTest {
+
+  private static final String AUTHORIZATION = "Bearer ADMIN_TOKEN";
+
+  @Mock private ClientRequestContext clientRequestContext;
+
+  private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+  private final BackgroundAuthorizationFilter backgroundAuthorizationFilter =
+      new BackgroundAuthorizationFilter();
+
+  @Before
+  public void before() {
+    when(clientRequestContext.getHeaders()).thenReturn(headers);
+  }
+
+  @Test
+  public void addsAuthorizationToCallsMadeByTheWork() {
+    BackgroundAuthorizationFilter.runWith(
+        AUTHORIZATION, () -> backgroundAuthorizationFilter.filter(clientRequestContext));
+
+    assertThat(headers.get(HttpHeaders.AUTHORIZATION)).containsExactly(AUTHORIZATION);
+  }
+
+  @Test
+  public void keepsAuthorizationAlreadyOnTheCall() {
+    headers.putSingle(HttpHeaders.AUTHORIZATION, "Bearer RELAYED_TOKEN");
+
+    BackgroundAuthorizationFilter.runWith(
+        AUTHORIZATION, () -> backgroundAuthorizationFilter.filter(clientRequestContext));
+
+    assertThat(headers.get(HttpHeaders.AUTHORIZATION)).containsExactly("Bearer RELAYED_TOKEN");
+  }
+
+  @Test
+  public void addsNothingOnceTheWorkHasFinished() {
+    BackgroundAuthorizationFilter.runWith(AUTHORIZATION, () -> {});
+
+    backgroundAuthorizationFilter.filter(clientRequestContext);
+
+    assertThat(headers).doesNotContainKey(HttpHeaders.AUTHORIZATION);
+  }
+}
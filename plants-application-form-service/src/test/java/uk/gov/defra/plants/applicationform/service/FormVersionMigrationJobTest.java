@@ -0,0 +1,241 @@
+package uk.gov.defra.plants.applicationform.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.dropwizard.util.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.applicationform.ApplicationFormServiceConfiguration;
+import uk.gov.defra.plants.applicationform.FormVersionMigrationConfiguration;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormDAO;
+import uk.gov.defra.plants.applicationform.dao.ApplicationFormRepository;
+import uk.gov.defra.plants.applicationform.model.FormVersionMigrationProgress;
+import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
+import uk.gov.defra.plants.formconfiguration.representation.NameAndVersion;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FormVersionMigrationJobTest {
+
+  private static final String AUTHORIZATION = "Bearer ADMIN_TOKEN";
+
+  private static final MergedForm EHC123_V2 =
+      MergedForm.builder()
+          .ehc(NameAndVersion.builder().name("EHC123").version("2.0").build())
+          .build();
+
+  @Mock private Jdbi jdbi;
+  @Mock private ApplicationFormDAO dao;
+  @Mock private ApplicationFormRepository applicationFormRepository;
+  @Mock private FormConfigurationServiceAdapter formConfigurationServiceAdapter;
+  @Mock private ApplicationFormService applicationFormService;
+  @Mock private ApplicationFormServiceConfiguration configuration;
+  @Mock private ExecutorService queuedExecutor;
+  @Mock private RequestScope requestScope;
+
+  private FormVersionMigrationJob formVersionMigrationJob;
+  private final List<Boolean> servicesCreatedInScope = new ArrayList<>();
+  private boolean inRequestScope;
+
+  @Before
+  public void before() {
+    when(configuration.getFormVersionMigration())
+        .thenReturn(
+            FormVersionMigrationConfiguration.builder()
+                .batchSize(2)
+                .pauseBetweenBatches(Duration.milliseconds(0))
+                .build());
+    lenient()
+        .doAnswer(
+            invocation -> {
+              inRequestScope = true;
+              try {
+                invocation.<Runnable>getArgument(0).run();
+              } finally {
+                inRequestScope = false;
+              }
+              return null;
+            })
+        .when(requestScope)
+        .runInScope(any(Runnable.class));
+    formVersionMigrationJob = jobRunningOn(MoreExecutors.newDirectExecutorService());
+  }
+
+  @Test
+  public void migratesDraftsInBatchesAndCountsOutcomes() {
+    givenActiveForm();
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 0L, 2))
+        .thenReturn(List.of(1L, 2L));
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 2L, 2))
+        .thenReturn(List.of(3L, 4L));
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 4L, 2))
+        .thenReturn(List.of(5L));
+    when(applicationFormService.updateApplicationFormToActiveVersion(1L)).thenReturn(true);
+    when(applicationFormService.updateApplicationFormToActiveVersion(2L)).thenReturn(false);
+    when(applicationFormService.updateApplicationFormToActiveVersion(3L))
+        .thenThrow(new BadRequestException());
+    when(applicationFormService.updateApplicationFormToActiveVersion(4L))
+        .thenThrow(new IllegalStateException("bad answers"));
+    when(applicationFormService.updateApplicationFormToActiveVersion(5L)).thenReturn(true);
+
+    assertThat(formVersionMigrationJob.start("EHC123", AUTHORIZATION)).isTrue();
+
+    final FormVersionMigrationProgress progress = formVersionMigrationJob.getProgress();
+    assertThat(progress.isRunning()).isFalse();
+    assertThat(progress.getFinished()).isNotNull();
+    assertThat(progress.getEhcVersion()).isEqualTo("2.0");
+    assertThat(progress.getLastProcessedId()).isEqualTo(5L);
+    assertThat(progress.getMigrated()).isEqualTo(2);
+    assertThat(progress.getUnchanged()).isEqualTo(1);
+    assertThat(progress.getSkipped()).isEqualTo(1);
+    assertThat(progress.getFailed()).isEqualTo(1);
+    assertThat(progress.getFailedApplicationFormIds()).containsExactly(4L);
+  }
+
+  @Test
+  public void migratesEachBatchWithServicesFromItsOwnRequestScope() {
+    givenActiveForm();
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 0L, 2))
+        .thenReturn(List.of(1L, 2L));
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 2L, 2))
+        .thenReturn(List.of(3L));
+
+    formVersionMigrationJob.start("EHC123", AUTHORIZATION);
+
+    verify(requestScope, times(2)).runInScope(any(Runnable.class));
+    assertThat(servicesCreatedInScope).containsExactly(true, true);
+  }
+
+  @Test
+  public void callsOtherServicesWithTheAuthorizationItWasStartedWith() {
+    final List<Object> outboundAuthorizations = new ArrayList<>();
+    when(jdbi.onDemand(ApplicationFormDAO.class)).thenReturn(dao);
+    when(formConfigurationServiceAdapter.getActiveMergedForm("EHC123"))
+        .thenAnswer(
+            invocation -> {
+              outboundAuthorizations.add(outboundAuthorization());
+              return EHC123_V2;
+            });
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 0L, 2))
+        .thenReturn(List.of(1L));
+    when(applicationFormService.updateApplicationFormToActiveVersion(1L))
+        .thenAnswer(
+            invocation -> {
+              outboundAuthorizations.add(outboundAuthorization());
+              return true;
+            });
+
+    formVersionMigrationJob.start("EHC123", AUTHORIZATION);
+
+    assertThat(outboundAuthorizations).containsExactly(AUTHORIZATION, AUTHORIZATION);
+    assertThat(outboundAuthorization()).isNull();
+  }
+
+  @Test
+  public void resumesFromCheckpointWhenStartedAgainAfterStop() {
+    givenActiveForm();
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 0L, 2))
+        .thenReturn(List.of(1L, 2L));
+    when(applicationFormService.updateApplicationFormToActiveVersion(1L))
+        .thenAnswer(
+            invocation -> {
+              formVersionMigrationJob.stop();
+              return true;
+            });
+
+    formVersionMigrationJob.start("EHC123", AUTHORIZATION);
+
+    verify(applicationFormService, never()).updateApplicationFormToActiveVersion(2L);
+
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 1L, 2))
+        .thenReturn(List.of(2L));
+
+    formVersionMigrationJob.start("EHC123", AUTHORIZATION);
+
+    verify(applicationFormService).updateApplicationFormToActiveVersion(2L);
+    assertThat(formVersionMigrationJob.getProgress().getLastProcessedId()).isEqualTo(2L);
+  }
+
+  @Test
+  public void migratesEveryEhcWithDraftsWhenNoneGiven() {
+    givenActiveForm();
+    when(applicationFormRepository.loadEhcNumbersWithDrafts(dao))
+        .thenReturn(List.of("EHC123", "EHC456"));
+    when(formConfigurationServiceAdapter.getActiveMergedForm("EHC456"))
+        .thenReturn(
+            MergedForm.builder()
+                .ehc(NameAndVersion.builder().name("EHC456").version("OFFLINE").build())
+                .build());
+    when(applicationFormRepository.loadDraftIdsNotOnEhcVersion(dao, "EHC123", "2.0", 0L, 2))
+        .thenReturn(List.of(1L));
+    when(applicationFormService.updateApplicationFormToActiveVersion(1L)).thenReturn(true);
+
+    formVersionMigrationJob.start(null, AUTHORIZATION);
+
+    verify(applicationFormRepository, never())
+        .loadDraftIdsNotOnEhcVersion(eq(dao), eq("EHC456"), any(), any(), anyInt());
+    assertThat(formVersionMigrationJob.getProgress().getMigrated()).isEqualTo(1);
+  }
+
+  @Test
+  public void doesNotStartWhileRunning() {
+    formVersionMigrationJob = jobRunningOn(queuedExecutor);
+
+    assertThat(formVersionMigrationJob.start("EHC123", AUTHORIZATION)).isTrue();
+    assertThat(formVersionMigrationJob.start("EHC123", AUTHORIZATION)).isFalse();
+    assertThat(formVersionMigrationJob.getProgress().isRunning()).isTrue();
+    verify(queuedExecutor).execute(any(Runnable.class));
+  }
+
+  private static Object outboundAuthorization() {
+    final ClientRequestContext clientRequestContext = mock(ClientRequestContext.class);
+    final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    when(clientRequestContext.getHeaders()).thenReturn(headers);
+
+    new BackgroundAuthorizationFilter().filter(clientRequestContext);
+
+    return headers.getFirst(HttpHeaders.AUTHORIZATION);
+  }
+
+  private void givenActiveForm() {
+    when(jdbi.onDemand(ApplicationFormDAO.class)).thenReturn(dao);
+    when(formConfigurationServiceAdapter.getActiveMergedForm("EHC123")).thenReturn(EHC123_V2);
+  }
+
+  private FormVersionMigrationJob jobRunningOn(final ExecutorService executor) {
+    return new FormVersionMigrationJob(
+        jdbi,
+        applicationFormRepository,
+        formConfigurationServiceAdapter,
+        () -> {
+          servicesCreatedInScope.add(inRequestScope);
+          return applicationFormService;
+        },
+        requestScope,
+        executor,
+        configuration);
+  }
+}
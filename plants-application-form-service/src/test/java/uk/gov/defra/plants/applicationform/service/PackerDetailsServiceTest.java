@@ -32,7 +32,6 @@ import uk.gov.defra.plants.applicationform.dao.PackerDetailsDAO;
 import uk.gov.defra.plants.applicationform.dao.PackerDetailsRepository;
 import uk.gov.defra.plants.applicationform.mapper.PackerDetailsMapper;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
-import uk.gov.defra.plants.applicationform.model.PersistentPackerDetails;
 import uk.gov.defra.plants.applicationform.representation.PackerDetails;
 import uk.gov.defra.plants.commontest.jdbi.JdbiMock;
 
@@ -131,8 +130,6 @@ public class PackerDetailsServiceTest {
 
   @Test
   public void testClonePackerDetails() {
-    givenAStoredApplicationWithPackerDetails();
-
     whenICloneThePackerDetails();
 
     thenThePackerDetailsAreClonedInTheNewApplication();
@@ -234,12 +231,10 @@ public class PackerDetailsServiceTest {
   }
 
   private void thenThePackerDetailsAreClonedInTheNewApplication() {
-    PersistentPackerDetails clonedPackerDetails =
-        TEST_PERSISTENT_PACKER_DETAILS_PACKER_CODE.toBuilder()
-            .applicationId(CLONED_APPLICATION_ID)
-            .build();
-    verify(packerDetailsRepository).insertPackerDetails(h.attach(PackerDetailsDAO.class),
-        clonedPackerDetails);
+    verify(packerDetailsRepository)
+        .clonePackerDetails(packerDetailsDAO, TEST_APPLICATION_FORM.getId(), CLONED_APPLICATION_ID);
+    verify(packerDetailsRepository, never()).loadPackerDetails(any(), any());
+    verify(packerDetailsRepository, never()).insertPackerDetails(any(), any());
   }
 
   private PersistentApplicationForm aPersistentApplicationForm() {
@@ -2,7 +2,7 @@ package uk.gov.defra.plants.applicationform.service;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -28,7 +28,6 @@ import uk.gov.defra.plants.applicationform.dao.ReforwardingDetailsRepository;
 import uk.gov.defra.plants.applicationform.mapper.ReforwardingDetailsMapper;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationForm;
 import uk.gov.defra.plants.applicationform.model.PersistentApplicationFormData;
-import uk.gov.defra.plants.applicationform.model.PersistentReforwardingDetails;
 import uk.gov.defra.plants.applicationform.validation.answers.FileNameValidator;
 import uk.gov.defra.plants.commontest.jdbi.JdbiMock;
 
@@ -102,29 +101,16 @@ public class ReforwardingDetailsServiceTest {
   }
 
   @Test
-  public void testCloneReForwardingDetailsWhenExists() {
+  public void testCloneReForwardingDetails() {
     final long existingApplicationId = 1L;
     final long newApplicationId = 2L;
-    final PersistentReforwardingDetails clonedReForwardingDetails =
-        TEST_PERSISTENT_REFORWARDING_DETAILS.toBuilder().applicationId(newApplicationId).build();
-    when(reforwardingDetailsRepository.loadReforwardingDetails(dao, existingApplicationId))
-        .thenReturn(TEST_PERSISTENT_REFORWARDING_DETAILS);
-    when(reforwardingDetailsMapper.asReforwardingDetails(TEST_PERSISTENT_REFORWARDING_DETAILS))
-        .thenReturn(TEST_REFORWARDING_DETAILS);
 
-    reforwardingDetailsService.cloneReForwardingDetails(existingApplicationId, newApplicationId);
-    verify(reforwardingDetailsRepository).insertReforwardingDetails(dao, clonedReForwardingDetails);
-  }
+    reforwardingDetailsService.cloneReForwardingDetails(h, existingApplicationId, newApplicationId);
 
-  @Test
-  public void testCloneReForwardingDetailsWhenDoesNotExists() {
-    final long existingApplicationId = 1L;
-    final long newApplicationId = 2L;
-    when(reforwardingDetailsRepository.loadReforwardingDetails(dao, existingApplicationId))
-        .thenReturn(null);
-
-    reforwardingDetailsService.cloneReForwardingDetails(existingApplicationId, newApplicationId);
-    verify(reforwardingDetailsRepository, times(0)).insertReforwardingDetails(any(), any());
+    verify(reforwardingDetailsRepository)
+        .cloneReforwardingDetails(dao, existingApplicationId, newApplicationId);
+    verify(reforwardingDetailsRepository, never()).loadReforwardingDetails(any(), any());
+    verify(reforwardingDetailsRepository, never()).insertReforwardingDetails(any(), any());
   }
 
   @Test
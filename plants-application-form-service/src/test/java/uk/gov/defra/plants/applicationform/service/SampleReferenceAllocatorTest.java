@@ -0,0 +1,77 @@
+package uk.gov.defra.plants.applicationform.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalDAO;
+import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalRepository;
+import uk.gov.defra.plants.commontest.jdbi.JdbiMock;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SampleReferenceAllocatorTest {
+
+  private static final int BLOCK_SIZE = 10;
+
+  @Mock private Jdbi jdbi;
+  @Mock private Handle handle;
+  @Mock private CommodityBotanicalDAO commodityBotanicalDAO;
+  @Mock private CommodityBotanicalRepository commodityBotanicalRepository;
+
+  // stands in for the counter row; SampleReferenceCounterTest runs the real statements
+  private final AtomicInteger counter = new AtomicInteger(1000);
+
+  @Before
+  public void before() {
+    JdbiMock.givenJdbiWillRunCallbackWithIsolation(jdbi, handle);
+    when(handle.attach(CommodityBotanicalDAO.class)).thenReturn(commodityBotanicalDAO);
+    when(commodityBotanicalRepository.reserveSampleRefBlock(any(), anyInt()))
+        .thenAnswer(invocation -> counter.getAndAdd(invocation.getArgument(1)));
+  }
+
+  @Test
+  public void allocatesFromOneBlockUntilItIsUsedUp() {
+    final SampleReferenceAllocator allocator = allocator();
+
+    assertThat(allocator.allocate(4)).isEqualTo(1000);
+    assertThat(allocator.allocate(4)).isEqualTo(1004);
+    assertThat(allocator.allocate(2)).isEqualTo(1008);
+    assertThat(allocator.allocate(1)).isEqualTo(1010);
+
+    verify(commodityBotanicalRepository, times(2))
+        .reserveSampleRefBlock(commodityBotanicalDAO, BLOCK_SIZE);
+  }
+
+  @Test
+  public void skipsTheRestOfABlockTooSmallForTheSubmission() {
+    final SampleReferenceAllocator allocator = allocator();
+
+    assertThat(allocator.allocate(8)).isEqualTo(1000);
+    assertThat(allocator.allocate(3)).isEqualTo(1010);
+  }
+
+  @Test
+  public void reservesALargerBlockForALargeSubmission() {
+    final SampleReferenceAllocator allocator = allocator();
+
+    assertThat(allocator.allocate(25)).isEqualTo(1000);
+    assertThat(allocator.allocate(1)).isEqualTo(1025);
+
+    verify(commodityBotanicalRepository).reserveSampleRefBlock(commodityBotanicalDAO, 25);
+  }
+
+  private SampleReferenceAllocator allocator() {
+    return new SampleReferenceAllocator(jdbi, commodityBotanicalRepository, BLOCK_SIZE);
+  }
+}
@@ -0,0 +1,245 @@
+package uk.gov.defra.plants.applicationform.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import io.dropwizard.util.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.applicationform.CaseStatusCacheConfiguration;
+import uk.gov.defra.plants.backend.adapter.BackendServiceAdapter;
+import uk.gov.defra.plants.backend.representation.ApplicationTradeStatus;
+import uk.gov.defra.plants.common.constants.ApplicationStatus;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CaseStatusCacheTest {
+
+  private static final UUID ORGANISATION_ID = UUID.randomUUID();
+  private static final UUID OTHER_ORGANISATION_ID = UUID.randomUUID();
+  private static final UUID CONTACT_ID = UUID.randomUUID();
+  private static final UUID OTHER_CONTACT_ID = UUID.randomUUID();
+  private static final int PAGE_SIZE = 20;
+  private static final ApplicationTradeStatus PROCESSING =
+      ApplicationTradeStatus.builder()
+          .applicationStatus(ApplicationStatus.PROCESSING)
+          .tradeApiStatus("Submitted")
+          .build();
+
+  @Mock private BackendServiceAdapter backendServiceAdapter;
+
+  private CaseStatusCache caseStatusCache;
+
+  @Before
+  public void before() {
+    caseStatusCache =
+        new CaseStatusCache(backendServiceAdapter, CaseStatusCacheConfiguration.builder().build());
+  }
+
+  @Test
+  public void onlyFetchesStatusesThatAreNotCached() {
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L, 2L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of(1L, PROCESSING, 2L, PROCESSING));
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(3L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of(3L, PROCESSING));
+
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L, 2L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+    Map<Long, ApplicationTradeStatus> statuses =
+        caseStatusCache.getCaseStatusesForApplications(
+            List.of(1L, 2L, 3L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+
+    assertThat(statuses).containsOnlyKeys(1L, 2L, 3L);
+    verify(backendServiceAdapter)
+        .getCaseStatusesForApplications(List.of(1L, 2L), PAGE_SIZE, ORGANISATION_ID);
+    verify(backendServiceAdapter)
+        .getCaseStatusesForApplications(List.of(3L), PAGE_SIZE, ORGANISATION_ID);
+    verifyNoMoreInteractions(backendServiceAdapter);
+  }
+
+  @Test
+  public void doesNotCacheMissingStatuses() {
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of());
+
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+    Map<Long, ApplicationTradeStatus> statuses =
+        caseStatusCache.getCaseStatusesForApplications(
+            List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+
+    assertThat(statuses).isEmpty();
+    verify(backendServiceAdapter, times(2))
+        .getCaseStatusesForApplications(List.of(1L), PAGE_SIZE, ORGANISATION_ID);
+  }
+
+  @Test
+  public void refetchesStatusesOnceTheyExpire() {
+    caseStatusCache =
+        new CaseStatusCache(
+            backendServiceAdapter,
+            CaseStatusCacheConfiguration.builder().expiry(Duration.seconds(0)).build());
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of(1L, PROCESSING));
+
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+
+    verify(backendServiceAdapter, times(2))
+        .getCaseStatusesForApplications(List.of(1L), PAGE_SIZE, ORGANISATION_ID);
+  }
+
+  @Test
+  public void doesNotShareStatusesBetweenOrganisations() {
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of(1L, PROCESSING));
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L), PAGE_SIZE, OTHER_ORGANISATION_ID))
+        .thenReturn(Map.of());
+
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+
+    assertThat(
+            caseStatusCache.getCaseStatusesForApplications(
+                List.of(1L), PAGE_SIZE, OTHER_ORGANISATION_ID, CONTACT_ID))
+        .isEmpty();
+  }
+
+  @Test
+  public void doesNotShareStatusesBetweenContactsWithoutAnOrganisation() {
+    when(backendServiceAdapter.getCaseStatusesForApplications(List.of(1L), PAGE_SIZE, null))
+        .thenReturn(Map.of(1L, PROCESSING))
+        .thenReturn(Map.of());
+
+    caseStatusCache.getCaseStatusesForApplications(List.of(1L), PAGE_SIZE, null, CONTACT_ID);
+
+    assertThat(
+            caseStatusCache.getCaseStatusesForApplications(
+                List.of(1L), PAGE_SIZE, null, OTHER_CONTACT_ID))
+        .isEmpty();
+    verify(backendServiceAdapter, times(2))
+        .getCaseStatusesForApplications(List.of(1L), PAGE_SIZE, null);
+  }
+
+  @Test
+  public void sharesStatusesBetweenContactsOfTheSameOrganisation() {
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of(1L, PROCESSING));
+
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+
+    assertThat(
+            caseStatusCache.getCaseStatusesForApplications(
+                List.of(1L), PAGE_SIZE, ORGANISATION_ID, OTHER_CONTACT_ID))
+        .containsEntry(1L, PROCESSING);
+    verify(backendServiceAdapter)
+        .getCaseStatusesForApplications(List.of(1L), PAGE_SIZE, ORGANISATION_ID);
+  }
+
+  @Test
+  public void refetchesInvalidatedStatuses() {
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of(1L, PROCESSING));
+
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+    caseStatusCache.invalidate(1L);
+    caseStatusCache.getCaseStatusesForApplications(
+        List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID);
+
+    verify(backendServiceAdapter, times(2))
+        .getCaseStatusesForApplications(List.of(1L), PAGE_SIZE, ORGANISATION_ID);
+  }
+
+  @Test
+  public void sharesLookupsAlreadyInFlight() throws Exception {
+    CountDownLatch firstLookupStarted = new CountDownLatch(1);
+    CountDownLatch releaseFirstLookup = new CountDownLatch(1);
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(1L, 2L), PAGE_SIZE, ORGANISATION_ID))
+        .thenAnswer(
+            invocation -> {
+              firstLookupStarted.countDown();
+              releaseFirstLookup.await(5, TimeUnit.SECONDS);
+              return Map.of(1L, PROCESSING, 2L, PROCESSING);
+            });
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            List.of(3L), PAGE_SIZE, ORGANISATION_ID))
+        .thenReturn(Map.of(3L, PROCESSING));
+
+    ExecutorService dashboards = Executors.newFixedThreadPool(2);
+    try {
+      Future<Map<Long, ApplicationTradeStatus>> first =
+          dashboards.submit(
+              () ->
+                  caseStatusCache.getCaseStatusesForApplications(
+                      List.of(1L, 2L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID));
+      firstLookupStarted.await(5, TimeUnit.SECONDS);
+      Future<Map<Long, ApplicationTradeStatus>> overlapping =
+          dashboards.submit(
+              () ->
+                  caseStatusCache.getCaseStatusesForApplications(
+                      List.of(2L, 3L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID));
+
+      verify(backendServiceAdapter, timeout(5000))
+          .getCaseStatusesForApplications(List.of(3L), PAGE_SIZE, ORGANISATION_ID);
+      releaseFirstLookup.countDown();
+
+      assertThat(first.get(5, TimeUnit.SECONDS)).containsOnlyKeys(1L, 2L);
+      assertThat(overlapping.get(5, TimeUnit.SECONDS)).containsOnlyKeys(2L, 3L);
+    } finally {
+      dashboards.shutdownNow();
+    }
+
+    verify(backendServiceAdapter)
+        .getCaseStatusesForApplications(List.of(1L, 2L), PAGE_SIZE, ORGANISATION_ID);
+    verifyNoMoreInteractions(backendServiceAdapter);
+  }
+
+  @Test
+  public void failedLookupsAreRetriedByTheNextRequest() {
+    when(backendServiceAdapter.getCaseStatusesForApplications(
+            anyList(), eq(PAGE_SIZE), eq(ORGANISATION_ID)))
+        .thenThrow(new IllegalStateException("case management unavailable"))
+        .thenReturn(Map.of(1L, PROCESSING));
+
+    assertThatExceptionOfType(IllegalStateException.class)
+        .isThrownBy(
+            () ->
+                caseStatusCache.getCaseStatusesForApplications(
+                    List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID));
+
+    assertThat(
+            caseStatusCache.getCaseStatusesForApplications(
+                List.of(1L), PAGE_SIZE, ORGANISATION_ID, CONTACT_ID))
+        .containsEntry(1L, PROCESSING);
+  }
+}
@@ -1,12 +1,11 @@
 package uk.gov.defra.plants.applicationform.service.commodity;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_PERSISTENT_PARENT_COMMODITIES_BOTANICAL;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.junit.Before;
@@ -17,7 +16,6 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalDAO;
 import uk.gov.defra.plants.applicationform.dao.CommodityBotanicalRepository;
-import uk.gov.defra.plants.applicationform.model.PersistentCommodityBotanical;
 import uk.gov.defra.plants.commontest.jdbi.JdbiMock;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -43,24 +41,11 @@ public class BotanicalCommonTest {
   @Test
   public void clonesBotanicalCommodities() {
 
-    List<PersistentCommodityBotanical> commoditiesBeingCloned =
-        TEST_PERSISTENT_PARENT_COMMODITIES_BOTANICAL;
-
-    when(commodityBotanicalRepository.getCommoditiesByConsignmentId(
-            commodityBotanicalDAO, originalConsignmentId))
-        .thenReturn(commoditiesBeingCloned);
-
     botanicalCommon.cloneCommodities(handle, originalConsignmentId, newConsignmentId);
 
     verify(commodityBotanicalRepository)
-        .getCommoditiesByConsignmentId(commodityBotanicalDAO, originalConsignmentId);
-
-    List<PersistentCommodityBotanical> newCommodities =
-        commoditiesBeingCloned.stream()
-            .map(commodity -> commodity.toBuilder().consignmentId(newConsignmentId).build())
-            .collect(Collectors.toList());
-
-    verify(commodityBotanicalRepository).insertCommodities(commodityBotanicalDAO, newCommodities);
+        .cloneCommodities(commodityBotanicalDAO, originalConsignmentId, newConsignmentId);
+    verify(commodityBotanicalRepository, never()).insertCommodities(any(), any());
   }
 
   @Test
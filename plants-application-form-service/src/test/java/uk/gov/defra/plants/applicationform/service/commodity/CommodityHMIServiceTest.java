@@ -207,6 +207,6 @@ public class CommodityHMIServiceTest {
     commodityHMIService.cloneCommodities(handle, consignmentId, newConsignmentId);
 
     verify(commodityBotanicalRepository)
-        .getCommoditiesByConsignmentId(commodityBotanicalDAO, consignmentId);
+        .cloneCommodities(commodityBotanicalDAO, consignmentId, newConsignmentId);
   }
 }
@@ -210,6 +210,6 @@ public class CommodityPlantProductsServiceTest {
     commodityPlantProductsService.cloneCommodities(handle, consignmentId, newConsignmentId);
 
     verify(commodityBotanicalRepository)
-        .getCommoditiesByConsignmentId(commodityBotanicalDAO, consignmentId);
+        .cloneCommodities(commodityBotanicalDAO, consignmentId, newConsignmentId);
   }
 }
@@ -206,6 +206,6 @@ public class CommodityPlantsServiceTest {
     commodityPlantsService.cloneCommodities(handle, consignmentId, newConsignmentId);
 
     verify(commodityBotanicalRepository)
-        .getCommoditiesByConsignmentId(commodityBotanicalDAO, consignmentId);
+        .cloneCommodities(commodityBotanicalDAO, consignmentId, newConsignmentId);
   }
 }
@@ -3,7 +3,9 @@ package uk.gov.defra.plants.applicationform.service.commodity;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_COMMODITY_POTATOES;
@@ -13,7 +15,6 @@ import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_P
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.junit.Before;
@@ -208,23 +209,9 @@ public class CommodityPotatoesServiceTest {
   @Test
   public void testCloneCommodities() {
 
-    List<PersistentCommodityPotatoes> commoditiesBeingCloned =
-        List.of(TEST_PERSISTENT_COMMODITY_POTATOES);
-
-    when(commodityPotatoesRepository.getCommoditiesByConsignmentId(
-            commodityPotatoesDAO, consignmentId))
-        .thenReturn(commoditiesBeingCloned);
-
     commodityPotatoesService.cloneCommodities(handle, consignmentId, newConsignmentId);
 
-    verify(commodityPotatoesRepository)
-        .getCommoditiesByConsignmentId(commodityPotatoesDAO, consignmentId);
-
-    List<PersistentCommodityPotatoes> newCommodities =
-        commoditiesBeingCloned.stream()
-            .map(commodity -> commodity.toBuilder().consignmentId(newConsignmentId).build())
-            .collect(Collectors.toList());
-
-    verify(commodityPotatoesRepository).insertCommodities(commodityPotatoesDAO, newCommodities);
+    verify(commodityPotatoesRepository).cloneCommodities(commodityPotatoesDAO, consignmentId, newConsignmentId);
+    verify(commodityPotatoesRepository, never()).insertCommodities(any(), any());
   }
 }
@@ -2,7 +2,9 @@ package uk.gov.defra.plants.applicationform.service.commodity;
 
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_COMMODITY_MACHINERY;
@@ -12,7 +14,6 @@ import static uk.gov.defra.plants.applicationform.ApplicationFormTestData.TEST_P
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.jdbi.v3.core.Handle;
 import org.jdbi.v3.core.Jdbi;
 import org.junit.Before;
@@ -183,23 +184,9 @@ public class CommodityUsedFarmMachineryServiceTest {
   @Test
   public void testCloneCommodities() {
 
-    List<PersistentCommodityMachinery> commoditiesBeingCloned =
-        List.of(TEST_PERSISTENT_COMMODITY_MACHINERY);
-
-    when(commodityMachineryRepository.getCommoditiesByConsignmentId(
-            commodityMachineryDAO, consignmentId))
-        .thenReturn(commoditiesBeingCloned);
-
     commodityUsedFarmMachineryService.cloneCommodities(handle, consignmentId, newConsignmentId);
 
-    verify(commodityMachineryRepository)
-        .getCommoditiesByConsignmentId(commodityMachineryDAO, consignmentId);
-
-    List<PersistentCommodityMachinery> newCommodities =
-        commoditiesBeingCloned.stream()
-            .map(commodity -> commodity.toBuilder().consignmentId(newConsignmentId).build())
-            .collect(Collectors.toList());
-
-    verify(commodityMachineryRepository).insertCommodities(commodityMachineryDAO, newCommodities);
+    verify(commodityMachineryRepository).cloneCommodities(commodityMachineryDAO, consignmentId, newConsignmentId);
+    verify(commodityMachineryRepository, never()).insertCommodities(any(), any());
   }
 }
@@ -205,7 +205,7 @@ public class ApplicationFormAnswerMigrationServiceTest {
   public void before() {
     applicationFormAnswerMigrationService =
         new ApplicationFormAnswerMigrationService(
-            mockFormConfigurationServiceAdapter,
+            new FormConfigurationLookup(mockFormConfigurationServiceAdapter),
             responseItemMapper,
             new MergedFormPageNormaliser());
 
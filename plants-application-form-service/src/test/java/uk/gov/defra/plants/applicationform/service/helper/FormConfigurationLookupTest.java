@@ -0,0 +1,85 @@
+package uk.gov.defra.plants.applicationform.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationServiceAdapter;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FormConfigurationLookupTest {
+
+  private static final List<MergedFormPage> PAGES =
+      ImmutableList.of(MergedFormPage.builder().pageNumber(1).build());
+
+  @Mock private FormConfigurationServiceAdapter formConfigurationServiceAdapter;
+
+  private FormConfigurationLookup formConfigurationLookup;
+
+  @Before
+  public void before() {
+    formConfigurationLookup = new FormConfigurationLookup(formConfigurationServiceAdapter);
+  }
+
+  @Test
+  public void fetchesMergedFormPagesOncePerEhcAndExa() {
+    when(formConfigurationServiceAdapter.getMergedFormPages("EHC123", "1.0", "EXA123", "2.0"))
+        .thenReturn(PAGES);
+
+    assertThat(formConfigurationLookup.getMergedFormPages("EHC123", "1.0", "EXA123", "2.0"))
+        .isEqualTo(PAGES);
+    assertThat(formConfigurationLookup.getMergedFormPages("EHC123", "1.0", "EXA123", "2.0"))
+        .isEqualTo(PAGES);
+
+    verify(formConfigurationServiceAdapter).getMergedFormPages("EHC123", "1.0", "EXA123", "2.0");
+  }
+
+  @Test
+  public void keepsScopedAndUnscopedPagesApart() {
+    when(formConfigurationServiceAdapter.getMergedFormPages("EHC123", "1.0", "EXA123", "2.0"))
+        .thenReturn(PAGES);
+    when(formConfigurationServiceAdapter.getMergedFormPagesIgnoreScope(
+            "EHC123", "1.0", "EXA123", "2.0"))
+        .thenReturn(ImmutableList.of());
+
+    assertThat(formConfigurationLookup.getMergedFormPages("EHC123", "1.0", "EXA123", "2.0"))
+        .isEqualTo(PAGES);
+    assertThat(
+            formConfigurationLookup.getMergedFormPagesIgnoreScope(
+                "EHC123", "1.0", "EXA123", "2.0"))
+        .isEmpty();
+  }
+
+  @Test
+  public void fetchesEachEhcSeparately() {
+    final MergedForm ehc123 = MergedForm.builder().ehcTemplate("EHC123.pdf").build();
+    final MergedForm ehc456 = MergedForm.builder().ehcTemplate("EHC456.pdf").build();
+    when(formConfigurationServiceAdapter.getActiveMergedForm("EHC123")).thenReturn(ehc123);
+    when(formConfigurationServiceAdapter.getActiveMergedForm("EHC456")).thenReturn(ehc456);
+
+    assertThat(formConfigurationLookup.getActiveMergedForm("EHC123")).isEqualTo(ehc123);
+    assertThat(formConfigurationLookup.getActiveMergedForm("EHC456")).isEqualTo(ehc456);
+    assertThat(formConfigurationLookup.getActiveMergedForm("EHC123")).isEqualTo(ehc123);
+
+    verify(formConfigurationServiceAdapter).getActiveMergedForm("EHC123");
+    verify(formConfigurationServiceAdapter).getActiveMergedForm("EHC456");
+  }
+
+  @Test
+  public void fetchesAgainWhenNothingWasFound() {
+    assertThat(formConfigurationLookup.getActiveMergedForm("EHC123")).isNull();
+    assertThat(formConfigurationLookup.getActiveMergedForm("EHC123")).isNull();
+
+    verify(formConfigurationServiceAdapter, times(2)).getActiveMergedForm("EHC123");
+  }
+}
@@ -8,6 +8,7 @@ import static uk.gov.defra.plants.formconfiguration.adapter.FormConfigurationSer
 import static uk.gov.defra.plants.formconfiguration.adapter.HealthCertificateServiceAdapterImpl.HEALTH_CERTIFICATE_ADAPTER_CONFIGURATION;
 import static uk.gov.defra.plants.formconfiguration.adapter.HealthCertificateServiceAdapterImpl.HEALTH_CERTIFICATE_SERVICE_CLIENT;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.Application;
 import io.dropwizard.client.JerseyClientBuilder;
 import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
@@ -125,6 +126,7 @@ public class BackendAdapterServiceApplication
               protected void configure() {
                 bind(configuration).to(CaseManagementServiceConfiguration.class);
                 bind(environment).to(Environment.class);
+                bind(environment.metrics()).to(MetricRegistry.class);
 
                 bind(formConfigurationServiceClient)
                     .to(Client.class)
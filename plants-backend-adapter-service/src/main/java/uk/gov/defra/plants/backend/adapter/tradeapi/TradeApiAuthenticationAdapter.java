@@ -1,13 +1,21 @@
 package uk.gov.defra.plants.backend.adapter.tradeapi;
 
-import static uk.gov.defra.plants.common.adapter.BaseAdapterCached.Singleton.SINGLETON;
+import static com.codahale.metrics.MetricRegistry.name;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.cache.Cache;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import java.net.URI;
+import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
@@ -20,21 +28,27 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.security.jwt.Jwt;
 import org.springframework.security.jwt.JwtHelper;
-import uk.gov.defra.plants.common.adapter.BaseAdapterCached;
+import uk.gov.defra.plants.common.constants.RequestTracing;
 import uk.gov.defra.plants.common.json.ItemsMapper;
 import uk.gov.defra.plants.common.logging.ClientLoggingFilter;
 import uk.gov.defra.plants.dynamics.representation.TradeAPIAccessToken;
 
+/**
+ * Supplies the Trade API bearer token. The current token is served without locking; a background
+ * task renews it shortly before it would fall inside the refresh threshold, and any refreshes
+ * requested concurrently share a single call to the token endpoint.
+ */
 @Slf4j
-public class TradeApiAuthenticationAdapter extends BaseAdapterCached {
+public class TradeApiAuthenticationAdapter {
 
   private static final CacheControl DISABLED_CACHE = new CacheControl();
   private static final String GZIP = "gzip";
   private static final String DEFLATE = "deflate";
-  private final Cache<Singleton, TradeAPIAccessToken> cachedToken =
-      buildCacheWith(59, TimeUnit.MINUTES);
+  private static final long BACKGROUND_REFRESH_LEAD_SECONDS = 30;
+  private static final long BACKGROUND_REFRESH_RETRY_SECONDS = 10;
 
   static {
     DISABLED_CACHE.setNoCache(true);
@@ -45,9 +59,21 @@ public class TradeApiAuthenticationAdapter extends BaseAdapterCached {
   private final URI authenticationUrl;
   private final Form authenticationRequestForm;
   private final int refreshTokenThresholdInSecondsBeforeExpires;
+  private final ScheduledExecutorService tokenRefreshScheduler;
+  private final Timer tokenRefreshTimer;
+  private final Meter tokenRefreshFailures;
+
+  private final AtomicReference<TradeAPIAccessToken> currentToken = new AtomicReference<>();
+  private final AtomicReference<CompletableFuture<TradeAPIAccessToken>> inFlightRefresh =
+      new AtomicReference<>();
+  private final Object scheduleLock = new Object();
+  private ScheduledFuture<?> scheduledRefresh;
 
   public TradeApiAuthenticationAdapter(
-      final Client client, final TradeApiAdapterConfiguration tradeApiAdapterConfiguration) {
+      final Client client,
+      final TradeApiAdapterConfiguration tradeApiAdapterConfiguration,
+      final ScheduledExecutorService tokenRefreshScheduler,
+      final MetricRegistry metricRegistry) {
     this.client = client.register(new ClientLoggingFilter(LOGGER));
     this.authenticationUrl = tradeApiAdapterConfiguration.getAccessTokenUrl();
     this.refreshTokenThresholdInSecondsBeforeExpires =
@@ -58,31 +84,114 @@ public class TradeApiAuthenticationAdapter extends BaseAdapterCached {
             .param("client_secret", tradeApiAdapterConfiguration.getClientSecret())
             .param("grant_type", tradeApiAdapterConfiguration.getGrantType())
             .param("scope", tradeApiAdapterConfiguration.getScope());
+    this.tokenRefreshScheduler = tokenRefreshScheduler;
+    this.tokenRefreshTimer =
+        metricRegistry.timer(name(TradeApiAuthenticationAdapter.class, "token-refresh"));
+    this.tokenRefreshFailures =
+        metricRegistry.meter(name(TradeApiAuthenticationAdapter.class, "token-refresh-failures"));
   }
 
   public String authenticate() {
     final TradeAPIAccessToken token =
-        Optional.ofNullable(getToken())
-            .filter(tkn -> tkn.hasValidValues(refreshTokenThresholdInSecondsBeforeExpires))
-            .orElseGet(
-                () -> {
-                  cachedToken.invalidate(SINGLETON);
-                  return getToken();
-                });
+        Optional.ofNullable(currentToken.get())
+            .filter(this::isUsable)
+            .orElseGet(this::refreshToken);
     return Optional.ofNullable(token)
         .map(TradeAPIAccessToken::getAccessToken)
         .orElseThrow(
             () -> new InternalServerErrorException("Failed to authenticate with trader API"));
   }
 
-  private TradeAPIAccessToken getToken() {
+  private boolean isUsable(final TradeAPIAccessToken token) {
+    return token.hasValidValues(refreshTokenThresholdInSecondsBeforeExpires);
+  }
+
+  private TradeAPIAccessToken refreshToken() {
     try {
-      return cachedToken.get(SINGLETON, this::fetchToken);
-    } catch (Exception e) {
+      return refresh(false).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof InternalServerErrorException) {
+        throw (InternalServerErrorException) e.getCause();
+      }
       throw new InternalServerErrorException(e.getCause());
     }
   }
 
+  /**
+   * Fetches a new token unless a fetch is already running, in which case the caller shares its
+   * result. Unless forced, a token that became usable while waiting is returned as is.
+   */
+  private CompletableFuture<TradeAPIAccessToken> refresh(final boolean force) {
+    final CompletableFuture<TradeAPIAccessToken> refresh = new CompletableFuture<>();
+    final CompletableFuture<TradeAPIAccessToken> existingRefresh =
+        inFlightRefresh.compareAndExchange(null, refresh);
+    if (existingRefresh != null) {
+      return existingRefresh;
+    }
+
+    try {
+      final TradeAPIAccessToken latestToken = currentToken.get();
+      if (!force && latestToken != null && isUsable(latestToken)) {
+        refresh.complete(latestToken);
+        return refresh;
+      }
+
+      final TradeAPIAccessToken token;
+      try (Timer.Context ignored = tokenRefreshTimer.time()) {
+        token = fetchToken();
+      }
+      currentToken.set(token);
+      scheduleBackgroundRefresh(secondsUntilBackgroundRefresh(token));
+      refresh.complete(token);
+    } catch (Exception e) {
+      tokenRefreshFailures.mark();
+      refresh.completeExceptionally(e);
+    } finally {
+      inFlightRefresh.set(null);
+    }
+    return refresh;
+  }
+
+  private long secondsUntilBackgroundRefresh(final TradeAPIAccessToken token) {
+    return token.getExpiresOn()
+        - Instant.now().getEpochSecond()
+        - refreshTokenThresholdInSecondsBeforeExpires
+        - BACKGROUND_REFRESH_LEAD_SECONDS;
+  }
+
+  private void scheduleBackgroundRefresh(final long delayInSeconds) {
+    if (delayInSeconds <= 0) {
+      // token lifetime is inside the lead time, so leave renewal to the next request
+      return;
+    }
+    synchronized (scheduleLock) {
+      if (scheduledRefresh != null) {
+        scheduledRefresh.cancel(false);
+      }
+      scheduledRefresh =
+          tokenRefreshScheduler.schedule(
+              this::refreshInBackground, delayInSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  private void refreshInBackground() {
+    MDC.put(RequestTracing.CORRELATION_COUNT, "0");
+    MDC.put(RequestTracing.CORRELATION_HEADER, UUID.randomUUID().toString());
+
+    refresh(true)
+        .whenComplete(
+            (token, failure) -> {
+              if (failure == null) {
+                return;
+              }
+              LOGGER.warn("Background refresh of trade API token failed", failure);
+              final TradeAPIAccessToken latestToken = currentToken.get();
+              if (latestToken != null && isUsable(latestToken)) {
+                scheduleBackgroundRefresh(BACKGROUND_REFRESH_RETRY_SECONDS);
+              }
+            });
+  }
+
   @SneakyThrows
   private TradeAPIAccessToken fetchToken() {
     final Response response =
@@ -114,8 +223,8 @@ public class TradeApiAuthenticationAdapter extends BaseAdapterCached {
   @SneakyThrows
   protected Long getTimeStampFromToken(String accessToken) {
     final Jwt decodedJwt = JwtHelper.decode(accessToken);
-    final Map<Object, Object> authClaims =
-        new ObjectMapper().readValue(decodedJwt.getClaims(), Map.class);
+    final Map<?, ?> authClaims =
+        ItemsMapper.OBJECT_MAPPER.readValue(decodedJwt.getClaims(), Map.class);
     if (authClaims != null && authClaims.get("exp") != null) {
       String expiryTimestamp = authClaims.get("exp").toString();
       return Long.valueOf(expiryTimestamp);
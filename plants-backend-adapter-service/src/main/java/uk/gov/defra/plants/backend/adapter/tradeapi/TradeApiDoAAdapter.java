@@ -6,14 +6,12 @@ import java.util.List;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.ws.rs.client.Entity;
-import javax.ws.rs.core.Response;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import uk.gov.defra.plants.backend.configuration.CaseManagementServiceConfiguration;
 import uk.gov.defra.plants.backend.representation.organisation.domain.DoaContactOrganisations;
 import uk.gov.defra.plants.backend.representation.organisation.tradeapi.ApplicationPermissionOrgRequestModel;
 import uk.gov.defra.plants.backend.representation.organisation.tradeapi.OrganisationPermissionOrgResponse;
-import uk.gov.defra.plants.common.json.ItemsMapper;
 
 @Slf4j
 @AllArgsConstructor(onConstructor = @__({@Inject}))
@@ -42,8 +40,10 @@ public class TradeApiDoAAdapter {
         tradeApiRequestFactory.createPost(PERMISSION_URI, resourceWithServiceId,
             Collections.emptyList(), data);
 
-    Response response = tradeApiRequestProcessor.execute(tradeApiPost);
-    return ItemsMapper.fromJson(response.readEntity(String.class), OrganisationPermissionOrgResponse.class);
+    return tradeApiRequestProcessor.execute(
+        tradeApiPost,
+        response ->
+            TradeApiResponseReader.read(response, OrganisationPermissionOrgResponse.class));
   }
 
 
@@ -2,7 +2,9 @@ package uk.gov.defra.plants.backend.adapter.tradeapi;
 
 import java.net.URI;
 import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.core.Response;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,23 +14,26 @@ public class TradeApiGet implements TradeApiRequest {
   private final String tradeAPISubscriptionKeyName;
   private final URI tradeAPISubscriptionKey;
   private final URI serverUri;
+  @Getter private final String endpoint;
 
   public TradeApiGet(Client client, String tradeAPISubscriptionKeyName,
-      URI tradeAPISubscriptionKey, URI serverUri) {
+      URI tradeAPISubscriptionKey, URI serverUri, String endpoint) {
     this.client = client;
     this.tradeAPISubscriptionKeyName = tradeAPISubscriptionKeyName;
     this.tradeAPISubscriptionKey = tradeAPISubscriptionKey;
     this.serverUri = serverUri;
+    this.endpoint = endpoint;
   }
 
   @SneakyThrows
   public Response execute() {
-      return
-          client
-              .target(serverUri)
-              .request()
-              .header(
-                  tradeAPISubscriptionKeyName, tradeAPISubscriptionKey)
-              .get();
+    return request().get();
+  }
+
+  private Builder request() {
+    return client
+        .target(serverUri)
+        .request()
+        .header(tradeAPISubscriptionKeyName, tradeAPISubscriptionKey);
   }
 }
@@ -7,13 +7,11 @@ import java.util.List;
 import java.util.UUID;
 import javax.inject.Inject;
 import javax.ws.rs.NotFoundException;
-import javax.ws.rs.core.Response;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.NameValuePair;
 import org.apache.http.message.BasicNameValuePair;
 import uk.gov.defra.plants.backend.representation.inspection.InspectionAddress;
-import uk.gov.defra.plants.common.json.ItemsMapper;
 
 @Slf4j
 @AllArgsConstructor(onConstructor = @__({@Inject}))
@@ -22,13 +20,30 @@ public class TradeApiInspectionAddressAdapter {
   private static final String ADDRESSES_URI = "/trade-customer-extension/1-internal";
   private static final String INSPECTION_ADDRESSES_RESOURCE_NAME = "/address";
   private static final String APPROVER_TYPE_PHEATS = "Pheats";
+  private static final TypeReference<List<InspectionAddress>> INSPECTION_ADDRESSES_TYPE =
+      new TypeReference<List<InspectionAddress>>() {};
 
 
   private final TradeApiRequestFactory tradeApiRequestFactory;
   private final TradeApiRequestProcessor tradeApiRequestProcessor;
 
   public List<InspectionAddress> getInspectionAddresses(final UUID userId, boolean pheatsApplication) {
+    try {
+      return tradeApiRequestProcessor.execute(
+          createInspectionAddressesGet(userId, pheatsApplication),
+          response -> TradeApiResponseReader.read(response, INSPECTION_ADDRESSES_TYPE));
+    } catch (NotFoundException e) {
+      return Collections.emptyList();
+    }
+  }
 
+  public InspectionAddress getInspectionAddress(final UUID selectedLocationId) {
+    return tradeApiRequestProcessor.execute(
+        createInspectionAddressGet(selectedLocationId),
+        response -> TradeApiResponseReader.read(response, InspectionAddress.class));
+  }
+
+  private TradeApiGet createInspectionAddressesGet(final UUID userId, boolean pheatsApplication) {
     List<NameValuePair> queryParams = new ArrayList<>();
     queryParams.add(new BasicNameValuePair("partyIdentifier", userId.toString()));
     queryParams.add(new BasicNameValuePair("partyContactPointTypeCode", "InspAddr"));
@@ -36,26 +51,15 @@ public class TradeApiInspectionAddressAdapter {
       queryParams.add(new BasicNameValuePair("approverType", APPROVER_TYPE_PHEATS));
     }
 
-    try {
-      final TradeApiGet tradeApiGet =
-          tradeApiRequestFactory.createGet(
-              ADDRESSES_URI, INSPECTION_ADDRESSES_RESOURCE_NAME, queryParams);
-      Response response = tradeApiRequestProcessor.execute(tradeApiGet);
-      return ItemsMapper.fromJson(
-          response.readEntity(String.class), new TypeReference<List<InspectionAddress>>() {});
-    } catch (NotFoundException e) {
-      return Collections.emptyList();
-    }
+    return tradeApiRequestFactory.createGet(
+        ADDRESSES_URI, INSPECTION_ADDRESSES_RESOURCE_NAME, queryParams);
   }
 
-  public InspectionAddress getInspectionAddress(final UUID selectedLocationId) {
-      final TradeApiGet tradeApiGet =
-          tradeApiRequestFactory.createGet(
-              ADDRESSES_URI,
-              INSPECTION_ADDRESSES_RESOURCE_NAME + "/" + selectedLocationId.toString(),
-              Collections.emptyList());
-      Response response = tradeApiRequestProcessor.execute(tradeApiGet);
-      return ItemsMapper.fromJson(response.readEntity(String.class), InspectionAddress.class);
+  private TradeApiGet createInspectionAddressGet(final UUID selectedLocationId) {
+    return tradeApiRequestFactory.createGet(
+        ADDRESSES_URI,
+        INSPECTION_ADDRESSES_RESOURCE_NAME + "/" + selectedLocationId.toString(),
+        Collections.emptyList());
   }
 
 }
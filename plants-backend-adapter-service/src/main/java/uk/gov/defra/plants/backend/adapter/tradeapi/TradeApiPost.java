@@ -3,7 +3,9 @@ package uk.gov.defra.plants.backend.adapter.tradeapi;
 import java.net.URI;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.core.Response;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
@@ -14,22 +16,27 @@ public class TradeApiPost implements TradeApiRequest {
   private final URI tradeAPISubscriptionKey;
   private final URI serverUri;
   private final Entity<?> data;
+  @Getter private final String endpoint;
 
   public TradeApiPost(Client client, String tradeAPISubscriptionKeyName,
-      URI tradeAPISubscriptionKey, URI serverUri, Entity<?> data) {
+      URI tradeAPISubscriptionKey, URI serverUri, Entity<?> data, String endpoint) {
     this.client = client;
     this.tradeAPISubscriptionKeyName = tradeAPISubscriptionKeyName;
     this.tradeAPISubscriptionKey = tradeAPISubscriptionKey;
     this.serverUri = serverUri;
     this.data = data;
+    this.endpoint = endpoint;
   }
 
   @SneakyThrows
   public Response execute() {
+    return request().post(data, Response.class);
+  }
+
+  private Builder request() {
     return client
         .target(serverUri)
         .request()
-        .header(tradeAPISubscriptionKeyName, tradeAPISubscriptionKey)
-        .post(data, Response.class);
+        .header(tradeAPISubscriptionKeyName, tradeAPISubscriptionKey);
   }
 }
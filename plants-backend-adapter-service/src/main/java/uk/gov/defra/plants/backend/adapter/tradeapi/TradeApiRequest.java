@@ -3,5 +3,7 @@ package uk.gov.defra.plants.backend.adapter.tradeapi;
 import javax.ws.rs.core.Response;
 
 public interface TradeApiRequest {
+  String getEndpoint();
+
   Response execute() ;
 }
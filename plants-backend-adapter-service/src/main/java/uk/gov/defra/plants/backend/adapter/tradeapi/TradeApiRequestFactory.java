@@ -8,6 +8,7 @@ import javax.ws.rs.client.Entity;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URIBuilder;
 
@@ -31,7 +32,8 @@ public class TradeApiRequestFactory {
         tradeAPISubscriptionKey,
         new URIBuilder(serverUri + resourceUri + resourceName)
                     .addParameters(queryParams)
-                    .build());
+                    .build(),
+        endpoint(resourceUri, resourceName));
   }
 
   @SneakyThrows
@@ -48,6 +50,17 @@ public class TradeApiRequestFactory {
         new URIBuilder(serverUri + resourceUri + resourceName)
             .addParameters(queryParams)
             .build(),
-        data);
+        data,
+        endpoint(resourceUri, resourceName));
+  }
+
+  /**
+   * Names the endpoint for metrics using only the first segment of the resource name, so that ids
+   * later in the path do not create a metric per resource.
+   */
+  private static String endpoint(final String resourceUri, final String resourceName) {
+    return resourceUri
+        + "/"
+        + StringUtils.substringBefore(StringUtils.removeStart(resourceName, "/"), "/");
   }
 }
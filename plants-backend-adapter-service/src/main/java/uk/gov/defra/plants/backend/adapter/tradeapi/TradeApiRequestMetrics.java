@@ -0,0 +1,40 @@
+package uk.gov.defra.plants.backend.adapter.tradeapi;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TradeApiRequestMetrics {
+
+  private final MetricRegistry metricRegistry;
+  private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+  public TradeApiRequestMetrics(final MetricRegistry metricRegistry) {
+    this.metricRegistry = metricRegistry;
+    metricRegistry.register(
+        name(TradeApiRequestProcessor.class, "in-flight"), (Gauge<Integer>) inFlightRequests::get);
+  }
+
+  public RequestTimer startRequest(final String endpoint) {
+    inFlightRequests.incrementAndGet();
+    return new RequestTimer(
+        metricRegistry.timer(name(TradeApiRequestProcessor.class, endpoint, "latency")).time());
+  }
+
+  public class RequestTimer implements AutoCloseable {
+    private final Timer.Context context;
+
+    private RequestTimer(final Timer.Context context) {
+      this.context = context;
+    }
+
+    @Override
+    public void close() {
+      context.stop();
+      inFlightRequests.decrementAndGet();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package uk.gov.defra.plants.backend.adapter.tradeapi;
 
+import java.util.function.Function;
 import javax.inject.Inject;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
@@ -9,6 +10,7 @@ import javax.ws.rs.core.Response.Status.Family;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiRequestMetrics.RequestTimer;
 import uk.gov.defra.plants.backend.exception.TradeApiClientErrorException;
 import uk.gov.defra.plants.common.json.ItemsMapper;
 import uk.gov.defra.plants.common.json.ItemsMapper.FailedToDeserializeFromJsonException;
@@ -19,17 +21,30 @@ import uk.gov.defra.plants.dynamics.representation.response.ErrorResponse;
 public class TradeApiRequestProcessor {
 
   private final TradeApiRuntimeExceptionHandler tradeApiRuntimeExceptionHandler;
+  private final TradeApiRequestMetrics tradeApiRequestMetrics;
 
+  /**
+   * Sends the request and reads a successful response with the reader given. The request is timed
+   * until the reader has finished, so the latency includes streaming the response body.
+   */
   @SneakyThrows
-  public Response execute(final TradeApiRequest tradeApiRequest) {
+  public <T> T execute(
+      final TradeApiRequest tradeApiRequest, final Function<Response, T> responseReader) {
 
-    Response response = null;
-    try {
-      response = tradeApiRequest.execute();
-    } catch (RuntimeException e) {
-      tradeApiRuntimeExceptionHandler.handleRunTimeException(e);
+    try (RequestTimer ignored =
+        tradeApiRequestMetrics.startRequest(tradeApiRequest.getEndpoint())) {
+      Response response = null;
+      try {
+        response = tradeApiRequest.execute();
+      } catch (RuntimeException e) {
+        tradeApiRuntimeExceptionHandler.handleRunTimeException(e);
+      }
+
+      return responseReader.apply(handleResponse(response));
     }
+  }
 
+  private Response handleResponse(final Response response) {
     if (response != null) {
       if (response.getStatusInfo().getFamily() == Family.SUCCESSFUL) {
         return response;
@@ -0,0 +1,31 @@
+package uk.gov.defra.plants.backend.adapter.tradeapi;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.ws.rs.core.Response;
+import uk.gov.defra.plants.common.json.ItemsMapper;
+import uk.gov.defra.plants.common.json.ItemsMapper.FailedToDeserializeFromJsonException;
+
+/** Deserialises Trade API responses straight from the entity stream. */
+public class TradeApiResponseReader {
+
+  private TradeApiResponseReader() {
+  }
+
+  public static <T> T read(final Response response, final Class<T> type) {
+    try (InputStream entity = response.readEntity(InputStream.class)) {
+      return ItemsMapper.OBJECT_MAPPER.readValue(entity, type);
+    } catch (IOException e) {
+      throw new FailedToDeserializeFromJsonException(e);
+    }
+  }
+
+  public static <T> T read(final Response response, final TypeReference<T> type) {
+    try (InputStream entity = response.readEntity(InputStream.class)) {
+      return ItemsMapper.OBJECT_MAPPER.readValue(entity, type);
+    } catch (IOException e) {
+      throw new FailedToDeserializeFromJsonException(e);
+    }
+  }
+}
@@ -5,7 +5,9 @@ import io.dropwizard.ConfiguredBundle;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import lombok.AllArgsConstructor;
 import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
@@ -14,11 +16,14 @@ import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCacheFactory;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCacheKey;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCacheService;
+import uk.gov.defra.plants.backend.service.cache.EppoDataLoadMetrics;
+import uk.gov.defra.plants.backend.service.cache.EppoDataNearCache;
 import uk.gov.defra.plants.backend.service.cache.EppoDataServiceCacheInvalidator;
 import uk.gov.defra.plants.backend.service.cache.EppoListCacheFactory;
 import uk.gov.defra.plants.backend.service.cache.EppoListCacheKey;
 import uk.gov.defra.plants.backend.service.cache.EppoListCacheService;
 import uk.gov.defra.plants.backend.service.cache.EppoListServiceCacheInvalidator;
+import uk.gov.defra.plants.backend.service.cache.EppoSearchIndex;
 
 @AllArgsConstructor(onConstructor = @__({@Inject}))
 public class EppoDataCacheBundle
@@ -26,11 +31,23 @@ public class EppoDataCacheBundle
 
   public static final String EPPO_DATA_CACHE = "eppo-data-cache";
   public static final String EPPO_LIST_CACHE = "eppo-list-cache";
+  public static final String EPPO_DATA_LOADER_EXECUTOR = "eppo-data-loader-executor";
 
   @Override
   public void run(
       final CaseManagementServiceConfiguration configuration,
       final Environment environment) {
+    final int loaderParallelism = configuration.getEppoDataLoader().getParallelism();
+    final ExecutorService eppoDataLoaderExecutor =
+        environment
+            .lifecycle()
+            .executorService("eppo-data-loader-%d")
+            .minThreads(loaderParallelism)
+            .maxThreads(loaderParallelism)
+            .build();
+    final EppoDataLoadMetrics eppoDataLoadMetrics =
+        new EppoDataLoadMetrics(environment.metrics());
+
     environment
         .jersey()
         .register(
@@ -47,6 +64,13 @@ public class EppoDataCacheBundle
                     })
                     .named(EPPO_LIST_CACHE);
 
+                bind(eppoDataLoaderExecutor)
+                    .to(ExecutorService.class)
+                    .named(EPPO_DATA_LOADER_EXECUTOR);
+                bind(eppoDataLoadMetrics).to(EppoDataLoadMetrics.class);
+
+                bind(EppoDataNearCache.class).to(EppoDataNearCache.class).in(Singleton.class);
+
                 bindAsContract(EppoDataServiceCacheInvalidator.class);
                 bind(EppoDataCacheFactory.class).to(EppoDataCacheFactory.class);
                 bind(EppoDataCacheService.class).to(EppoDataCacheService.class);
@@ -54,6 +78,8 @@ public class EppoDataCacheBundle
                 bindAsContract(EppoListServiceCacheInvalidator.class);
                 bind(EppoListCacheFactory.class).to(EppoListCacheFactory.class);
                 bind(EppoListCacheService.class).to(EppoListCacheService.class);
+
+                bind(EppoSearchIndex.class).to(EppoSearchIndex.class).in(Singleton.class);
               }
             });
   }
@@ -17,6 +17,7 @@ import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiBotanicalInfoAdapter
 import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiDoAAdapter;
 import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiInspectionAddressAdapter;
 import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiRequestFactory;
+import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiRequestMetrics;
 import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiRequestProcessor;
 import uk.gov.defra.plants.backend.adapter.tradeapi.TradeApiRuntimeExceptionHandler;
 import uk.gov.defra.plants.backend.builder.TradeAPICommodityMachineryBuilder;
@@ -51,6 +52,7 @@ import uk.gov.defra.plants.backend.resource.identification.UserIdentificationFac
 import uk.gov.defra.plants.backend.service.TradeAPIApplicationService;
 import uk.gov.defra.plants.backend.service.TradeAPIDoAService;
 import uk.gov.defra.plants.backend.service.TradeAPIReferenceDataService;
+import uk.gov.defra.plants.backend.service.TradeAPISchemaRegistry;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCacheConfiguration;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCachePopulator;
 import uk.gov.defra.plants.backend.service.inspection.InspectionAddressLatestFirstComparator;
@@ -70,7 +72,13 @@ public class TradeApiBundle implements ConfiguredBundle<CaseManagementServiceCon
             new JerseyClientBuilder(environment)
                 .using(configuration.getTradeApiClient())
                 .build("trade-api-auth-client"),
-            configuration.getTradeApi());
+            configuration.getTradeApi(),
+            environment
+                .lifecycle()
+                .scheduledExecutorService("trade-api-token-refresh-%d")
+                .threads(1)
+                .build(),
+            environment.metrics());
 
     Client tradeApiClient = new JerseyClientBuilder(environment)
         .using(configuration.getTradeApiClient())
@@ -84,6 +92,9 @@ public class TradeApiBundle implements ConfiguredBundle<CaseManagementServiceCon
         configuration.getTradeApi().getTradeAPISubscriptionKey(),
         configuration.getTradeApi().getResourceServerUrl());
 
+    final TradeApiRequestMetrics tradeApiRequestMetrics =
+        new TradeApiRequestMetrics(environment.metrics());
+
     environment
         .jersey()
         .register(
@@ -95,6 +106,7 @@ public class TradeApiBundle implements ConfiguredBundle<CaseManagementServiceCon
                 bind(tradeApiRequestFactory).to(TradeApiRequestFactory.class);
                 bind(TradeApiRuntimeExceptionHandler.class).to(TradeApiRuntimeExceptionHandler.class);
                 bind(TradeApiRequestProcessor.class).to(TradeApiRequestProcessor.class);
+                bind(tradeApiRequestMetrics).to(TradeApiRequestMetrics.class);
                 bind(TradeApiInspectionAddressAdapter.class).to(TradeApiInspectionAddressAdapter.class);
                 bind(tradeApiAuthenticationAdapter).to(TradeApiAuthenticationAdapter.class);
                 bind(CertificateItemDao.class).to(CertificateItemDao.class);
@@ -103,6 +115,8 @@ public class TradeApiBundle implements ConfiguredBundle<CaseManagementServiceCon
                     .to(TradeAPIApplicationMapperService.class);
                 bind(CancelApplicationMapper.class).to(CancelApplicationMapper.class);
                 bind(TradeAPIApplicationService.class).to(TradeAPIApplicationService.class);
+                bind(TradeAPISchemaRegistry.class).to(TradeAPISchemaRegistry.class)
+                    .in(Immediate.class);
                 bind(InspectionAddressLatestFirstComparator.class).to(InspectionAddressLatestFirstComparator.class);
                 bind(TradeAPIInspectionAddressService.class).to(TradeAPIInspectionAddressService.class);
                 bind(UserIdentificationFactory.class).to(UserIdentificationFactory.class);
@@ -110,7 +124,8 @@ public class TradeApiBundle implements ConfiguredBundle<CaseManagementServiceCon
                 bind(TradeAPIInspectionAddressRepository.class)
                     .to(TradeAPIInspectionAddressRepository.class)
                     .in(Singleton.class);
-                bind(EppoDataCachePopulator.class).to(EppoDataCachePopulator.class);
+                bind(EppoDataCachePopulator.class).to(EppoDataCachePopulator.class)
+                    .in(Singleton.class);
                 bind(TradeAPIReferenceDataService.class).to(TradeAPIReferenceDataService.class)
                     .in(Singleton.class);
                 bind(EppoDataCacheConfiguration.class).to(EppoDataCacheConfiguration.class).in(
@@ -48,6 +48,8 @@ public class CaseManagementServiceConfiguration extends BaseConfiguration {
   @Valid @NotNull RedisConfiguration redis;
   @NotNull CacheConfiguration eppoDataCache;
   @NotNull CacheConfiguration eppoListCache;
+  @Valid @NotNull NearCacheConfiguration eppoDataNearCache;
+  @Valid @NotNull EppoDataLoaderConfiguration eppoDataLoader;
 
   @Valid boolean doaEnabled;
 
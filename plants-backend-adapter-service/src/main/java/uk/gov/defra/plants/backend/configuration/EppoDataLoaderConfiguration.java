@@ -0,0 +1,29 @@
+package uk.gov.defra.plants.backend.configuration;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import javax.validation.constraints.Min;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.backend.configuration.EppoDataLoaderConfiguration.EppoDataLoaderConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = EppoDataLoaderConfigurationBuilder.class)
+public class EppoDataLoaderConfiguration {
+
+  @Min(1)
+  @Builder.Default
+  private final int pageSize = 2000;
+
+  @Min(1)
+  @Builder.Default
+  private final int parallelism = 4;
+
+  @Min(1)
+  @Builder.Default
+  private final int writeBatchSize = 500;
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class EppoDataLoaderConfigurationBuilder {}
+}
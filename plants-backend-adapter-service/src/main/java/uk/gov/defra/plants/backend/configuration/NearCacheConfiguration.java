@@ -0,0 +1,26 @@
+package uk.gov.defra.plants.backend.configuration;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.dropwizard.util.Duration;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.backend.configuration.NearCacheConfiguration.NearCacheConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = NearCacheConfigurationBuilder.class)
+public class NearCacheConfiguration {
+
+  @Min(1)
+  private final long maximumSize;
+
+  @NotNull private final Duration expiry;
+
+  @NotNull private final Duration refreshAfter;
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class NearCacheConfigurationBuilder {}
+}
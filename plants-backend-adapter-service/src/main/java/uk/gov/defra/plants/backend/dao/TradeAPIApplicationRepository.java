@@ -43,9 +43,11 @@ public class TradeAPIApplicationRepository {
               .schemaVersion(7)
               .user(user)
               .build());
-      LOGGER.debug(
-          "The submit payload being sent to the queue is: "
-              + ItemsMapper.toJson(tradeAPIApplication));
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "The submit payload being sent to the queue is: {}",
+            ItemsMapper.toJson(tradeAPIApplication));
+      }
       LOGGER.info(
           "Pushing create application message to queue={} for applicationFormId={}",
           ApplicationAction.CREATE_APPLICATION.getValue(),
@@ -66,9 +68,11 @@ public class TradeAPIApplicationRepository {
               .schemaVersion(7)
               .user(user)
               .build());
-      LOGGER.debug(
-          "The update payload being sent to the queue is: "
-              + ItemsMapper.toJson(tradeAPIApplication));
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "The update payload being sent to the queue is: {}",
+            ItemsMapper.toJson(tradeAPIApplication));
+      }
       LOGGER.info(
           "Pushing update application message to queue={} for applicationFormId={}",
           ApplicationAction.UPDATE_APPLICATION.getValue(),
@@ -117,9 +121,11 @@ public class TradeAPIApplicationRepository {
               .schemaVersion(1)
               .user(user)
               .build());
-      LOGGER.debug(
-          "The cancel application payload being submitted to the queue is: "
-              + ItemsMapper.toJson(application));
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(
+            "The cancel application payload being submitted to the queue is: {}",
+            ItemsMapper.toJson(application));
+      }
       LOGGER.info(
           "Pushing cancel application message to queue for applicationFormId={}",
           application.getApplicationId());
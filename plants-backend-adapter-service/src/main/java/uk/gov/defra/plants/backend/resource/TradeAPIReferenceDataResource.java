@@ -13,13 +13,18 @@ import java.util.List;
 import java.util.Map;
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Inject;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.validator.constraints.NotEmpty;
 import uk.gov.defra.plants.backend.representation.referencedata.BotanicalItem;
 import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
 import uk.gov.defra.plants.backend.service.TradeAPIReferenceDataService;
@@ -32,6 +37,8 @@ import uk.gov.defra.plants.common.security.User;
 @Api
 public class TradeAPIReferenceDataResource {
 
+  private static final long MAX_SEARCH_LIMIT = 100;
+
   private final TradeAPIReferenceDataService tradeAPIReferenceDataService;
 
   @ApiOperation(value = "returns a list of items containing eppo genus and species data")
@@ -47,6 +54,28 @@ public class TradeAPIReferenceDataResource {
     return tradeAPIReferenceDataService.getEppoInformation();
   }
 
+  @ApiOperation(
+      value = "returns a page of eppo genus and species items whose preferred name, common name"
+          + " or eppo code matches the query, prefix matches first")
+  @ApiResponses(
+      value = {
+          @ApiResponse(
+              code = 200,
+              response = BotanicalItem.class,
+              responseContainer = "List",
+              message = "success response"),
+      })
+  @GET
+  @RolesAllowed({SERVICE_TO_SERVICE_ROLE})
+  @Path("/botanical-info/search")
+  public List<BotanicalItem> searchEppoInfo(
+      @Auth User user,
+      @NotEmpty @QueryParam("query") String query,
+      @Min(0) @DefaultValue("0") @QueryParam("offset") int offset,
+      @Min(1) @Max(MAX_SEARCH_LIMIT) @DefaultValue("20") @QueryParam("limit") int limit) {
+    return tradeAPIReferenceDataService.searchEppoInformation(query, offset, limit);
+  }
+
   @ApiOperation(value = "returns an eppo item for a given eppo code")
   @ApiResponses(
       value = {
@@ -1,7 +1,5 @@
 package uk.gov.defra.plants.backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectWriter;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -11,11 +9,7 @@ import javax.inject.Inject;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.everit.json.schema.Schema;
 import org.everit.json.schema.ValidationException;
-import org.everit.json.schema.loader.SchemaLoader;
-import org.json.JSONObject;
-import org.json.JSONTokener;
 import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
 import uk.gov.defra.plants.backend.dao.TradeAPIApplicationDao;
@@ -26,8 +20,8 @@ import uk.gov.defra.plants.backend.mapper.dynamicscase.TradeAPIApplicationMapper
 import uk.gov.defra.plants.backend.representation.ApplicationTradeStatus;
 import uk.gov.defra.plants.backend.representation.TraderApplication;
 import uk.gov.defra.plants.backend.representation.TraderApplicationsSummary;
+import uk.gov.defra.plants.backend.service.TradeAPISchemaRegistry.TradeAPISchema;
 import uk.gov.defra.plants.common.constants.ApplicationStatus;
-import uk.gov.defra.plants.common.json.ItemsMapper;
 import uk.gov.defra.plants.common.security.User;
 import uk.gov.defra.plants.dynamics.representation.TradeAPIApplication;
 import uk.gov.defra.plants.dynamics.representation.TradeAPICancelApplication;
@@ -40,6 +34,7 @@ public class TradeAPIApplicationService {
   private final TradeAPIApplicationRepository tradeAPIApplicationRepository;
   private final TradeAPIApplicationDao tradeAPIApplicationDao;
   private final CancelApplicationMapper cancelApplicationMapper;
+  private final TradeAPISchemaRegistry tradeAPISchemaRegistry;
 
   public void createCase(@NonNull final User user, @NonNull ApplicationForm applicationForm) {
     final TradeAPIApplication tradeAPIApplication =
@@ -114,26 +109,13 @@ public class TradeAPIApplicationService {
   }
 
   private void validateUpsertApplicationPayload(TradeAPIApplication tradeAPIApplication) {
-
-    Schema schema =
-        SchemaLoader.builder()
-            .schemaJson(
-                new JSONObject(
-                    new JSONTokener(
-                        TradeAPIApplicationService.class.getResourceAsStream(
-                            "/TradeAPISchema.json"))))
-            .build()
-            .load()
-            .build();
-
     try {
-      ObjectWriter ow = ItemsMapper.OBJECT_MAPPER.writer().withDefaultPrettyPrinter();
-      schema.validate(new JSONObject(ow.writeValueAsString(tradeAPIApplication)));
-    } catch (JsonProcessingException jpe) {
+      tradeAPISchemaRegistry.validate(TradeAPISchema.UPSERT_APPLICATION, tradeAPIApplication);
+    } catch (IllegalArgumentException iae) {
       LOGGER.info(
           "Json Processing error for application form id {} {}",
           tradeAPIApplication.getApplicationFormId(),
-          jpe.getMessage());
+          iae.getMessage());
     } catch (ValidationException validationException) {
       LOGGER.info(
           "Application payload could not validate against schema for application {} {} {}",
@@ -162,20 +144,14 @@ public class TradeAPIApplicationService {
 
   private void validateCancelApplicationPayload(
       TradeAPICancelApplication tradeAPICancelApplication) {
-    Schema schema =
-        SchemaLoader.load(
-            new JSONObject(
-                new JSONTokener(
-                    TradeAPIApplicationService.class
-                        .getResourceAsStream("/CancelApplicationSchema.json"))));
     try {
-      ObjectWriter ow = ItemsMapper.OBJECT_MAPPER.writer().withDefaultPrettyPrinter();
-      schema.validate(new JSONObject(ow.writeValueAsString(tradeAPICancelApplication)));
-    } catch (JsonProcessingException jpe) {
+      tradeAPISchemaRegistry.validate(
+          TradeAPISchema.CANCEL_APPLICATION, tradeAPICancelApplication);
+    } catch (IllegalArgumentException iae) {
       LOGGER.info(
           "Json Processing error for application form id {} {}",
           tradeAPICancelApplication.getApplicationId(),
-          jpe.getMessage());
+          iae.getMessage());
     }
   }
 }
@@ -10,6 +10,7 @@ import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCachePopulator;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCacheService;
 import uk.gov.defra.plants.backend.service.cache.EppoListCacheService;
+import uk.gov.defra.plants.backend.service.cache.EppoSearchIndex;
 
 @Slf4j
 @AllArgsConstructor(onConstructor = @__({@Inject}))
@@ -18,6 +19,7 @@ public class TradeAPIReferenceDataService {
   private final EppoDataCacheService eppoDataServiceCache;
   private final EppoListCacheService eppoListServiceCache;
   private final EppoDataCachePopulator eppoDataCachePopulator;
+  private final EppoSearchIndex eppoSearchIndex;
 
   public List<BotanicalItem> getEppoInformation() {
     if (eppoListServiceCache.getEppoList() == null) {
@@ -33,6 +35,14 @@ public class TradeAPIReferenceDataService {
         .collect(Collectors.toList());
   }
 
+  public List<BotanicalItem> searchEppoInformation(String query, int offset, int limit) {
+    if (!eppoSearchIndex.refresh(eppoListServiceCache::getEppoList)) {
+      eppoDataCachePopulator.populate();
+    }
+
+    return eppoSearchIndex.search(query, offset, limit);
+  }
+
   public EppoItem getEppoNameForCode(String eppoCode) {
     if (eppoDataServiceCache.getEppoItem(eppoCode) == null) {
       eppoDataCachePopulator.populate();
@@ -0,0 +1,112 @@
+package uk.gov.defra.plants.backend.service;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import javax.inject.Inject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.everit.json.schema.Schema;
+import org.everit.json.schema.ValidationException;
+import org.everit.json.schema.loader.SchemaLoader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import uk.gov.defra.plants.common.json.ItemsMapper;
+
+/**
+ * Holds the compiled Trade API JSON schemas. Each schema is loaded from the classpath once, and
+ * payloads are validated from the Jackson tree without being written out to a JSON string first.
+ */
+@Slf4j
+public class TradeAPISchemaRegistry {
+
+  @Getter
+  @AllArgsConstructor
+  public enum TradeAPISchema {
+    UPSERT_APPLICATION("/TradeAPISchema.json"),
+    CANCEL_APPLICATION("/CancelApplicationSchema.json");
+
+    private final String resourcePath;
+  }
+
+  private final Map<TradeAPISchema, Schema> schemas = new EnumMap<>(TradeAPISchema.class);
+  private final Map<TradeAPISchema, Timer> validationTimers = new EnumMap<>(TradeAPISchema.class);
+
+  @Inject
+  public TradeAPISchemaRegistry(final MetricRegistry metricRegistry) {
+    for (TradeAPISchema tradeAPISchema : TradeAPISchema.values()) {
+      schemas.put(tradeAPISchema, loadSchema(tradeAPISchema.getResourcePath()));
+      validationTimers.put(
+          tradeAPISchema,
+          metricRegistry.timer(
+              name(
+                  TradeAPISchemaRegistry.class,
+                  tradeAPISchema.name().toLowerCase(Locale.ROOT),
+                  "validation")));
+    }
+  }
+
+  /**
+   * Validates the payload against the schema.
+   *
+   * @throws ValidationException if the payload does not conform to the schema
+   * @throws IllegalArgumentException if the payload cannot be converted to a JSON tree
+   */
+  public void validate(
+      @NonNull final TradeAPISchema tradeAPISchema, @NonNull final Object payload) {
+    try (Timer.Context ignored = validationTimers.get(tradeAPISchema).time()) {
+      final JsonNode payloadTree = ItemsMapper.OBJECT_MAPPER.valueToTree(payload);
+      schemas.get(tradeAPISchema).validate(toJson(payloadTree));
+    }
+  }
+
+  private static Schema loadSchema(final String resourcePath) {
+    try (InputStream schemaStream =
+        TradeAPISchemaRegistry.class.getResourceAsStream(resourcePath)) {
+      final Schema schema = SchemaLoader.load(new JSONObject(new JSONTokener(schemaStream)));
+      LOGGER.info("loaded json schema {}", resourcePath);
+      return schema;
+    } catch (IOException e) {
+      throw new UncheckedIOException("unable to read json schema " + resourcePath, e);
+    }
+  }
+
+  private static Object toJson(final JsonNode node) {
+    if (node.isObject()) {
+      final JSONObject jsonObject = new JSONObject();
+      final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        final Map.Entry<String, JsonNode> field = fields.next();
+        jsonObject.put(field.getKey(), toJson(field.getValue()));
+      }
+      return jsonObject;
+    }
+    if (node.isArray()) {
+      final JSONArray jsonArray = new JSONArray();
+      node.forEach(element -> jsonArray.put(toJson(element)));
+      return jsonArray;
+    }
+    if (node.isNumber()) {
+      return node.numberValue();
+    }
+    if (node.isBoolean()) {
+      return node.booleanValue();
+    }
+    if (node.isNull() || node.isMissingNode()) {
+      return JSONObject.NULL;
+    }
+    return node.asText();
+  }
+}
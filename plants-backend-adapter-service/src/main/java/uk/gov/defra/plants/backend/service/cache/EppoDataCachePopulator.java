@@ -1,66 +1,204 @@
 package uk.gov.defra.plants.backend.service.cache;
 
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static uk.gov.defra.plants.backend.bundle.EppoDataCacheBundle.EPPO_DATA_LOADER_EXECUTOR;
+
+import com.codahale.metrics.Timer;
 import com.google.common.cache.Cache;
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import javax.inject.Inject;
-import lombok.AllArgsConstructor;
+import javax.inject.Named;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import uk.gov.defra.plants.backend.configuration.CaseManagementServiceConfiguration;
+import uk.gov.defra.plants.backend.configuration.EppoDataLoaderConfiguration;
 import uk.gov.defra.plants.backend.dao.TradeAPIReferenceDataDao;
 import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
 import uk.gov.defra.plants.backend.representation.referencedata.EppoItemPagedResult;
 import uk.gov.defra.plants.common.constants.RequestTracing;
 
 @Slf4j
-@AllArgsConstructor(onConstructor = @__({@Inject}))
 public class EppoDataCachePopulator {
 
-    private static final int PAGE_SIZE = 2000;
+  private final TradeAPIReferenceDataDao tradeAPIReferenceDataDao;
+  private final Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
+  private final EppoDataCacheService eppoDataServiceCache;
+  private final EppoListCacheService eppoListServiceCache;
+  private final ExecutorService eppoDataLoaderExecutor;
+  private final EppoDataLoaderConfiguration eppoDataLoaderConfiguration;
+  private final EppoDataLoadMetrics eppoDataLoadMetrics;
+  private final EppoSearchIndex eppoSearchIndex;
+  private final EppoDataNearCache eppoDataNearCache;
+
+  private final AtomicReference<CompletableFuture<Void>> inFlightLoad = new AtomicReference<>();
+
+  @Inject
+  public EppoDataCachePopulator(
+      final TradeAPIReferenceDataDao tradeAPIReferenceDataDao,
+      final Cache<EppoDataCacheKey, EppoItem> eppoDataCache,
+      final EppoDataCacheService eppoDataServiceCache,
+      final EppoListCacheService eppoListServiceCache,
+      @Named(EPPO_DATA_LOADER_EXECUTOR) final ExecutorService eppoDataLoaderExecutor,
+      final CaseManagementServiceConfiguration configuration,
+      final EppoDataLoadMetrics eppoDataLoadMetrics,
+      final EppoSearchIndex eppoSearchIndex,
+      final EppoDataNearCache eppoDataNearCache) {
+    this.tradeAPIReferenceDataDao = tradeAPIReferenceDataDao;
+    this.eppoDataCache = eppoDataCache;
+    this.eppoDataServiceCache = eppoDataServiceCache;
+    this.eppoListServiceCache = eppoListServiceCache;
+    this.eppoDataLoaderExecutor = eppoDataLoaderExecutor;
+    this.eppoDataLoaderConfiguration = configuration.getEppoDataLoader();
+    this.eppoDataLoadMetrics = eppoDataLoadMetrics;
+    this.eppoSearchIndex = eppoSearchIndex;
+    this.eppoDataNearCache = eppoDataNearCache;
+  }
 
-    private TradeAPIReferenceDataDao tradeAPIReferenceDataDao;
-    private Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
-    private EppoDataCacheService eppoDataServiceCache;
-    private EppoListCacheService eppoListServiceCache;
+  /**
+   * Loads every EPPO page into the data and list caches and drops this instance's near-cached
+   * items. Concurrent callers share a single in-flight load rather than each reloading the whole
+   * data set.
+   */
+  public void populate() {
+    final CompletableFuture<Void> load = new CompletableFuture<>();
+    final CompletableFuture<Void> existingLoad = inFlightLoad.compareAndExchange(null, load);
+
+    if (existingLoad != null) {
+      LOGGER.info("eppo data load already in progress, waiting for it to complete");
+      awaitLoad(existingLoad);
+      return;
+    }
 
-    public void populate() {
-      LOGGER.info("getting eppo data from real trade api...");
+    try {
+      loadAllPages();
+      load.complete(null);
+    } catch (RuntimeException e) {
+      eppoDataLoadMetrics.recordFailure();
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightLoad.set(null);
+    }
+  }
 
-      MDC.put(RequestTracing.CORRELATION_COUNT, "0");
-      MDC.put(RequestTracing.CORRELATION_HEADER, UUID.randomUUID().toString());
+  private void loadAllPages() {
+    LOGGER.info("getting eppo data from real trade api...");
 
-      List<EppoItem> allEppoItems = new ArrayList<>();
+    MDC.put(RequestTracing.CORRELATION_COUNT, "0");
+    MDC.put(RequestTracing.CORRELATION_HEADER, UUID.randomUUID().toString());
 
-      int totalPages = tradeAPIReferenceDataDao
-          .getEppoInformation(1, PAGE_SIZE)
-          .getTotalPages();
+    try (Timer.Context ignored = eppoDataLoadMetrics.startLoad()) {
+      final int pageSize = eppoDataLoaderConfiguration.getPageSize();
+      final EppoItemPagedResult firstPage =
+          tradeAPIReferenceDataDao.getEppoInformation(1, pageSize);
 
-      for (int pageNumber = 1; pageNumber <= totalPages; pageNumber++) {
-        EppoItemPagedResult eppoInformation = tradeAPIReferenceDataDao
-            .getEppoInformation(pageNumber, PAGE_SIZE);
+      if (noDataFound(firstPage)) {
+        eppoListServiceCache.populate(Collections.emptyList());
+        eppoSearchIndex.rebuild(Collections.emptyList());
+        eppoDataNearCache.invalidateAll();
+        eppoDataLoadMetrics.recordLoad(0, 0);
+        return;
+      }
 
-        if (noDataFound(eppoInformation)) {
-          break;
-        }
+      writeToDataCache(firstPage.getData());
 
-        eppoInformation.getData().stream()
-            .forEach(eppoItem ->
-                eppoDataCache.put(
-                    eppoDataServiceCache.asKey(eppoItem.getEppoCode()),
-                    eppoItem));
+      final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+      final List<CompletableFuture<List<EppoItem>>> remainingPages =
+          IntStream.rangeClosed(2, firstPage.getTotalPages())
+              .mapToObj(pageNumber -> CompletableFuture.supplyAsync(
+                  () -> loadPage(pageNumber, pageSize, mdcContext), eppoDataLoaderExecutor))
+              .collect(toList());
 
-        allEppoItems.addAll(eppoInformation.getData());
-      }
+      final List<List<EppoItem>> pages = new ArrayList<>(remainingPages.size() + 1);
+      pages.add(firstPage.getData());
+      remainingPages.stream().map(EppoDataCachePopulator::awaitPage).forEach(pages::add);
 
+      final List<EppoItem> allEppoItems = concatenateUntilFirstEmptyPage(pages);
       eppoListServiceCache.populate(allEppoItems);
+      eppoSearchIndex.rebuild(allEppoItems);
+      eppoDataNearCache.invalidateAll();
+      eppoDataLoadMetrics.recordLoad(pages.size(), allEppoItems.size());
+
+      LOGGER.info("loaded {} eppo items from {} pages", allEppoItems.size(), pages.size());
     }
+  }
 
-    private boolean noDataFound(EppoItemPagedResult eppoInformation) {
-      return eppoInformation == null ||
-          eppoInformation.getData() == null ||
-          eppoInformation.getData().isEmpty();
+  private List<EppoItem> loadPage(
+      final int pageNumber, final int pageSize, final Map<String, String> mdcContext) {
+    if (mdcContext != null) {
+      MDC.setContextMap(mdcContext);
     }
+    try {
+      final EppoItemPagedResult eppoInformation =
+          tradeAPIReferenceDataDao.getEppoInformation(pageNumber, pageSize);
+
+      if (noDataFound(eppoInformation)) {
+        return Collections.emptyList();
+      }
+
+      writeToDataCache(eppoInformation.getData());
+      return eppoInformation.getData();
+    } finally {
+      MDC.clear();
+    }
+  }
 
+  private void writeToDataCache(final List<EppoItem> eppoItems) {
+    Lists.partition(eppoItems, eppoDataLoaderConfiguration.getWriteBatchSize())
+        .forEach(batch -> eppoDataCache.putAll(
+            batch.stream()
+                .collect(toMap(
+                    eppoItem -> eppoDataServiceCache.asKey(eppoItem.getEppoCode()),
+                    Function.identity(),
+                    (first, second) -> second))));
   }
 
+  private static List<EppoItem> concatenateUntilFirstEmptyPage(final List<List<EppoItem>> pages) {
+    final List<EppoItem> allEppoItems = new ArrayList<>();
+    for (List<EppoItem> page : pages) {
+      if (page.isEmpty()) {
+        break;
+      }
+      allEppoItems.addAll(page);
+    }
+    return allEppoItems;
+  }
+
+  private static List<EppoItem> awaitPage(final CompletableFuture<List<EppoItem>> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  private static void awaitLoad(final CompletableFuture<Void> load) {
+    try {
+      load.join();
+    } catch (CompletionException e) {
+      throw unwrap(e);
+    }
+  }
+
+  private static RuntimeException unwrap(final CompletionException e) {
+    return e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+  }
+
+  private boolean noDataFound(EppoItemPagedResult eppoInformation) {
+    return eppoInformation == null ||
+        eppoInformation.getData() == null ||
+        eppoInformation.getData().isEmpty();
+  }
+}
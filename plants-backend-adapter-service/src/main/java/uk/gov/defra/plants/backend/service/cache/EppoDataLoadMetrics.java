@@ -0,0 +1,39 @@
+package uk.gov.defra.plants.backend.service.cache;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class EppoDataLoadMetrics {
+
+  private final Timer loadTimer;
+  private final Meter loadFailures;
+  private final AtomicLong lastPageCount = new AtomicLong();
+  private final AtomicLong lastItemCount = new AtomicLong();
+
+  public EppoDataLoadMetrics(final MetricRegistry metricRegistry) {
+    loadTimer = metricRegistry.timer(name(EppoDataCachePopulator.class, "load-duration"));
+    loadFailures = metricRegistry.meter(name(EppoDataCachePopulator.class, "load-failures"));
+    metricRegistry.register(
+        name(EppoDataCachePopulator.class, "page-count"), (Gauge<Long>) lastPageCount::get);
+    metricRegistry.register(
+        name(EppoDataCachePopulator.class, "item-count"), (Gauge<Long>) lastItemCount::get);
+  }
+
+  public Timer.Context startLoad() {
+    return loadTimer.time();
+  }
+
+  public void recordLoad(final long pageCount, final long itemCount) {
+    lastPageCount.set(pageCount);
+    lastItemCount.set(itemCount);
+  }
+
+  public void recordFailure() {
+    loadFailures.mark();
+  }
+}
@@ -0,0 +1,88 @@
+package uk.gov.defra.plants.backend.service.cache;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static uk.gov.defra.plants.backend.bundle.EppoDataCacheBundle.EPPO_DATA_CACHE;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.cache.Cache;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Named;
+import lombok.NonNull;
+import uk.gov.defra.plants.backend.configuration.CaseManagementServiceConfiguration;
+import uk.gov.defra.plants.backend.configuration.NearCacheConfiguration;
+import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
+
+/**
+ * Size bounded in-process copy of EPPO items in front of the Redis EPPO data cache. Entries are
+ * refreshed from Redis in the background once they pass the refresh age, and misses are never
+ * cached locally. The local copies are dropped whenever this instance repopulates Redis; a
+ * repopulation by another instance is picked up as entries refresh.
+ */
+public class EppoDataNearCache {
+
+  private final Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
+  private final LoadingCache<EppoDataCacheKey, EppoItem> localCache;
+  private final Meter redisHits;
+  private final Meter redisMisses;
+
+  @Inject
+  public EppoDataNearCache(
+      @Named(EPPO_DATA_CACHE) final Cache<EppoDataCacheKey, EppoItem> eppoDataCache,
+      final CaseManagementServiceConfiguration configuration,
+      final MetricRegistry metricRegistry) {
+    this.eppoDataCache = eppoDataCache;
+
+    final NearCacheConfiguration nearCacheConfiguration = configuration.getEppoDataNearCache();
+    this.localCache =
+        Caffeine.newBuilder()
+            .maximumSize(nearCacheConfiguration.getMaximumSize())
+            .expireAfterWrite(
+                nearCacheConfiguration.getExpiry().toMilliseconds(), TimeUnit.MILLISECONDS)
+            .refreshAfterWrite(
+                nearCacheConfiguration.getRefreshAfter().toMilliseconds(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build(this::loadFromRedis);
+
+    this.redisHits = metricRegistry.meter(name(EppoDataNearCache.class, "redis", "hits"));
+    this.redisMisses = metricRegistry.meter(name(EppoDataNearCache.class, "redis", "misses"));
+    metricRegistry.register(
+        name(EppoDataNearCache.class, "local", "hits"),
+        (Gauge<Long>) () -> localCache.stats().hitCount());
+    metricRegistry.register(
+        name(EppoDataNearCache.class, "local", "misses"),
+        (Gauge<Long>) () -> localCache.stats().missCount());
+    metricRegistry.register(
+        name(EppoDataNearCache.class, "local", "evictions"),
+        (Gauge<Long>) () -> localCache.stats().evictionCount());
+    metricRegistry.register(
+        name(EppoDataNearCache.class, "local", "size"),
+        (Gauge<Long>) localCache::estimatedSize);
+  }
+
+  public EppoItem get(@NonNull final EppoDataCacheKey key) {
+    return localCache.get(key);
+  }
+
+  public void invalidate(@NonNull final EppoDataCacheKey key) {
+    localCache.invalidate(key);
+  }
+
+  public void invalidateAll() {
+    localCache.invalidateAll();
+  }
+
+  private EppoItem loadFromRedis(final EppoDataCacheKey key) {
+    final EppoItem eppoItem = eppoDataCache.getIfPresent(key);
+    if (eppoItem == null) {
+      redisMisses.mark();
+    } else {
+      redisHits.mark();
+    }
+    return eppoItem;
+  }
+}
@@ -12,15 +12,19 @@ import uk.gov.defra.plants.common.redis.RedisCacheKey;
 public class EppoDataServiceCacheInvalidator {
 
   private final Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
+  private final EppoDataNearCache eppoDataNearCache;
 
   @Inject
   public EppoDataServiceCacheInvalidator(
-      @Named(EPPO_DATA_CACHE) final Cache<EppoDataCacheKey, EppoItem> eppoDataCache) {
+      @Named(EPPO_DATA_CACHE) final Cache<EppoDataCacheKey, EppoItem> eppoDataCache,
+      final EppoDataNearCache eppoDataNearCache) {
     this.eppoDataCache = eppoDataCache;
+    this.eppoDataNearCache = eppoDataNearCache;
   }
 
   public void invalidateEppoItem(@NonNull final String eppoCode) {
     eppoDataCache.invalidate(RedisCacheKey.asKey(eppoCode));
+    eppoDataNearCache.invalidate(EppoDataCacheKey.builder().eppoCode(eppoCode).build());
   }
 
 }
@@ -0,0 +1,211 @@
+package uk.gov.defra.plants.backend.service.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import uk.gov.defra.plants.backend.configuration.CaseManagementServiceConfiguration;
+import uk.gov.defra.plants.backend.representation.referencedata.BotanicalItem;
+import uk.gov.defra.plants.backend.representation.referencedata.EppoCommonName;
+import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
+
+/**
+ * In-memory search index over the EPPO preferred names, common names and codes. The index is an
+ * immutable sorted array of search terms that is swapped atomically whenever the EPPO caches are
+ * repopulated, so searches never touch Redis. The list cache may be reloaded by another instance,
+ * so the index is only current for as long as the list cache keeps an entry. Once it is not, a
+ * single caller rebuilds it from the list cache while the others keep searching the old index.
+ */
+@Slf4j
+public class EppoSearchIndex {
+
+  private final long maxAgeNanos;
+
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+  @Inject
+  public EppoSearchIndex(final CaseManagementServiceConfiguration configuration) {
+    this(configuration.getEppoListCache().getExpiry().toSeconds(), TimeUnit.SECONDS);
+  }
+
+  public EppoSearchIndex(final long maxAge, final TimeUnit unit) {
+    this.maxAgeNanos = unit.toNanos(maxAge);
+  }
+
+  /** @return whether the index has been built within the list cache expiry */
+  public boolean isCurrent() {
+    final Snapshot current = snapshot;
+    return current != Snapshot.EMPTY && System.nanoTime() - current.builtAt < maxAgeNanos;
+  }
+
+  /**
+   * Rebuilds the index from the EPPO list if it is not current. Only one caller reads the list and
+   * rebuilds at a time. Other callers return straight away and search the old index, unless no
+   * index has been built yet, in which case they wait for the rebuild.
+   *
+   * @return false if the index needed rebuilding but the EPPO list was not available
+   */
+  public boolean refresh(final Supplier<List<EppoItem>> eppoList) {
+    if (isCurrent()) {
+      return true;
+    }
+    if (snapshot == Snapshot.EMPTY) {
+      rebuildLock.lock();
+    } else if (!rebuildLock.tryLock()) {
+      return true;
+    }
+
+    try {
+      if (isCurrent()) {
+        return true;
+      }
+      final List<EppoItem> eppoItems = eppoList.get();
+      if (eppoItems == null) {
+        return false;
+      }
+      rebuild(eppoItems);
+      return true;
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  public void rebuild(final List<EppoItem> eppoItems) {
+    snapshot = Snapshot.of(eppoItems, System.nanoTime());
+    LOGGER.info(
+        "rebuilt eppo search index with {} items and {} terms",
+        snapshot.items.length,
+        snapshot.terms.length);
+  }
+
+  /**
+   * Returns botanical items with a name or code matching the query. Prefix matches are returned
+   * first in alphabetical order, followed by substring matches.
+   */
+  public List<BotanicalItem> search(final String query, final int offset, final int limit) {
+    final String normalisedQuery = normalise(query);
+    if (normalisedQuery.isEmpty() || offset < 0 || limit <= 0) {
+      return Collections.emptyList();
+    }
+
+    final Snapshot current = snapshot;
+    final int wanted = (int) Math.min((long) offset + limit, current.items.length);
+    final BitSet seen = new BitSet(current.items.length);
+    final List<Integer> matches = new ArrayList<>(wanted);
+
+    for (int i = current.lowerBound(normalisedQuery);
+        i < current.terms.length
+            && matches.size() < wanted
+            && current.terms[i].startsWith(normalisedQuery);
+        i++) {
+      addMatch(current.itemIndexes[i], seen, matches);
+    }
+
+    for (int i = 0; i < current.terms.length && matches.size() < wanted; i++) {
+      if (current.terms[i].contains(normalisedQuery)) {
+        addMatch(current.itemIndexes[i], seen, matches);
+      }
+    }
+
+    return matches.stream()
+        .skip(offset)
+        .map(itemIndex -> current.items[itemIndex])
+        .collect(Collectors.toList());
+  }
+
+  private static void addMatch(final int itemIndex, final BitSet seen, final List<Integer> matches) {
+    if (!seen.get(itemIndex)) {
+      seen.set(itemIndex);
+      matches.add(itemIndex);
+    }
+  }
+
+  private static String normalise(final String term) {
+    return StringUtils.trimToEmpty(term).toLowerCase(Locale.ROOT);
+  }
+
+  @AllArgsConstructor
+  private static class Snapshot {
+
+    private static final Snapshot EMPTY =
+        new Snapshot(new BotanicalItem[0], new String[0], new int[0], 0);
+
+    private final BotanicalItem[] items;
+    private final String[] terms;
+    private final int[] itemIndexes;
+    private final long builtAt;
+
+    private static Snapshot of(final List<EppoItem> eppoItems, final long builtAt) {
+      final BotanicalItem[] items = new BotanicalItem[eppoItems.size()];
+      final List<Term> terms = new ArrayList<>();
+
+      for (int i = 0; i < items.length; i++) {
+        final int itemIndex = i;
+        final EppoItem eppoItem = eppoItems.get(itemIndex);
+        items[itemIndex] = BotanicalItem.builder()
+            .eppoCode(eppoItem.getEppoCode())
+            .preferredName(eppoItem.getPreferredName())
+            .commonNames(eppoItem.getCommonNames())
+            .build();
+
+        addTerm(terms, eppoItem.getPreferredName(), itemIndex);
+        addTerm(terms, eppoItem.getEppoCode(), itemIndex);
+        if (eppoItem.getCommonNames() != null) {
+          eppoItem.getCommonNames().stream()
+              .filter(Objects::nonNull)
+              .map(EppoCommonName::getFullName)
+              .forEach(commonName -> addTerm(terms, commonName, itemIndex));
+        }
+      }
+
+      terms.sort(
+          Comparator.comparing((Term term) -> term.text)
+              .thenComparingInt(term -> term.itemIndex));
+
+      return new Snapshot(
+          items,
+          terms.stream().map(term -> term.text).toArray(String[]::new),
+          terms.stream().mapToInt(term -> term.itemIndex).toArray(),
+          builtAt);
+    }
+
+    private static void addTerm(final List<Term> terms, final String text, final int itemIndex) {
+      final String normalisedText = normalise(text);
+      if (!normalisedText.isEmpty()) {
+        terms.add(new Term(normalisedText, itemIndex));
+      }
+    }
+
+    private int lowerBound(final String query) {
+      final int position = Arrays.binarySearch(terms, query);
+      if (position < 0) {
+        return -(position + 1);
+      }
+      int first = position;
+      while (first > 0 && terms[first - 1].equals(query)) {
+        first--;
+      }
+      return first;
+    }
+  }
+
+  @AllArgsConstructor
+  private static class Term {
+    private final String text;
+    private final int itemIndex;
+  }
+}
@@ -1,11 +1,17 @@
 package uk.gov.defra.plants.backend.adapter.tradeapi;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 import javax.ws.rs.core.Response;
 import org.apache.http.NameValuePair;
 import org.assertj.core.api.Assertions;
@@ -58,7 +64,6 @@ public class TradeApiAdapterTest {
     MDC.put("defra-exports-correlation-count", ZERO);
     MDC.put("defra-exports-correlation-count-this-service", ZERO);
 
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenReturn(response);
     tradeApiAdapter = new TradeApiAdapter(tradeApiRequestFactory, tradeApiRequestProcessor);
   }
 
@@ -71,6 +76,8 @@ public class TradeApiAdapterTest {
             .build();
 
     stubQueryEndpoint(traderApplicationsSummary);
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any()))
+        .thenAnswer(invocation -> invocation.<Function<Response, ?>>getArgument(1).apply(response));
 
     List<NameValuePair> nameValuePairs = new ArrayList<>();
 
@@ -82,7 +89,11 @@ public class TradeApiAdapterTest {
 
   private void stubQueryEndpoint(
       TraderApplicationsSummary traderApplicationsSummary) {
-    when(response.readEntity(String.class))
-        .thenReturn(ItemsMapper.toJson(traderApplicationsSummary));
+    when(response.readEntity(InputStream.class))
+        .thenReturn(jsonEntity(ItemsMapper.toJson(traderApplicationsSummary)));
   }
-}
\ No newline at end of file
+
+  private static InputStream jsonEntity(String json) {
+    return new ByteArrayInputStream(json.getBytes(UTF_8));
+  }
+}
@@ -0,0 +1,197 @@
+package uk.gov.defra.plants.backend.adapter.tradeapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import com.codahale.metrics.MetricRegistry;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.InternalServerErrorException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation.Builder;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.MacSigner;
+import uk.gov.defra.plants.common.json.ItemsMapper;
+import uk.gov.defra.plants.common.logging.ClientLoggingFilter;
+import uk.gov.defra.plants.dynamics.representation.TradeAPIAccessToken;
+
+public class TradeApiAuthenticationAdapterTest {
+
+  private static final URI ACCESS_TOKEN_URL = URI.create("http://localhost/token");
+  private static final int REFRESH_THRESHOLD_SECONDS = 30;
+  private static final long TOKEN_LIFETIME_SECONDS = 3600;
+
+  private static final TradeApiAdapterConfiguration CONFIGURATION =
+      TradeApiAdapterConfiguration.builder()
+          .clientId("clientId")
+          .clientSecret("clientSecret")
+          .grantType("client_credentials")
+          .scope("scope")
+          .refreshTokenThresholdInSecondsBeforeExpires(REFRESH_THRESHOLD_SECONDS)
+          .accessTokenUrl(ACCESS_TOKEN_URL)
+          .build();
+
+  @Mock private Client client;
+  @Mock private WebTarget webTarget;
+  @Mock private Builder builder;
+  @Mock private Response response;
+  @Mock private ScheduledExecutorService tokenRefreshScheduler;
+  @Mock private ScheduledFuture<?> scheduledFuture;
+
+  private final MetricRegistry metricRegistry = new MetricRegistry();
+  private TradeApiAuthenticationAdapter adapter;
+
+  @Before
+  public void before() {
+    initMocks(this);
+    when(client.register(any(ClientLoggingFilter.class))).thenReturn(client);
+    when(client.target(ACCESS_TOKEN_URL)).thenReturn(webTarget);
+    when(webTarget.request()).thenReturn(builder);
+    when(builder.acceptEncoding("gzip", "deflate")).thenReturn(builder);
+    when(builder.property(anyString(), any())).thenReturn(builder);
+    when(builder.cacheControl(any(CacheControl.class))).thenReturn(builder);
+    when(builder.post(any(Entity.class))).thenReturn(response);
+    doReturn(scheduledFuture)
+        .when(tokenRefreshScheduler)
+        .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+    adapter =
+        new TradeApiAuthenticationAdapter(
+            client, CONFIGURATION, tokenRefreshScheduler, metricRegistry);
+  }
+
+  @Test
+  public void fetchesTheTokenOnceAndServesItFromMemory() {
+    String accessToken = givenTheTokenEndpointReturnsATokenExpiringIn(TOKEN_LIFETIME_SECONDS);
+
+    assertThat(adapter.authenticate()).isEqualTo(accessToken);
+    assertThat(adapter.authenticate()).isEqualTo(accessToken);
+
+    verify(builder, times(1)).post(any(Entity.class));
+    assertThat(refreshTimerCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void collapsesConcurrentRefreshesIntoOneCall() throws Exception {
+    String accessToken = givenTheTokenEndpointReturnsATokenExpiringIn(TOKEN_LIFETIME_SECONDS);
+    CountDownLatch fetchStarted = new CountDownLatch(1);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    when(builder.post(any(Entity.class)))
+        .thenAnswer(
+            invocation -> {
+              fetchStarted.countDown();
+              releaseFetch.await(5, TimeUnit.SECONDS);
+              return response;
+            });
+
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(callers.submit(adapter::authenticate));
+      }
+      fetchStarted.await(5, TimeUnit.SECONDS);
+      releaseFetch.countDown();
+
+      for (Future<String> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(accessToken);
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    verify(builder, times(1)).post(any(Entity.class));
+  }
+
+  @Test
+  public void schedulesRenewalBeforeTheRefreshThreshold() {
+    givenTheTokenEndpointReturnsATokenExpiringIn(TOKEN_LIFETIME_SECONDS);
+
+    adapter.authenticate();
+
+    ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+    verify(tokenRefreshScheduler)
+        .schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.SECONDS));
+    assertThat(delay.getValue())
+        .isBetween(
+            TOKEN_LIFETIME_SECONDS - REFRESH_THRESHOLD_SECONDS - 35,
+            TOKEN_LIFETIME_SECONDS - REFRESH_THRESHOLD_SECONDS - 30);
+  }
+
+  @Test
+  public void backgroundRenewalReplacesTheCurrentToken() {
+    givenTheTokenEndpointReturnsATokenExpiringIn(TOKEN_LIFETIME_SECONDS);
+    adapter.authenticate();
+    String renewedToken = givenTheTokenEndpointReturnsATokenExpiringIn(TOKEN_LIFETIME_SECONDS + 60);
+
+    ArgumentCaptor<Runnable> backgroundRefresh = ArgumentCaptor.forClass(Runnable.class);
+    verify(tokenRefreshScheduler)
+        .schedule(backgroundRefresh.capture(), anyLong(), eq(TimeUnit.SECONDS));
+    backgroundRefresh.getValue().run();
+
+    assertThat(adapter.authenticate()).isEqualTo(renewedToken);
+    verify(builder, times(2)).post(any(Entity.class));
+  }
+
+  @Test
+  public void recordsFailedRefreshes() {
+    when(response.getStatusInfo()).thenReturn(Status.UNAUTHORIZED);
+    when(response.getStatus()).thenReturn(Status.UNAUTHORIZED.getStatusCode());
+    when(response.readEntity(String.class)).thenReturn("denied");
+
+    assertThatExceptionOfType(InternalServerErrorException.class)
+        .isThrownBy(() -> adapter.authenticate());
+
+    assertThat(
+            metricRegistry
+                .meter(
+                    MetricRegistry.name(
+                        TradeApiAuthenticationAdapter.class, "token-refresh-failures"))
+                .getCount())
+        .isEqualTo(1);
+  }
+
+  private String givenTheTokenEndpointReturnsATokenExpiringIn(long seconds) {
+    long expiry = Instant.now().getEpochSecond() + seconds;
+    String accessToken =
+        JwtHelper.encode("{\"exp\":" + expiry + "}", new MacSigner("secret")).getEncoded();
+    when(response.getStatusInfo()).thenReturn(Status.OK);
+    when(response.readEntity(String.class))
+        .thenReturn(
+            ItemsMapper.toJson(TradeAPIAccessToken.builder().accessToken(accessToken).build()));
+    return accessToken;
+  }
+
+  private long refreshTimerCount() {
+    return metricRegistry
+        .timer(MetricRegistry.name(TradeApiAuthenticationAdapter.class, "token-refresh"))
+        .getCount();
+  }
+}
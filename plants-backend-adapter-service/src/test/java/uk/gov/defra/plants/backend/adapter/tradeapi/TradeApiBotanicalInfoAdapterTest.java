@@ -1,9 +1,15 @@
 package uk.gov.defra.plants.backend.adapter.tradeapi;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import javax.ws.rs.core.Response;
 import net.minidev.json.parser.ParseException;
 import org.apache.http.NameValuePair;
@@ -41,7 +47,8 @@ public class TradeApiBotanicalInfoAdapterTest {
     MDC.put("defra-exports-correlation-count", ZERO);
     MDC.put("defra-exports-correlation-count-this-service", ZERO);
 
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenReturn(response);
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any()))
+        .thenAnswer(invocation -> invocation.<Function<Response, ?>>getArgument(1).apply(response));
     tradeApiAdapter = new TradeApiBotanicalInfoAdapter(tradeApiRequestFactory, tradeApiRequestProcessor);
   }
 
@@ -52,15 +59,16 @@ public class TradeApiBotanicalInfoAdapterTest {
 
     List<NameValuePair> nameValuePairs = new ArrayList<>();
     when(tradeApiRequestFactory.createGet(REFERENCE_DATA_URI, EPPO_RESOURCE_NAME, nameValuePairs)).thenReturn(tradeApiGet);
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenReturn(response);
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any()))
+        .thenAnswer(invocation -> invocation.<Function<Response, ?>>getArgument(1).apply(response));
     List<EppoItem> data = tradeApiAdapter.getEppoInformation(nameValuePairs).getData();
 
     Assert.assertNotNull(data);
   }
 
   private void stubEppoInfoValidResponse() {
-    when(response.readEntity(String.class))
-        .thenReturn(getTestData());
+    when(response.readEntity(InputStream.class))
+        .thenReturn(jsonEntity(getTestData()));
   }
 
   private String getTestData() {
@@ -86,4 +94,8 @@ public class TradeApiBotanicalInfoAdapterTest {
             + "    \"totalPages\": 58183\n"
             + "}";
   }
-}
\ No newline at end of file
+
+  private static InputStream jsonEntity(String json) {
+    return new ByteArrayInputStream(json.getBytes(UTF_8));
+  }
+}
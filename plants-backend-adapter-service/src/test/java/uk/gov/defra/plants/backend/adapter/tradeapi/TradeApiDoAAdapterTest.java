@@ -1,5 +1,6 @@
 package uk.gov.defra.plants.backend.adapter.tradeapi;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertNotNull;
@@ -7,9 +8,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 import javax.ws.rs.core.Response;
 import org.junit.Before;
 import org.junit.Test;
@@ -81,7 +85,8 @@ public class TradeApiDoAAdapterTest {
   }
 
   private void givenRequestProcessor() {
-    when(tradeApiRequestProcessor.execute(tradeApiPost)).thenReturn(response);
+    when(tradeApiRequestProcessor.execute(eq(tradeApiPost), any()))
+        .thenAnswer(invocation -> invocation.<Function<Response, ?>>getArgument(1).apply(response));
   }
 
   private void whenICallAdapterToGetDoAOrganisations() {
@@ -89,8 +94,8 @@ public class TradeApiDoAAdapterTest {
   }
 
   private void givenAValidStubResponse() {
-    when(response.readEntity(String.class))
-        .thenReturn(getTestData());
+    when(response.readEntity(InputStream.class))
+        .thenReturn(jsonEntity(getTestData()));
   }
 
   private String getTestData() {
@@ -140,4 +145,7 @@ public class TradeApiDoAAdapterTest {
         + "}";
   }
 
-}
\ No newline at end of file
+  private static InputStream jsonEntity(String json) {
+    return new ByteArrayInputStream(json.getBytes(UTF_8));
+  }
+}
@@ -19,6 +19,7 @@ public class TradeApiGetTest {
   private static final String TRADE_API_SUBSCRIPTION_KEY_NAME = "";
   private static URI TRADE_API_SUBSCRIPTION_KEY = UriBuilder.fromUri("TRADE_API_SUBSCRIPTION_KEY").build();
   private static URI SERVER_URI = UriBuilder.fromUri("http://test.com").build();
+  private static final String ENDPOINT = "/resource-uri/resource";
 
   @Mock
   private Client client;
@@ -50,7 +51,7 @@ public class TradeApiGetTest {
     when(builder.header(TRADE_API_SUBSCRIPTION_KEY_NAME, TRADE_API_SUBSCRIPTION_KEY)).thenReturn(builder);
     when(builder.get()).thenReturn(response);
     tradeApiGet = new TradeApiGet(client, TRADE_API_SUBSCRIPTION_KEY_NAME, TRADE_API_SUBSCRIPTION_KEY,
-        SERVER_URI);
+        SERVER_URI, ENDPOINT);
   }
 
   private void whenIExecuteTheGet() {
@@ -59,5 +60,6 @@ public class TradeApiGetTest {
 
   private void thenTheResponseIsReturned() {
     assertThat(returnedResponse, is(response));
+    assertThat(tradeApiGet.getEndpoint(), is(ENDPOINT));
   }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package uk.gov.defra.plants.backend.adapter.tradeapi;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 import static uk.gov.defra.plants.backend.service.inspection.TradeAPIInspectionAddressTestData.INSPECTION_ADDRESS;
@@ -12,10 +15,13 @@ import static uk.gov.defra.plants.backend.service.inspection.TradeAPIInspectionA
 import static uk.gov.defra.plants.backend.service.inspection.TradeAPIInspectionAddressTestData.PHEATS_INSPECTION_ADDRESSES;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -29,6 +35,7 @@ import org.mockito.Mock;
 import uk.gov.defra.plants.backend.exception.TradeApiClientErrorException;
 import uk.gov.defra.plants.backend.representation.inspection.InspectionAddress;
 import uk.gov.defra.plants.common.json.ItemsMapper;
+import uk.gov.defra.plants.common.json.ItemsMapper.FailedToDeserializeFromJsonException;
 
 public class TradeApiInspectionAddressAdapterTest {
 
@@ -125,8 +132,17 @@ public class TradeApiInspectionAddressAdapterTest {
     thenAnExceptionIsThrown();
   }
 
+  @Test(expected = FailedToDeserializeFromJsonException.class)
+  public void handlesUnreadableResponse() {
+    givenAnAdapter();
+    whenAnUnreadableResponseIsReturned();
+    whenIGetInspectionAddress();
+    thenAnExceptionIsThrown();
+  }
+
   private void givenAnAdapter() {
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenReturn(response);
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any()))
+        .thenAnswer(invocation -> invocation.<Function<Response, ?>>getArgument(1).apply(response));
     when(response.getStatusInfo()).thenReturn(Status.ACCEPTED);
     when(response.getStatus()).thenReturn(Status.ACCEPTED.getStatusCode());
 
@@ -144,19 +160,26 @@ public class TradeApiInspectionAddressAdapterTest {
   }
 
   private void whenAddressesAreReturnedInTheResposne() {
-    when(response.readEntity(String.class)).thenReturn(ADDRESSES_JSON_ARRAY.toString());
+    when(response.readEntity(InputStream.class))
+        .thenReturn(jsonEntity(ADDRESSES_JSON_ARRAY.toString()));
   }
 
   private void whenPheatsAddressesAreReturnedInTheResposne() {
-    when(response.readEntity(String.class)).thenReturn(PHEATS_ADDRESSES_JSON_ARRAY.toString());
+    when(response.readEntity(InputStream.class))
+        .thenReturn(jsonEntity(PHEATS_ADDRESSES_JSON_ARRAY.toString()));
   }
 
   private void whenAnAddressIsReturnedInTheResposne() {
-    when(response.readEntity(String.class)).thenReturn(ADDRESS_JSON.toString());
+    when(response.readEntity(InputStream.class))
+        .thenReturn(jsonEntity(ADDRESS_JSON.toString()));
+  }
+
+  private void whenAnUnreadableResponseIsReturned() {
+    when(response.readEntity(InputStream.class)).thenReturn(jsonEntity("{\"addressLine1\":"));
   }
 
   private void whenNotFoundIsReturnedInTheResposne() {
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenThrow(new NotFoundException());
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any())).thenThrow(new NotFoundException());
   }
 
   private void whenIGetInspectionAddresses() {
@@ -172,15 +195,15 @@ public class TradeApiInspectionAddressAdapterTest {
   }
 
   private void whenARuntimeExceptionIsThrown() {
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenThrow(RUNTIME_EXCEPTION);
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any())).thenThrow(RUNTIME_EXCEPTION);
   }
 
   private void whenANonRuntimeExceptionIsThrown() {
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenThrow(NON_RUNTIME_EXCEPTION);
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any())).thenThrow(NON_RUNTIME_EXCEPTION);
   }
 
   private void whenAnInvalidResponseIsReturned() {
-    when(tradeApiRequestProcessor.execute(tradeApiGet)).thenThrow(new TradeApiClientErrorException("", Status.BAD_REQUEST.getStatusCode()));
+    when(tradeApiRequestProcessor.execute(eq(tradeApiGet), any())).thenThrow(new TradeApiClientErrorException("", Status.BAD_REQUEST.getStatusCode()));
   }
 
   private void thenAnExceptionIsThrown() {
@@ -217,4 +240,8 @@ public class TradeApiInspectionAddressAdapterTest {
     queryParams.add(new BasicNameValuePair("approverType", "Pheats"));
     return queryParams;
   }
-}
\ No newline at end of file
+
+  private static InputStream jsonEntity(String json) {
+    return new ByteArrayInputStream(json.getBytes(UTF_8));
+  }
+}
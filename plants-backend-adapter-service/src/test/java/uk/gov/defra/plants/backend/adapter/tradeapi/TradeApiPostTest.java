@@ -20,6 +20,7 @@ public class TradeApiPostTest {
   private static final String TRADE_API_SUBSCRIPTION_KEY_NAME = "";
   private static URI TRADE_API_SUBSCRIPTION_KEY = UriBuilder.fromUri("TRADE_API_SUBSCRIPTION_KEY").build();
   private static URI SERVER_URI = UriBuilder.fromUri("http://test.com").build();
+  private static final String ENDPOINT = "/resource-uri/resource";
 
   @Mock
   private Client client;
@@ -54,7 +55,7 @@ public class TradeApiPostTest {
     when(builder.header(TRADE_API_SUBSCRIPTION_KEY_NAME, TRADE_API_SUBSCRIPTION_KEY)).thenReturn(builder);
     when(builder.post(entity, Response.class)).thenReturn(response);
     tradeApiPost = new TradeApiPost(client, TRADE_API_SUBSCRIPTION_KEY_NAME, TRADE_API_SUBSCRIPTION_KEY,
-        SERVER_URI, entity);
+        SERVER_URI, entity, ENDPOINT);
   }
 
   private void whenIExecuteThePost() {
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import com.codahale.metrics.MetricRegistry;
+import java.util.function.Function;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
@@ -22,6 +24,7 @@ public class TradeApiRequestProcessorTest {
 
   private static final RuntimeException RUNTIME_EXCEPTION = new RuntimeException("RUNTIME_EXCEPTION");
   private static final RuntimeException CUSTOM_RUNTIME_EXCEPTION = new RuntimeException("CUSTOM_RUNTIME_EXCEPTION");
+  private static final String ENDPOINT = "/trade-application-store/v1/application";
 
   @Mock
   private TradeApiRuntimeExceptionHandler tradeApiRuntimeExceptionHandler;
@@ -30,6 +33,7 @@ public class TradeApiRequestProcessorTest {
   @Mock
   private Response response;
 
+  private final MetricRegistry metricRegistry = new MetricRegistry();
   private TradeApiRequestProcessor processor;
   private Response returnedResponse;
 
@@ -88,6 +92,26 @@ public class TradeApiRequestProcessorTest {
     thenAnExceptionIsThrown();
   }
 
+  @Test
+  public void executeRecordsLatencyForTheEndpoint() {
+    givenAProcessor();
+    givenTheGetReturnsAResponseWithStatus(Status.OK);
+    whenICallExecute();
+    thenTheLatencyIsRecorded();
+  }
+
+  @Test
+  public void executeTimesTheRequestUntilTheResponseHasBeenRead() {
+    givenAProcessor();
+    givenTheGetReturnsAResponseWithStatus(Status.OK);
+
+    final Integer inFlightWhileReading =
+        processor.execute(tradeApiRequest, response -> inFlightRequests());
+
+    assertThat(inFlightWhileReading, is(1));
+    thenTheLatencyIsRecorded();
+  }
+
   private void givenTheTradeApiRuntimeExceptionHandlerHandledTheError() {
     doThrow(CUSTOM_RUNTIME_EXCEPTION).when(tradeApiRuntimeExceptionHandler).handleRunTimeException(RUNTIME_EXCEPTION);
   }
@@ -101,7 +125,9 @@ public class TradeApiRequestProcessorTest {
   }
 
   private void givenAProcessor() {
-    processor = new TradeApiRequestProcessor(tradeApiRuntimeExceptionHandler);
+    when(tradeApiRequest.getEndpoint()).thenReturn(ENDPOINT);
+    processor = new TradeApiRequestProcessor(
+        tradeApiRuntimeExceptionHandler, new TradeApiRequestMetrics(metricRegistry));
   }
 
   private void givenTheGetReturnsAResponseWithStatus(Status status) {
@@ -119,7 +145,23 @@ public class TradeApiRequestProcessorTest {
   }
 
   private void whenICallExecute() {
-    returnedResponse = processor.execute(tradeApiRequest);
+    returnedResponse = processor.execute(tradeApiRequest, Function.identity());
+  }
+
+  private void thenTheLatencyIsRecorded() {
+    assertThat(
+        metricRegistry
+            .timer(MetricRegistry.name(TradeApiRequestProcessor.class, ENDPOINT, "latency"))
+            .getCount(),
+        is(1L));
+    assertThat(inFlightRequests(), is(0));
+  }
+
+  private Integer inFlightRequests() {
+    return (Integer) metricRegistry
+        .getGauges()
+        .get(MetricRegistry.name(TradeApiRequestProcessor.class, "in-flight"))
+        .getValue();
   }
 
   private void thenAnExceptionIsThrown() {
@@ -58,4 +58,35 @@ public class TradeAPIReferenceDataResourceTest {
     verify(TRADE_API_REFERENCE_DATA_SERVICE, times(1))
         .getEppoInformation();
   }
+
+  @Test
+  public void testSearchEppoInfo() {
+    when(TRADE_API_REFERENCE_DATA_SERVICE.searchEppoInformation("malus", 0, 20))
+        .thenReturn(botanicalItems);
+
+    final Response response =
+        resources
+            .target("/referencedata/botanical-info/search")
+            .queryParam("query", "malus")
+            .request()
+            .get();
+
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.SC_OK);
+    assertThat(response.readEntity(String.class)).isNotEmpty();
+    verify(TRADE_API_REFERENCE_DATA_SERVICE, times(1))
+        .searchEppoInformation("malus", 0, 20);
+  }
+
+  @Test
+  public void testSearchEppoInfo_limitTooLarge() {
+    final Response response =
+        resources
+            .target("/referencedata/botanical-info/search")
+            .queryParam("query", "malus")
+            .queryParam("limit", 1000)
+            .request()
+            .get();
+
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.SC_BAD_REQUEST);
+  }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.defra.plants.common.security.UserRoles.EXPORTER_ROLE;
 
+import com.codahale.metrics.MetricRegistry;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -23,6 +24,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.defra.plants.applicationform.representation.ApplicationForm;
 import uk.gov.defra.plants.applicationform.representation.ApplicationFormStatus;
@@ -231,6 +233,10 @@ public class TradeAPIApplicationServiceTest {
 
   @Mock private CancelApplicationMapper cancelApplicationMapper;
 
+  @Spy
+  private TradeAPISchemaRegistry tradeAPISchemaRegistry =
+      new TradeAPISchemaRegistry(new MetricRegistry());
+
   @InjectMocks private TradeAPIApplicationService tradeAPIApplicationService;
 
   private static final UUID USER_ID = UUID.fromString("68f3cab7-ca31-44bf-bbe5-e7d0442697a3");
@@ -3,12 +3,15 @@ package uk.gov.defra.plants.backend.service;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -19,6 +22,7 @@ import uk.gov.defra.plants.backend.service.cache.EppoDataCacheKey;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCachePopulator;
 import uk.gov.defra.plants.backend.service.cache.EppoDataCacheService;
 import uk.gov.defra.plants.backend.service.cache.EppoListCacheService;
+import uk.gov.defra.plants.backend.service.cache.EppoSearchIndex;
 
 public class TradeAPIReferenceDataServiceTest {
 
@@ -55,6 +59,8 @@ public class TradeAPIReferenceDataServiceTest {
   private EppoListCacheService eppoListCacheService;
   @Mock
   private EppoDataCachePopulator eppoDataCachePopulator;
+  @Mock
+  private EppoSearchIndex eppoSearchIndex;
 
   private TradeAPIReferenceDataService tradeAPIReferenceDataService;
   private EppoItem eppoItem;
@@ -97,6 +103,45 @@ public class TradeAPIReferenceDataServiceTest {
     thenTheEppoInformationIsReturned();
   }
 
+  @Test
+  public void searchesEppoInformationFromTheIndex() {
+    givenAService();
+    when(eppoSearchIndex.refresh(any())).thenReturn(true);
+    when(eppoSearchIndex.search("plant", 0, 20)).thenReturn(EPPO_INFORMATION);
+
+    botanicalItems = tradeAPIReferenceDataService.searchEppoInformation("plant", 0, 20);
+
+    thenTheEppoInformationIsReturned();
+    verify(eppoDataCachePopulator, never()).populate();
+  }
+
+  @Test
+  public void refreshesTheIndexFromTheListCache() {
+    givenAService();
+    when(eppoSearchIndex.refresh(any()))
+        .thenAnswer(
+            invocation -> invocation.<Supplier<List<EppoItem>>>getArgument(0).get() != null);
+    when(eppoSearchIndex.search("plant", 0, 20)).thenReturn(EPPO_INFORMATION);
+
+    botanicalItems = tradeAPIReferenceDataService.searchEppoInformation("plant", 0, 20);
+
+    thenTheEppoInformationIsReturned();
+    verify(eppoListCacheService).getEppoList();
+    verify(eppoDataCachePopulator, never()).populate();
+  }
+
+  @Test
+  public void populatesTheCachesBeforeSearchingWhenTheListCacheIsEmpty() {
+    givenAService();
+    when(eppoSearchIndex.refresh(any())).thenReturn(false);
+    when(eppoSearchIndex.search("plant", 0, 20)).thenReturn(EPPO_INFORMATION);
+
+    botanicalItems = tradeAPIReferenceDataService.searchEppoInformation("plant", 0, 20);
+
+    thenTheCacheIsRepopulated();
+    thenTheEppoInformationIsReturned();
+  }
+
   private void givenAService() {
     when(eppoDataCacheService.asKey(EPPO_CODE)).thenReturn(DATA_KEY);
     when(eppoDataCacheService.getEppoItem(EPPO_CODE)).thenReturn(EXPECTED_EPPO_ITEM);
@@ -104,7 +149,8 @@ public class TradeAPIReferenceDataServiceTest {
     tradeAPIReferenceDataService = new TradeAPIReferenceDataService(
         eppoDataCacheService,
         eppoListCacheService,
-        eppoDataCachePopulator);
+        eppoDataCachePopulator,
+        eppoSearchIndex);
   }
 
   private void whenIGetEppoItemByCode(String eppoCode) {
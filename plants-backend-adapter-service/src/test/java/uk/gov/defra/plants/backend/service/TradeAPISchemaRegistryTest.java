@@ -0,0 +1,59 @@
+package uk.gov.defra.plants.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.codahale.metrics.MetricRegistry;
+import org.everit.json.schema.ValidationException;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.defra.plants.backend.service.TradeAPISchemaRegistry.TradeAPISchema;
+import uk.gov.defra.plants.dynamics.representation.TradeAPICancelApplication;
+
+public class TradeAPISchemaRegistryTest {
+
+  private MetricRegistry metricRegistry;
+  private TradeAPISchemaRegistry tradeAPISchemaRegistry;
+
+  @Before
+  public void before() {
+    metricRegistry = new MetricRegistry();
+    tradeAPISchemaRegistry = new TradeAPISchemaRegistry(metricRegistry);
+  }
+
+  @Test
+  public void rejectsPayloadMissingRequiredFields() {
+    assertThatExceptionOfType(ValidationException.class)
+        .isThrownBy(
+            () ->
+                tradeAPISchemaRegistry.validate(
+                    TradeAPISchema.CANCEL_APPLICATION,
+                    TradeAPICancelApplication.builder().applicationId(1L).build()));
+  }
+
+  @Test
+  public void recordsValidationLatencyPerSchema() {
+    assertThatCode(
+        () ->
+            tradeAPISchemaRegistry.validate(
+                TradeAPISchema.CANCEL_APPLICATION,
+                TradeAPICancelApplication.builder().applicationId(1L).build()))
+        .isInstanceOf(ValidationException.class);
+
+    assertThat(
+            metricRegistry
+                .timer(
+                    MetricRegistry.name(
+                        TradeAPISchemaRegistry.class, "cancel_application", "validation"))
+                .getCount())
+        .isEqualTo(1L);
+    assertThat(
+            metricRegistry
+                .timer(
+                    MetricRegistry.name(
+                        TradeAPISchemaRegistry.class, "upsert_application", "validation"))
+                .getCount())
+        .isZero();
+  }
+}
@@ -3,17 +3,30 @@ package uk.gov.defra.plants.backend.service.cache;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.slf4j.MDC;
+import uk.gov.defra.plants.backend.configuration.CaseManagementServiceConfiguration;
+import uk.gov.defra.plants.backend.configuration.EppoDataLoaderConfiguration;
 import uk.gov.defra.plants.backend.dao.TradeAPIReferenceDataDao;
 import uk.gov.defra.plants.backend.representation.referencedata.EppoCommonName;
 import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
@@ -22,7 +35,6 @@ import uk.gov.defra.plants.common.constants.RequestTracing;
 
 public class EppoDataCachePopulatorTest {
   private static final String EPPO_CODE = "EPPO_CODE";
-  private static final EppoItem EXPECTED_EPPO_ITEM = EppoItem.builder().eppoCode(EPPO_CODE).preferredName("BRIAN").build();
   public static final String PREFERRED_NAME_1 = "PREFERRED_NAME_1";
   public static final String PREFERRED_NAME_2 = "PREFERRED_NAME_2";
   public static final String EPPO_CODE1 = "1AARG";
@@ -44,10 +56,18 @@ public class EppoDataCachePopulatorTest {
                   .fullName(COMMON_NAME)
                   .build()))
       .build();
+  private static final EppoItem EPPO_ITEM_1 =
+      buildEppoItem(PREFERRED_NAME_1, EPPO_CODE1, FULL_NAME_1);
+  private static final EppoItem EPPO_ITEM_2 =
+      buildEppoItem(PREFERRED_NAME_2, EPPO_CODE2, FULL_NAME_2);
 
   private static final EppoItemPagedResult EPPO_PAGED_RESULT = EppoItemPagedResult.builder()
       .totalPages(TOTAL_PAGES).data(Arrays.asList(EPPO_ITEM)).build();
   private static final EppoDataCacheKey DATA_KEY = EppoDataCacheKey.builder().eppoCode(EPPO_CODE).build();
+  private static final EppoDataCacheKey DATA_KEY_1 =
+      EppoDataCacheKey.builder().eppoCode(EPPO_CODE1).build();
+  private static final EppoDataCacheKey DATA_KEY_2 =
+      EppoDataCacheKey.builder().eppoCode(EPPO_CODE2).build();
 
   @Mock
   private TradeAPIReferenceDataDao tradeAPIReferenceDataDao;
@@ -58,32 +78,130 @@ public class EppoDataCachePopulatorTest {
   private EppoListCacheService eppoListCacheService;
   @Mock
   private Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
+  @Mock
+  private EppoSearchIndex eppoSearchIndex;
+  @Mock
+  private EppoDataNearCache eppoDataNearCache;
 
+  private MetricRegistry metricRegistry;
   private EppoDataCachePopulator loader;
 
   @Before
   public void beforeEachTest() {
     initMocks(this);
+    metricRegistry = new MetricRegistry();
+    when(eppoDataCacheService.asKey(EPPO_CODE)).thenReturn(DATA_KEY);
+    when(eppoDataCacheService.asKey(EPPO_CODE1)).thenReturn(DATA_KEY_1);
+    when(eppoDataCacheService.asKey(EPPO_CODE2)).thenReturn(DATA_KEY_2);
   }
 
   @Test
   public void populatesEppoCache() {
-    givenALoader();
+    givenALoader(MoreExecutors.newDirectExecutorService());
     whenICallPopulate();
     thenTheCacheIsPopulated();
   }
 
-  private void givenALoader() {
+  @Test
+  public void fetchesRemainingPagesWithoutRefetchingTheFirst() {
+    givenALoader(MoreExecutors.newDirectExecutorService());
+    when(tradeAPIReferenceDataDao.getEppoInformation(1, PAGE_SIZE))
+        .thenReturn(pageOf(3, EPPO_ITEM));
+    when(tradeAPIReferenceDataDao.getEppoInformation(2, PAGE_SIZE))
+        .thenReturn(pageOf(3, EPPO_ITEM_1));
+    when(tradeAPIReferenceDataDao.getEppoInformation(3, PAGE_SIZE))
+        .thenReturn(pageOf(3, EPPO_ITEM_2));
+
+    whenICallPopulate();
+
+    verify(tradeAPIReferenceDataDao).getEppoInformation(1, PAGE_SIZE);
+    verify(tradeAPIReferenceDataDao).getEppoInformation(2, PAGE_SIZE);
+    verify(tradeAPIReferenceDataDao).getEppoInformation(3, PAGE_SIZE);
+    verify(eppoDataCache).putAll(ImmutableMap.of(DATA_KEY_1, EPPO_ITEM_1));
+    verify(eppoDataCache).putAll(ImmutableMap.of(DATA_KEY_2, EPPO_ITEM_2));
+    verify(eppoListCacheService).populate(Arrays.asList(EPPO_ITEM, EPPO_ITEM_1, EPPO_ITEM_2));
+    assertThat(metricRegistry.getGauges().get(
+        MetricRegistry.name(EppoDataCachePopulator.class, "page-count")).getValue(), is(3L));
+    assertThat(metricRegistry.getGauges().get(
+        MetricRegistry.name(EppoDataCachePopulator.class, "item-count")).getValue(), is(3L));
+  }
+
+  @Test
+  public void writesToTheDataCacheInBatches() {
+    givenALoader(MoreExecutors.newDirectExecutorService(), 1);
+    when(tradeAPIReferenceDataDao.getEppoInformation(1, PAGE_SIZE))
+        .thenReturn(pageOf(1, EPPO_ITEM_1, EPPO_ITEM_2));
+
+    whenICallPopulate();
+
+    verify(eppoDataCache).putAll(ImmutableMap.of(DATA_KEY_1, EPPO_ITEM_1));
+    verify(eppoDataCache).putAll(ImmutableMap.of(DATA_KEY_2, EPPO_ITEM_2));
+  }
+
+  @Test
+  public void populatesEmptyListWhenNoDataFound() {
+    givenALoader(MoreExecutors.newDirectExecutorService());
+    when(tradeAPIReferenceDataDao.getEppoInformation(1, PAGE_SIZE))
+        .thenReturn(EppoItemPagedResult.builder().totalPages(0).data(Collections.emptyList()).build());
+
+    whenICallPopulate();
+
+    verify(eppoListCacheService).populate(Collections.emptyList());
+    verify(eppoSearchIndex).rebuild(Collections.emptyList());
+    verify(eppoDataNearCache).invalidateAll();
+  }
+
+  @Test
+  public void concurrentCallersShareASingleLoad() throws Exception {
+    final ExecutorService callers = Executors.newFixedThreadPool(2);
+    final CountDownLatch firstPageRequested = new CountDownLatch(1);
+    final CountDownLatch releaseFirstPage = new CountDownLatch(1);
+    givenALoader(MoreExecutors.newDirectExecutorService());
+    when(tradeAPIReferenceDataDao.getEppoInformation(anyInt(), anyInt())).thenAnswer(invocation -> {
+      firstPageRequested.countDown();
+      releaseFirstPage.await(5, TimeUnit.SECONDS);
+      return EPPO_PAGED_RESULT;
+    });
+
+    try {
+      final Future<?> first = callers.submit(loader::populate);
+      firstPageRequested.await(5, TimeUnit.SECONDS);
+      final Future<?> second = callers.submit(loader::populate);
+      Thread.sleep(100);
+      releaseFirstPage.countDown();
+      first.get(5, TimeUnit.SECONDS);
+      second.get(5, TimeUnit.SECONDS);
+    } finally {
+      callers.shutdownNow();
+    }
+
+    verify(tradeAPIReferenceDataDao, times(1)).getEppoInformation(anyInt(), anyInt());
+    verify(eppoListCacheService, times(1)).populate(Arrays.asList(EPPO_ITEM));
+  }
+
+  private void givenALoader(ExecutorService executorService) {
+    givenALoader(executorService, 500);
+  }
+
+  private void givenALoader(ExecutorService executorService, int writeBatchSize) {
     when(tradeAPIReferenceDataDao
         .getEppoInformation(PAGE_NUMBER, PAGE_SIZE)).thenReturn(EPPO_PAGED_RESULT);
-    when(eppoDataCacheService.asKey(EPPO_CODE)).thenReturn(DATA_KEY);
-    when(eppoDataCacheService.getEppoItem(EPPO_CODE)).thenReturn(EXPECTED_EPPO_ITEM);
-    when(eppoListCacheService.getEppoList()).thenReturn(getDataItems());
     loader = new EppoDataCachePopulator(
         tradeAPIReferenceDataDao,
         eppoDataCache,
         eppoDataCacheService,
-        eppoListCacheService);
+        eppoListCacheService,
+        executorService,
+        CaseManagementServiceConfiguration.builder()
+            .eppoDataLoader(EppoDataLoaderConfiguration.builder()
+                .pageSize(PAGE_SIZE)
+                .parallelism(2)
+                .writeBatchSize(writeBatchSize)
+                .build())
+            .build(),
+        new EppoDataLoadMetrics(metricRegistry),
+        eppoSearchIndex,
+        eppoDataNearCache);
   }
 
   private void whenICallPopulate() {
@@ -95,19 +213,21 @@ public class EppoDataCachePopulatorTest {
     assertThat(MDC.get(RequestTracing.CORRELATION_COUNT), is("0"));
     assertThat(MDC.get(RequestTracing.CORRELATION_HEADER), is(notNullValue()));
 
-    verify(eppoDataCache).put(DATA_KEY, EPPO_ITEM);
+    verify(eppoDataCache).putAll(ImmutableMap.of(DATA_KEY, EPPO_ITEM));
     verify(eppoListCacheService).populate(Arrays.asList(EPPO_ITEM));
+    verify(eppoSearchIndex).rebuild(Arrays.asList(EPPO_ITEM));
+    verify(eppoDataNearCache).invalidateAll();
 
   }
 
-  private List<EppoItem> getDataItems() {
-    return Arrays.asList(
-        buildEppoItem(PREFERRED_NAME_1, EPPO_CODE1, FULL_NAME_1),
-        buildEppoItem(PREFERRED_NAME_2, EPPO_CODE2, FULL_NAME_2)
-    );
+  private static EppoItemPagedResult pageOf(int totalPages, EppoItem... eppoItems) {
+    return EppoItemPagedResult.builder()
+        .totalPages(totalPages)
+        .data(Arrays.asList(eppoItems))
+        .build();
   }
 
-  private EppoItem buildEppoItem(String preferredName, String eppoCode, String fullName) {
+  private static EppoItem buildEppoItem(String preferredName, String eppoCode, String fullName) {
     return EppoItem.builder()
         .eppoCode(eppoCode)
         .preferredName(preferredName)
@@ -117,4 +237,4 @@ public class EppoDataCachePopulatorTest {
         .build();
   }
 
-}
\ No newline at end of file
+}
@@ -4,7 +4,6 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
 
-import com.google.common.cache.Cache;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -16,7 +15,7 @@ import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
 public class EppoDataCacheServiceTest {
 
   @Mock
-  private Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
+  private EppoDataNearCache eppoDataNearCache;
 
   @InjectMocks
   private EppoDataCacheService eppoDataCacheService;
@@ -25,7 +24,7 @@ public class EppoDataCacheServiceTest {
   public void testGetEppoItem() {
     EppoDataCacheKey testKey = eppoDataCacheService.asKey("testKey");
     EppoItem expectedEppoItem = EppoItem.builder().preferredName("preferredName").build();
-    when(eppoDataCache.getIfPresent(testKey)).thenReturn(expectedEppoItem);
+    when(eppoDataNearCache.get(testKey)).thenReturn(expectedEppoItem);
 
     EppoItem actual = eppoDataCacheService.getEppoItem("testKey");
 
@@ -36,4 +35,4 @@ public class EppoDataCacheServiceTest {
   public void whenNoEppoCodeSupplied_ThrowsException() {
     eppoDataCacheService.getEppoItem(null);
   }
-}
\ No newline at end of file
+}
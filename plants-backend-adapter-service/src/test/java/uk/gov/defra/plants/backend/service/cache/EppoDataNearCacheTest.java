@@ -0,0 +1,105 @@
+package uk.gov.defra.plants.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import io.dropwizard.util.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.backend.configuration.CaseManagementServiceConfiguration;
+import uk.gov.defra.plants.backend.configuration.NearCacheConfiguration;
+import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EppoDataNearCacheTest {
+
+  private static final EppoDataCacheKey KEY = EppoDataCacheKey.builder().eppoCode("MABSD").build();
+  private static final EppoItem EPPO_ITEM =
+      EppoItem.builder().eppoCode("MABSD").preferredName("Malus domestica").build();
+
+  @Mock
+  private Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
+
+  private MetricRegistry metricRegistry;
+  private EppoDataNearCache eppoDataNearCache;
+
+  @Before
+  public void before() {
+    metricRegistry = new MetricRegistry();
+    eppoDataNearCache = new EppoDataNearCache(
+        eppoDataCache,
+        CaseManagementServiceConfiguration.builder()
+            .eppoDataNearCache(NearCacheConfiguration.builder()
+                .maximumSize(100)
+                .expiry(Duration.hours(1))
+                .refreshAfter(Duration.minutes(45))
+                .build())
+            .build(),
+        metricRegistry);
+  }
+
+  @Test
+  public void readsThroughToRedisOnceThenServesLocally() {
+    when(eppoDataCache.getIfPresent(KEY)).thenReturn(EPPO_ITEM);
+
+    assertThat(eppoDataNearCache.get(KEY)).isEqualTo(EPPO_ITEM);
+    assertThat(eppoDataNearCache.get(KEY)).isEqualTo(EPPO_ITEM);
+
+    verify(eppoDataCache, times(1)).getIfPresent(KEY);
+    assertThat(gauge("local.hits")).isEqualTo(1L);
+    assertThat(gauge("local.misses")).isEqualTo(1L);
+    assertThat(meter("redis.hits")).isEqualTo(1L);
+  }
+
+  @Test
+  public void doesNotCacheRedisMisses() {
+    when(eppoDataCache.getIfPresent(KEY)).thenReturn(null).thenReturn(EPPO_ITEM);
+
+    assertThat(eppoDataNearCache.get(KEY)).isNull();
+    assertThat(eppoDataNearCache.get(KEY)).isEqualTo(EPPO_ITEM);
+
+    verify(eppoDataCache, times(2)).getIfPresent(KEY);
+    assertThat(meter("redis.misses")).isEqualTo(1L);
+  }
+
+  @Test
+  public void invalidateDropsTheLocalCopy() {
+    when(eppoDataCache.getIfPresent(KEY)).thenReturn(EPPO_ITEM);
+
+    eppoDataNearCache.get(KEY);
+    eppoDataNearCache.invalidate(KEY);
+    eppoDataNearCache.get(KEY);
+
+    verify(eppoDataCache, times(2)).getIfPresent(KEY);
+  }
+
+  @Test
+  public void invalidateAllDropsEveryLocalCopy() {
+    when(eppoDataCache.getIfPresent(KEY)).thenReturn(EPPO_ITEM);
+
+    eppoDataNearCache.get(KEY);
+    eppoDataNearCache.invalidateAll();
+    eppoDataNearCache.get(KEY);
+
+    verify(eppoDataCache, times(2)).getIfPresent(KEY);
+  }
+
+  private Object gauge(String metric) {
+    return metricRegistry.getGauges()
+        .get(MetricRegistry.name(EppoDataNearCache.class, metric))
+        .getValue();
+  }
+
+  private long meter(String metric) {
+    return metricRegistry.getMeters()
+        .get(MetricRegistry.name(EppoDataNearCache.class, metric))
+        .getCount();
+  }
+}
@@ -18,6 +18,9 @@ public class EppoDataServiceCacheInvalidatorTest {
   @Mock
   private Cache<EppoDataCacheKey, EppoItem> eppoDataCache;
 
+  @Mock
+  private EppoDataNearCache eppoDataNearCache;
+
   @InjectMocks
   private EppoDataServiceCacheInvalidator eppoDataServiceCacheInvalidator;
 
@@ -26,6 +29,7 @@ public class EppoDataServiceCacheInvalidatorTest {
     eppoDataServiceCacheInvalidator.invalidateEppoItem("eppoCode");
 
     verify(eppoDataCache).invalidate(refEq(RedisCacheKey.asKey("eppoCode")));
+    verify(eppoDataNearCache).invalidate(EppoDataCacheKey.builder().eppoCode("eppoCode").build());
   }
 
   @Test(expected = NullPointerException.class)
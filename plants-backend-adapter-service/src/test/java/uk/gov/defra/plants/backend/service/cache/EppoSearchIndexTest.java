@@ -0,0 +1,206 @@
+package uk.gov.defra.plants.backend.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import uk.gov.defra.plants.backend.representation.referencedata.BotanicalItem;
+import uk.gov.defra.plants.backend.representation.referencedata.EppoCommonName;
+import uk.gov.defra.plants.backend.representation.referencedata.EppoItem;
+
+public class EppoSearchIndexTest {
+
+  private static final EppoItem MALUS = buildEppoItem("MABSD", "Malus domestica", "Apple");
+  private static final EppoItem PYRUS = buildEppoItem("PYUCO", "Pyrus communis", "Pear");
+  private static final EppoItem CRAB_APPLE = buildEppoItem("MABSY", "Malus sylvestris", "Crab apple");
+  private static final EppoItem SOLANUM = buildEppoItem("SOLTU", "Solanum tuberosum", "Potato");
+
+  private EppoSearchIndex eppoSearchIndex;
+
+  @Before
+  public void before() {
+    eppoSearchIndex = new EppoSearchIndex(1, TimeUnit.HOURS);
+  }
+
+  @Test
+  public void isNotCurrentUntilRebuilt() {
+    assertThat(eppoSearchIndex.isCurrent()).isFalse();
+    assertThat(eppoSearchIndex.search("malus", 0, 10)).isEmpty();
+
+    eppoSearchIndex.rebuild(Arrays.asList(MALUS, PYRUS));
+
+    assertThat(eppoSearchIndex.isCurrent()).isTrue();
+  }
+
+  @Test
+  public void isNotCurrentOnceOlderThanTheListCacheExpiry() {
+    final EppoSearchIndex expiredIndex = new EppoSearchIndex(0, TimeUnit.SECONDS);
+
+    expiredIndex.rebuild(Arrays.asList(MALUS, PYRUS));
+
+    assertThat(expiredIndex.isCurrent()).isFalse();
+    assertThat(eppoCodes(expiredIndex.search("malus", 0, 10))).containsExactly("MABSD");
+  }
+
+  @Test
+  public void refreshRebuildsFromTheListOnlyWhenNotCurrent() {
+    final AtomicInteger listReads = new AtomicInteger();
+
+    assertThat(eppoSearchIndex.refresh(() -> countRead(listReads, Arrays.asList(MALUS)))).isTrue();
+    assertThat(eppoSearchIndex.refresh(() -> countRead(listReads, Arrays.asList(PYRUS)))).isTrue();
+
+    assertThat(listReads).hasValue(1);
+    assertThat(eppoCodes(eppoSearchIndex.search("malus", 0, 10))).containsExactly("MABSD");
+  }
+
+  @Test
+  public void refreshReportsAMissingList() {
+    assertThat(eppoSearchIndex.refresh(() -> null)).isFalse();
+    assertThat(eppoSearchIndex.isCurrent()).isFalse();
+  }
+
+  @Test
+  public void searchesTheOldIndexWhileAnotherCallerRebuildsIt() throws Exception {
+    final EppoSearchIndex expiredIndex = new EppoSearchIndex(0, TimeUnit.SECONDS);
+    expiredIndex.rebuild(Arrays.asList(MALUS));
+    final CountDownLatch rebuildStarted = new CountDownLatch(1);
+    final CountDownLatch releaseRebuild = new CountDownLatch(1);
+
+    final ExecutorService searches = Executors.newSingleThreadExecutor();
+    try {
+      final Future<Boolean> rebuilding =
+          searches.submit(
+              () ->
+                  expiredIndex.refresh(
+                      () -> {
+                        rebuildStarted.countDown();
+                        awaitQuietly(releaseRebuild);
+                        return Arrays.asList(PYRUS);
+                      }));
+      assertThat(rebuildStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(
+              expiredIndex.refresh(
+                  () -> {
+                    throw new AssertionError("only one caller should read the list");
+                  }))
+          .isTrue();
+      assertThat(eppoCodes(expiredIndex.search("malus", 0, 10))).containsExactly("MABSD");
+
+      releaseRebuild.countDown();
+      assertThat(rebuilding.get(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(eppoCodes(expiredIndex.search("pyrus", 0, 10))).containsExactly("PYUCO");
+    } finally {
+      searches.shutdownNow();
+    }
+  }
+
+  @Test
+  public void findsPrefixMatchesOnPreferredNameIgnoringCase() {
+    eppoSearchIndex.rebuild(Arrays.asList(SOLANUM, MALUS, PYRUS, CRAB_APPLE));
+
+    assertThat(eppoCodes(eppoSearchIndex.search("MALUS", 0, 10))).containsExactly("MABSD", "MABSY");
+  }
+
+  @Test
+  public void findsMatchesOnCommonNameAndEppoCode() {
+    eppoSearchIndex.rebuild(Arrays.asList(SOLANUM, MALUS, PYRUS, CRAB_APPLE));
+
+    assertThat(eppoCodes(eppoSearchIndex.search("pota", 0, 10))).containsExactly("SOLTU");
+    assertThat(eppoCodes(eppoSearchIndex.search("pyuco", 0, 10))).containsExactly("PYUCO");
+  }
+
+  @Test
+  public void returnsPrefixMatchesBeforeSubstringMatches() {
+    eppoSearchIndex.rebuild(Arrays.asList(SOLANUM, CRAB_APPLE, MALUS, PYRUS));
+
+    assertThat(eppoCodes(eppoSearchIndex.search("apple", 0, 10)))
+        .containsExactly("MABSD", "MABSY");
+  }
+
+  @Test
+  public void returnsEachItemOnceWhenSeveralTermsMatch() {
+    eppoSearchIndex.rebuild(
+        Collections.singletonList(buildEppoItem("MABSD", "Malus domestica", "Malus")));
+
+    assertThat(eppoSearchIndex.search("malus", 0, 10)).hasSize(1);
+  }
+
+  @Test
+  public void pagesThroughResults() {
+    eppoSearchIndex.rebuild(Arrays.asList(SOLANUM, MALUS, PYRUS, CRAB_APPLE));
+
+    assertThat(eppoCodes(eppoSearchIndex.search("u", 0, 2))).hasSize(2);
+    assertThat(eppoCodes(eppoSearchIndex.search("malus", 1, 1))).containsExactly("MABSY");
+    assertThat(eppoSearchIndex.search("malus", 2, 1)).isEmpty();
+  }
+
+  @Test
+  public void handlesPagesBeyondTheEndOfTheResults() {
+    eppoSearchIndex.rebuild(Arrays.asList(SOLANUM, MALUS, PYRUS, CRAB_APPLE));
+
+    assertThat(eppoCodes(eppoSearchIndex.search("malus", 1, Integer.MAX_VALUE)))
+        .containsExactly("MABSY");
+    assertThat(eppoSearchIndex.search("malus", Integer.MAX_VALUE, 10)).isEmpty();
+    assertThat(eppoSearchIndex.search("malus", -1, 10)).isEmpty();
+  }
+
+  @Test
+  public void returnsNothingForBlankQuery() {
+    eppoSearchIndex.rebuild(Arrays.asList(SOLANUM, MALUS));
+
+    assertThat(eppoSearchIndex.search("  ", 0, 10)).isEmpty();
+    assertThat(eppoSearchIndex.search(null, 0, 10)).isEmpty();
+  }
+
+  @Test
+  public void mapsItemsToBotanicalItems() {
+    eppoSearchIndex.rebuild(Collections.singletonList(MALUS));
+
+    assertThat(eppoSearchIndex.search("mal", 0, 10))
+        .containsExactly(
+            BotanicalItem.builder()
+                .eppoCode("MABSD")
+                .preferredName("Malus domestica")
+                .commonNames(MALUS.getCommonNames())
+                .build());
+  }
+
+  private static List<String> eppoCodes(List<BotanicalItem> botanicalItems) {
+    return botanicalItems.stream().map(BotanicalItem::getEppoCode).collect(Collectors.toList());
+  }
+
+  private static EppoItem buildEppoItem(String eppoCode, String preferredName, String fullName) {
+    return EppoItem.builder()
+        .eppoCode(eppoCode)
+        .preferredName(preferredName)
+        .commonName(EppoCommonName.builder()
+            .fullName(fullName)
+            .build())
+        .build();
+  }
+
+  private static List<EppoItem> countRead(
+      final AtomicInteger reads, final List<EppoItem> eppoItems) {
+    reads.incrementAndGet();
+    return eppoItems;
+  }
+
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package uk.gov.defra.plants.filestorage;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.dropwizard.util.Duration;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.filestorage.BlobMetadataCacheConfiguration.BlobMetadataCacheConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = BlobMetadataCacheConfigurationBuilder.class)
+public class BlobMetadataCacheConfiguration {
+
+  @Min(0)
+  @Builder.Default
+  private final long maximumSize = 10_000;
+
+  @NotNull
+  @Builder.Default
+  private final Duration localExpiry = Duration.minutes(1);
+
+  @Builder.Default
+  private final boolean shared = true;
+
+  @NotNull
+  @Builder.Default
+  private final Duration sharedExpiry = Duration.hours(1);
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class BlobMetadataCacheConfigurationBuilder {}
+}
@@ -0,0 +1,36 @@
+package uk.gov.defra.plants.filestorage;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.filestorage.BlobTransferConfiguration.BlobTransferConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = BlobTransferConfigurationBuilder.class)
+public class BlobTransferConfiguration {
+
+  @NotNull
+  @Builder.Default
+  private final Size blockSize = Size.megabytes(4);
+
+  @Min(1)
+  @Builder.Default
+  private final int parallelism = 4;
+
+  @Min(0)
+  @Builder.Default
+  private final int blockRetries = 3;
+
+  @NotNull
+  @Builder.Default
+  private final Duration blockTimeout = Duration.seconds(30);
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class BlobTransferConfigurationBuilder {}
+}
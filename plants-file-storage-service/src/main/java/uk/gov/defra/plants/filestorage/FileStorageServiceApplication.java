@@ -1,27 +1,51 @@
 package uk.gov.defra.plants.filestorage;
 
+import static com.codahale.metrics.MetricRegistry.name;
 import static uk.gov.defra.plants.certificate.adapter.CertificateServiceAdapter.CERTIFICATE_ADAPTER_CONFIGURATION;
 import static uk.gov.defra.plants.certificate.adapter.CertificateServiceAdapter.CERTIFICATE_SERVICE_CLIENT;
 import static uk.gov.defra.plants.common.representation.FileType.CSV;
+import static uk.gov.defra.plants.filestorage.antivirus.CachingAntiVirus.SCAN_VERDICT_CACHE;
+import static uk.gov.defra.plants.filestorage.auth.BlobMetadataCache.SHARED_BLOB_METADATA_CACHE;
 import static uk.gov.defra.plants.filestorage.mapper.Container.ADMIN_TEMPLATES;
 import static uk.gov.defra.plants.filestorage.mapper.Container.APPLICATION_FORMS;
+import static uk.gov.defra.plants.filestorage.service.sanitise.SanitiseService.SANITISE_EXECUTOR;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.InstrumentedExecutorService;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableList;
 import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import javax.inject.Singleton;
 import javax.ws.rs.client.Client;
 import lombok.extern.slf4j.Slf4j;
+import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import uk.gov.defra.plants.certificate.adapter.CertificateServiceAdapter;
 import uk.gov.defra.plants.common.BaseApplication;
+import uk.gov.defra.plants.common.bundles.RedisBundle;
 import uk.gov.defra.plants.common.configuration.AdapterConfiguration;
 import uk.gov.defra.plants.common.eventhub.service.EventCreator;
 import uk.gov.defra.plants.common.health.CustomHealthCheckServlet;
 import uk.gov.defra.plants.filestorage.antivirus.AntiVirus;
+import uk.gov.defra.plants.filestorage.antivirus.CachingAntiVirus;
+import uk.gov.defra.plants.filestorage.antivirus.QueuedAntiVirus;
+import uk.gov.defra.plants.filestorage.antivirus.ScanVerdictCacheFactory;
+import uk.gov.defra.plants.filestorage.antivirus.ScanVerdictCacheKey;
+import uk.gov.defra.plants.filestorage.antivirus.VirusDefinitions;
 import uk.gov.defra.plants.filestorage.antivirus.symantec.SymantecAntiVirus;
 import uk.gov.defra.plants.filestorage.antivirus.symantec.SymantecAntiVirusConfiguration;
 import uk.gov.defra.plants.filestorage.auth.AuthUtil;
+import uk.gov.defra.plants.filestorage.auth.BlobMetadataCache;
+import uk.gov.defra.plants.filestorage.auth.BlobMetadataCacheFactory;
+import uk.gov.defra.plants.filestorage.auth.BlobMetadataCacheKey;
 import uk.gov.defra.plants.filestorage.initiator.ContainerInitiator;
 import uk.gov.defra.plants.filestorage.mapper.AzureBlobStorageConnectionStringMapper;
 import uk.gov.defra.plants.filestorage.mapper.ContainerUrlMapper;
@@ -36,6 +60,7 @@ import uk.gov.defra.plants.filestorage.service.FileReadAndValidateService;
 import uk.gov.defra.plants.filestorage.service.FileStorageProtectiveMonitoringService;
 import uk.gov.defra.plants.filestorage.service.TemplateUploadService;
 import uk.gov.defra.plants.filestorage.service.sanitise.SanitiseService;
+import uk.gov.defra.plants.filestorage.stream.BlockBlobTransferEngine;
 import uk.gov.defra.plants.filestorage.validation.FileValidator;
 
 @Slf4j
@@ -57,6 +82,12 @@ public class FileStorageServiceApplication
     return APPLICATION_NAME;
   }
 
+  @Override
+  public void initialize(final Bootstrap<FileStorageServiceConfiguration> bootstrap) {
+    super.initialize(bootstrap);
+    bootstrap.addBundle(new RedisBundle<>(FileStorageServiceConfiguration::getRedis));
+  }
+
   @Override
   public void run(FileStorageServiceConfiguration configuration, Environment environment) {
 
@@ -65,6 +96,8 @@ public class FileStorageServiceApplication
             .using(configuration.getCertificateServiceClient())
             .build("certificate-service-client");
 
+    final ExecutorService sanitiseExecutor = createSanitiseExecutor(configuration, environment);
+
     environment
         .jersey()
         .register(
@@ -92,8 +125,21 @@ public class FileStorageServiceApplication
                     .named(APPLICATION_FORMS.getContainerName());
 
                 bind(CertificateServiceAdapter.class).to(CertificateServiceAdapter.class);
-                bind(SymantecAntiVirus.class).to(AntiVirus.class);
+                bind(environment.metrics()).to(MetricRegistry.class);
+                bind(SymantecAntiVirus.class).to(SymantecAntiVirus.class).in(Singleton.class);
+                bind(QueuedAntiVirus.class).to(QueuedAntiVirus.class).in(Singleton.class);
+                bindFactory(ScanVerdictCacheFactory.class)
+                    .to(new TypeLiteral<Cache<ScanVerdictCacheKey, VirusDefinitions>>() {})
+                    .named(SCAN_VERDICT_CACHE);
+                bind(CachingAntiVirus.class).to(AntiVirus.class).in(Singleton.class);
+                bindFactory(BlobMetadataCacheFactory.class)
+                    .to(new TypeLiteral<Cache<BlobMetadataCacheKey, Map<String, String>>>() {})
+                    .named(SHARED_BLOB_METADATA_CACHE);
+                bind(BlobMetadataCache.class).to(BlobMetadataCache.class).in(Singleton.class);
                 bind(StorageExceptionMapper.class).to(StorageExceptionMapper.class);
+                bind(BlockBlobTransferEngine.class)
+                    .to(BlockBlobTransferEngine.class)
+                    .in(Singleton.class);
                 bind(StreamingOutputProvider.class).to(StreamingOutputProvider.class);
                 bind(FileValidator.builder()
                         .maxSizeInMb(5)
@@ -107,7 +153,8 @@ public class FileStorageServiceApplication
                     .to(FileStorageProtectiveMonitoringService.class);
                 bind(AuthUtil.class).to(AuthUtil.class);
                 bind(TemplateUploadService.class).to(TemplateUploadService.class);
-                bind(SanitiseService.class).to(SanitiseService.class);
+                bind(sanitiseExecutor).to(ExecutorService.class).named(SANITISE_EXECUTOR);
+                bind(SanitiseService.class).to(SanitiseService.class).in(Singleton.class);
               }
             });
 
@@ -131,6 +178,28 @@ public class FileStorageServiceApplication
         .addMapping("/admin/health-check");
   }
 
+  private ExecutorService createSanitiseExecutor(
+      final FileStorageServiceConfiguration configuration, final Environment environment) {
+    final PdfSanitiserConfiguration pdfSanitiser = configuration.getPdfSanitiser();
+    final BlockingQueue<Runnable> queuedDocuments =
+        new ArrayBlockingQueue<>(pdfSanitiser.getMaximumQueuedDocuments());
+    environment
+        .metrics()
+        .register(
+            name(SanitiseService.class, "queue-depth"), (Gauge<Integer>) queuedDocuments::size);
+
+    return new InstrumentedExecutorService(
+        environment
+            .lifecycle()
+            .executorService("pdf-sanitiser-%d")
+            .minThreads(pdfSanitiser.getWorkers())
+            .maxThreads(pdfSanitiser.getWorkers())
+            .workQueue(queuedDocuments)
+            .build(),
+        environment.metrics(),
+        name(SanitiseService.class, "executor"));
+  }
+
   private BlockBlobUrlProvider createBlockBobUrlProvider(
       final FileStorageServiceConfiguration configuration,
       final String containerName,
@@ -1,6 +1,7 @@
 package uk.gov.defra.plants.filestorage;
 
 import io.dropwizard.client.JerseyClientConfiguration;
+import io.dropwizard.util.Duration;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import lombok.Builder;
@@ -9,6 +10,8 @@ import lombok.Value;
 import org.hibernate.validator.constraints.NotEmpty;
 import uk.gov.defra.plants.common.configuration.AdapterConfiguration;
 import uk.gov.defra.plants.common.configuration.BaseConfiguration;
+import uk.gov.defra.plants.common.configuration.CacheConfiguration;
+import uk.gov.defra.plants.common.configuration.RedisConfiguration;
 import uk.gov.defra.plants.filestorage.antivirus.symantec.SymantecAntiVirusConfiguration;
 
 @Value
@@ -18,6 +21,8 @@ public class FileStorageServiceConfiguration extends BaseConfiguration
     implements SymantecAntiVirusConfiguration {
   @NotEmpty private String azureBlobStorageConnectionString;
   @NotNull private Long azureBlobStorageTimeoutMs;
+  @Valid @NotNull private BlobTransferConfiguration blobTransfer;
+  @Valid @NotNull private PdfSanitiserConfiguration pdfSanitiser;
 
   @Valid @NotNull private JerseyClientConfiguration certificateServiceClient;
   @Valid @NotNull private AdapterConfiguration certificateService;
@@ -27,6 +32,13 @@ public class FileStorageServiceConfiguration extends BaseConfiguration
   @NotNull private Integer maximumConnectionAttempts;
   @NotNull private Integer retryDelay;
   @NotNull private Integer socketTimeout;
+  @NotNull private Integer scanConnectionPoolSize;
+  @NotNull private Integer maximumQueuedScans;
+
+  @Valid @NotNull private RedisConfiguration redis;
+  @NotNull private CacheConfiguration scanVerdictCache;
+  @NotNull private Duration virusDefinitionsCheckInterval;
+  @Valid @NotNull private BlobMetadataCacheConfiguration blobMetadataCache;
 
   @NotEmpty private String adminTemplateContainerName;
   @NotEmpty private String applicationFormContainerName;
@@ -0,0 +1,35 @@
+package uk.gov.defra.plants.filestorage;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.dropwizard.util.Size;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.filestorage.PdfSanitiserConfiguration.PdfSanitiserConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = PdfSanitiserConfigurationBuilder.class)
+public class PdfSanitiserConfiguration {
+
+  @Min(1)
+  @Builder.Default
+  private final int workers = 4;
+
+  @Min(1)
+  @Builder.Default
+  private final int maximumQueuedDocuments = 16;
+
+  @NotNull
+  @Builder.Default
+  private final Size maximumMainMemoryPerDocument = Size.megabytes(16);
+
+  @NotNull
+  @Builder.Default
+  private final Size maximumTempFileSizePerDocument = Size.megabytes(256);
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class PdfSanitiserConfigurationBuilder {}
+}
@@ -1,5 +1,25 @@
 package uk.gov.defra.plants.filestorage.antivirus;
 
+import com.google.common.io.ByteSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 public interface AntiVirus {
-  ScanResult scan(byte[] file) throws AntiVirusException, InterruptedException;
+  ScanResult scan(InputStream file) throws AntiVirusException, InterruptedException;
+
+  default ScanResult scan(byte[] file) throws AntiVirusException, InterruptedException {
+    return scan(new ByteArrayInputStream(file));
+  }
+
+  /**
+   * Scans content that can be read more than once, which lets implementations look at the content
+   * before deciding whether to scan it.
+   */
+  default ScanResult scan(ByteSource file)
+      throws AntiVirusException, InterruptedException, IOException {
+    try (InputStream input = file.openStream()) {
+      return scan(input);
+    }
+  }
 }
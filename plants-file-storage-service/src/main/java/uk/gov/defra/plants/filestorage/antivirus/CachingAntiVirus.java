@@ -0,0 +1,128 @@
+package uk.gov.defra.plants.filestorage.antivirus;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import io.dropwizard.util.Duration;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import javax.inject.Inject;
+import javax.inject.Named;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.defra.plants.filestorage.FileStorageServiceConfiguration;
+
+/**
+ * Remembers CLEAN verdicts by the SHA-256 of the scanned content and the virus definitions they
+ * were reached with, so that a document uploaded again is not sent to the scan engine again.
+ *
+ * <p>The definitions in use are learnt from the scans themselves, and the scan engine can be
+ * updated at any time, including by another instance of this service. A cached verdict is
+ * therefore only served while the definitions this instance last saw were reported by a scan
+ * within the last {@code virusDefinitionsCheckInterval}; otherwise the content is scanned, which
+ * tells us the definitions now in use. Once a scan reports newer definitions the verdicts reached
+ * with the old ones are dropped.
+ */
+@Slf4j
+public class CachingAntiVirus implements AntiVirus {
+
+  public static final String SCAN_VERDICT_CACHE = "scan-verdict-cache";
+
+  private final AntiVirus scanEngine;
+  private final Cache<ScanVerdictCacheKey, VirusDefinitions> scanVerdictCache;
+  private final long definitionsCheckIntervalNanos;
+  private final Meter hits;
+  private final Meter misses;
+  private volatile CheckedDefinitions currentDefinitions;
+
+  @Inject
+  public CachingAntiVirus(
+      final QueuedAntiVirus scanEngine,
+      @Named(SCAN_VERDICT_CACHE) final Cache<ScanVerdictCacheKey, VirusDefinitions> scanVerdictCache,
+      final FileStorageServiceConfiguration configuration,
+      final MetricRegistry metricRegistry) {
+    this(
+        (AntiVirus) scanEngine,
+        scanVerdictCache,
+        configuration.getVirusDefinitionsCheckInterval(),
+        metricRegistry);
+  }
+
+  public CachingAntiVirus(
+      final AntiVirus scanEngine,
+      final Cache<ScanVerdictCacheKey, VirusDefinitions> scanVerdictCache,
+      final Duration definitionsCheckInterval,
+      final MetricRegistry metricRegistry) {
+    this.scanEngine = scanEngine;
+    this.scanVerdictCache = scanVerdictCache;
+    this.definitionsCheckIntervalNanos = definitionsCheckInterval.toNanoseconds();
+    this.hits = metricRegistry.meter(name(CachingAntiVirus.class, "hits"));
+    this.misses = metricRegistry.meter(name(CachingAntiVirus.class, "misses"));
+  }
+
+  @Override
+  public ScanResult scan(final InputStream file) throws AntiVirusException, InterruptedException {
+    return scanEngine.scan(file);
+  }
+
+  @Override
+  public ScanResult scan(final ByteSource file)
+      throws AntiVirusException, InterruptedException, IOException {
+    final String contentHash = file.hash(Hashing.sha256()).toString();
+
+    final CheckedDefinitions checked = currentDefinitions;
+    if (checked != null
+        && System.nanoTime() - checked.checkedAt < definitionsCheckIntervalNanos
+        && scanVerdictCache.getIfPresent(key(checked.definitions.getVersion(), contentHash))
+            != null) {
+      hits.mark();
+      return ScanResult.clean(checked.definitions);
+    }
+
+    misses.mark();
+    final ScanResult scanResult = scanEngine.scan(file);
+    final VirusDefinitions scannedWith = scanResult.getDefinitions();
+    if (scannedWith == null || scannedWith.getVersion() == null) {
+      return scanResult;
+    }
+    updateDefinitions(scannedWith);
+    if (scanResult.getStatus() == InfectionStatus.CLEAN) {
+      scanVerdictCache.put(key(scannedWith.getVersion(), contentHash), scannedWith);
+    }
+    return scanResult;
+  }
+
+  private synchronized void updateDefinitions(final VirusDefinitions scannedWith) {
+    final CheckedDefinitions previous = currentDefinitions;
+    currentDefinitions = new CheckedDefinitions(scannedWith, System.nanoTime());
+    if (previous != null
+        && !Objects.equals(previous.definitions.getVersion(), scannedWith.getVersion())) {
+      LOGGER.info(
+          "Virus definitions changed from {} to {}, dropping cached scan verdicts",
+          previous.definitions.getVersion(),
+          scannedWith.getVersion());
+      scanVerdictCache.invalidate(
+          ScanVerdictCacheKey.builder()
+              .definitionsVersion(previous.definitions.getVersion())
+              .build());
+    }
+  }
+
+  private static ScanVerdictCacheKey key(final String definitionsVersion, final String contentHash) {
+    return ScanVerdictCacheKey.builder()
+        .definitionsVersion(definitionsVersion)
+        .contentHash(contentHash)
+        .build();
+  }
+
+  @AllArgsConstructor
+  private static class CheckedDefinitions {
+    private final VirusDefinitions definitions;
+    private final long checkedAt;
+  }
+}
@@ -0,0 +1,91 @@
+package uk.gov.defra.plants.filestorage.antivirus;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.ws.rs.ClientErrorException;
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.defra.plants.filestorage.antivirus.symantec.SymantecAntiVirus;
+import uk.gov.defra.plants.filestorage.antivirus.symantec.SymantecAntiVirusConfiguration;
+
+/**
+ * Runs at most one scan per scan engine connection, on the uploading request's own thread. Up to
+ * {@code maximumQueuedScans} more requests may block waiting for a free connection; a scan that
+ * arrives beyond that is refused with {@code 429} at once, before any of its file is sent.
+ */
+@Slf4j
+public class QueuedAntiVirus implements AntiVirus {
+
+  private static final int TOO_MANY_REQUESTS = 429;
+
+  private final AntiVirus scanEngine;
+  private final int maximumQueuedScans;
+  private final Semaphore connections;
+  private final AtomicInteger queuedScans = new AtomicInteger();
+  private final Timer scanLatency;
+  private final Meter rejectedScans;
+  private volatile String definitionRevision;
+
+  @Inject
+  public QueuedAntiVirus(
+      final SymantecAntiVirus scanEngine,
+      final SymantecAntiVirusConfiguration configuration,
+      final MetricRegistry metricRegistry) {
+    this(
+        scanEngine,
+        configuration.getScanConnectionPoolSize(),
+        configuration.getMaximumQueuedScans(),
+        metricRegistry);
+  }
+
+  public QueuedAntiVirus(
+      final AntiVirus scanEngine,
+      final int connectionPoolSize,
+      final int maximumQueuedScans,
+      final MetricRegistry metricRegistry) {
+    this.scanEngine = scanEngine;
+    this.maximumQueuedScans = maximumQueuedScans;
+    this.connections = new Semaphore(connectionPoolSize, true);
+    this.scanLatency = metricRegistry.timer(name(QueuedAntiVirus.class, "scan-latency"));
+    this.rejectedScans = metricRegistry.meter(name(QueuedAntiVirus.class, "rejected-scans"));
+    metricRegistry.register(
+        name(QueuedAntiVirus.class, "queue-depth"), (Gauge<Integer>) queuedScans::get);
+    metricRegistry.register(
+        name(QueuedAntiVirus.class, "definition-revision"),
+        (Gauge<String>) () -> definitionRevision);
+  }
+
+  @Override
+  public ScanResult scan(final InputStream file) throws AntiVirusException, InterruptedException {
+    if (queuedScans.incrementAndGet() > maximumQueuedScans) {
+      queuedScans.decrementAndGet();
+      rejectedScans.mark();
+      LOGGER.warn("Rejecting scan, {} scans already waiting for the scan engine", maximumQueuedScans);
+      throw new ClientErrorException(
+          "Too many files are waiting for a virus scan, try again later", TOO_MANY_REQUESTS);
+    }
+
+    try {
+      connections.acquire();
+    } finally {
+      queuedScans.decrementAndGet();
+    }
+
+    try (Timer.Context ignored = scanLatency.time()) {
+      final ScanResult scanResult = scanEngine.scan(file);
+      if (scanResult.getDefinitions() != null) {
+        definitionRevision = scanResult.getDefinitions().getVersion();
+      }
+      return scanResult;
+    } finally {
+      connections.release();
+    }
+  }
+}
@@ -35,6 +35,10 @@ public abstract class ScanResult {
     return status;
   }
 
+  public final VirusDefinitions getDefinitions() {
+    return definitions;
+  }
+
   public String getInfectionWarningMessage() {
     return MessageFormat.format(
         "ScanResult: status={0}, version={1}, date={2}, infections={3}",
@@ -0,0 +1,23 @@
+package uk.gov.defra.plants.filestorage.antivirus;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import uk.gov.defra.plants.common.redis.RedisCacheKey;
+
+@Value
+@Builder
+public class ScanVerdictCacheKey implements RedisCacheKey {
+  @NonNull private final String definitionsVersion;
+  private final String contentHash;
+
+  @Override
+  public String toKey() {
+    return definitionsVersion + "_" + contentHash;
+  }
+
+  @Override
+  public String toInvalidationKey() {
+    return definitionsVersion;
+  }
+}
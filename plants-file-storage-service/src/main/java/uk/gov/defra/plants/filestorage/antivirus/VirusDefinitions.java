@@ -1,12 +1,21 @@
 package uk.gov.defra.plants.filestorage.antivirus;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import java.time.LocalDate;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import uk.gov.defra.plants.filestorage.antivirus.VirusDefinitions.VirusDefinitionsBuilder;
 
 @Getter
+@Builder
 @AllArgsConstructor
+@JsonDeserialize(builder = VirusDefinitionsBuilder.class)
 public class VirusDefinitions {
   private final String version;
   private final LocalDate date;
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class VirusDefinitionsBuilder {}
 }
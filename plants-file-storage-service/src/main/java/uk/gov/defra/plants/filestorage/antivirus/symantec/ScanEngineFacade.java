@@ -23,8 +23,8 @@ public class ScanEngineFacade {
     ScanEngineInfo endpoint = new ScanEngineInfo(
         configuration.getHost(), // passed to InetAddress.getByName(String)
         configuration.getPort(),
-        false, // do not establish persistent socket connection(s) to Symantec
-        0, // do not establish persistent socket connection(s) to Symantec
+        true, // keep socket connections to Symantec open between scans
+        configuration.getScanConnectionPoolSize(),
         configuration.getRetryDelay(),
         configuration.getSocketTimeout());
     try {
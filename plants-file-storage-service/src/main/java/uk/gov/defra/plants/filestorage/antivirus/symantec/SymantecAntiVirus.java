@@ -7,7 +7,6 @@ import com.symantec.scanengine.api.Result;
 import com.symantec.scanengine.api.ResultStatus;
 import com.symantec.scanengine.api.ScanException;
 import com.symantec.scanengine.api.StreamScanRequest;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDate;
@@ -25,6 +24,8 @@ import uk.gov.defra.plants.filestorage.antivirus.VirusDefinitions;
 public class SymantecAntiVirus implements AntiVirus {
 
   private static final int MAXIMUM_CHUNK_SIZE = 65536;
+  private static final ThreadLocal<byte[]> CHUNK =
+      ThreadLocal.withInitial(() -> new byte[MAXIMUM_CHUNK_SIZE]);
 
   private final ScanEngineFacade engine;
 
@@ -38,9 +39,9 @@ public class SymantecAntiVirus implements AntiVirus {
   }
 
   @Override
-  public ScanResult scan(byte[] data) {
-    try (ByteArrayInputStream input = new ByteArrayInputStream(data)) {
-      Result result = doScan(input);
+  public ScanResult scan(InputStream data) {
+    try {
+      Result result = doScan(data);
       if (result.getStatus() != ResultStatus.CLEAN) {
         throw new AntiVirusException(
             format(
@@ -58,7 +59,7 @@ public class SymantecAntiVirus implements AntiVirus {
 
   private Result doScan(InputStream data) throws ScanException, IOException {
     StreamScanRequest request = engine.request();
-    byte[] chunk = new byte[MAXIMUM_CHUNK_SIZE];
+    byte[] chunk = CHUNK.get();
     int size; // of chunk
     while ((size = data.read(chunk)) > 0) {
       request.send(chunk, 0, size);
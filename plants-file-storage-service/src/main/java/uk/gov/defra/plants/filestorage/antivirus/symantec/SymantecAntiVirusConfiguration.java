@@ -46,4 +46,19 @@ public interface SymantecAntiVirusConfiguration {
    */
   Integer getSocketTimeout();
 
+  /**
+   * <p>
+   * The number of persistent socket connections kept open to Symantec Protection Engine, which is
+   * also the number of files scanned at once.
+   * </p>
+   */
+  Integer getScanConnectionPoolSize();
+
+  /**
+   * <p>
+   * The number of files allowed to wait for a free connection before further scans are rejected
+   * with {@code 429 Too Many Requests}.
+   * </p>
+   */
+  Integer getMaximumQueuedScans();
 }
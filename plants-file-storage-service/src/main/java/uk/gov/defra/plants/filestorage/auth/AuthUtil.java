@@ -22,10 +22,13 @@ public class AuthUtil {
 
   private final BlockBlobUrlProvider blockBlobUrlProvider;
   private final String documentUri;
+  private final BlobMetadataCache blobMetadataCache;
 
-  public AuthUtil(@NotNull BlockBlobUrlProvider blockBlobUrlProvider,@NotNull String documentUri) {
+  public AuthUtil(@NotNull BlockBlobUrlProvider blockBlobUrlProvider,@NotNull String documentUri,
+      @NotNull BlobMetadataCache blobMetadataCache) {
     this.blockBlobUrlProvider = blockBlobUrlProvider;
     this.documentUri = documentUri;
+    this.blobMetadataCache = blobMetadataCache;
   }
 
   public BlobDeleteResponse deleteDocument(final User user,
@@ -57,6 +60,11 @@ public class AuthUtil {
   public Map<String, String> getMetadataFromDocumentName() {
     LOGGER.info("getMetadataFromDocumentName - Document URI: {})", documentUri);
 
+    return blobMetadataCache.get(
+        blockBlobUrlProvider.getAzureUri(documentUri), this::getBlobMetadata);
+  }
+
+  private Map<String, String> getBlobMetadata() {
     final BlockBlobURL blobURL = blockBlobUrlProvider.getBlockBlobUrlFromUri(documentUri);
     return blobURL.getProperties().blockingGet().headers().metadata();
   }
@@ -0,0 +1,93 @@
+package uk.gov.defra.plants.filestorage.auth;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Named;
+import uk.gov.defra.plants.filestorage.BlobMetadataCacheConfiguration;
+import uk.gov.defra.plants.filestorage.FileStorageServiceConfiguration;
+
+/**
+ * Blob metadata by blob URI, so authorisation checks can read the applicant a document was
+ * uploaded for without asking storage for the blob properties first. Uploads write through both
+ * the local and the shared cache, and deletes and metadata changes clear both. Other instances
+ * keep their local copy of the old metadata until {@code localExpiry} passes.
+ */
+public class BlobMetadataCache {
+
+  public static final String SHARED_BLOB_METADATA_CACHE = "shared-blob-metadata-cache";
+
+  private final Cache<BlobMetadataCacheKey, Map<String, String>> localCache;
+  private final Cache<BlobMetadataCacheKey, Map<String, String>> sharedCache;
+  private final Meter hits;
+  private final Meter misses;
+
+  @Inject
+  public BlobMetadataCache(
+      final FileStorageServiceConfiguration configuration,
+      @Named(SHARED_BLOB_METADATA_CACHE)
+          final Cache<BlobMetadataCacheKey, Map<String, String>> sharedCache,
+      final MetricRegistry metricRegistry) {
+    this(configuration.getBlobMetadataCache(), sharedCache, metricRegistry);
+  }
+
+  public BlobMetadataCache(
+      final BlobMetadataCacheConfiguration configuration,
+      final Cache<BlobMetadataCacheKey, Map<String, String>> sharedCache,
+      final MetricRegistry metricRegistry) {
+    this.localCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(configuration.getMaximumSize())
+            .expireAfterWrite(configuration.getLocalExpiry().toMilliseconds(), TimeUnit.MILLISECONDS)
+            .build();
+    this.sharedCache = sharedCache;
+    this.hits = metricRegistry.meter(name(BlobMetadataCache.class, "hits"));
+    this.misses = metricRegistry.meter(name(BlobMetadataCache.class, "misses"));
+  }
+
+  public Map<String, String> get(
+      final URI blobUri, final Supplier<Map<String, String>> blobProperties) {
+    final BlobMetadataCacheKey key = BlobMetadataCacheKey.of(blobUri);
+
+    Map<String, String> metadata = localCache.getIfPresent(key);
+    if (metadata == null) {
+      metadata = sharedCache.getIfPresent(key);
+      if (metadata != null) {
+        localCache.put(key, metadata);
+      }
+    }
+    if (metadata != null) {
+      hits.mark();
+      return metadata;
+    }
+
+    misses.mark();
+    metadata = ImmutableMap.copyOf(blobProperties.get());
+    put(key, metadata);
+    return metadata;
+  }
+
+  public void put(final URI blobUri, final Map<String, String> metadata) {
+    put(BlobMetadataCacheKey.of(blobUri), ImmutableMap.copyOf(metadata));
+  }
+
+  public void invalidate(final URI blobUri) {
+    final BlobMetadataCacheKey key = BlobMetadataCacheKey.of(blobUri);
+    localCache.invalidate(key);
+    sharedCache.invalidate(key);
+  }
+
+  private void put(final BlobMetadataCacheKey key, final Map<String, String> metadata) {
+    localCache.put(key, metadata);
+    sharedCache.put(key, metadata);
+  }
+}
@@ -0,0 +1,46 @@
+package uk.gov.defra.plants.filestorage.auth;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import javax.inject.Inject;
+import lombok.RequiredArgsConstructor;
+import org.glassfish.hk2.api.Factory;
+import uk.gov.defra.plants.common.redis.CachedValueMapper;
+import uk.gov.defra.plants.common.redis.Redis;
+import uk.gov.defra.plants.common.redis.RedisCache;
+import uk.gov.defra.plants.filestorage.BlobMetadataCacheConfiguration;
+import uk.gov.defra.plants.filestorage.FileStorageServiceConfiguration;
+
+/**
+ * Provides the cache of blob metadata shared between instances. When sharing is turned off an
+ * empty cache is provided instead, leaving each instance with only its local cache.
+ */
+@RequiredArgsConstructor(onConstructor = @__({@Inject}))
+public class BlobMetadataCacheFactory
+    implements Factory<Cache<BlobMetadataCacheKey, Map<String, String>>> {
+  private final Redis redis;
+  private final FileStorageServiceConfiguration configuration;
+
+  @Override
+  public Cache<BlobMetadataCacheKey, Map<String, String>> provide() {
+    final BlobMetadataCacheConfiguration blobMetadataCache = configuration.getBlobMetadataCache();
+    if (!blobMetadataCache.isShared()) {
+      return CacheBuilder.newBuilder().maximumSize(0).build();
+    }
+    final int expirySeconds = (int) blobMetadataCache.getSharedExpiry().toSeconds();
+    return RedisCache.<BlobMetadataCacheKey, Map<String, String>>builder()
+        .redis(redis)
+        .keyPrefix("blob-metadata")
+        .cachedValueMapper(new CachedValueMapper<>(new TypeReference<>() {}))
+        .expirySeconds(expirySeconds)
+        .clientErrorExpirySeconds(expirySeconds)
+        .build();
+  }
+
+  @Override
+  public void dispose(final Cache<BlobMetadataCacheKey, Map<String, String>> cache) {
+    // nothing to dispose, adding this comment to make SonarQube happy
+  }
+}
@@ -0,0 +1,27 @@
+package uk.gov.defra.plants.filestorage.auth;
+
+import java.net.URI;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import uk.gov.defra.plants.common.redis.RedisCacheKey;
+
+@Value
+@Builder
+public class BlobMetadataCacheKey implements RedisCacheKey {
+  @NonNull private final URI blobUri;
+
+  public static BlobMetadataCacheKey of(final URI blobUri) {
+    return BlobMetadataCacheKey.builder().blobUri(blobUri).build();
+  }
+
+  @Override
+  public String toKey() {
+    return blobUri.toString();
+  }
+
+  @Override
+  public String toInvalidationKey() {
+    return blobUri.toString();
+  }
+}
@@ -2,13 +2,22 @@ package uk.gov.defra.plants.filestorage.provider;
 
 import com.microsoft.azure.storage.blob.BlockBlobURL;
 import uk.gov.defra.plants.filestorage.mapper.StorageExceptionMapper;
+import uk.gov.defra.plants.filestorage.stream.BlockBlobTransferEngine;
 import uk.gov.defra.plants.filestorage.stream.FlowableStreamingOutput;
 
+import javax.inject.Inject;
 import javax.ws.rs.core.StreamingOutput;
 
 public class StreamingOutputProvider {
 
+    private final BlockBlobTransferEngine transferEngine;
+
+    @Inject
+    public StreamingOutputProvider(final BlockBlobTransferEngine transferEngine) {
+        this.transferEngine = transferEngine;
+    }
+
     public StreamingOutput getFlowableStreamingOutput(final BlockBlobURL blobURL, final StorageExceptionMapper storageExceptionMapper) {
-        return new FlowableStreamingOutput(blobURL, storageExceptionMapper);
+        return new FlowableStreamingOutput(blobURL, storageExceptionMapper, transferEngine);
     }
 }
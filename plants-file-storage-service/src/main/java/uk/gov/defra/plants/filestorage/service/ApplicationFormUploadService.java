@@ -30,6 +30,7 @@ import uk.gov.defra.plants.common.security.User;
 import uk.gov.defra.plants.filestorage.FileStorageServiceConfiguration;
 import uk.gov.defra.plants.filestorage.antivirus.AntiVirus;
 import uk.gov.defra.plants.filestorage.antivirus.AntiVirusException;
+import uk.gov.defra.plants.filestorage.auth.BlobMetadataCache;
 import uk.gov.defra.plants.filestorage.constants.FileStorageConstants;
 import uk.gov.defra.plants.filestorage.mapper.Constants;
 import uk.gov.defra.plants.filestorage.mapper.StorageExceptionMapper;
@@ -37,6 +38,7 @@ import uk.gov.defra.plants.filestorage.provider.BlockBlobUrlProvider;
 import uk.gov.defra.plants.filestorage.provider.StreamingOutputProvider;
 import uk.gov.defra.plants.filestorage.representation.DocumentCategory;
 import uk.gov.defra.plants.filestorage.service.sanitise.SanitiseService;
+import uk.gov.defra.plants.filestorage.stream.BlockBlobTransferEngine;
 import uk.gov.defra.plants.filestorage.validation.FileValidator;
 
 @Slf4j
@@ -62,7 +64,9 @@ public class ApplicationFormUploadService extends FileUploadService {
       StreamingOutputProvider streamingOutputProvider,
       FileStorageServiceConfiguration configuration,
       FileStorageProtectiveMonitoringService protectiveMonitoringService,
-      SanitiseService sanitiseService) {
+      SanitiseService sanitiseService,
+      BlockBlobTransferEngine transferEngine,
+      BlobMetadataCache blobMetadataCache) {
     super(
         blockBlobUrlProvider,
         storageExceptionMapper,
@@ -70,7 +74,9 @@ public class ApplicationFormUploadService extends FileUploadService {
         streamingOutputProvider,
         configuration,
         protectiveMonitoringService,
-        sanitiseService);
+        sanitiseService,
+        transferEngine,
+        blobMetadataCache);
   }
 
   private String getStorageFileNameFrom(
@@ -158,10 +164,15 @@ public class ApplicationFormUploadService extends FileUploadService {
 
   @Override
   protected void validate(
-      @NonNull byte[] data,
+      long dataSize,
       @NonNull FileType fileType,
       String version,
       final DocumentCategory documentCategory) {
-    validator.validate(data, fileType, version, documentCategory);
+    validator.validate(dataSize, fileType, version, documentCategory);
+  }
+
+  @Override
+  protected long maximumSizeInBytes() {
+    return validator.getMaxSizeInBytes();
   }
 }
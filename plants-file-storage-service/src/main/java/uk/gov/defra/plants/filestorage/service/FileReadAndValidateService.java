@@ -1,6 +1,7 @@
 package uk.gov.defra.plants.filestorage.service;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteSource;
 import com.microsoft.applicationinsights.core.dependencies.apachecommons.io.IOUtils;
 import java.io.IOException;
 import java.io.InputStream;
@@ -59,7 +60,7 @@ public class FileReadAndValidateService {
         events.add(
             protectiveMonitoringService.getFileStorageEvent(
                 user, originalFileName, additionalInfo, FileEvent.SENT_FOR_SCAN));
-        final ScanResult scannedResponse = antiVirus.scan(data);
+        final ScanResult scannedResponse = antiVirus.scan(ByteSource.wrap(data));
         if (scannedResponse.getStatus() != null && !scannedResponse.getStatus().equals(InfectionStatus.CLEAN)) {
           events.add(
               protectiveMonitoringService.getFileStorageEvent(
@@ -15,19 +15,15 @@ import static uk.gov.defra.plants.filestorage.enums.FileEvent.UPLOAD_STARTED;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
-import com.microsoft.applicationinsights.core.dependencies.apachecommons.io.IOUtils;
 import com.microsoft.azure.storage.blob.BlockBlobURL;
 import com.microsoft.azure.storage.blob.Metadata;
 import com.microsoft.azure.storage.blob.models.BlobDeleteResponse;
 import com.microsoft.azure.storage.blob.models.BlobSetMetadataResponse;
-import com.microsoft.azure.storage.blob.models.BlockBlobUploadResponse;
 import com.microsoft.azure.storage.blob.models.DeleteSnapshotsOptionType;
-import io.reactivex.Flowable;
 import io.reactivex.Single;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +51,7 @@ import uk.gov.defra.plants.filestorage.antivirus.AntiVirus;
 import uk.gov.defra.plants.filestorage.antivirus.AntiVirusException;
 import uk.gov.defra.plants.filestorage.antivirus.ScanResult;
 import uk.gov.defra.plants.filestorage.auth.AuthUtil;
+import uk.gov.defra.plants.filestorage.auth.BlobMetadataCache;
 import uk.gov.defra.plants.filestorage.enums.FileEvent;
 import uk.gov.defra.plants.filestorage.mapper.SanitisedFileNameMapper;
 import uk.gov.defra.plants.filestorage.mapper.StorageExceptionMapper;
@@ -63,6 +60,8 @@ import uk.gov.defra.plants.filestorage.provider.StreamingOutputProvider;
 import uk.gov.defra.plants.filestorage.representation.DocumentCategory;
 import uk.gov.defra.plants.filestorage.representation.FileUploadResponse;
 import uk.gov.defra.plants.filestorage.service.sanitise.SanitiseService;
+import uk.gov.defra.plants.filestorage.stream.BlockBlobTransferEngine;
+import uk.gov.defra.plants.filestorage.stream.SpooledFile;
 
 @Slf4j
 @AllArgsConstructor
@@ -76,6 +75,8 @@ public abstract class FileUploadService {
   private final SanitisedFileNameMapper sanitisedFileNameMapper = new SanitisedFileNameMapper();
   private final FileStorageProtectiveMonitoringService protectiveMonitoringService;
   private final SanitiseService sanitiseService;
+  private final BlockBlobTransferEngine transferEngine;
+  private final BlobMetadataCache blobMetadataCache;
 
   public static Optional<String> getContentTypeFrom(@NotNull final String fileName) {
     return getFileTypeFrom(fileName).map(FileType::getContentType);
@@ -104,6 +105,7 @@ public abstract class FileUploadService {
     String symanticResult = "Symantec result: ";
     String eventStageName = "File Upload Events";
     final String originalFileName = contentDispositionHeader.getFileName();
+    final int uploadStatus;
 
     try {
       FileType fileType =
@@ -118,53 +120,55 @@ public abstract class FileUploadService {
           protectiveMonitoringService.getFileStorageEvent(
               user, originalFileName, "", UPLOAD_STARTED));
       LOGGER.info("processing the file {}", originalFileName);
-      byte[] data = IOUtils.toByteArray(fileInputStream);
+      try (SpooledFile data = SpooledFile.spool(fileInputStream, maximumSizeInBytes())) {
+
+        try {
+          validate(data.size(), fileType, version, documentCategory);
+        } catch (ConstraintViolationException e) {
+          events.add(
+              protectiveMonitoringService.getFileStorageEvent(
+                  user, originalFileName, getAdditionalInfo(e), LOCAL_VALIDATION_FAILED));
+
+          throw e;
+        } catch (RuntimeException e) {
+          events.add(
+              protectiveMonitoringService.getFileStorageEvent(
+                  user, originalFileName, "validation threw RuntimeException", LOCAL_VALIDATION_FAILED));
+
+          throw e;
+        }
 
-      try {
-        validate(data, fileType, version, documentCategory);
-      } catch(ConstraintViolationException e) {
         events.add(
             protectiveMonitoringService.getFileStorageEvent(
-                user, originalFileName, getAdditionalInfo(e), LOCAL_VALIDATION_FAILED));
+                user, originalFileName, "", SENT_FOR_SCAN));
 
-        throw e;
-      } catch (RuntimeException e) {
-        events.add(
-            protectiveMonitoringService.getFileStorageEvent(
-                user, originalFileName, "validation threw RuntimeException", LOCAL_VALIDATION_FAILED));
+        try {
+          final ScanResult scanResult = antiVirus.scan(data.asByteSource());
+          additionalInfo = symanticResult + getScanResultInfo(scanResult);
 
-        throw e;
-      }
+          if (scanResult.getStatus() != null && !scanResult.getStatus().equals(CLEAN)) {
 
-      events.add(
-          protectiveMonitoringService.getFileStorageEvent(
-              user, originalFileName, "", SENT_FOR_SCAN));
+            throw new ClientErrorException("Antivirus scan failed, file may be a risk", 422);
 
-      try {
-        final ScanResult scanResult = antiVirus.scan(data);
-        additionalInfo = symanticResult + getScanResultInfo(scanResult);
+          }
+        } catch (Exception e) {
+          additionalInfo += " " + e.getMessage();
+          events.add(
+              protectiveMonitoringService.getFileStorageEvent(
+                  user, originalFileName, additionalInfo, SCAN_FAILED));
 
-        if (scanResult.getStatus() != null && !scanResult.getStatus().equals(CLEAN)) {
+          throw e;
+        }
 
-          throw new ClientErrorException("Antivirus scan failed, file may be a risk", 422);
+        try (SpooledFile processedData = processFile(data, fileType, documentCategory)) {
+          events.add(
+              protectiveMonitoringService.getFileStorageEvent(
+                  user, originalFileName, additionalInfo, FileEvent.FILE_PROCESSED));
 
+          uploadStatus =
+              uploadFile(processedData, blockBlobURL, storageURI, originalFileName, metadata);
         }
-      } catch (Exception e) {
-        additionalInfo += " " + e.getMessage();
-        events.add(
-            protectiveMonitoringService.getFileStorageEvent(
-                user, originalFileName, additionalInfo, SCAN_FAILED));
-
-        throw e;
       }
-
-      final byte[] processedData = processFile(data, fileType, documentCategory);
-      events.add(
-          protectiveMonitoringService.getFileStorageEvent(
-              user, originalFileName, additionalInfo, FileEvent.FILE_PROCESSED));
-
-      final BlockBlobUploadResponse blockBlobUploadResponse =
-          uploadFile(processedData, blockBlobURL, originalFileName, metadata);
       events.add(
           protectiveMonitoringService.getFileStorageEvent(
               user, originalFileName, additionalInfo, FileEvent.UPLOADED));
@@ -180,7 +184,7 @@ public abstract class FileUploadService {
               .description(description)
               .build();
 
-      return Response.status(blockBlobUploadResponse.statusCode())
+      return Response.status(uploadStatus)
           .entity(fileUploadResponse)
           .build();
     } finally {
@@ -188,16 +192,16 @@ public abstract class FileUploadService {
     }
   }
 
-  private BlockBlobUploadResponse uploadFile(
-      @NonNull final byte[] data,
+  private int uploadFile(
+      @NonNull final SpooledFile data,
       @NonNull final BlockBlobURL blockBlobURL,
+      @NonNull final URI storageURI,
       String fileName,
       Metadata metadata) {
-    return blockBlobURL
-        .upload(Flowable.just(ByteBuffer.wrap(data)), data.length, null, metadata, null, null)
+    return transferEngine
+        .upload(blockBlobURL, data, metadata)
         .doOnSuccess(success -> LOGGER.info("File Uploaded Successful - FileName {}", fileName))
-        .timeout(configuration.getAzureBlobStorageTimeoutMs(), TimeUnit.MILLISECONDS)
-        .retry(3)
+        .doOnSuccess(success -> blobMetadataCache.put(storageURI, metadata))
         .onErrorResumeNext(e -> Single.error(storageExceptionMapper.toWebApplicationException(e)))
         .blockingGet();
   }
@@ -206,7 +210,7 @@ public abstract class FileUploadService {
       @NonNull final User user,
       @NonNull final String documentUri,
       @NotNull final String applicant) {
-    final AuthUtil authUtil = new AuthUtil(blockBlobUrlProvider, documentUri);
+    final AuthUtil authUtil = new AuthUtil(blockBlobUrlProvider, documentUri, blobMetadataCache);
     Map<String, String> metaData = authUtil.getMetadataFromDocumentName();
     String docCreator = metaData.get("applicant");
 
@@ -237,8 +241,9 @@ public abstract class FileUploadService {
     return streamingOutputProvider.getFlowableStreamingOutput(blobURL, storageExceptionMapper);
   }
 
-  public Response delete(final BlockBlobURL blockBlobURL) {
+  public Response delete(final BlockBlobURL blockBlobURL, final URI blobUri) {
     final BlobDeleteResponse response = getDeleteResponse(blockBlobURL);
+    blobMetadataCache.invalidate(blobUri);
     return Response.status(response.statusCode()).build();
   }
 
@@ -266,10 +271,11 @@ public abstract class FileUploadService {
       final BlockBlobURL blockBlobURL,
       final String documentUri,
       final Map<String, String> newMetadata) {
-    final AuthUtil authUtil = new AuthUtil(blockBlobUrlProvider, documentUri);
+    final AuthUtil authUtil = new AuthUtil(blockBlobUrlProvider, documentUri, blobMetadataCache);
     final BlobSetMetadataResponse response =
         authUtil.updateMetadata(
             user, (Map<String, String> metadata) -> getUpdateResponse(blockBlobURL, newMetadata));
+    blobMetadataCache.invalidate(blockBlobUrlProvider.getAzureUri(documentUri));
     return Response.status(response.statusCode()).build();
   }
 
@@ -281,13 +287,14 @@ public abstract class FileUploadService {
     String eventStageName = "Delete Document Event Stage";
 
     try {
-      final AuthUtil authUtil = new AuthUtil(blockBlobUrlProvider, documentUri);
+      final AuthUtil authUtil = new AuthUtil(blockBlobUrlProvider, documentUri, blobMetadataCache);
       deleteEvents.add(
           protectiveMonitoringService.getFileStorageEvent(
               user, documentUri, additionalInfo, DELETE_DOCUMENT));
       final BlobDeleteResponse response =
           authUtil.deleteDocument(
               user, (Map<String, String> metadata) -> getDeleteResponse(blockBlobURL));
+      blobMetadataCache.invalidate(blockBlobUrlProvider.getAzureUri(documentUri));
 
       return Response.status(response.statusCode()).build();
     } catch (ForbiddenException fbe) {
@@ -304,25 +311,41 @@ public abstract class FileUploadService {
     return sanitisedFileNameMapper.sanitise(originalFileName);
   }
 
-  public byte[] processFile(
-      @NonNull final byte[] data,
+  /**
+   * Returns the file to upload: the spool itself, or for PDFs a new spool holding the sanitised
+   * copy, which the caller must close.
+   */
+  public SpooledFile processFile(
+      @NonNull final SpooledFile data,
       @NonNull final FileType fileType,
       final DocumentCategory documentCategory)
-      throws AntiVirusException {
+      throws IOException {
     // Currently we sanitise only PDF
+    if (fileType != PDF) {
+      return data;
+    }
 
-    boolean formRequired = PDF == fileType && DocumentCategory.SUPPLEMENTARY != documentCategory
+    boolean formRequired = DocumentCategory.SUPPLEMENTARY != documentCategory
         && DocumentCategory.IMPORT_PHYTO != documentCategory;
-    return fileType == PDF ? sanitiseService.sanitisePdf(data, formRequired) : data;
+    final SpooledFile sanitised = SpooledFile.create();
+    try {
+      sanitiseService.sanitisePdf(data.getPath(), sanitised.getPath(), formRequired);
+    } catch (RuntimeException e) {
+      sanitised.close();
+      throw e;
+    }
+    return sanitised;
   }
 
   // EXP-4650
   protected abstract void validate(
-      @NonNull final byte[] data,
+      final long dataSize,
       @NonNull final FileType fileType,
       final String version,
       @NonNull final DocumentCategory documentCategory);
 
+  protected abstract long maximumSizeInBytes();
+
   private String getScanResultInfo(final ScanResult scanResult) {
     return isClean(scanResult)
         ? scanResult.getStatus().toString()
@@ -17,12 +17,14 @@ import uk.gov.defra.plants.common.security.User;
 import uk.gov.defra.plants.filestorage.FileStorageServiceConfiguration;
 import uk.gov.defra.plants.filestorage.antivirus.AntiVirus;
 import uk.gov.defra.plants.filestorage.antivirus.AntiVirusException;
+import uk.gov.defra.plants.filestorage.auth.BlobMetadataCache;
 import uk.gov.defra.plants.filestorage.mapper.Constants;
 import uk.gov.defra.plants.filestorage.mapper.StorageExceptionMapper;
 import uk.gov.defra.plants.filestorage.provider.BlockBlobUrlProvider;
 import uk.gov.defra.plants.filestorage.provider.StreamingOutputProvider;
 import uk.gov.defra.plants.filestorage.representation.DocumentCategory;
 import uk.gov.defra.plants.filestorage.service.sanitise.SanitiseService;
+import uk.gov.defra.plants.filestorage.stream.BlockBlobTransferEngine;
 import uk.gov.defra.plants.filestorage.validation.FileValidator;
 
 @Slf4j
@@ -40,7 +42,9 @@ public class TemplateUploadService extends FileUploadService {
       StreamingOutputProvider streamingOutputProvider,
       FileStorageServiceConfiguration configuration,
       FileStorageProtectiveMonitoringService protectiveMonitoringService,
-      SanitiseService sanitiseService) {
+      SanitiseService sanitiseService,
+      BlockBlobTransferEngine transferEngine,
+      BlobMetadataCache blobMetadataCache) {
     super(
         blockBlobUrlProvider,
         storageExceptionMapper,
@@ -48,7 +52,9 @@ public class TemplateUploadService extends FileUploadService {
         streamingOutputProvider,
         configuration,
         protectiveMonitoringService,
-        sanitiseService);
+        sanitiseService,
+        transferEngine,
+        blobMetadataCache);
   }
 
   public Response uploadTemplateFile(
@@ -87,15 +93,22 @@ public class TemplateUploadService extends FileUploadService {
   public Response delete(String documentType, String documentNumber, String version) {
     final String storageFileName =
         blockBlobUrlProvider.getStorageFileName(documentType, documentNumber, version);
-    return delete(blockBlobUrlProvider.getBlockBlobUrl(storageFileName));
+    return delete(
+        blockBlobUrlProvider.getBlockBlobUrl(storageFileName),
+        blockBlobUrlProvider.getAzureUri(storageFileName));
   }
 
   @Override
   protected void validate(
-      @NonNull byte[] data,
+      long dataSize,
       @NonNull FileType fileType,
       final String version,
       @NonNull final DocumentCategory documentCategory) {
-    validator.validate(data, fileType, version, documentCategory);
+    validator.validate(dataSize, fileType, version, documentCategory);
+  }
+
+  @Override
+  protected long maximumSizeInBytes() {
+    return validator.getMaxSizeInBytes();
   }
 }
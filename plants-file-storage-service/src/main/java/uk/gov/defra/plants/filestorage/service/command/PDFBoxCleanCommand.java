@@ -5,33 +5,26 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
-import uk.gov.defra.plants.filestorage.service.sanitise.CleanEmbeddedFiles;
-import uk.gov.defra.plants.filestorage.service.sanitise.CleanEmbeddedJavascript;
+import uk.gov.defra.plants.filestorage.service.sanitise.PdfSanitiser;
 
 @Slf4j
 public class PDFBoxCleanCommand extends PDFBoxBaseCommand {
 
-  private static final String FAILURE_PDF_CLEAN_JS_MSG = "PDF contains javascript which cannot be removed";
+  private static final String FAILURE_PDF_SANITISE_MSG =
+      "PDF contains embedded files or javascript which cannot be removed";
   private static final String PDF_HAS_NO_FIELDS_MSG = "PDF has no fields";
 
   public PDFBoxCleanCommand(@NonNull PDDocument pdDocument) {
     super(pdDocument);
   }
 
-  protected PDDocument cleanedPDDocument;
-
-  public PDFBoxCleanCommand cleanEmbeddedFiles() {
-    cleanedPDDocument = new CleanEmbeddedFiles(pdDocument).clean();
-    return this;
-  }
-
-  public PDFBoxCleanCommand cleanJavascript() {
+  public PDFBoxCleanCommand sanitise() {
     try {
-      cleanedPDDocument = new CleanEmbeddedJavascript(pdDocument).clean();
+      new PdfSanitiser(pdDocument).sanitise();
       return this;
     } catch (Exception e) {
-      LOGGER.warn(FAILURE_PDF_CLEAN_JS_MSG, e);
-      throw new BadRequestException(FAILURE_PDF_CLEAN_JS_MSG);
+      LOGGER.warn(FAILURE_PDF_SANITISE_MSG, e);
+      throw new BadRequestException(FAILURE_PDF_SANITISE_MSG);
     }
   }
 
@@ -0,0 +1,182 @@
+package uk.gov.defra.plants.filestorage.service.sanitise;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
+import org.apache.pdfbox.pdmodel.PDDocumentNameDictionary;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDDestinationOrAction;
+import org.apache.pdfbox.pdmodel.interactive.action.PDAction;
+import org.apache.pdfbox.pdmodel.interactive.action.PDActionJavaScript;
+import org.apache.pdfbox.pdmodel.interactive.action.PDDocumentCatalogAdditionalActions;
+import org.apache.pdfbox.pdmodel.interactive.action.PDFormFieldAdditionalActions;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationFileAttachment;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDNonTerminalField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTerminalField;
+
+/**
+ * Removes embedded files and javascript from a PDF in a single pass over the document catalog,
+ * its name trees, the page annotations and the AcroForm field tree. Each kind of content removed
+ * is recorded as a custom value in the document information.
+ *
+ * <p>For reference see:
+ * https://svn.apache.org/viewvc/pdfbox/trunk/examples/src/main/java/org/apache/pdfbox/examples/
+ * https://stackoverflow.com/questions/34840299/finding-javascript-code-in-pdf-using-apache-pdfbox/34899156#34899156
+ * http://mariomalwareanalysis.blogspot.com/2012/02/how-to-embed-javascript-into-pdf.html
+ * https://code.google.com/archive/p/corkami/wikis/PDFTricks.wiki
+ * https://www.adobe.com/content/dam/acom/en/devnet/pdf/pdf_reference_archive/PDFReference.pdf
+ */
+@Slf4j
+public class PdfSanitiser {
+
+  private static final String SANITISED_EMBEDDED_FILES = "sanitisedEmbeddedFiles";
+  private static final String SANITISED_ANNOTATION_FILE_ATTACHMENT =
+      "sanitisedAnnotationFileAttachment";
+  private static final String SANITISED_DOCUMENT_LEVEL_JS = "sanitisedDocumentLevelJS";
+  private static final String SANITISED_OPEN_ACTION_JS = "sanitisedOpenActionJS";
+  private static final String SANITISED_CATALOG_ADDITIONAL_ACTIONS_JS =
+      "sanitisedCatalogAdditionalActionsJS";
+  private static final String SANITISED_FIELD_JS = "sanitisedFieldJS";
+  private static final String SANITISED_WIDGET_ACTION_JS = "sanitisedWidgetActionJS";
+
+  private final PDDocument pdDocument;
+
+  public PdfSanitiser(PDDocument pdDocument) {
+    this.pdDocument = pdDocument;
+  }
+
+  /**
+   * Sanitises the PDDocument. Note: Rendition Actions are not supported in PDF box, therefore they
+   * are not saved out.
+   *
+   * @return the updated PDDocument
+   * @throws IOException
+   */
+  public PDDocument sanitise() throws IOException {
+    PDDocumentCatalog catalog = pdDocument.getDocumentCatalog();
+
+    sanitiseNames(new PDDocumentNameDictionary(catalog));
+
+    pdDocument.getPages().forEach(this::sanitisePage);
+
+    sanitiseOpenAction(catalog);
+
+    sanitiseCatalogAdditionalActions(catalog);
+
+    PDAcroForm acroForm = catalog.getAcroForm();
+    if (acroForm != null) {
+      acroForm.getFields().forEach(this::sanitiseField);
+    }
+
+    return pdDocument;
+  }
+
+  private void sanitiseNames(PDDocumentNameDictionary names) throws IOException {
+    if (names.getEmbeddedFiles() != null) {
+      LOGGER.info("*found* embedded file(s)");
+      names.setEmbeddedFiles(null); // removes all embeds
+      recordMetadata(SANITISED_EMBEDDED_FILES);
+    }
+
+    if (names.getJavaScript() != null) {
+      LOGGER.info("*found & removed* document level JS");
+      names.setJavascript(null);
+      recordMetadata(SANITISED_DOCUMENT_LEVEL_JS);
+    }
+  }
+
+  private void sanitisePage(PDPage page) {
+    List<PDAnnotation> sanitisedAnnotations = new ArrayList<>();
+
+    try {
+      for (PDAnnotation annotation : page.getAnnotations()) {
+        if (annotation instanceof PDAnnotationFileAttachment) {
+          LOGGER.info("*found* embedded file, will not add to sanitised list");
+          recordMetadata(SANITISED_ANNOTATION_FILE_ATTACHMENT);
+        } else {
+          sanitisedAnnotations.add(annotation);
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.error("Error reading annotations, will continue processing", e);
+    }
+    page.setAnnotations(sanitisedAnnotations);
+  }
+
+  private void sanitiseOpenAction(PDDocumentCatalog catalog) throws IOException {
+    PDDestinationOrAction action = catalog.getOpenAction();
+
+    if (action instanceof PDActionJavaScript) {
+      catalog.setOpenAction(null);
+      LOGGER.info("*found & removed* JS under openAction!");
+      recordMetadata(SANITISED_OPEN_ACTION_JS);
+    }
+  }
+
+  private void sanitiseCatalogAdditionalActions(PDDocumentCatalog catalog) {
+    PDDocumentCatalogAdditionalActions actions = catalog.getActions();
+    if (isJsAction(actions.getWC())
+        || isJsAction(actions.getWS())
+        || isJsAction(actions.getDS())
+        || isJsAction(actions.getWP())
+        || isJsAction(actions.getDP())) {
+      catalog.setActions(null);
+      recordMetadata(SANITISED_CATALOG_ADDITIONAL_ACTIONS_JS);
+      LOGGER.info("*found & removed* Javascript action " + actions.toString());
+    }
+  }
+
+  private void sanitiseField(PDField field) {
+    if (field instanceof PDTerminalField) {
+      sanitiseTerminalField((PDTerminalField) field);
+    }
+
+    if (field instanceof PDNonTerminalField) {
+      ((PDNonTerminalField) field).getChildren().forEach(this::sanitiseField);
+    }
+  }
+
+  private void sanitiseTerminalField(PDTerminalField field) {
+    PDFormFieldAdditionalActions fieldActions = field.getActions();
+
+    if (fieldActions != null) {
+      // assume this contains Javascript.
+      field.setActions(null);
+      LOGGER.info("*found & removed* probable Javascript action on field " + fieldActions);
+      recordMetadata(SANITISED_FIELD_JS);
+    }
+
+    field.getWidgets().forEach(widget -> sanitiseWidget(field, widget));
+  }
+
+  private void sanitiseWidget(PDField field, PDAnnotationWidget widget) {
+    PDAction action = widget.getAction();
+    if (action instanceof PDActionJavaScript) {
+      widget.setAction(null);
+      widget.setActions(null);
+      LOGGER.info(
+          "*found & removed* widget Javascript "
+              + field.getFullyQualifiedName()
+              + ": "
+              + action.getClass().getSimpleName()
+              + " js widget action:\n"
+              + action.getCOSObject());
+      recordMetadata(SANITISED_WIDGET_ACTION_JS);
+    }
+  }
+
+  private boolean isJsAction(PDAction action) {
+    return action instanceof PDActionJavaScript;
+  }
+
+  private void recordMetadata(String metadataName) {
+    pdDocument.getDocumentInformation().setCustomMetadataValue(metadataName, "");
+  }
+}
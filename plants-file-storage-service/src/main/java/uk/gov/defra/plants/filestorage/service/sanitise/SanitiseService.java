@@ -1,44 +1,137 @@
 package uk.gov.defra.plants.filestorage.service.sanitise;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
+import javax.inject.Inject;
+import javax.inject.Named;
 import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.core.StreamingOutput;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import uk.gov.defra.plants.filestorage.FileStorageServiceConfiguration;
+import uk.gov.defra.plants.filestorage.PdfSanitiserConfiguration;
 import uk.gov.defra.plants.filestorage.service.command.PDFBoxCleanCommand;
 
+/**
+ * Sanitises PDFs on a bounded pool of workers, so the number of documents held open by PDFBox at
+ * once is capped. Each document may keep up to its own size, within a configured limit, in main
+ * memory and spills the rest to a temp file. Once the pool and its queue are full, documents are
+ * rejected with {@code 429} so that uploads back off instead of piling up.
+ */
 @Slf4j
 public class SanitiseService {
 
+  public static final String SANITISE_EXECUTOR = "sanitise-executor";
+
+  private static final int TOO_MANY_REQUESTS = 429;
+
+  private final ExecutorService executor;
+  private final long maximumMainMemoryPerDocument;
+  private final long maximumTempFileSizePerDocument;
+  private final Timer sanitiseLatency;
+  private final Meter rejectedDocuments;
+
+  @Inject
+  public SanitiseService(
+      final FileStorageServiceConfiguration configuration,
+      @Named(SANITISE_EXECUTOR) final ExecutorService executor,
+      final MetricRegistry metricRegistry) {
+    this(configuration.getPdfSanitiser(), executor, metricRegistry);
+  }
+
+  public SanitiseService(
+      final PdfSanitiserConfiguration configuration,
+      final ExecutorService executor,
+      final MetricRegistry metricRegistry) {
+    this.executor = executor;
+    this.maximumMainMemoryPerDocument = configuration.getMaximumMainMemoryPerDocument().toBytes();
+    this.maximumTempFileSizePerDocument =
+        configuration.getMaximumTempFileSizePerDocument().toBytes();
+    this.sanitiseLatency = metricRegistry.timer(name(SanitiseService.class, "sanitise-latency"));
+    this.rejectedDocuments =
+        metricRegistry.meter(name(SanitiseService.class, "rejected-documents"));
+  }
+
   @SneakyThrows(IOException.class)
-  public byte[] sanitisePdf(byte[] data, boolean formFieldRequired) {
+  public void sanitisePdf(Path source, Path target, boolean formFieldRequired) {
+    onWorker(
+        () -> {
+          try (InputStream input = Files.newInputStream(source);
+              OutputStream output = Files.newOutputStream(target)) {
+            generateFilteredPdfAndReturnAsStreamingOutput(
+                    input, Files.size(source), cleanActions(formFieldRequired))
+                .write(output);
+          }
+          return null;
+        });
+  }
+
+  private <T> T onWorker(final Callable<T> sanitisation) throws IOException {
+    final Future<T> result;
+    try {
+      result = executor.submit(timed(sanitisation));
+    } catch (RejectedExecutionException e) {
+      rejectedDocuments.mark();
+      LOGGER.warn("Rejecting PDF, the sanitiser queue is full");
+      throw new ClientErrorException(
+          "Too many files are waiting to be sanitised, try again later", TOO_MANY_REQUESTS);
+    }
 
-    StreamingOutput sanitisedPdf =
-        generateFilteredPdfAndReturnAsStreamingOutput(
-            new ByteArrayInputStream(data),
-            pdf ->
-                formFieldRequired
-                    ? pdf.validateFormFields().cleanEmbeddedFiles().cleanJavascript()
-                    : pdf.cleanEmbeddedFiles().cleanJavascript());
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new InternalServerErrorException("Interrupted while sanitising PDF", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new InternalServerErrorException("Failed to sanitise PDF", e.getCause());
+    }
+  }
 
-    ByteArrayOutputStream output = new ByteArrayOutputStream();
-    sanitisedPdf.write(output);
+  private <T> Callable<T> timed(final Callable<T> sanitisation) {
+    return () -> {
+      try (Timer.Context ignored = sanitiseLatency.time()) {
+        return sanitisation.call();
+      }
+    };
+  }
 
-    return output.toByteArray();
+  private static Function<PDFBoxCleanCommand, PDFBoxCleanCommand> cleanActions(
+      boolean formFieldRequired) {
+    return pdf -> formFieldRequired ? pdf.validateFormFields().sanitise() : pdf.sanitise();
   }
 
   private StreamingOutput generateFilteredPdfAndReturnAsStreamingOutput(
       final InputStream pdfStream,
+      final long pdfSize,
       final Function<PDFBoxCleanCommand, PDFBoxCleanCommand> pdfActions) {
     return outputStream -> {
-      try (final PDFBoxCleanCommand pdf = new PDFBoxCleanCommand(loadPdf(pdfStream))) {
+      try (final PDFBoxCleanCommand pdf =
+          new PDFBoxCleanCommand(loadPdf(pdfStream, memoryUsageSetting(pdfSize)))) {
         pdfActions.apply(pdf).saveToStream(outputStream);
       } catch(InternalServerErrorException ise) {
         throw new BadRequestException("Error in sanitising PDF", ise);
@@ -46,10 +139,17 @@ public class SanitiseService {
     };
   }
 
-  public PDDocument loadPdf(InputStream pdfStream) {
+  private MemoryUsageSetting memoryUsageSetting(final long pdfSize) {
+    // parsed objects take more room than the file itself, but the file size is a fair guide to
+    // how much buffering a document needs before it is worth going to disk
+    return MemoryUsageSetting.setupMixed(
+        Math.min(pdfSize, maximumMainMemoryPerDocument), maximumTempFileSizePerDocument);
+  }
+
+  public PDDocument loadPdf(InputStream pdfStream, MemoryUsageSetting memoryUsageSetting) {
     final PDDocument loadedPdf;
     try {
-      loadedPdf = PDDocument.load(pdfStream, MemoryUsageSetting.setupTempFileOnly());
+      loadedPdf = PDDocument.load(pdfStream, memoryUsageSetting);
     } catch (final IOException ioe) {
       LOGGER.warn("Failed to load pdDocument", ioe);
       try {
@@ -0,0 +1,296 @@
+package uk.gov.defra.plants.filestorage.stream;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.microsoft.azure.storage.blob.BlobAccessConditions;
+import com.microsoft.azure.storage.blob.BlobRange;
+import com.microsoft.azure.storage.blob.BlockBlobURL;
+import com.microsoft.azure.storage.blob.DownloadResponse;
+import com.microsoft.azure.storage.blob.Metadata;
+import com.microsoft.azure.storage.blob.StorageException;
+import com.microsoft.azure.storage.blob.models.BlobDownloadHeaders;
+import com.microsoft.azure.storage.blob.models.BlockBlobCommitBlockListResponse;
+import com.microsoft.azure.storage.blob.models.BlockBlobUploadResponse;
+import com.microsoft.azure.storage.blob.models.ModifiedAccessConditions;
+import com.microsoft.rest.v2.util.FlowableUtil;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.inject.Inject;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import uk.gov.defra.plants.filestorage.BlobTransferConfiguration;
+import uk.gov.defra.plants.filestorage.FileStorageServiceConfiguration;
+
+/**
+ * Moves block blobs in fixed size blocks, a bounded number at a time, retrying each block on its
+ * own. Uploads read the blocks straight from a spooled file; blobs that fit in one block go up in
+ * a single put. Downloads fetch ranges ahead of the one being written and write them out in order,
+ * so at most {@code parallelism} blocks are held in memory. Every range after the first is read
+ * only if the blob still has the ETag the first range came back with, so a blob overwritten during
+ * a download fails it rather than mixing the old and new content.
+ */
+@Slf4j
+public class BlockBlobTransferEngine {
+
+  private static final int REQUESTED_RANGE_NOT_SATISFIABLE = 416;
+
+  private final long blockSize;
+  private final int parallelism;
+  private final int blockRetries;
+  private final long blockTimeoutMs;
+  private final Timer uploads;
+  private final Timer downloads;
+  private final Meter bytesUploaded;
+  private final Meter bytesDownloaded;
+
+  @Inject
+  public BlockBlobTransferEngine(
+      final FileStorageServiceConfiguration configuration, final MetricRegistry metricRegistry) {
+    this(configuration.getBlobTransfer(), metricRegistry);
+  }
+
+  public BlockBlobTransferEngine(
+      final BlobTransferConfiguration configuration, final MetricRegistry metricRegistry) {
+    this.blockSize = configuration.getBlockSize().toBytes();
+    this.parallelism = configuration.getParallelism();
+    this.blockRetries = configuration.getBlockRetries();
+    this.blockTimeoutMs = configuration.getBlockTimeout().toMilliseconds();
+    this.uploads = metricRegistry.timer(name(BlockBlobTransferEngine.class, "uploads"));
+    this.downloads = metricRegistry.timer(name(BlockBlobTransferEngine.class, "downloads"));
+    this.bytesUploaded =
+        metricRegistry.meter(name(BlockBlobTransferEngine.class, "bytes-uploaded"));
+    this.bytesDownloaded =
+        metricRegistry.meter(name(BlockBlobTransferEngine.class, "bytes-downloaded"));
+  }
+
+  /** Returns the status code of the put or of the block list commit. */
+  public Single<Integer> upload(
+      final BlockBlobURL blockBlobURL, final SpooledFile file, final Metadata metadata) {
+    return Single.using(
+        () -> AsynchronousFileChannel.open(file.getPath(), StandardOpenOption.READ),
+        channel -> timed(uploads, upload(blockBlobURL, channel, channel.size(), metadata)),
+        this::closeQuietly);
+  }
+
+  public Completable download(final BlockBlobURL blockBlobURL, final OutputStream output) {
+    final WritableByteChannel channel = Channels.newChannel(output);
+    return timed(
+        downloads,
+        downloadBlock(blockBlobURL, 0, null)
+            .flatMapPublisher(
+                first ->
+                    Flowable.just(first)
+                        .concatWith(
+                            remainingBlocks(
+                                blockBlobURL, first.getBlobSize(), ifMatch(first.getETag()))))
+            .concatMapCompletable(
+                block ->
+                    Completable.fromAction(
+                        () -> {
+                          for (ByteBuffer buffer : block.getBuffers()) {
+                            write(output, channel, buffer);
+                          }
+                          output.flush();
+                        })));
+  }
+
+  private Single<Integer> upload(
+      final BlockBlobURL blockBlobURL,
+      final AsynchronousFileChannel channel,
+      final long size,
+      final Metadata metadata) {
+    if (size <= blockSize) {
+      return perBlock(
+              Single.defer(
+                  () ->
+                      blockBlobURL.upload(
+                          FlowableUtil.readFile(channel, 0, size), size, null, metadata, null, null)))
+          .doOnSuccess(response -> bytesUploaded.mark(size))
+          .map(BlockBlobUploadResponse::statusCode);
+    }
+
+    final int blockCount = blockCount(size);
+    final List<String> blockIds =
+        IntStream.range(0, blockCount).mapToObj(this::blockId).collect(toList());
+
+    return Flowable.range(0, blockCount)
+        .flatMapCompletable(
+            block -> {
+              final long offset = block * blockSize;
+              final long length = Math.min(blockSize, size - offset);
+              return perBlock(
+                      Single.defer(
+                          () ->
+                              blockBlobURL.stageBlock(
+                                  blockIds.get(block),
+                                  FlowableUtil.readFile(channel, offset, length),
+                                  length,
+                                  null,
+                                  null)))
+                  .doOnSuccess(response -> bytesUploaded.mark(length))
+                  .ignoreElement();
+            },
+            false,
+            parallelism)
+        .andThen(
+            perBlock(
+                Single.defer(
+                    () -> blockBlobURL.commitBlockList(blockIds, null, metadata, null, null))))
+        .map(BlockBlobCommitBlockListResponse::statusCode);
+  }
+
+  private Flowable<DownloadedBlock> remainingBlocks(
+      final BlockBlobURL blockBlobURL,
+      final long blobSize,
+      final BlobAccessConditions accessConditions) {
+    final int blockCount = blockCount(blobSize);
+    if (blockCount <= 1) {
+      return Flowable.empty();
+    }
+    return Flowable.range(1, blockCount - 1)
+        .concatMapEager(
+            block ->
+                downloadBlock(blockBlobURL, block * blockSize, accessConditions).toFlowable(),
+            parallelism,
+            1);
+  }
+
+  private Single<DownloadedBlock> downloadBlock(
+      final BlockBlobURL blockBlobURL,
+      final long offset,
+      final BlobAccessConditions accessConditions) {
+    return perBlock(
+            Single.defer(
+                () ->
+                    blockBlobURL
+                        .download(
+                            new BlobRange().withOffset(offset).withCount(blockSize),
+                            accessConditions,
+                            false,
+                            null)
+                        .flatMap(
+                            response ->
+                                response
+                                    .rawResponse()
+                                    .body()
+                                    .toList()
+                                    .map(buffers -> DownloadedBlock.of(response, buffers)))))
+        .onErrorResumeNext(
+            e ->
+                offset == 0 && isEmptyBlob(e)
+                    ? Single.just(DownloadedBlock.EMPTY)
+                    : Single.error(e))
+        .doOnSuccess(block -> bytesDownloaded.mark(block.getSize()));
+  }
+
+  private static BlobAccessConditions ifMatch(final String eTag) {
+    return eTag == null
+        ? null
+        : new BlobAccessConditions()
+            .withModifiedAccessConditions(new ModifiedAccessConditions().withIfMatch(eTag));
+  }
+
+  private <T> Single<T> perBlock(final Single<T> request) {
+    return request.timeout(blockTimeoutMs, TimeUnit.MILLISECONDS).retry(blockRetries);
+  }
+
+  private static <T> Single<T> timed(final Timer timer, final Single<T> transfer) {
+    return Single.defer(
+        () -> {
+          final Timer.Context context = timer.time();
+          return transfer.doFinally(context::stop);
+        });
+  }
+
+  private static Completable timed(final Timer timer, final Completable transfer) {
+    return Completable.defer(
+        () -> {
+          final Timer.Context context = timer.time();
+          return transfer.doFinally(context::stop);
+        });
+  }
+
+  private int blockCount(final long size) {
+    return (int) ((size + blockSize - 1) / blockSize);
+  }
+
+  private String blockId(final int block) {
+    // block ids in a blob must all be the same length once decoded
+    return Base64.getEncoder().encodeToString(String.format("%08d", block).getBytes(UTF_8));
+  }
+
+  private static void write(
+      final OutputStream output, final WritableByteChannel channel, final ByteBuffer buffer)
+      throws IOException {
+    if (buffer.hasArray()) {
+      output.write(
+          buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    } else {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  private static boolean isEmptyBlob(final Throwable e) {
+    // a ranged read of an empty blob is rejected rather than returning no content
+    return e instanceof StorageException
+        && ((StorageException) e).statusCode() == REQUESTED_RANGE_NOT_SATISFIABLE;
+  }
+
+  private void closeQuietly(final AsynchronousFileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to close spooled upload channel", e);
+    }
+  }
+
+  @Value
+  private static class DownloadedBlock {
+    static final DownloadedBlock EMPTY =
+        new DownloadedBlock(Collections.emptyList(), 0, 0, null);
+
+    List<ByteBuffer> buffers;
+    long size;
+    long blobSize;
+    String eTag;
+
+    static DownloadedBlock of(final DownloadResponse response, final List<ByteBuffer> buffers) {
+      final long size = buffers.stream().mapToLong(ByteBuffer::remaining).sum();
+      final BlobDownloadHeaders headers = response.headers();
+      return new DownloadedBlock(
+          buffers, size, blobSize(headers, size), headers == null ? null : headers.eTag());
+    }
+
+    /**
+     * The full blob size from a {@code bytes 0-4194303/12582912} content range. A response
+     * without one carried the whole blob.
+     */
+    private static long blobSize(final BlobDownloadHeaders headers, final long size) {
+      final String contentRange = headers == null ? null : headers.contentRange();
+      return StringUtils.contains(contentRange, '/')
+          ? Long.parseLong(StringUtils.substringAfterLast(contentRange, "/"))
+          : size;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package uk.gov.defra.plants.filestorage.stream;
+
+import com.google.common.io.ByteSource;
+import com.google.common.io.MoreFiles;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An upload held in a temporary file rather than on the heap, so each stage of the upload pipeline
+ * can stream from it and only a copy buffer's worth of the file is ever in memory. The file is
+ * deleted when the spool is closed.
+ */
+@Slf4j
+public class SpooledFile implements AutoCloseable {
+
+  private static final String PREFIX = "upload-";
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final Path path;
+
+  private SpooledFile(final Path path) {
+    this.path = path;
+  }
+
+  public static SpooledFile create() throws IOException {
+    return new SpooledFile(Files.createTempFile(PREFIX, null));
+  }
+
+  /**
+   * Copies the input into a new spool. Copying stops one byte past {@code limit}, which is enough
+   * for validation to reject the upload as too big without writing the rest of it to disk.
+   */
+  public static SpooledFile spool(final InputStream input, final long limit) throws IOException {
+    final SpooledFile spooledFile = create();
+    try (OutputStream output = Files.newOutputStream(spooledFile.path)) {
+      final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+      long copied = 0;
+      int read;
+      while (copied <= limit && (read = input.read(buffer)) != -1) {
+        output.write(buffer, 0, read);
+        copied += read;
+      }
+    } catch (IOException | RuntimeException e) {
+      spooledFile.close();
+      throw e;
+    }
+    return spooledFile;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public long size() throws IOException {
+    return Files.size(path);
+  }
+
+  public ByteSource asByteSource() {
+    return MoreFiles.asByteSource(path);
+  }
+
+  @Override
+  public void close() {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to delete spooled upload {}", path, e);
+    }
+  }
+}
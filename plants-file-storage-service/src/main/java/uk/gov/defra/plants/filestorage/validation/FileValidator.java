@@ -37,9 +37,14 @@ public class FileValidator {
 
   public void validate(
       byte[] content, FileType fileType, String version, DocumentCategory documentCategory) {
+    validate((long) content.length, fileType, version, documentCategory);
+  }
+
+  public void validate(
+      long dataSize, FileType fileType, String version, DocumentCategory documentCategory) {
 
     Set<ConstraintViolationExceptionBase> violations =
-        validateSizeAndType(content.length, fileType, documentCategory);
+        validateSizeAndType(dataSize, fileType, documentCategory);
 
     validateVersion(version, violations);
 
@@ -90,12 +95,16 @@ public class FileValidator {
     return fileType;
   }
 
+  public long getMaxSizeInBytes() {
+    return maxSizeInMb * 1024L * 1024L;
+  }
+
   static Optional<FileType> getFileTypeFrom(@NonNull final String fileName) {
     return FileType.fromExtension(Files.getFileExtension(fileName));
   }
 
   private Set<ConstraintViolationExceptionBase> validateSizeAndType(
-      Integer dataSize, FileType fileType, DocumentCategory documentCategory) {
+      long dataSize, FileType fileType, DocumentCategory documentCategory) {
 
     final Set<ConstraintViolationExceptionBase> violations = new HashSet<>();
 
@@ -108,7 +117,7 @@ public class FileValidator {
   }
 
   private void validateSize(
-      Integer dataSize,
+      long dataSize,
       DocumentCategory documentCategory,
       final Set<ConstraintViolationExceptionBase> violations) {
     final double sizeInKb = dataSize / 1024D;
@@ -8,6 +8,8 @@ import static uk.gov.defra.plants.commontest.factory.FakeVirus.EICAR_TEST_STRING
 import com.microsoft.applicationinsights.core.dependencies.apachecommons.io.IOUtils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collection;
@@ -39,6 +41,12 @@ public class StubAntiVirus implements AntiVirus {
 
   private static final int MAXIMUM_UNZIP_RECURSION = 100;
 
+  @Override
+  @SneakyThrows(IOException.class)
+  public ScanResult scan(InputStream file) throws InterruptedException, AntiVirusException {
+    return scan(IOUtils.toByteArray(file));
+  }
+
   @Override
   public ScanResult scan(byte[] file)
       throws InterruptedException, AntiVirusException {
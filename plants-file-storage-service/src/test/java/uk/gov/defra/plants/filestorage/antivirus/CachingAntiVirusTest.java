@@ -0,0 +1,163 @@
+package uk.gov.defra.plants.filestorage.antivirus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.defra.plants.commontest.factory.TestBytesFactory.makeTestBytes;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import io.dropwizard.util.Duration;
+import java.io.InputStream;
+import java.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.commontest.factory.FakeVirus;
+import uk.gov.defra.plants.filestorage.StubAntiVirus;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingAntiVirusTest {
+
+  private static final VirusDefinitions DEFINITIONS =
+      new VirusDefinitions("20200301.001", LocalDate.of(2020, 3, 1));
+  private static final VirusDefinitions NEWER_DEFINITIONS =
+      new VirusDefinitions("20200302.001", LocalDate.of(2020, 3, 2));
+  private static final ByteSource DOCUMENT = ByteSource.wrap(makeTestBytes(5120));
+
+  @Mock private AntiVirus scanEngine;
+  @Mock private Cache<ScanVerdictCacheKey, VirusDefinitions> scanVerdictCache;
+
+  private CachingAntiVirus antiVirus;
+
+  @Before
+  public void before() {
+    antiVirus =
+        new CachingAntiVirus(
+            scanEngine, scanVerdictCache, Duration.minutes(1), new MetricRegistry());
+  }
+
+  @Test
+  public void cachesCleanVerdictsByContentHashAndDefinitions() throws Exception {
+    when(scanEngine.scan(DOCUMENT)).thenReturn(ScanResult.clean(DEFINITIONS));
+
+    antiVirus.scan(DOCUMENT);
+
+    verify(scanVerdictCache).put(key(DEFINITIONS, DOCUMENT), DEFINITIONS);
+  }
+
+  @Test
+  public void reusesCachedVerdictWithoutScanning() throws Exception {
+    when(scanEngine.scan(DOCUMENT)).thenReturn(ScanResult.clean(DEFINITIONS));
+    antiVirus.scan(DOCUMENT);
+    when(scanVerdictCache.getIfPresent(key(DEFINITIONS, DOCUMENT))).thenReturn(DEFINITIONS);
+
+    ScanResult scanResult = antiVirus.scan(DOCUMENT);
+
+    assertThat(scanResult.getStatus()).isEqualTo(InfectionStatus.CLEAN);
+    assertThat(scanResult.getDefinitions()).isEqualTo(DEFINITIONS);
+    verify(scanEngine, times(1)).scan(DOCUMENT);
+  }
+
+  @Test
+  public void scansBeforeDefinitionsAreKnown() throws Exception {
+    when(scanEngine.scan(DOCUMENT)).thenReturn(ScanResult.clean(DEFINITIONS));
+
+    antiVirus.scan(DOCUMENT);
+
+    verify(scanEngine).scan(DOCUMENT);
+    verify(scanVerdictCache, never()).getIfPresent(any());
+  }
+
+  @Test
+  public void scansAgainOnceDefinitionsHaveNotBeenConfirmedWithinCheckInterval()
+      throws Exception {
+    antiVirus =
+        new CachingAntiVirus(
+            scanEngine, scanVerdictCache, Duration.seconds(0), new MetricRegistry());
+    when(scanEngine.scan(DOCUMENT))
+        .thenReturn(ScanResult.clean(DEFINITIONS), ScanResult.clean(NEWER_DEFINITIONS));
+
+    antiVirus.scan(DOCUMENT);
+    ScanResult scanResult = antiVirus.scan(DOCUMENT);
+
+    assertThat(scanResult.getDefinitions()).isEqualTo(NEWER_DEFINITIONS);
+    verify(scanEngine, times(2)).scan(DOCUMENT);
+    verify(scanVerdictCache, never()).getIfPresent(any());
+    verify(scanVerdictCache)
+        .invalidate(ScanVerdictCacheKey.builder().definitionsVersion("20200301.001").build());
+  }
+
+  @Test
+  public void doesNotCacheVerdictsWithoutDefinitions() throws Exception {
+    when(scanEngine.scan(DOCUMENT)).thenReturn(ScanResult.clean(null));
+
+    assertThat(antiVirus.scan(DOCUMENT).getStatus()).isEqualTo(InfectionStatus.CLEAN);
+
+    verify(scanVerdictCache, never()).put(any(), any());
+  }
+
+  @Test
+  public void doesNotCacheInfectedVerdicts() throws Exception {
+    antiVirus =
+        new CachingAntiVirus(
+            StubAntiVirus.withZeroLatency(),
+            scanVerdictCache,
+            Duration.minutes(1),
+            new MetricRegistry());
+
+    assertThat(antiVirus.scan(ByteSource.wrap(FakeVirus.create())).getStatus())
+        .isEqualTo(InfectionStatus.INFECTED);
+
+    verify(scanVerdictCache, never()).put(any(), any());
+  }
+
+  @Test
+  public void doesNotCacheFailedScans() throws Exception {
+    when(scanEngine.scan(DOCUMENT)).thenThrow(new AntiVirusException("infected"));
+
+    assertThatThrownBy(() -> antiVirus.scan(DOCUMENT)).isInstanceOf(AntiVirusException.class);
+
+    verify(scanVerdictCache, never()).put(any(), any());
+  }
+
+  @Test
+  public void dropsVerdictsFromOldDefinitionsWhenDefinitionsChange() throws Exception {
+    ByteSource otherDocument = ByteSource.wrap(makeTestBytes(6144));
+    when(scanEngine.scan(DOCUMENT)).thenReturn(ScanResult.clean(DEFINITIONS));
+    when(scanEngine.scan(otherDocument)).thenReturn(ScanResult.clean(NEWER_DEFINITIONS));
+
+    antiVirus.scan(DOCUMENT);
+    antiVirus.scan(otherDocument);
+
+    verify(scanVerdictCache)
+        .invalidate(ScanVerdictCacheKey.builder().definitionsVersion("20200301.001").build());
+    verify(scanVerdictCache).put(key(NEWER_DEFINITIONS, otherDocument), NEWER_DEFINITIONS);
+  }
+
+  @Test
+  public void scansStreamsWithoutCaching() throws Exception {
+    when(scanEngine.scan(any(InputStream.class))).thenReturn(ScanResult.clean(DEFINITIONS));
+
+    antiVirus.scan(DOCUMENT.openStream());
+
+    verify(scanVerdictCache, never()).getIfPresent(any());
+    verify(scanVerdictCache, never()).put(any(), any());
+  }
+
+  private static ScanVerdictCacheKey key(VirusDefinitions definitions, ByteSource content)
+      throws Exception {
+    return ScanVerdictCacheKey.builder()
+        .definitionsVersion(definitions.getVersion())
+        .contentHash(content.hash(Hashing.sha256()).toString())
+        .build();
+  }
+}
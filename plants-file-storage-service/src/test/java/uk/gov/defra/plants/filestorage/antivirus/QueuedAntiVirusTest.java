@@ -0,0 +1,112 @@
+package uk.gov.defra.plants.filestorage.antivirus;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.gov.defra.plants.commontest.factory.TestBytesFactory.makeTestBytes;
+
+import com.codahale.metrics.MetricRegistry;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.ClientErrorException;
+import org.junit.Test;
+import uk.gov.defra.plants.commontest.factory.FakeVirus;
+import uk.gov.defra.plants.filestorage.StubAntiVirus;
+
+public class QueuedAntiVirusTest {
+
+  private static final VirusDefinitions DEFINITIONS =
+      new VirusDefinitions("20200301.001", LocalDate.of(2020, 3, 1));
+
+  private final MetricRegistry metricRegistry = new MetricRegistry();
+
+  @Test
+  public void scansWithTheScanEngineAndRecordsMetrics() throws Exception {
+    QueuedAntiVirus antiVirus =
+        new QueuedAntiVirus(file -> ScanResult.clean(DEFINITIONS), 2, 2, metricRegistry);
+
+    assertThat(antiVirus.scan(makeTestBytes(5120)).getStatus()).isEqualTo(InfectionStatus.CLEAN);
+
+    assertThat(metricRegistry.timer(name(QueuedAntiVirus.class, "scan-latency")).getCount())
+        .isEqualTo(1);
+    assertThat(gauge("definition-revision")).isEqualTo("20200301.001");
+    assertThat(gauge("queue-depth")).isEqualTo(0);
+  }
+
+  @Test
+  public void keepsTheLastDefinitionRevisionWhenAScanReportsNoDefinitions() throws Exception {
+    Iterator<ScanResult> scanResults =
+        Arrays.asList(ScanResult.clean(DEFINITIONS), ScanResult.clean(null)).iterator();
+    QueuedAntiVirus antiVirus =
+        new QueuedAntiVirus(file -> scanResults.next(), 1, 1, metricRegistry);
+
+    antiVirus.scan(makeTestBytes(5120));
+
+    assertThat(antiVirus.scan(makeTestBytes(5120)).getStatus()).isEqualTo(InfectionStatus.CLEAN);
+    assertThat(gauge("definition-revision")).isEqualTo("20200301.001");
+  }
+
+  @Test
+  public void passesInfectedResultsThrough() throws Exception {
+    QueuedAntiVirus antiVirus =
+        new QueuedAntiVirus(StubAntiVirus.withZeroLatency(), 1, 1, metricRegistry);
+
+    assertThat(antiVirus.scan(FakeVirus.create()).getStatus())
+        .isEqualTo(InfectionStatus.INFECTED);
+  }
+
+  @Test
+  public void rejectsScansOnceTheQueueIsFull() throws Exception {
+    CountDownLatch scanStarted = new CountDownLatch(1);
+    CountDownLatch releaseScan = new CountDownLatch(1);
+    QueuedAntiVirus antiVirus =
+        new QueuedAntiVirus(
+            file -> {
+              scanStarted.countDown();
+              releaseScan.await(5, TimeUnit.SECONDS);
+              return ScanResult.clean(DEFINITIONS);
+            },
+            1,
+            1,
+            metricRegistry);
+
+    ExecutorService uploads = Executors.newFixedThreadPool(2);
+    try {
+      Future<ScanResult> scanning = uploads.submit(() -> antiVirus.scan(makeTestBytes(5120)));
+      scanStarted.await(5, TimeUnit.SECONDS);
+      Future<ScanResult> queued = uploads.submit(() -> antiVirus.scan(makeTestBytes(5120)));
+      waitForQueueDepth(1);
+
+      assertThatThrownBy(() -> antiVirus.scan(makeTestBytes(5120)))
+          .isInstanceOf(ClientErrorException.class)
+          .hasFieldOrPropertyWithValue("response.status", 429);
+
+      releaseScan.countDown();
+      assertThat(scanning.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(InfectionStatus.CLEAN);
+      assertThat(queued.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(InfectionStatus.CLEAN);
+    } finally {
+      uploads.shutdownNow();
+    }
+
+    assertThat(metricRegistry.meter(name(QueuedAntiVirus.class, "rejected-scans")).getCount())
+        .isEqualTo(1);
+  }
+
+  private Object gauge(String metric) {
+    return metricRegistry.getGauges().get(name(QueuedAntiVirus.class, metric)).getValue();
+  }
+
+  private void waitForQueueDepth(int depth) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!Integer.valueOf(depth).equals(gauge("queue-depth"))
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+}
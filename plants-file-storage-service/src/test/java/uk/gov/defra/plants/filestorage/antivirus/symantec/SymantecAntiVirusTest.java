@@ -10,6 +10,7 @@ import com.symantec.scanengine.api.ResultStatus;
 import com.symantec.scanengine.api.ScanException;
 import com.symantec.scanengine.api.StreamScanRequest;
 import com.symantec.scanengine.api.ThreatInfoEx;
+import java.io.ByteArrayInputStream;
 import java.util.Date;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Before;
@@ -47,7 +48,7 @@ public class SymantecAntiVirusTest {
 
         when(result.getStatus()).thenReturn(ResultStatus.CLEAN);
 
-        ScanResult result = antiVirus.scan(makeTestBytes(5120));
+        ScanResult result = antiVirus.scan(new ByteArrayInputStream(makeTestBytes(5120)));
         assertThat(result.getStatus()).isEqualTo(InfectionStatus.CLEAN);
     }
 
@@ -9,12 +9,15 @@ import static uk.gov.defra.plants.common.security.UserRoles.ADMIN_ROLE;
 import static uk.gov.defra.plants.common.security.UserRoles.CASE_WORKER_ROLE;
 import static uk.gov.defra.plants.common.security.UserRoles.EXPORTER_ROLE;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.microsoft.azure.storage.blob.BlockBlobURL;
 import com.microsoft.azure.storage.blob.models.BlobDeleteResponse;
 import com.microsoft.azure.storage.blob.models.BlobGetPropertiesHeaders;
 import com.microsoft.azure.storage.blob.models.BlobGetPropertiesResponse;
 import io.reactivex.Single;
+import java.net.URI;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
@@ -25,6 +28,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.defra.plants.common.security.User;
+import uk.gov.defra.plants.filestorage.BlobMetadataCacheConfiguration;
 import uk.gov.defra.plants.filestorage.provider.BlockBlobUrlProvider;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -62,7 +66,15 @@ public class AuthUtilTest {
     when(responseSingle.blockingGet()).thenReturn(response);
     when(response.headers()).thenReturn(headers);
     when(headers.metadata()).thenReturn(METADATA);
-    authUtil = new AuthUtil(blockBlobUrlProvider, "");
+    when(blockBlobUrlProvider.getAzureUri(anyString())).thenReturn(URI.create("http://test.com/"));
+    authUtil =
+        new AuthUtil(
+            blockBlobUrlProvider,
+            "",
+            new BlobMetadataCache(
+                BlobMetadataCacheConfiguration.builder().build(),
+                CacheBuilder.newBuilder().maximumSize(0).build(),
+                new MetricRegistry()));
   }
 
   @Test
@@ -0,0 +1,85 @@
+package uk.gov.defra.plants.filestorage.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.filestorage.BlobMetadataCacheConfiguration;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BlobMetadataCacheTest {
+
+  private static final URI BLOB_URI = URI.create("http://test.com/application-forms/101/doc.pdf");
+  private static final BlobMetadataCacheKey KEY = BlobMetadataCacheKey.of(BLOB_URI);
+  private static final Map<String, String> METADATA = ImmutableMap.of("applicant", "exporter");
+
+  @Mock private Cache<BlobMetadataCacheKey, Map<String, String>> sharedCache;
+
+  private final AtomicInteger blobPropertiesCalls = new AtomicInteger();
+  private final Supplier<Map<String, String>> blobProperties =
+      () -> {
+        blobPropertiesCalls.incrementAndGet();
+        return METADATA;
+      };
+
+  private BlobMetadataCache blobMetadataCache;
+
+  @Before
+  public void before() {
+    blobMetadataCache =
+        new BlobMetadataCache(
+            BlobMetadataCacheConfiguration.builder().build(), sharedCache, new MetricRegistry());
+  }
+
+  @Test
+  public void readsBlobPropertiesOnceAndSharesTheResult() {
+    assertThat(blobMetadataCache.get(BLOB_URI, blobProperties)).isEqualTo(METADATA);
+    assertThat(blobMetadataCache.get(BLOB_URI, blobProperties)).isEqualTo(METADATA);
+
+    assertThat(blobPropertiesCalls).hasValue(1);
+    verify(sharedCache).put(KEY, METADATA);
+  }
+
+  @Test
+  public void usesMetadataCachedByAnotherInstance() {
+    when(sharedCache.getIfPresent(KEY)).thenReturn(METADATA);
+
+    assertThat(blobMetadataCache.get(BLOB_URI, blobProperties)).isEqualTo(METADATA);
+
+    assertThat(blobPropertiesCalls).hasValue(0);
+    verify(sharedCache, never()).put(KEY, METADATA);
+  }
+
+  @Test
+  public void servesMetadataWrittenAtUpload() {
+    blobMetadataCache.put(BLOB_URI, METADATA);
+
+    assertThat(blobMetadataCache.get(BLOB_URI, blobProperties)).isEqualTo(METADATA);
+
+    assertThat(blobPropertiesCalls).hasValue(0);
+  }
+
+  @Test
+  public void readsBlobPropertiesAgainOnceInvalidated() {
+    blobMetadataCache.put(BLOB_URI, METADATA);
+
+    blobMetadataCache.invalidate(BLOB_URI);
+    blobMetadataCache.get(BLOB_URI, blobProperties);
+
+    verify(sharedCache).invalidate(KEY);
+    assertThat(blobPropertiesCalls).hasValue(1);
+  }
+}
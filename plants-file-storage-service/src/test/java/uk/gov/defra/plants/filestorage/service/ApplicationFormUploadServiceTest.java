@@ -4,7 +4,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -18,6 +17,9 @@ import static uk.gov.defra.plants.filestorage.representation.DocumentCategory.IM
 import static uk.gov.defra.plants.filestorage.representation.DocumentCategory.MANUAL_EHC;
 import static uk.gov.defra.plants.filestorage.representation.DocumentCategory.SUPPLEMENTARY;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.DOWNLOAD_FILE_NAME;
+import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.blobMetadataCache;
+import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.common_sanitise_setup;
+import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.transferEngine;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -123,6 +125,8 @@ public class ApplicationFormUploadServiceTest {
   @Before
   public void setup() {
     when(blockBlobUrlProvider.getBlockBlobUrlFromUri(any())).thenReturn(blockBlobURL);
+    when(blockBlobUrlProvider.getAzureUri(any()))
+        .thenAnswer(invocation -> URI.create("http://test.com/" + invocation.getArgument(0)));
     when(fileStorageServiceConfiguration.getAzureBlobStorageTimeoutMs()).thenReturn(1000L);
     applicationFormUploadService =
         new ApplicationFormUploadService(
@@ -132,8 +136,10 @@ public class ApplicationFormUploadServiceTest {
             streamingOutputProvider,
             fileStorageServiceConfiguration,
             fileStorageProtectiveMonitoringService,
-            sanitiseService);
-    when(sanitiseService.sanitisePdf(any(byte[].class), anyBoolean())).thenReturn(testByteArray);
+            sanitiseService,
+            transferEngine(),
+            blobMetadataCache());
+    common_sanitise_setup(sanitiseService, testByteArray);
     when(blockBlobURL.getProperties()).thenReturn(responseSingle);
     when(responseSingle.blockingGet()).thenReturn(response);
     when(response.headers()).thenReturn(headers);
@@ -10,6 +10,7 @@ import static uk.gov.defra.plants.commontest.factory.TestBytesFactory.makeTestBy
 import static uk.gov.defra.plants.filestorage.representation.DocumentCategory.BULK_UPLOAD;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteSource;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import javax.validation.ConstraintViolationException;
@@ -47,9 +48,10 @@ public class FileReadAndValidateServiceTest {
   }
 
   @Test
-  public void documentDoesNotThrowExceptionForCorrectFile() throws InterruptedException {
+  public void documentDoesNotThrowExceptionForCorrectFile()
+      throws InterruptedException, IOException {
     ScanResult scanResult = mock(ScanResult.class);
-    when(antiVirus.scan(any())).thenReturn(scanResult);
+    when(antiVirus.scan(any(ByteSource.class))).thenReturn(scanResult);
     when(formDataContentDisposition.getFileName()).thenReturn("fileName.csv");
     assertThatCode(
             () ->
@@ -120,7 +122,7 @@ public class FileReadAndValidateServiceTest {
   public void documentThrowsExceptionForInfectedFile() throws InterruptedException, IOException {
     when(formDataContentDisposition.getFileName()).thenReturn("fileName.csv");
     try {
-      when(antiVirus.scan(any())).thenThrow(AntiVirusException.class);
+      when(antiVirus.scan(any(ByteSource.class))).thenThrow(AntiVirusException.class);
       fileReadAndValidateService.readAndValidateDocument(
           user,
           new ByteArrayInputStream(makeTestBytes(5120)),
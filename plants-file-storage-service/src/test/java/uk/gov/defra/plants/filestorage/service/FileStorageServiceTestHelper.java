@@ -4,12 +4,15 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.defra.plants.common.eventhub.model.EventPriority.NORMAL;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.microsoft.azure.storage.blob.BlockBlobURL;
 import com.microsoft.azure.storage.blob.DownloadResponse;
@@ -26,6 +29,8 @@ import io.reactivex.Single;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.function.BiFunction;
 import javax.ws.rs.core.Response;
@@ -35,9 +40,15 @@ import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import uk.gov.defra.plants.common.eventhub.model.Event;
 import uk.gov.defra.plants.common.eventhub.model.EventDetails;
 import uk.gov.defra.plants.common.representation.FileType;
+import uk.gov.defra.plants.filestorage.BlobMetadataCacheConfiguration;
+import uk.gov.defra.plants.filestorage.BlobTransferConfiguration;
+import uk.gov.defra.plants.filestorage.auth.BlobMetadataCache;
 import uk.gov.defra.plants.filestorage.provider.BlockBlobUrlProvider;
 import uk.gov.defra.plants.filestorage.provider.StreamingOutputProvider;
 import uk.gov.defra.plants.filestorage.representation.FileUploadResponse;
+import uk.gov.defra.plants.filestorage.service.sanitise.SanitiseService;
+import uk.gov.defra.plants.filestorage.stream.BlockBlobTransferEngine;
+import uk.gov.defra.plants.filestorage.stream.FlowableStreamingOutput;
 
 public final class FileStorageServiceTestHelper {
 
@@ -87,6 +98,13 @@ public final class FileStorageServiceTestHelper {
 
   }
 
+  public static void common_sanitise_setup(
+      final SanitiseService sanitiseService, final byte[] sanitisedContent) {
+    doAnswer(invocation -> Files.write(invocation.getArgument(1), sanitisedContent))
+        .when(sanitiseService)
+        .sanitisePdf(any(Path.class), any(Path.class), anyBoolean());
+  }
+
   public static void common_upload_assertions(
       final Response result, final String localServiceUri, final String azureUri,
       final String storageFileName, final String originalFileName, final String description, final
@@ -132,10 +150,32 @@ public final class FileStorageServiceTestHelper {
     when(mockDownloadResponse.rawResponse()).thenReturn(restResponse);
     when(blockBlobUrlProvider.getBlockBlobUrlFromUri(any())).thenReturn(blockBlobURL);
     when(blockBlobURL.download(any(), any(), anyBoolean(), any())).thenReturn(response);
-    when(streamingOutputProvider.getFlowableStreamingOutput(any(), any())).thenCallRealMethod();
+    commonStreamingOutputSetup(streamingOutputProvider);
     when(restResponse.body()).thenReturn(Flowable.just(ByteBuffer.wrap(new byte[]{1, 2})));
   }
 
+  public static void commonStreamingOutputSetup(
+      final StreamingOutputProvider streamingOutputProvider) {
+    final BlockBlobTransferEngine transferEngine = transferEngine();
+    when(streamingOutputProvider.getFlowableStreamingOutput(any(), any()))
+        .thenAnswer(
+            invocation ->
+                new FlowableStreamingOutput(
+                    invocation.getArgument(0), invocation.getArgument(1), transferEngine));
+  }
+
+  public static BlockBlobTransferEngine transferEngine() {
+    return new BlockBlobTransferEngine(
+        BlobTransferConfiguration.builder().build(), new MetricRegistry());
+  }
+
+  public static BlobMetadataCache blobMetadataCache() {
+    return new BlobMetadataCache(
+        BlobMetadataCacheConfiguration.builder().build(),
+        CacheBuilder.newBuilder().maximumSize(0).build(),
+        new MetricRegistry());
+  }
+
   public static void commonDownloadAssertions(
       final StreamingOutput result, final BlockBlobUrlProvider blockBlobUrlProvider, int numTimesGetBlobCalled)
       throws IOException {
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -17,17 +18,22 @@ import static uk.gov.defra.plants.common.security.UserRoles.EXPORTER_ROLE;
 import static uk.gov.defra.plants.commontest.factory.TestBytesFactory.makeTestBytes;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.DOWNLOAD_FILE_NAME;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.FILE_CONTENT;
+import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.blobMetadataCache;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.commonBlobUrlSetup;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.commonDocumentDeleteSetup;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.commonDownloadAssertions;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.commonDownloadSetup;
+import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.commonStreamingOutputSetup;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.common_file_storage_event_setup;
+import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.common_sanitise_setup;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.common_upload_assertions;
 import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.common_upload_setup;
+import static uk.gov.defra.plants.filestorage.service.FileStorageServiceTestHelper.transferEngine;
 import static uk.gov.defra.plants.filestorage.service.TemplateUploadService.DESCRIPTION;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteSource;
 import com.microsoft.azure.storage.blob.BlockBlobURL;
 import com.microsoft.azure.storage.blob.DownloadResponse;
 import com.microsoft.azure.storage.blob.StorageException;
@@ -41,6 +47,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.UUID;
 import javax.validation.ConstraintViolationException;
 import javax.ws.rs.BadRequestException;
@@ -58,6 +65,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.defra.plants.common.eventhub.model.Event;
@@ -75,6 +83,7 @@ import uk.gov.defra.plants.filestorage.provider.StreamingOutputProvider;
 import uk.gov.defra.plants.filestorage.representation.DocumentCategory;
 import uk.gov.defra.plants.filestorage.resource.TemplateResource;
 import uk.gov.defra.plants.filestorage.service.sanitise.SanitiseService;
+import uk.gov.defra.plants.filestorage.stream.SpooledFile;
 
 @RunWith(MockitoJUnitRunner.class)
 public class TemplateUploadServiceTest {
@@ -102,6 +111,8 @@ public class TemplateUploadServiceTest {
   @Before
   public void setup() {
     when(blockBlobUrlProvider.getBlockBlobUrlFromUri(any())).thenReturn(blockBlobURL);
+    when(blockBlobUrlProvider.getAzureUri(any()))
+        .thenAnswer(invocation -> URI.create("http://test.com/" + invocation.getArgument(0)));
     when(fileStorageServiceConfiguration.getAzureBlobStorageTimeoutMs()).thenReturn(1000L);
     templateUploadService =
         new TemplateUploadService(
@@ -111,7 +122,9 @@ public class TemplateUploadServiceTest {
             streamingOutputProvider,
             fileStorageServiceConfiguration,
             fileStorageProtectiveMonitoringService,
-            sanitiseService);
+            sanitiseService,
+            transferEngine(),
+            blobMetadataCache());
     when(fileStorageServiceConfiguration.getAzureBlobStorageTimeoutMs()).thenReturn(1000L);
   }
 
@@ -120,8 +133,7 @@ public class TemplateUploadServiceTest {
 
     final String expectedAzureUri = "http://test.com/" + ADMIN_TEMPLATE_STORAGE_FILE_NAME;
     final String localServiceUri = "/templates/" + ADMIN_TEMPLATE_STORAGE_FILE_NAME;
-    when(sanitiseService.sanitisePdf(any(byte[].class), anyBoolean()))
-        .thenReturn(FILE_CONTENT.getBytes());
+    common_sanitise_setup(sanitiseService, FILE_CONTENT.getBytes());
     when(blockBlobUrlProvider.getBlockBlobUrl(any())).thenReturn(blockBlobURL);
 
     common_upload_setup(blockBlobURL, contentDisposition, ORIGINAL_FILE_NAME);
@@ -165,8 +177,7 @@ public class TemplateUploadServiceTest {
     when(blockBlobUrlProvider.getBlockBlobUrl(any())).thenReturn(blockBlobURL);
     when(blockBlobURL.upload(any(), anyLong(), any(), any(), any(), any())).thenReturn(response);
     when(contentDisposition.getFileName()).thenReturn("test.pdf");
-    when(sanitiseService.sanitisePdf(any(byte[].class), anyBoolean()))
-        .thenReturn(FILE_CONTENT.getBytes());
+    common_sanitise_setup(sanitiseService, FILE_CONTENT.getBytes());
 
     assertThatThrownBy(
         () ->
@@ -185,11 +196,11 @@ public class TemplateUploadServiceTest {
 
 
   @Test
-  @SneakyThrows(InterruptedException.class)
+  @SneakyThrows({InterruptedException.class, IOException.class})
   public void createTemplate_virusScanThrowsException() throws AntiVirusException {
 
     AntiVirus mockAntivirus = mock(AntiVirus.class);
-    when(mockAntivirus.scan(any())).thenThrow(new AntiVirusException("I fell over"));
+    when(mockAntivirus.scan(any(ByteSource.class))).thenThrow(new AntiVirusException("I fell over"));
 
     TemplateUploadService templateUploadServiceWithMockScan =
         new TemplateUploadService(
@@ -199,7 +210,9 @@ public class TemplateUploadServiceTest {
             streamingOutputProvider,
             fileStorageServiceConfiguration,
             fileStorageProtectiveMonitoringService,
-            sanitiseService);
+            sanitiseService,
+            transferEngine(),
+            blobMetadataCache());
 
     when(contentDisposition.getFileName()).thenReturn("test.pdf");
     assertThatThrownBy(
@@ -223,10 +236,11 @@ public class TemplateUploadServiceTest {
   @Test
   public void createTemplate_SanitiseExceptionReturnsCorrectThrows() throws AntiVirusException {
     when(contentDisposition.getFileName()).thenReturn("test.pdf");
-    when(sanitiseService.sanitisePdf(any(byte[].class), anyBoolean()))
-        .thenThrow(
+    doThrow(
             new BadRequestException(
-                "error", Response.status(Status.BAD_REQUEST).entity("Error").build()));
+                "error", Response.status(Status.BAD_REQUEST).entity("Error").build()))
+        .when(sanitiseService)
+        .sanitisePdf(any(Path.class), any(Path.class), anyBoolean());
 
     assertThatThrownBy(
             () ->
@@ -320,7 +334,7 @@ public class TemplateUploadServiceTest {
     when(storageException.statusCode()).thenReturn(400);
     when(storageExceptionMapper.toWebApplicationException(any())).thenCallRealMethod();
     when(blockBlobURL.download(any(), any(), anyBoolean(), any())).thenReturn(response);
-    when(streamingOutputProvider.getFlowableStreamingOutput(any(), any())).thenCallRealMethod();
+    commonStreamingOutputSetup(streamingOutputProvider);
     commonBlobUrlSetup(blockBlobURL);
     Event event = common_file_storage_event_setup(fileStorageProtectiveMonitoringService);
 
@@ -465,28 +479,88 @@ public class TemplateUploadServiceTest {
 
 
   @Test
-  public void testProcessFile_SanitisePDFNotCalled_EXCELFile() {
-    String testFile = "test.pdf";
-    templateUploadService.processFile(
-        testFile.getBytes(), FileType.EXCEL, DocumentCategory.SUPPLEMENTARY);
+  public void getDocument_reusesCachedMetadataForRepeatDownloads() {
+    commonDownloadSetup(blockBlobUrlProvider, blockBlobURL, restResponse, streamingOutputProvider);
+    commonBlobUrlSetup(blockBlobURL);
+    final User adminUser =
+        User.builder().role(ADMIN_ROLE).userId(UUID.fromString(ADMIN_ID)).build();
+
+    templateUploadService.getDocument(adminUser, DOWNLOAD_FILE_NAME, "applicant");
+    templateUploadService.getDocument(adminUser, DOWNLOAD_FILE_NAME, "applicant");
 
-    verify(sanitiseService, never()).sanitisePdf(testFile.getBytes(), false);
+    verify(blockBlobURL, times(1)).getProperties();
   }
 
   @Test
-  public void testProcessFile_SanitisePDFCalled_PDFFile() {
-    String testFile = "test.pdf";
-    templateUploadService.processFile(testFile.getBytes(), FileType.PDF, DocumentCategory.EHC);
+  public void deleteAdminTemplate_dropsCachedMetadata() {
+    commonDownloadSetup(blockBlobUrlProvider, blockBlobURL, restResponse, streamingOutputProvider);
+    commonBlobUrlSetup(blockBlobURL);
+    commonDocumentDeleteSetup(blockBlobURL);
+    when(blockBlobUrlProvider.getBlockBlobUrl(any())).thenReturn(blockBlobURL);
+    when(blockBlobUrlProvider.getStorageFileName(any(), any(), any()))
+        .thenReturn(DOWNLOAD_FILE_NAME);
+    final User adminUser =
+        User.builder().role(ADMIN_ROLE).userId(UUID.fromString(ADMIN_ID)).build();
 
-    verify(sanitiseService, atLeastOnce()).sanitisePdf(testFile.getBytes(), true);
+    templateUploadService.getDocument(adminUser, DOWNLOAD_FILE_NAME, "applicant");
+    templateUploadService.delete("ehc", "test-ehc", "1.0");
+    templateUploadService.getDocument(adminUser, DOWNLOAD_FILE_NAME, "applicant");
+
+    verify(blockBlobURL, times(2)).getProperties();
+  }
+
+  @Test
+  public void testProcessFile_SanitisePDFNotCalled_EXCELFile() throws IOException {
+    try (SpooledFile testFile = spool("test.pdf")) {
+      assertThat(
+              templateUploadService.processFile(
+                  testFile, FileType.EXCEL, DocumentCategory.SUPPLEMENTARY))
+          .isSameAs(testFile);
+    }
+
+    verify(sanitiseService, never()).sanitisePdf(any(Path.class), any(Path.class), anyBoolean());
   }
 
   @Test
-  public void testProcessFile_SanitisePDFCalled_SupplementaryDocs() {
-    String testFile = "test.pdf";
-    templateUploadService.processFile(
-        testFile.getBytes(), FileType.PDF, DocumentCategory.SUPPLEMENTARY);
+  public void testProcessFile_SanitisePDFCalled_PDFFile() throws IOException {
+    try (SpooledFile testFile = spool("test.pdf");
+        SpooledFile sanitised =
+            templateUploadService.processFile(testFile, FileType.PDF, DocumentCategory.EHC)) {
+
+      verify(sanitiseService, atLeastOnce())
+          .sanitisePdf(testFile.getPath(), sanitised.getPath(), true);
+    }
+  }
+
+  @Test
+  public void testProcessFile_SanitisePDFCalled_SupplementaryDocs() throws IOException {
+    try (SpooledFile testFile = spool("test.pdf");
+        SpooledFile sanitised =
+            templateUploadService.processFile(
+                testFile, FileType.PDF, DocumentCategory.SUPPLEMENTARY)) {
+
+      verify(sanitiseService, atLeastOnce())
+          .sanitisePdf(testFile.getPath(), sanitised.getPath(), false);
+    }
+  }
+
+  @Test
+  public void testProcessFile_SanitisedCopyDeletedWhenSanitiseFails() throws IOException {
+    ArgumentCaptor<Path> target = ArgumentCaptor.forClass(Path.class);
+    doThrow(new BadRequestException("error"))
+        .when(sanitiseService)
+        .sanitisePdf(any(Path.class), target.capture(), anyBoolean());
+
+    try (SpooledFile testFile = spool("test.pdf")) {
+      assertThatThrownBy(
+              () -> templateUploadService.processFile(testFile, FileType.PDF, DocumentCategory.EHC))
+          .isInstanceOf(BadRequestException.class);
+    }
+
+    assertThat(target.getValue()).doesNotExist();
+  }
 
-    verify(sanitiseService, atLeastOnce()).sanitisePdf(testFile.getBytes(), false);
+  private static SpooledFile spool(String content) throws IOException {
+    return SpooledFile.spool(new ByteArrayInputStream(content.getBytes()), Long.MAX_VALUE);
   }
 }
@@ -27,7 +27,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class PDFBoxCleanCommandTest {
 
   public static final String PDF_HAS_NO_FIELDS_MSG = "PDF has no fields";
-  public static final String FAILED_TO_CLEAN_PDF_MSG = "PDF contains javascript which cannot be removed";
+  public static final String FAILED_TO_CLEAN_PDF_MSG =
+      "PDF contains embedded files or javascript which cannot be removed";
 
   @Mock(answer = Answers.RETURNS_DEEP_STUBS)
   private PDDocument pdDocument;
@@ -76,16 +77,16 @@ public class PDFBoxCleanCommandTest {
   }
 
   @Test
-  public void cleanJavascript_returnsPDFBoxCommand() {
-    assertThat(pdfBoxCommand.cleanJavascript()).isNotNull();
+  public void sanitise_returnsPDFBoxCommand() {
+    assertThat(pdfBoxCommand.sanitise()).isNotNull();
   }
 
   @Test
-  public void cleanJavascript_badIoThrowsBadRequestException() throws IOException {
+  public void sanitise_badIoThrowsBadRequestException() throws IOException {
 
     when(pdDocument.getDocumentCatalog().getOpenAction()).thenThrow(new IOException());
     assertThatExceptionOfType(BadRequestException.class)
-        .isThrownBy(() -> pdfBoxCommand.cleanJavascript())
+        .isThrownBy(() -> pdfBoxCommand.sanitise())
         .withMessage(FAILED_TO_CLEAN_PDF_MSG);
   }
 }
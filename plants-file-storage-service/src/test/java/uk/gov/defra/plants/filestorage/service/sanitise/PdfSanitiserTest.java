@@ -0,0 +1,92 @@
+package uk.gov.defra.plants.filestorage.service.sanitise;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Collections;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
+import org.apache.pdfbox.pdmodel.PDDocumentNameDictionary;
+import org.apache.pdfbox.pdmodel.PDEmbeddedFilesNameTreeNode;
+import org.apache.pdfbox.pdmodel.PDJavascriptNameTreeNode;
+import org.apache.pdfbox.pdmodel.interactive.action.PDActionJavaScript;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.filestorage.utils.PdfFactory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PdfSanitiserTest {
+
+  public static final String EXAMPLE_JS = "app.alert('JavaScript has just been executed!');";
+
+  private PdfFactory pdfFactory = new PdfFactory();
+
+  @Test
+  public void sanitise_shouldRemoveEmbeddedFilesFromPdf() throws IOException {
+    PDDocument document = pdfFactory.buildPdfWithEmbeddedFile();
+
+    new PdfSanitiser(document).sanitise();
+
+    PDDocumentNameDictionary namesDictionary =
+        new PDDocumentNameDictionary(document.getDocumentCatalog());
+    PDEmbeddedFilesNameTreeNode efTree = namesDictionary.getEmbeddedFiles();
+
+    assertThat(efTree).isNull();
+    assertThat(document.getDocumentInformation().getCustomMetadataValue("sanitisedEmbeddedFiles"))
+        .isNotNull();
+  }
+
+  @Test
+  public void sanitise_shouldRemoveOnlyFileAttachmentAnnotations() throws IOException {
+    PDDocument document = pdfFactory.buildPdfWithEmbeddedFileAnnotation();
+    assertThat(document.getPages().get(0).getAnnotations()).hasSize(2);
+
+    new PdfSanitiser(document).sanitise();
+
+    assertThat(
+            document
+                .getDocumentInformation()
+                .getCustomMetadataValue("sanitisedAnnotationFileAttachment"))
+        .isNotNull();
+    assertThat(document.getPages().get(0).getAnnotations()).hasSize(1);
+  }
+
+  @Test
+  public void sanitise_shouldRemoveJSFromPdf() throws IOException {
+    PDDocument document = pdfFactory.buildPdfWithEmbeddedJavascript();
+
+    new PdfSanitiser(document).sanitise();
+
+    assertThat(document.getDocumentCatalog().getOpenAction()).isNull();
+    assertThat(document.getDocumentInformation().getCustomMetadataValue("sanitisedOpenActionJS"))
+        .isNotNull();
+  }
+
+  @Test
+  public void sanitise_shouldRemoveDocumentLevelJSFromPdf() throws IOException {
+    PDDocument document = pdfFactory.buildBasicPdDocument();
+    PDDocumentCatalog catalog = document.getDocumentCatalog();
+    PDJavascriptNameTreeNode javascript = new PDJavascriptNameTreeNode();
+    javascript.setNames(Collections.singletonMap("alert", new PDActionJavaScript(EXAMPLE_JS)));
+    PDDocumentNameDictionary names = new PDDocumentNameDictionary(catalog);
+    names.setJavascript(javascript);
+    catalog.setNames(names);
+
+    new PdfSanitiser(document).sanitise();
+
+    assertThat(document.getDocumentCatalog().getNames().getJavaScript()).isNull();
+    assertThat(
+            document.getDocumentInformation().getCustomMetadataValue("sanitisedDocumentLevelJS"))
+        .isNotNull();
+  }
+
+  @Test
+  public void sanitise_shouldIgnoreNonJSActionInPdf() throws IOException {
+    PDDocument document = pdfFactory.buildBasicPdDocument();
+
+    new PdfSanitiser(document).sanitise();
+
+    assertThat(document.getDocumentCatalog().getOpenAction()).isNotNull();
+  }
+}
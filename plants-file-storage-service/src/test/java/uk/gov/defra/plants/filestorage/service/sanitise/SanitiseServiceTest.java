@@ -2,15 +2,26 @@ package uk.gov.defra.plants.filestorage.service.sanitise;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.microsoft.applicationinsights.core.dependencies.apachecommons.io.IOUtils;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.filestorage.PdfSanitiserConfiguration;
+import uk.gov.defra.plants.filestorage.stream.SpooledFile;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SanitiseServiceTest {
@@ -19,62 +30,76 @@ public class SanitiseServiceTest {
 
   @Before
   public void before() {
-    sanitiseService = new SanitiseService();
+    sanitiseService =
+        new SanitiseService(
+            PdfSanitiserConfiguration.builder().build(),
+            MoreExecutors.newDirectExecutorService(),
+            new MetricRegistry());
   }
 
   @Test
   public void testSanitisePdfWithEmbeddedJsInForm() throws IOException {
 
-    byte[] originalByteArray =
-        IOUtils.toByteArray(new FileInputStream("src/test/resources/7006EHC_V3.pdf"));
-
     byte[] sanitisedByteArray =
         IOUtils.toByteArray(new FileInputStream("src/test/resources/stripped_7006EHC_V3.pdf"));
 
-    assertThat(sanitiseService.sanitisePdf(originalByteArray, true))
+    assertThat(sanitise(new FileInputStream("src/test/resources/7006EHC_V3.pdf")))
         .containsExactly(sanitisedByteArray);
   }
 
   @Test
   public void testSanitisePdfWithJs() throws IOException {
 
-    byte[] originalByteArray =
-        IOUtils.toByteArray(new FileInputStream("src/test/resources/pdfWithJS.pdf"));
-
     byte[] sanitisedByteArray =
         IOUtils.toByteArray(new FileInputStream("src/test/resources/stripped_pdfWithJS.pdf"));
 
-    assertThat(sanitiseService.sanitisePdf(originalByteArray, true))
+    assertThat(sanitise(new FileInputStream("src/test/resources/pdfWithJS.pdf")))
         .containsExactly(sanitisedByteArray);
   }
 
   @Test
   public void testSanitisePdfWithEmbeddedFiles() throws IOException {
 
-    byte[] originalByteArray =
-        IOUtils.toByteArray(new FileInputStream("src/test/resources/pdfWithEmbedded.pdf"));
-
     byte[] sanitisedByteArray =
         IOUtils.toByteArray(new FileInputStream("src/test/resources/stripped_pdfWithEmbedded.pdf"));
 
-    assertThat(sanitiseService.sanitisePdf(originalByteArray, true))
+    assertThat(sanitise(new FileInputStream("src/test/resources/pdfWithEmbedded.pdf")))
         .containsExactly(sanitisedByteArray);
   }
 
   @Test
   public void testSanitisePdfWithMalformedContent() throws IOException {
 
-    byte[] originalByteArray =
-        IOUtils.toByteArray(new FileInputStream("src/test/resources/malformed.pdf"));
-
     assertThatExceptionOfType(BadRequestException.class)
-        .isThrownBy(() -> sanitiseService.sanitisePdf(originalByteArray, true));
+        .isThrownBy(() -> sanitise(new FileInputStream("src/test/resources/malformed.pdf")));
   }
 
   @Test
   public void testSanitisePdfWithInvalidPdf() {
 
     assertThatExceptionOfType(BadRequestException.class)
-        .isThrownBy(() -> sanitiseService.sanitisePdf("invalid data".getBytes(), true));
+        .isThrownBy(() -> sanitise(new ByteArrayInputStream("invalid data".getBytes())));
+  }
+
+  @Test
+  public void testSanitisePdfRejectedWhenSanitiserQueueIsFull() throws IOException {
+    ExecutorService fullExecutor = Executors.newSingleThreadExecutor();
+    fullExecutor.shutdown();
+    sanitiseService =
+        new SanitiseService(
+            PdfSanitiserConfiguration.builder().build(), fullExecutor, new MetricRegistry());
+
+    assertThatThrownBy(() -> sanitise(new FileInputStream("src/test/resources/pdfWithJS.pdf")))
+        .isInstanceOf(ClientErrorException.class)
+        .hasFieldOrPropertyWithValue("response.status", 429);
+  }
+
+  private byte[] sanitise(InputStream pdf) throws IOException {
+    try (InputStream input = pdf;
+        SpooledFile source = SpooledFile.spool(input, Long.MAX_VALUE);
+        SpooledFile target = SpooledFile.create()) {
+      sanitiseService.sanitisePdf(source.getPath(), target.getPath(), true);
+      return Files.readAllBytes(target.getPath());
+    }
   }
 }
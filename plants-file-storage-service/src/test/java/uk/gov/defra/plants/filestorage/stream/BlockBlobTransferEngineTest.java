@@ -0,0 +1,265 @@
+package uk.gov.defra.plants.filestorage.stream;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.microsoft.azure.storage.blob.BlobAccessConditions;
+import com.microsoft.azure.storage.blob.BlobRange;
+import com.microsoft.azure.storage.blob.BlockBlobURL;
+import com.microsoft.azure.storage.blob.DownloadResponse;
+import com.microsoft.azure.storage.blob.Metadata;
+import com.microsoft.azure.storage.blob.models.BlobDownloadHeaders;
+import com.microsoft.azure.storage.blob.models.BlockBlobCommitBlockListResponse;
+import com.microsoft.azure.storage.blob.models.BlockBlobStageBlockResponse;
+import com.microsoft.azure.storage.blob.models.BlockBlobUploadResponse;
+import com.microsoft.rest.v2.RestResponse;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.filestorage.BlobTransferConfiguration;
+
+/**
+ * Runs the engine against an in-memory stand-in for a block blob, which stages and commits blocks
+ * and serves ranged reads the way the storage emulator does.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BlockBlobTransferEngineTest {
+
+  private static final int BLOCK_SIZE = 1024;
+  private static final Metadata METADATA = new Metadata();
+  private static final String ETAG = "\"0x8D7A1B2C3D4E5F6\"";
+
+  @Mock private BlockBlobURL blockBlobURL;
+
+  private final MetricRegistry metricRegistry = new MetricRegistry();
+  private final Map<String, byte[]> stagedBlocks = new ConcurrentHashMap<>();
+  private byte[] committedBlob;
+  private BlockBlobTransferEngine transferEngine;
+
+  @Before
+  public void before() {
+    transferEngine =
+        new BlockBlobTransferEngine(
+            BlobTransferConfiguration.builder()
+                .blockSize(Size.bytes(BLOCK_SIZE))
+                .parallelism(2)
+                .blockRetries(2)
+                .blockTimeout(Duration.seconds(5))
+                .build(),
+            metricRegistry);
+  }
+
+  @Test
+  public void uploadsFileThatFitsInOneBlockInASinglePut() throws IOException {
+    when(blockBlobURL.upload(any(), anyLong(), any(), any(), any(), any()))
+        .thenReturn(Single.just(new BlockBlobUploadResponse(null, 201, null, null, null)));
+
+    try (SpooledFile file = spool(testBytes(BLOCK_SIZE))) {
+      assertThat(transferEngine.upload(blockBlobURL, file, METADATA).blockingGet()).isEqualTo(201);
+    }
+
+    verify(blockBlobURL).upload(any(), eq((long) BLOCK_SIZE), any(), eq(METADATA), any(), any());
+    verify(blockBlobURL, never()).stageBlock(anyString(), any(), anyLong(), any(), any());
+    assertThat(meter("bytes-uploaded")).isEqualTo(BLOCK_SIZE);
+  }
+
+  @Test
+  public void largerFilesRoundTripThroughStagedBlocksAndRangedReads() throws IOException {
+    final byte[] content = testBytes(BLOCK_SIZE * 3 + 100);
+    storeBlocks();
+    serveRanges(0);
+
+    try (SpooledFile file = spool(content)) {
+      assertThat(transferEngine.upload(blockBlobURL, file, METADATA).blockingGet()).isEqualTo(201);
+    }
+    final ByteArrayOutputStream downloaded = new ByteArrayOutputStream();
+    transferEngine.download(blockBlobURL, downloaded).blockingAwait();
+
+    assertThat(committedBlob).isEqualTo(content);
+    assertThat(downloaded.toByteArray()).isEqualTo(content);
+    verify(blockBlobURL, times(4)).stageBlock(anyString(), any(), anyLong(), any(), any());
+    verify(blockBlobURL, times(4)).download(any(), any(), anyBoolean(), any());
+    verify(blockBlobURL, never()).upload(any(), anyLong(), any(), any(), any(), any());
+    assertThat(meter("bytes-uploaded")).isEqualTo(content.length);
+    assertThat(meter("bytes-downloaded")).isEqualTo(content.length);
+  }
+
+  @Test
+  public void writesBlocksInOrderWhenLaterRangesArriveFirst() {
+    committedBlob = testBytes(BLOCK_SIZE * 4);
+    serveRanges(50);
+
+    final ByteArrayOutputStream downloaded = new ByteArrayOutputStream();
+    transferEngine.download(blockBlobURL, downloaded).blockingAwait();
+
+    assertThat(downloaded.toByteArray()).isEqualTo(committedBlob);
+  }
+
+  @Test
+  public void readsEveryRangeAfterTheFirstOnlyIfTheBlobIsUnchanged() {
+    committedBlob = testBytes(BLOCK_SIZE * 3);
+    serveRanges(0);
+
+    transferEngine.download(blockBlobURL, new ByteArrayOutputStream()).blockingAwait();
+
+    final ArgumentCaptor<BlobRange> ranges = ArgumentCaptor.forClass(BlobRange.class);
+    final ArgumentCaptor<BlobAccessConditions> accessConditions =
+        ArgumentCaptor.forClass(BlobAccessConditions.class);
+    verify(blockBlobURL, times(3))
+        .download(ranges.capture(), accessConditions.capture(), anyBoolean(), any());
+    for (int i = 0; i < 3; i++) {
+      if (ranges.getAllValues().get(i).offset() == 0) {
+        assertThat(accessConditions.getAllValues().get(i)).isNull();
+      } else {
+        assertThat(
+                accessConditions.getAllValues().get(i).modifiedAccessConditions().ifMatch())
+            .isEqualTo(ETAG);
+      }
+    }
+  }
+
+  @Test
+  public void retriesAFailedBlockOnItsOwn() throws IOException {
+    final byte[] content = testBytes(BLOCK_SIZE * 2 + 100);
+    final AtomicInteger stageAttempts = new AtomicInteger();
+    when(blockBlobURL.stageBlock(anyString(), any(), anyLong(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              if (stageAttempts.incrementAndGet() == 1) {
+                return Single.error(new IOException("connection reset"));
+              }
+              stagedBlocks.put(invocation.getArgument(0), read(invocation.getArgument(1)));
+              return Single.just(new BlockBlobStageBlockResponse(null, 201, null, null, null));
+            });
+    commitBlocks();
+
+    try (SpooledFile file = spool(content)) {
+      assertThat(transferEngine.upload(blockBlobURL, file, METADATA).blockingGet()).isEqualTo(201);
+    }
+
+    assertThat(stageAttempts).hasValue(4);
+    assertThat(committedBlob).isEqualTo(content);
+  }
+
+  @Test
+  public void spoolStopsOneBytePastTheLimitAndIsDeletedOnClose() throws IOException {
+    final Path path;
+    try (SpooledFile file =
+        SpooledFile.spool(new ByteArrayInputStream(testBytes(BLOCK_SIZE * 200)), BLOCK_SIZE)) {
+      path = file.getPath();
+      assertThat(file.size()).isGreaterThan(BLOCK_SIZE).isLessThan(BLOCK_SIZE * 200);
+    }
+
+    assertThat(path).doesNotExist();
+  }
+
+  private void storeBlocks() {
+    when(blockBlobURL.stageBlock(anyString(), any(), anyLong(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              stagedBlocks.put(invocation.getArgument(0), read(invocation.getArgument(1)));
+              return Single.just(new BlockBlobStageBlockResponse(null, 201, null, null, null));
+            });
+    commitBlocks();
+  }
+
+  private void commitBlocks() {
+    when(blockBlobURL.commitBlockList(any(), any(), eq(METADATA), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final ByteArrayOutputStream blob = new ByteArrayOutputStream();
+              for (String blockId : invocation.<List<String>>getArgument(0)) {
+                blob.write(stagedBlocks.get(blockId));
+              }
+              committedBlob = blob.toByteArray();
+              return Single.just(
+                  new BlockBlobCommitBlockListResponse(null, 201, null, null, null));
+            });
+  }
+
+  /** Serves ranged reads of the committed blob, delaying earlier ranges by {@code skewMs} more. */
+  private void serveRanges(final long skewMs) {
+    when(blockBlobURL.download(any(), any(), anyBoolean(), any()))
+        .thenAnswer(
+            invocation -> {
+              final BlobRange range = invocation.getArgument(0);
+              final int from = (int) range.offset();
+              final int to = (int) Math.min(committedBlob.length, from + range.count());
+              final BlobDownloadHeaders headers =
+                  new BlobDownloadHeaders()
+                      .withETag(ETAG)
+                      .withContentRange(
+                          String.format("bytes %d-%d/%d", from, to - 1, committedBlob.length));
+              final DownloadResponse response = mock(DownloadResponse.class);
+              when(response.headers()).thenReturn(headers);
+              when(response.rawResponse())
+                  .thenReturn(
+                      new RestResponse<>(
+                          null,
+                          206,
+                          headers,
+                          Collections.emptyMap(),
+                          Flowable.just(
+                              ByteBuffer.wrap(Arrays.copyOfRange(committedBlob, from, to)))));
+              final long remainingBlocks = (committedBlob.length - from) / BLOCK_SIZE;
+              return Single.just(response).delay(remainingBlocks * skewMs, TimeUnit.MILLISECONDS);
+            });
+  }
+
+  private long meter(final String metric) {
+    return metricRegistry.meter(name(BlockBlobTransferEngine.class, metric)).getCount();
+  }
+
+  private static SpooledFile spool(final byte[] content) throws IOException {
+    return SpooledFile.spool(new ByteArrayInputStream(content), Long.MAX_VALUE);
+  }
+
+  private static byte[] testBytes(final int size) {
+    final byte[] bytes = new byte[size];
+    for (int i = 0; i < size; i++) {
+      bytes[i] = (byte) i;
+    }
+    return bytes;
+  }
+
+  private static byte[] read(final Flowable<ByteBuffer> data) {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    data.blockingForEach(
+        buffer -> {
+          final byte[] bytes = new byte[buffer.remaining()];
+          buffer.get(bytes);
+          output.write(bytes);
+        });
+    return output.toByteArray();
+  }
+}
@@ -5,6 +5,7 @@ import static uk.gov.defra.plants.backend.adapter.BackendServiceAdapter.CASE_MAN
 import static uk.gov.defra.plants.certificate.adapter.CertificateServiceAdapter.CERTIFICATE_ADAPTER_CONFIGURATION;
 import static uk.gov.defra.plants.certificate.adapter.CertificateServiceAdapter.CERTIFICATE_SERVICE_CLIENT;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.client.JerseyClientBuilder;
 import io.dropwizard.jdbi3.JdbiFactory;
 import io.dropwizard.setup.Bootstrap;
@@ -67,6 +68,7 @@ import uk.gov.defra.plants.formconfiguration.service.FormService;
 import uk.gov.defra.plants.formconfiguration.service.HealthCertificateService;
 import uk.gov.defra.plants.formconfiguration.service.MergedFormService;
 import uk.gov.defra.plants.formconfiguration.service.MergedFormServiceImpl;
+import uk.gov.defra.plants.formconfiguration.service.MergedFormSnapshotService;
 import uk.gov.defra.plants.formconfiguration.service.QuestionService;
 import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormServiceCache;
 import uk.gov.defra.plants.formconfiguration.service.filters.ScopeQuestionsFilter;
@@ -159,6 +161,7 @@ public class FormConfigurationServiceApplication
               @Override
               protected void configure() {
                 bind(environment).to(Environment.class);
+                bind(environment.metrics()).to(MetricRegistry.class);
                 bind(formConfigurationJdbi).to(Jdbi.class).named(FORM_CONFIGURATION_JDBI);
                 bind(formDAO).to(FormDAO.class);
                 bind(formPageDAO).to(FormPageDAO.class);
@@ -207,6 +210,7 @@ public class FormConfigurationServiceApplication
                 bind(CustomQuestionsService.class).to(CustomQuestionsService.class);
                 bind(CustomPagesService.class).to(CustomPagesService.class);
                 bind(MergedFormServiceImpl.class).to(MergedFormServiceImpl.class);
+                bind(MergedFormSnapshotService.class).to(MergedFormSnapshotService.class);
                 bind(MergedFormServiceCache.class).to(MergedFormService.class);
                 bind(ScopeQuestionsFilter.class).to(ScopeQuestionsFilter.class);
                 bind(QuestionScopeHelper.class).to(QuestionScopeHelper.class);
@@ -30,8 +30,8 @@ public class FormConfigurationServiceConfiguration extends BaseConfiguration {
   @Valid @NotNull private RedisConfiguration redis;
 
   @NotNull private CacheConfiguration activeMergedFormsCache;
-  @NotNull private CacheConfiguration mergedFormsCache;
-  @NotNull private CacheConfiguration mergedFormPagesCache;
+  @NotNull private CacheConfiguration mergedFormSnapshotsCache;
+  @Valid @NotNull private MergedFormNearCacheConfiguration mergedFormNearCache;
 
   @Valid private boolean automatedTestsActive;
 }
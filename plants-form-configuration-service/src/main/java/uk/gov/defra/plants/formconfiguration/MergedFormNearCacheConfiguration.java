@@ -0,0 +1,27 @@
+package uk.gov.defra.plants.formconfiguration;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import io.dropwizard.util.Duration;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.Value;
+import uk.gov.defra.plants.formconfiguration.MergedFormNearCacheConfiguration.MergedFormNearCacheConfigurationBuilder;
+
+@Value
+@Builder
+@JsonDeserialize(builder = MergedFormNearCacheConfigurationBuilder.class)
+public class MergedFormNearCacheConfiguration {
+
+  @Min(0)
+  @Builder.Default
+  private final long maximumSize = 500;
+
+  @NotNull
+  @Builder.Default
+  private final Duration expiry = Duration.minutes(1);
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class MergedFormNearCacheConfigurationBuilder {}
+}
@@ -1,11 +1,8 @@
 package uk.gov.defra.plants.formconfiguration.model;
 
-import java.util.SortedSet;
 import lombok.Builder;
 import lombok.NonNull;
-import lombok.Singular;
 import lombok.Value;
-import org.apache.commons.lang3.ArrayUtils;
 import uk.gov.defra.plants.common.redis.RedisCacheKey;
 
 @Value
@@ -15,16 +12,10 @@ public class MergedFormCacheKey implements RedisCacheKey {
   private final String exaNumber;
   private final String ehcVersion;
   private final String exaVersion;
-  @Singular private final SortedSet<String> userRoles;
-  private boolean ignoreQuestionScope;
 
   @Override
   public String toKey() {
-    return String.join(
-        "_",
-        ArrayUtils.addAll(
-            new String[] {exaNumber, ehcNumber, exaVersion, ehcVersion, String.valueOf(ignoreQuestionScope)},
-            userRoles.toArray(new String[] {})));
+    return String.join("_", exaNumber, ehcNumber, exaVersion, ehcVersion);
   }
 
   @Override
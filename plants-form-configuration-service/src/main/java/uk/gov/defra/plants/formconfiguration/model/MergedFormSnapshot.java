@@ -0,0 +1,31 @@
+package uk.gov.defra.plants.formconfiguration.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import java.util.List;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+import uk.gov.defra.plants.formconfiguration.model.MergedFormSnapshot.MergedFormSnapshotBuilder;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage;
+
+/**
+ * Everything needed to serve the merged form for one EHC/EXA version pair, before any question
+ * scope is applied. The merged form carries the template and status details but no page URIs, as
+ * those depend on which pages a user can see; the pages are held once, unfiltered and with their
+ * page URIs already set.
+ */
+@Value
+@Builder
+@JsonDeserialize(builder = MergedFormSnapshotBuilder.class)
+public class MergedFormSnapshot {
+
+  @NonNull MergedForm mergedForm;
+
+  @NonNull @Singular List<MergedFormPage> pages;
+
+  @JsonPOJOBuilder(withPrefix = "")
+  public static class MergedFormSnapshotBuilder {}
+}
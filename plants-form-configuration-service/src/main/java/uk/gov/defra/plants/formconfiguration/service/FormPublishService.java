@@ -22,9 +22,12 @@ import uk.gov.defra.plants.formconfiguration.dao.FormDAO;
 import uk.gov.defra.plants.formconfiguration.event.FormConfigurationProtectiveMonitoringService;
 import uk.gov.defra.plants.formconfiguration.model.PersistentForm;
 import uk.gov.defra.plants.formconfiguration.FormConfigurationServiceApplication;
+import uk.gov.defra.plants.formconfiguration.representation.NameAndVersion;
+import uk.gov.defra.plants.formconfiguration.representation.form.Form;
 import uk.gov.defra.plants.formconfiguration.representation.form.FormStatus;
 import uk.gov.defra.plants.formconfiguration.representation.healthcertificate.HealthCertificate;
 import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormServiceCacheInvalidator;
+import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormSnapshotCache;
 import uk.gov.defra.plants.formconfiguration.validation.FormValidator;
 
 @Slf4j
@@ -35,6 +38,8 @@ public class FormPublishService {
   private final FormConfigurationProtectiveMonitoringService
       formConfigurationProtectiveMonitoringService;
   private final MergedFormServiceCacheInvalidator cacheInvalidator;
+  private final FormService formService;
+  private final MergedFormSnapshotCache snapshotCache;
 
   @Inject
   public FormPublishService(
@@ -44,13 +49,17 @@ public class FormPublishService {
       final FormValidator formValidator,
       final FormConfigurationProtectiveMonitoringService
           formConfigurationProtectiveMonitoringService,
-      final MergedFormServiceCacheInvalidator cacheInvalidator) {
+      final MergedFormServiceCacheInvalidator cacheInvalidator,
+      final FormService formService,
+      final MergedFormSnapshotCache snapshotCache) {
     this.jdbi = jdbi;
     this.healthCertificateService = healthCertificateService;
     this.formValidator = formValidator;
     this.formConfigurationProtectiveMonitoringService =
         formConfigurationProtectiveMonitoringService;
     this.cacheInvalidator = cacheInvalidator;
+    this.formService = formService;
+    this.snapshotCache = snapshotCache;
   }
 
   public void publishFormVersion(
@@ -110,6 +119,38 @@ public class FormPublishService {
 
           cacheInvalidator.invalidateActiveHealthCertificate(name);
         });
+
+    publishMergedFormSnapshot(name, version);
+  }
+
+  private void publishMergedFormSnapshot(@NonNull final String name, @NonNull final String version) {
+    // the version is committed by now, so a failure here only means the first read builds the
+    // snapshot instead
+    try {
+      healthCertificateService
+          .getByEhcNumber(name)
+          .ifPresent(
+              healthCertificate ->
+                  snapshotCache.publish(
+                      NameAndVersion.builder().name(name).version(version).build(),
+                      getActiveExa(healthCertificate)));
+    } catch (RuntimeException e) {
+      LOGGER.warn(
+          format("Could not build merged form snapshot for form %s version %s", name, version), e);
+    }
+  }
+
+  private NameAndVersion getActiveExa(HealthCertificate healthCertificate) {
+    if (StringUtils.isEmpty(healthCertificate.getExaNumber())) {
+      return NameAndVersion.builder().name("").version("").build();
+    }
+    return formService
+        .getActiveVersion(healthCertificate.getExaNumber())
+        .map(Form::getNameAndVersion)
+        .orElseThrow(
+            () ->
+                new NotFoundException(
+                    "Could not find active version of exa=" + healthCertificate.getExaNumber()));
   }
 
   private boolean validateExa (String name){
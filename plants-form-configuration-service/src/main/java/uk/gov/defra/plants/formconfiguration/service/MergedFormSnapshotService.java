@@ -0,0 +1,260 @@
+package uk.gov.defra.plants.formconfiguration.service;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static uk.gov.defra.plants.common.constants.PageType.REPEATABLE;
+import static uk.gov.defra.plants.common.constants.PageType.SINGULAR;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.ws.rs.NotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import uk.gov.defra.plants.formconfiguration.dao.FormPageDAO;
+import uk.gov.defra.plants.formconfiguration.dao.JoinedFormQuestionDAO;
+import uk.gov.defra.plants.formconfiguration.helper.MergedFormURIFactory;
+import uk.gov.defra.plants.formconfiguration.mapper.MergedFormMapper;
+import uk.gov.defra.plants.formconfiguration.model.JoinedFormQuestion;
+import uk.gov.defra.plants.formconfiguration.model.MergedFormSnapshot;
+import uk.gov.defra.plants.formconfiguration.model.PersistentFormPage;
+import uk.gov.defra.plants.formconfiguration.processing.CustomPagesService;
+import uk.gov.defra.plants.formconfiguration.processing.CustomQuestionsService;
+import uk.gov.defra.plants.formconfiguration.representation.NameAndVersion;
+import uk.gov.defra.plants.formconfiguration.representation.TemplateFileReference;
+import uk.gov.defra.plants.formconfiguration.representation.form.Form;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage.MergedFormPageType;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormQuestion;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormQuestion.Type;
+import uk.gov.defra.plants.formconfiguration.resource.MergedFormPagePathSpec;
+
+/**
+ * Builds the merged form for an EHC/EXA version pair from the database. This is the only place
+ * the form pages and questions are joined; everything served to users is a projection of the
+ * snapshot built here.
+ */
+@AllArgsConstructor(onConstructor = @__({@Inject}))
+public class MergedFormSnapshotService {
+
+  private static final Form EMPTY_FORM = Form.builder().build();
+
+  private final FormService formService;
+  private final JoinedFormQuestionDAO joinedFormQuestionDAO;
+  private final FormPageDAO formPageDAO;
+  private final MergedFormMapper mergedFormMapper;
+  private final CustomQuestionsService customQuestionsService;
+  private final CustomPagesService customPagesService;
+  private final MergedFormURIFactory mergedFormURIFactory;
+
+  public MergedFormSnapshot buildSnapshot(
+      @NonNull final NameAndVersion ehc, @NonNull final NameAndVersion exa) {
+
+    Form ehcForm;
+
+    if (ehc.isOffline()) {
+      ehcForm = EMPTY_FORM;
+    } else {
+      ehcForm = getFormByNameAndVersion(ehc);
+    }
+
+    final Form exaForm = StringUtils.isNotBlank(exa.getName()) && StringUtils.isNotBlank(exa.getVersion()) ? getFormByNameAndVersion(exa) : null;
+
+    final MergedForm mergedForm =
+        MergedForm.builder()
+            .exa(exa)
+            .ehc(ehc)
+            .mergedFormPagesUri(mergedFormURIFactory.buildMergedFormPagesURI(ehc, exa))
+            .ehcTemplate(ehcForm.getFileStorageFilename())
+            .exaTemplate(exaForm != null ? exaForm.getFileStorageFilename() : null)
+            .defaultTemplateFile(
+                TemplateFileReference.builder()
+                    .fileStorageFilename(ehcForm.getFileStorageFilename())
+                    .originalFilename(ehcForm.getOriginalFilename())
+                    .localServiceUri(ehcForm.getLocalServiceUri())
+                    .build())
+            .countryTemplateFiles(ehcForm.getCountryTemplateFiles())
+            .ehcFormStatus(ehcForm.getStatus())
+            .ehcPublishedTime(ehcForm.getCreated())
+            .build();
+
+    return MergedFormSnapshot.builder()
+        .mergedForm(mergedForm)
+        .pages(buildMergedFormPages(ehc, exa))
+        .build();
+  }
+
+  private List<MergedFormPage> buildMergedFormPages(
+      final NameAndVersion ehc, final NameAndVersion exa) {
+    final List<PersistentFormPage> exaPages = formPageDAO.getFormPages(exa.getName(), exa.getVersion());
+    final List<MergedFormPage> exaFormPages =
+        getAllMergedFormPagesOnForm(exa.getName(), exa.getVersion(), exaPages, 0);
+
+    List<MergedFormPage> mergedFormPages;
+    List<MergedFormPage> customPages = customQuestionsService.getAllCustomPages(exa, ehc);
+
+    if (ehc.isOffline()) {
+      mergedFormPages = ListUtils.union(exaFormPages, customPages);
+    } else {
+      final Integer numExaPages = exa.getName() != null && exa.getVersion() != null ? exaPages.size() : 0;
+
+      List<MergedFormPage> ehcFormPages =
+          getAllMergedFormPagesOnForm(
+              ehc.getName(),
+              ehc.getVersion(),
+              formPageDAO.getFormPages(ehc.getName(), ehc.getVersion()),
+              numExaPages);
+
+      ehcFormPages = addCertificateReferencePageIfNecessary(ehcFormPages, ehc.getName());
+
+      List<MergedFormPage> exaEhcPages = ListUtils.union(exaFormPages, ehcFormPages);
+
+      mergedFormPages = ListUtils.union(exaEhcPages, customPages);
+    }
+
+    return addMergedFormPageUri(mergedFormPages, ehc, exa).stream()
+        .sorted(comparing(MergedFormPage::getPageNumber))
+        .collect(toList());
+  }
+
+  private List<MergedFormPage> addMergedFormPageUri( List<MergedFormPage> mergedFormPages, NameAndVersion ehc, NameAndVersion exa ){
+    MergedFormPagePathSpec pathSpec =
+        MergedFormPagePathSpec.builder().ehcNameAndVersion(ehc).exaNameAndVersion(exa).build();
+
+    return mergedFormPages.stream()
+        .map(
+            mfp ->  mfp.toBuilder().mergedFormPageUri(  mergedFormURIFactory.buildMergedFormPageURI(pathSpec, mfp.getPageNumber())).build()
+        ).collect(toList());
+  }
+
+  private List<MergedFormPage> addCertificateReferencePageIfNecessary(
+      List<MergedFormPage> ehcFormPages, String ehcName) {
+
+    boolean isThereAnyCertificateLevelPage = ehcFormPages.stream()
+        .anyMatch(page -> page.getMergedFormPageType() == MergedFormPageType.CERTIFICATE_LEVEL);
+
+    if (isThereAnyCertificateLevelPage) {
+      //we want the certificate reference page to be the very first page of all the ehc pages:
+      Integer lowestEhcPageNumber = ehcFormPages.stream().mapToInt(MergedFormPage::getPageNumber)
+          .min().orElseThrow(
+              NoSuchElementException::new);
+      MergedFormPage certificateApplicationReferencePage = customPagesService
+          .getCertificateReferenceNumberPage(ehcName, lowestEhcPageNumber);
+
+      //increment all the existing page numbers by 1:
+      List<MergedFormPage> existingMergedFormPages = ehcFormPages.stream()
+          .map(
+              ehcFormPage -> ehcFormPage.toBuilder().pageNumber(1 + ehcFormPage.getPageNumber())
+                  .build()
+          ).collect(toList());
+
+      ArrayList<MergedFormPage> retList = new ArrayList<>();
+      retList.add(certificateApplicationReferencePage);
+      retList.addAll(existingMergedFormPages);
+
+      return Collections.unmodifiableList(retList);
+
+    } else {
+      return ehcFormPages;
+    }
+  }
+
+  private List<MergedFormPage> getAllMergedFormPagesOnForm(
+      final String name,
+      final String version,
+      final List<PersistentFormPage> formPages,
+      final Integer formToMergedFormPageOffset) {
+
+    Map<Long, Integer> formPageIdToPageOrder =
+        formPages.stream()
+            .collect(Collectors.toMap(PersistentFormPage::getId, PersistentFormPage::getPageOrder));
+
+    List<JoinedFormQuestion> joinedFormQuestions = joinedFormQuestionDAO.get(name, version);
+
+    Map<Integer, List<MergedFormQuestion>> pageNumberFormQuestionMap =
+        joinedFormQuestions.stream()
+            .map(
+                jfq -> {
+                  Integer mergedFormPageNumber =
+                      formToMergedFormPageOffset + formPageIdToPageOrder.get(jfq.getFormPageId());
+                  return mergedFormMapper.asMergedFormQuestion(jfq, mergedFormPageNumber);
+                })
+            .collect(Collectors.groupingBy(MergedFormQuestion::getPageNumber));
+
+    return joinedFormQuestions.stream()
+        .collect(Collectors.groupingBy(JoinedFormQuestion::getFormPageId))
+        .entrySet()
+        .stream()
+        .map(
+            entry ->
+                getMergedFormPage(
+                    formToMergedFormPageOffset,
+                    formPageIdToPageOrder,
+                    pageNumberFormQuestionMap,
+                    entry))
+        .sorted(comparing(MergedFormPage::getPageNumber))
+        .collect(toList());
+  }
+
+  private MergedFormPage getMergedFormPage(
+      Integer formToMergedFormPageOffset,
+      Map<Long, Integer> formPageIdToPageOrder,
+      Map<Integer, List<MergedFormQuestion>> pageNumberFormQuestionMap,
+      Entry<@NonNull Long, List<JoinedFormQuestion>> entry) {
+    Integer mergedFormPageNumber =
+        formToMergedFormPageOffset + formPageIdToPageOrder.get(entry.getKey());
+
+    return MergedFormPage.builder()
+        .pageNumber(mergedFormPageNumber)
+        .questions(
+            pageNumberFormQuestionMap.get(mergedFormPageNumber).stream()
+                .sorted(comparing(MergedFormQuestion::getQuestionOrder))
+                .collect(toList()))
+        .pageOccurrences(
+            pageNumberFormQuestionMap.get(mergedFormPageNumber).get(0).getTemplateFields().isEmpty() ?
+                1 : pageNumberFormQuestionMap.get(mergedFormPageNumber).get(0).getTemplateFields()
+                .size())
+        .pageType(
+            pageNumberFormQuestionMap.get(mergedFormPageNumber).get(0).getTemplateFields().size()
+                > 1
+                ? REPEATABLE
+                : SINGULAR)
+        .title(entry.getValue().get(0).getTitle())
+        .subtitle(entry.getValue().get(0).getSubtitle())
+        .hint(entry.getValue().get(0).getHint())
+        .mergedFormPageType(getMergedFormPageType(entry))
+        .type(entry.getValue().get(0).getFormType())
+        .formPageId(entry.getValue().get(0).getFormPageId())
+        .build();
+  }
+
+  private MergedFormPageType getMergedFormPageType(
+      Entry<@NonNull Long, List<JoinedFormQuestion>> entry) {
+    if (entry.getValue().get(0).getRepeatForEachCertificateInApplication()) {
+      return MergedFormPageType.CERTIFICATE_LEVEL;
+    } else {
+      if (entry.getValue().get(0).getFormType().equals(Type.EHC)) {
+        return MergedFormPageType.COMMON_FOR_ALL_CERTIFICATES;
+      } else {
+        return MergedFormPageType.APPLICATION_LEVEL;
+      }
+    }
+  }
+
+  private Form getFormByNameAndVersion(final NameAndVersion nameAndVersion) {
+    return formService
+        .get(nameAndVersion.getName(), nameAndVersion.getVersion())
+        .orElseThrow(
+            () ->
+                new NotFoundException(
+                    String.format("form %s not found", nameAndVersion.toString())));
+  }
+}
@@ -2,9 +2,6 @@ package uk.gov.defra.plants.formconfiguration.service.cache;
 
 import static uk.gov.defra.plants.formconfiguration.FormConfigurationServiceApplication.FORM_CONFIGURATION_JDBI;
 import static uk.gov.defra.plants.formconfiguration.bundles.MergedFormCacheBundle.ACTIVE_MERGED_FORM_CACHE;
-import static uk.gov.defra.plants.formconfiguration.bundles.MergedFormCacheBundle.MERGED_FORM_CACHE;
-import static uk.gov.defra.plants.formconfiguration.bundles.MergedFormCacheBundle.MERGED_FORM_COMMON_AND_CERT_PAGES_CACHE;
-import static uk.gov.defra.plants.formconfiguration.bundles.MergedFormCacheBundle.MERGED_FORM_PAGES_CACHE;
 
 import com.google.common.cache.Cache;
 import java.net.URI;
@@ -16,31 +13,22 @@ import lombok.NonNull;
 import org.jdbi.v3.core.Jdbi;
 import uk.gov.defra.plants.common.redis.RedisCacheKey;
 import uk.gov.defra.plants.formconfiguration.dao.HealthCertificateDAO;
-import uk.gov.defra.plants.formconfiguration.model.MergedFormCacheKey;
 import uk.gov.defra.plants.formconfiguration.model.PersistentHealthCertificate;
 import uk.gov.defra.plants.formconfiguration.representation.healthcertificate.EhcSearchParameters;
-import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
-import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage;
 
 public class MergedFormServiceCacheInvalidator {
 
   private final Cache<RedisCacheKey, URI> activeMergedFormCache;
-  private final Cache<MergedFormCacheKey, MergedForm> mergedFormCache;
-  private final Cache<MergedFormCacheKey, List<MergedFormPage>> mergedFormPagesCache;
-  private final Cache<MergedFormCacheKey, List<MergedFormPage>> mergedFormCommonAndCertPagesCache;
+  private final MergedFormSnapshotCache mergedFormSnapshotCache;
   private final Jdbi jdbi;
 
   @Inject
   public MergedFormServiceCacheInvalidator(
       @Named(ACTIVE_MERGED_FORM_CACHE) final Cache<RedisCacheKey, URI> activeMergedFormCache,
-      @Named(MERGED_FORM_CACHE) final Cache<MergedFormCacheKey, MergedForm> mergedFormCache,
-      @Named(MERGED_FORM_PAGES_CACHE) final Cache<MergedFormCacheKey, List<MergedFormPage>> mergedFormPagesCache,
-      @Named(MERGED_FORM_COMMON_AND_CERT_PAGES_CACHE) final Cache<MergedFormCacheKey, List<MergedFormPage>> mergedFormCommonAndCertPagesCache,
+      final MergedFormSnapshotCache mergedFormSnapshotCache,
       @Named(FORM_CONFIGURATION_JDBI) final Jdbi jdbi) {
     this.activeMergedFormCache = activeMergedFormCache;
-    this.mergedFormCache = mergedFormCache;
-    this.mergedFormPagesCache = mergedFormPagesCache;
-    this.mergedFormCommonAndCertPagesCache = mergedFormCommonAndCertPagesCache;
+    this.mergedFormSnapshotCache = mergedFormSnapshotCache;
     this.jdbi = jdbi;
   }
 
@@ -62,10 +50,6 @@ public class MergedFormServiceCacheInvalidator {
   public void invalidateHealthCertificate(
       @NonNull final String exaNumber, @NonNull final String ehcNumber) {
     activeMergedFormCache.invalidate(RedisCacheKey.asKey(ehcNumber));
-    final MergedFormCacheKey key =
-        MergedFormCacheKey.builder().exaNumber(exaNumber).ehcNumber(ehcNumber).build();
-    mergedFormCache.invalidate(key);
-    mergedFormPagesCache.invalidate(key);
-    mergedFormCommonAndCertPagesCache.invalidate(key);
+    mergedFormSnapshotCache.invalidate(exaNumber, ehcNumber);
   }
 }
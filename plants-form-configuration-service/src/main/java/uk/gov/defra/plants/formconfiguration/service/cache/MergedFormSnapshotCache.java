@@ -0,0 +1,112 @@
+package uk.gov.defra.plants.formconfiguration.service.cache;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static uk.gov.defra.plants.formconfiguration.bundles.MergedFormCacheBundle.MERGED_FORM_SNAPSHOT_CACHE;
+import static uk.gov.defra.plants.formconfiguration.representation.form.FormStatus.DRAFT;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Named;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import uk.gov.defra.plants.formconfiguration.FormConfigurationServiceConfiguration;
+import uk.gov.defra.plants.formconfiguration.MergedFormNearCacheConfiguration;
+import uk.gov.defra.plants.formconfiguration.model.MergedFormCacheKey;
+import uk.gov.defra.plants.formconfiguration.model.MergedFormSnapshot;
+import uk.gov.defra.plants.formconfiguration.representation.NameAndVersion;
+import uk.gov.defra.plants.formconfiguration.service.MergedFormSnapshotService;
+
+/**
+ * Merged form snapshots by EHC/EXA version pair. Snapshots are written when a version is
+ * published; a pair that has not been published through this service, or whose snapshot has
+ * expired, is built on first read. Published snapshots are also kept deserialised on each
+ * instance for the near cache expiry, so a pair republished elsewhere can keep its old shape here
+ * for that long. Drafts change too often for that and are always read from the shared cache.
+ */
+public class MergedFormSnapshotCache {
+  private final Cache<MergedFormCacheKey, MergedFormSnapshot> localCache;
+  private final Cache<MergedFormCacheKey, MergedFormSnapshot> snapshotCache;
+  private final MergedFormSnapshotService snapshotService;
+  private final Meter hits;
+  private final Meter misses;
+
+  @Inject
+  public MergedFormSnapshotCache(
+      final FormConfigurationServiceConfiguration configuration,
+      @Named(MERGED_FORM_SNAPSHOT_CACHE)
+          final Cache<MergedFormCacheKey, MergedFormSnapshot> snapshotCache,
+      final MergedFormSnapshotService snapshotService,
+      final MetricRegistry metricRegistry) {
+    this(configuration.getMergedFormNearCache(), snapshotCache, snapshotService, metricRegistry);
+  }
+
+  public MergedFormSnapshotCache(
+      final MergedFormNearCacheConfiguration configuration,
+      final Cache<MergedFormCacheKey, MergedFormSnapshot> snapshotCache,
+      final MergedFormSnapshotService snapshotService,
+      final MetricRegistry metricRegistry) {
+    this.localCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(configuration.getMaximumSize())
+            .expireAfterWrite(configuration.getExpiry().toMilliseconds(), TimeUnit.MILLISECONDS)
+            .build();
+    this.snapshotCache = snapshotCache;
+    this.snapshotService = snapshotService;
+    this.hits = metricRegistry.meter(name(MergedFormSnapshotCache.class, "local", "hits"));
+    this.misses = metricRegistry.meter(name(MergedFormSnapshotCache.class, "local", "misses"));
+  }
+
+  @SneakyThrows(ExecutionException.class)
+  public MergedFormSnapshot get(@NonNull final NameAndVersion ehc, @NonNull final NameAndVersion exa) {
+    final MergedFormCacheKey key = asKey(ehc, exa);
+
+    final MergedFormSnapshot local = localCache.getIfPresent(key);
+    if (local != null) {
+      hits.mark();
+      return local;
+    }
+
+    misses.mark();
+    final MergedFormSnapshot snapshot =
+        snapshotCache.get(key, () -> snapshotService.buildSnapshot(ehc, exa));
+    putLocal(key, snapshot);
+    return snapshot;
+  }
+
+  public void publish(@NonNull final NameAndVersion ehc, @NonNull final NameAndVersion exa) {
+    final MergedFormCacheKey key = asKey(ehc, exa);
+    final MergedFormSnapshot snapshot = snapshotService.buildSnapshot(ehc, exa);
+    snapshotCache.put(key, snapshot);
+    putLocal(key, snapshot);
+  }
+
+  public void invalidate(@NonNull final String exaNumber, @NonNull final String ehcNumber) {
+    localCache
+        .asMap()
+        .keySet()
+        .removeIf(
+            key -> exaNumber.equals(key.getExaNumber()) && ehcNumber.equals(key.getEhcNumber()));
+    snapshotCache.invalidate(
+        MergedFormCacheKey.builder().exaNumber(exaNumber).ehcNumber(ehcNumber).build());
+  }
+
+  private void putLocal(final MergedFormCacheKey key, final MergedFormSnapshot snapshot) {
+    if (snapshot.getMergedForm().getEhcFormStatus() != DRAFT) {
+      localCache.put(key, snapshot);
+    }
+  }
+
+  static MergedFormCacheKey asKey(@NonNull NameAndVersion ehc, @NonNull NameAndVersion exa) {
+    return MergedFormCacheKey.builder()
+        .ehcNumber(ehc.getName())
+        .ehcVersion(ehc.getVersion())
+        .exaNumber(exa.getName())
+        .exaVersion(exa.getVersion())
+        .build();
+  }
+}
@@ -10,29 +10,31 @@ import uk.gov.defra.plants.common.redis.Redis;
 import uk.gov.defra.plants.common.redis.RedisCache;
 import uk.gov.defra.plants.formconfiguration.FormConfigurationServiceConfiguration;
 import uk.gov.defra.plants.formconfiguration.model.MergedFormCacheKey;
+import uk.gov.defra.plants.formconfiguration.model.MergedFormSnapshot;
 import uk.gov.defra.plants.formconfiguration.representation.form.FormStatus;
-import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
 
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
-public class MergedFormsCacheFactory implements Factory<Cache<MergedFormCacheKey, MergedForm>> {
+public class MergedFormSnapshotCacheFactory
+    implements Factory<Cache<MergedFormCacheKey, MergedFormSnapshot>> {
   private final Redis redis;
   private final FormConfigurationServiceConfiguration configuration;
 
   @Override
-  public Cache<MergedFormCacheKey, MergedForm> provide() {
-    return RedisCache.<MergedFormCacheKey, MergedForm>builder()
+  public Cache<MergedFormCacheKey, MergedFormSnapshot> provide() {
+    return RedisCache.<MergedFormCacheKey, MergedFormSnapshot>builder()
         .redis(redis)
-        .keyPrefix("mf")
+        .keyPrefix("mfsnap")
         .cachedValueMapper(new CachedValueMapper<>(new TypeReference<>() {}))
-        .valueIsCachable((key, mergedForm) -> mergedForm.getEhcFormStatus() != FormStatus.DRAFT)
-        .expirySeconds((int) configuration.getMergedFormsCache().getExpiry().toSeconds())
+        .valueIsCachable(
+            (key, snapshot) -> snapshot.getMergedForm().getEhcFormStatus() != FormStatus.DRAFT)
+        .expirySeconds((int) configuration.getMergedFormSnapshotsCache().getExpiry().toSeconds())
         .clientErrorExpirySeconds(
-            (int) configuration.getMergedFormsCache().getClientErrorExpiry().toSeconds())
+            (int) configuration.getMergedFormSnapshotsCache().getClientErrorExpiry().toSeconds())
         .build();
   }
 
   @Override
-  public void dispose(final Cache<MergedFormCacheKey, MergedForm> cache) {
+  public void dispose(final Cache<MergedFormCacheKey, MergedFormSnapshot> cache) {
     // nothing to dispose, adding this comment to make SonarQube happy
   }
 }
@@ -3,18 +3,26 @@ package uk.gov.defra.plants.formconfiguration.service.filters;
 import static java.util.Comparator.comparing;
 import static uk.gov.defra.plants.formconfiguration.representation.question.QuestionScope.BOTH;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
+import lombok.extern.slf4j.Slf4j;
 import uk.gov.defra.plants.common.constants.UserRole;
 import uk.gov.defra.plants.formconfiguration.context.UserQuestionContext;
 import uk.gov.defra.plants.formconfiguration.helper.QuestionScopeHelper;
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormPage;
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormQuestion;
+import uk.gov.defra.plants.formconfiguration.representation.question.QuestionScope;
 
+@Slf4j
 public class ScopeQuestionsFilter {
 
   private UserRole adminUserRole;
@@ -33,13 +41,19 @@ public class ScopeQuestionsFilter {
   public List<MergedFormPage> filterPagesByUser(List<MergedFormPage> pages,
       UserQuestionContext userQuestionContext) {
 
+    // the scopes a user can see are worked out from their roles once per call, not per question,
+    // and only if there is a question that is not for both
+    Supplier<Set<QuestionScope>> visibleScopes =
+        Suppliers.memoize(() -> getVisibleScopes(userQuestionContext));
+
     List<MergedFormPage> filteredPagesByUser = new ArrayList<>();
     pages.stream()
         .sorted(comparing(MergedFormPage::getPageNumber))
         .forEach(mergedFormPage -> {
           List<MergedFormQuestion> questionsForPage = mergedFormPage.getQuestions().stream()
               .filter(question ->
-                  isScopedForUser(userQuestionContext, question))
+                  question.getQuestionScope().equals(BOTH)
+                      || visibleScopes.get().contains(question.getQuestionScope()))
               .sorted(Comparator.comparing(MergedFormQuestion::getQuestionOrder))
               .collect(Collectors.toList());
 
@@ -53,16 +67,27 @@ public class ScopeQuestionsFilter {
     return filteredPagesByUser;
   }
 
-  private boolean isScopedForUser(UserQuestionContext userQuestionContext,
-      MergedFormQuestion question) {
-    return question.getQuestionScope().equals(BOTH)
-        || userQuestionContext.isIgnoreQuestionScope()
-        || userQuestionContext.getUser().getRoles()
-        .stream()
-        .anyMatch(
-            role ->
-                (role.equals(adminUserRole.getRoleId()) ||
-                    role.equals(caseworkerUserRole.getRoleId()))
-                    || questionScopeHelper.fromRole(role).equals(question.getQuestionScope()));
+  private Set<QuestionScope> getVisibleScopes(UserQuestionContext userQuestionContext) {
+    Collection<String> roles = userQuestionContext.getUser().getRoles();
+
+    if (userQuestionContext.isIgnoreQuestionScope()
+        || roles.stream()
+            .anyMatch(
+                role ->
+                    role.equals(adminUserRole.getRoleId())
+                        || role.equals(caseworkerUserRole.getRoleId()))) {
+      return EnumSet.allOf(QuestionScope.class);
+    }
+
+    Set<QuestionScope> visibleScopes = EnumSet.of(BOTH);
+    for (String role : roles) {
+      try {
+        visibleScopes.add(questionScopeHelper.fromRole(role));
+      } catch (IllegalArgumentException e) {
+        // a user can hold roles that have nothing to do with question scope
+        LOGGER.debug("Ignoring role {} when scoping questions", role);
+      }
+    }
+    return visibleScopes;
   }
 }
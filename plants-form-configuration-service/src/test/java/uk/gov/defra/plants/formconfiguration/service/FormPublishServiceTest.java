@@ -4,6 +4,7 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -27,9 +28,12 @@ import uk.gov.defra.plants.common.security.User;
 import uk.gov.defra.plants.commontest.jdbi.JdbiMock;
 import uk.gov.defra.plants.formconfiguration.dao.FormDAO;
 import uk.gov.defra.plants.formconfiguration.event.FormConfigurationProtectiveMonitoringService;
+import uk.gov.defra.plants.formconfiguration.representation.NameAndVersion;
+import uk.gov.defra.plants.formconfiguration.representation.form.Form;
 import uk.gov.defra.plants.formconfiguration.representation.form.FormStatus;
 import uk.gov.defra.plants.formconfiguration.representation.healthcertificate.HealthCertificate;
 import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormServiceCacheInvalidator;
+import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormSnapshotCache;
 import uk.gov.defra.plants.formconfiguration.validation.FormValidator;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -44,6 +48,8 @@ public class FormPublishServiceTest {
   @Mock private HealthCertificateService healthCertificateService;
   @Mock private FormConfigurationProtectiveMonitoringService formConfigProtectiveMonitoringService;
   @Mock private MergedFormServiceCacheInvalidator cacheInvalidator;
+  @Mock private FormService formService;
+  @Mock private MergedFormSnapshotCache snapshotCache;
 
   private FormPublishService formPublishService;
 
@@ -61,7 +67,9 @@ public class FormPublishServiceTest {
             healthCertificateService,
             formValidator,
             formConfigProtectiveMonitoringService,
-            cacheInvalidator);
+            cacheInvalidator,
+            formService,
+            snapshotCache);
 
     JdbiMock.givenJdbiWillRunHandle(jdbi, handle);
     when(handle.attach(FormDAO.class)).thenReturn(handleFormDAO);
@@ -243,4 +251,43 @@ public class FormPublishServiceTest {
     verify(handleFormDAO).updateStatus(FormTestData.INACTIVE_PERSISTENT_FORM, FormStatus.ACTIVE);
     verify(cacheInvalidator).invalidateActiveHealthCertificate(FormTestData.PERSISTENT_FORM.getName());
   }
+
+  @Test
+  public void testPublishFormVersionPublishesMergedFormSnapshotWithActiveExa() {
+    when(healthCertificateService.getByEhcNumber(any()))
+        .thenReturn(Optional.of(PHYTO_HEALTH_CERTIFICATE.toBuilder().exaNumber("EXA-TEST").build()));
+    when(handleFormDAO.getActiveVersion(FormTestData.PERSISTENT_FORM.getName())).thenReturn(
+        FormTestData.PERSISTENT_FORM);
+    when(handleFormDAO.updateStatus(any(), any())).thenReturn(1);
+    when(handleFormDAO.get(
+        FormTestData.PERSISTENT_FORM.getName(), FormTestData.INACTIVE_PERSISTENT_FORM.getVersion()))
+        .thenReturn(FormTestData.INACTIVE_PERSISTENT_FORM);
+    when(healthCertificateService.getExaNumberByEhcNumber(any())).thenReturn(of("EXA-TEST"));
+    when(formService.getActiveVersion("EXA-TEST"))
+        .thenReturn(Optional.of(Form.builder().name("EXA-TEST").version("3.0").build()));
+
+    formPublishService.publishFormVersion(USER, FormTestData.PERSISTENT_FORM.getName(), "2.0", false);
+
+    verify(snapshotCache)
+        .publish(
+            NameAndVersion.builder().name(FormTestData.PERSISTENT_FORM.getName()).version("2.0").build(),
+            NameAndVersion.builder().name("EXA-TEST").version("3.0").build());
+  }
+
+  @Test
+  public void testPublishFormVersionSucceedsWhenMergedFormSnapshotCannotBeBuilt() {
+    when(handleFormDAO.getActiveVersion(FormTestData.PERSISTENT_FORM.getName())).thenReturn(
+        FormTestData.PERSISTENT_FORM);
+    when(handleFormDAO.updateStatus(any(), any())).thenReturn(1);
+    when(handleFormDAO.get(
+        FormTestData.PERSISTENT_FORM.getName(), FormTestData.INACTIVE_PERSISTENT_FORM.getVersion()))
+        .thenReturn(FormTestData.INACTIVE_PERSISTENT_FORM);
+    when(healthCertificateService.getExaNumberByEhcNumber(any())).thenReturn(empty());
+    doThrow(new NotFoundException()).when(snapshotCache).publish(any(), any());
+
+    formPublishService.publishFormVersion(USER, FormTestData.PERSISTENT_FORM.getName(), "2.0", false);
+
+    verify(handleFormDAO).updateStatus(FormTestData.INACTIVE_PERSISTENT_FORM, FormStatus.ACTIVE);
+    verify(cacheInvalidator).invalidateActiveHealthCertificate(FormTestData.PERSISTENT_FORM.getName());
+  }
 }
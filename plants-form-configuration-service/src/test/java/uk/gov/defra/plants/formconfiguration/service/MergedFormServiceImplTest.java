@@ -62,6 +62,7 @@ import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFor
 import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedFormQuestion.Type;
 import uk.gov.defra.plants.formconfiguration.representation.question.QuestionScope;
 import uk.gov.defra.plants.formconfiguration.resource.MergedFormPagePathSpec;
+import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormSnapshotCache;
 import uk.gov.defra.plants.formconfiguration.service.filters.ScopeQuestionsFilter;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -87,6 +88,7 @@ public class MergedFormServiceImplTest {
   @Mock private QuestionScopeHelper questionScopeHelper;
   @Mock private MergedFormURIFactory mergedFormURIBuilder;
   @Mock private CustomPagesService customPagesService;
+  @Mock private MergedFormSnapshotCache mergedFormSnapshotCache;
 
   private MergedFormServiceImpl mergedFormService;
 
@@ -97,19 +99,31 @@ public class MergedFormServiceImplTest {
 
   @Before
   public void before() {
-    mergedFormService =
-        new MergedFormServiceImpl(
-            healthCertificateService,
-            exaDocumentService,
+    final MergedFormSnapshotService mergedFormSnapshotService =
+        new MergedFormSnapshotService(
             formService,
             joinedFormQuestionDAO,
             formPageDAO,
             new MergedFormMapper(),
             customQuestionsService,
             customPagesService,
+            mergedFormURIBuilder);
+
+    mergedFormService =
+        new MergedFormServiceImpl(
+            healthCertificateService,
+            exaDocumentService,
+            formService,
+            mergedFormSnapshotCache,
             new ScopeQuestionsFilter(adminUserRole, caseworkerUserRole, questionScopeHelper),
             mergedFormURIBuilder);
 
+    when(mergedFormSnapshotCache.get(any(), any()))
+        .thenAnswer(
+            invocation ->
+                mergedFormSnapshotService.buildSnapshot(
+                    invocation.getArgument(0), invocation.getArgument(1)));
+
     when(formPageDAO.getFormPages(any(), any()))
         .thenReturn(ImmutableList.of(
             FormTestData.PERSISTENT_FORM_PAGE_1, FormTestData.PERSISTENT_FORM_PAGE_2));
@@ -268,6 +282,22 @@ public class MergedFormServiceImplTest {
     assertThat( mergedForm.getEhcMergedFormPageUris()).hasSize(3);
   }
 
+  @Test
+  public void mergeFormsReadsPagesAndQuestionsOncePerForm() {
+    setUpMocksForFormWithExaEhcAndCustomQuestions(WITH_EXA);
+    setUpMocksForASingularPage(WITH_EXA);
+    setUpMergedFormUris(WITH_EXA);
+
+    testMergedForm();
+
+    verify(formPageDAO)
+        .getFormPages(MergedFormServiceTestData.EXA.getName(), MergedFormServiceTestData.EXA.getVersion());
+    verify(formPageDAO).getFormPages(EHC.getName(), EHC.getVersion());
+    verify(joinedFormQuestionDAO)
+        .get(MergedFormServiceTestData.EXA.getName(), MergedFormServiceTestData.EXA.getVersion());
+    verify(joinedFormQuestionDAO).get(EHC.getName(), EHC.getVersion());
+  }
+
   private MergedForm testMergedForm() {
     final MergedForm mergedForm =
         mergedFormService.getMergedForm(
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableList;
 import io.dropwizard.util.Duration;
 import java.util.Collections;
@@ -23,21 +24,22 @@ import org.mockito.junit.MockitoJUnitRunner;
 import uk.gov.defra.plants.common.configuration.CacheConfiguration;
 import uk.gov.defra.plants.common.redis.Redis;
 import uk.gov.defra.plants.formconfiguration.FormConfigurationServiceConfiguration;
+import uk.gov.defra.plants.formconfiguration.MergedFormNearCacheConfiguration;
 import uk.gov.defra.plants.formconfiguration.dao.HealthCertificateDAO;
 import uk.gov.defra.plants.formconfiguration.model.PersistentHealthCertificate;
 import uk.gov.defra.plants.formconfiguration.model.PersistentHealthCertificateData;
 import uk.gov.defra.plants.formconfiguration.representation.AvailabilityStatus;
 import uk.gov.defra.plants.formconfiguration.representation.healthcertificate.EhcSearchParameters;
+import uk.gov.defra.plants.formconfiguration.service.MergedFormSnapshotService;
 import uk.gov.defra.plants.formconfiguration.service.cache.ActiveMergedFormCacheFactory;
-import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormCommonAndCertPagesCacheFactory;
-import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormPagesCacheFactory;
 import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormServiceCacheInvalidator;
-import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormsCacheFactory;
+import uk.gov.defra.plants.formconfiguration.service.cache.MergedFormSnapshotCacheFactory;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MergedFormServiceCacheInvalidatorTest {
   @Mock private Jdbi jdbi;
   @Mock private HealthCertificateDAO dao;
+  @Mock private MergedFormSnapshotService snapshotService;
 
   private MergedFormServiceCacheInvalidator cacheInvalidator;
 
@@ -55,16 +57,17 @@ public class MergedFormServiceCacheInvalidatorTest {
     final FormConfigurationServiceConfiguration configuration =
         FormConfigurationServiceConfiguration.builder()
             .activeMergedFormsCache(cacheConfiguration.build())
-            .mergedFormsCache(cacheConfiguration.build())
-            .mergedFormPagesCache(cacheConfiguration.build())
+            .mergedFormSnapshotsCache(cacheConfiguration.build())
             .build();
 
     cacheInvalidator =
         new MergedFormServiceCacheInvalidator(
             new ActiveMergedFormCacheFactory(redis, configuration).provide(),
-            new MergedFormsCacheFactory(redis, configuration).provide(),
-            new MergedFormPagesCacheFactory(redis, configuration).provide(),
-            new MergedFormCommonAndCertPagesCacheFactory(redis, configuration).provide(),
+            new MergedFormSnapshotCache(
+                MergedFormNearCacheConfiguration.builder().build(),
+                new MergedFormSnapshotCacheFactory(redis, configuration).provide(),
+                snapshotService,
+                new MetricRegistry()),
             jdbi);
 
     when(redis.getManagedRedis().getEnvPrefix()).thenReturn("unit");
@@ -113,10 +116,9 @@ public class MergedFormServiceCacheInvalidatorTest {
   public void testInvalidateHealthCertificate() {
     cacheInvalidator.invalidateHealthCertificate("EXA7890", "EHC1234");
 
-    verify(redis, times(4)).deleteKeysMatching(stringCaptor.capture());
+    verify(redis, times(2)).deleteKeysMatching(stringCaptor.capture());
     assertThat(stringCaptor.getAllValues())
-        .containsExactly(
-            "unit_amf_EHC1234_*", "unit_mf_EXA7890_EHC1234_*", "unit_mfps_EXA7890_EHC1234_*",  "unit_mfcacps_EXA7890_EHC1234_*");
+        .containsExactly("unit_amf_EHC1234_*", "unit_mfsnap_EXA7890_EHC1234_*");
   }
 
   private PersistentHealthCertificate createPersistentHealthCertificate(final String ehcNumber) {
@@ -0,0 +1,129 @@
+package uk.gov.defra.plants.formconfiguration.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.defra.plants.formconfiguration.representation.form.FormStatus.DRAFT;
+import static uk.gov.defra.plants.formconfiguration.service.MergedFormServiceTestData.EHC;
+import static uk.gov.defra.plants.formconfiguration.service.MergedFormServiceTestData.EXA;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import java.util.concurrent.Callable;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.gov.defra.plants.formconfiguration.MergedFormNearCacheConfiguration;
+import uk.gov.defra.plants.formconfiguration.model.MergedFormCacheKey;
+import uk.gov.defra.plants.formconfiguration.model.MergedFormSnapshot;
+import uk.gov.defra.plants.formconfiguration.representation.mergedform.MergedForm;
+import uk.gov.defra.plants.formconfiguration.service.MergedFormSnapshotService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MergedFormSnapshotCacheTest {
+
+  private static final MergedFormCacheKey KEY =
+      MergedFormCacheKey.builder()
+          .ehcNumber("ehcName")
+          .ehcVersion("1.0")
+          .exaNumber("exaName")
+          .exaVersion("2.0")
+          .build();
+
+  private static final MergedFormSnapshot SNAPSHOT =
+      MergedFormSnapshot.builder().mergedForm(MergedForm.builder().ehc(EHC).exa(EXA).build()).build();
+
+  private static final MergedFormSnapshot DRAFT_SNAPSHOT =
+      MergedFormSnapshot.builder()
+          .mergedForm(MergedForm.builder().ehc(EHC).exa(EXA).ehcFormStatus(DRAFT).build())
+          .build();
+
+  @Mock private Cache<MergedFormCacheKey, MergedFormSnapshot> cache;
+  @Mock private MergedFormSnapshotService snapshotService;
+
+  @Captor private ArgumentCaptor<Callable<MergedFormSnapshot>> loaderCaptor;
+
+  private MergedFormSnapshotCache snapshotCache;
+
+  @Before
+  public void before() {
+    snapshotCache =
+        new MergedFormSnapshotCache(
+            MergedFormNearCacheConfiguration.builder().build(),
+            cache,
+            snapshotService,
+            new MetricRegistry());
+  }
+
+  @Test
+  public void getBuildsSnapshotOnMiss() throws Exception {
+    when(cache.get(eq(KEY), any())).thenReturn(SNAPSHOT);
+    when(snapshotService.buildSnapshot(EHC, EXA)).thenReturn(SNAPSHOT);
+
+    assertThat(snapshotCache.get(EHC, EXA)).isEqualTo(SNAPSHOT);
+
+    verify(cache).get(eq(KEY), loaderCaptor.capture());
+    assertThat(loaderCaptor.getValue().call()).isEqualTo(SNAPSHOT);
+  }
+
+  @Test
+  public void publishStoresFreshSnapshot() {
+    when(snapshotService.buildSnapshot(EHC, EXA)).thenReturn(SNAPSHOT);
+
+    snapshotCache.publish(EHC, EXA);
+
+    verify(cache).put(KEY, SNAPSHOT);
+  }
+
+  @Test
+  public void getServesSnapshotFromLocalCacheAfterFirstRead() {
+    when(cache.get(eq(KEY), any())).thenReturn(SNAPSHOT);
+
+    snapshotCache.get(EHC, EXA);
+
+    assertThat(snapshotCache.get(EHC, EXA)).isSameAs(SNAPSHOT);
+    verify(cache, times(1)).get(eq(KEY), any());
+  }
+
+  @Test
+  public void getDoesNotHoldDraftsLocally() {
+    when(cache.get(eq(KEY), any())).thenReturn(DRAFT_SNAPSHOT);
+
+    snapshotCache.get(EHC, EXA);
+    snapshotCache.get(EHC, EXA);
+
+    verify(cache, times(2)).get(eq(KEY), any());
+  }
+
+  @Test
+  public void publishServesFreshSnapshotFromLocalCache() {
+    when(snapshotService.buildSnapshot(EHC, EXA)).thenReturn(SNAPSHOT);
+
+    snapshotCache.publish(EHC, EXA);
+
+    assertThat(snapshotCache.get(EHC, EXA)).isSameAs(SNAPSHOT);
+    verify(cache, never()).get(eq(KEY), any());
+  }
+
+  @Test
+  public void invalidateDropsLocalAndSharedSnapshots() {
+    when(snapshotService.buildSnapshot(EHC, EXA)).thenReturn(SNAPSHOT);
+    when(cache.get(eq(KEY), any())).thenReturn(SNAPSHOT);
+    snapshotCache.publish(EHC, EXA);
+
+    snapshotCache.invalidate("exaName", "ehcName");
+    snapshotCache.get(EHC, EXA);
+
+    verify(cache)
+        .invalidate(MergedFormCacheKey.builder().exaNumber("exaName").ehcNumber("ehcName").build());
+    verify(cache).get(eq(KEY), any());
+  }
+}
@@ -2,6 +2,8 @@ package uk.gov.defra.plants.formconfiguration.service.filters;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.defra.plants.common.constants.PageType.SINGULAR;
 
@@ -83,6 +85,18 @@ public class ScopedQuestionsFilterTest {
                   .build())
           .build();
 
+  private final MergedFormPage PAGE_FOR_CERTIFIER =
+      MergedFormPage.builder()
+          .pageOccurrences(1)
+          .pageType(SINGULAR)
+          .pageNumber(4)
+          .question(
+              MergedFormQuestion.builder()
+                  .questionScope(QuestionScope.CERTIFIER)
+                  .questionOrder(4)
+                  .build())
+          .build();
+
   @Mock private QuestionScopeHelper questionScopeHelper;
 
   private ScopeQuestionsFilter scopedFilter;
@@ -147,4 +161,50 @@ public class ScopedQuestionsFilterTest {
         .first()
         .isEqualToComparingFieldByField(PAGE_FOR_APPLICANT);
   }
+
+  @Test
+  public void willResolveScopesForUserOncePerCall() {
+    when(questionScopeHelper.fromRole(exporterUserRole.getRoleId()))
+        .thenReturn(QuestionScope.APPLICANT);
+
+    assertThat(
+            scopedFilter.filterPagesByUser(
+                Arrays.asList(PAGE_FOR_CERTIFIER, PAGE_FOR_APPLICANT, PAGE_FOR_BOTH), APPLICANT))
+        .containsExactly(PAGE_FOR_APPLICANT, PAGE_FOR_BOTH);
+
+    verify(questionScopeHelper).fromRole(exporterUserRole.getRoleId());
+  }
+
+  @Test
+  public void willNotResolveScopesForAdminUser() {
+    assertThat(
+            scopedFilter.filterPagesByUser(
+                Arrays.asList(PAGE_FOR_CERTIFIER, PAGE_FOR_APPLICANT), ADMIN))
+        .containsExactly(PAGE_FOR_APPLICANT, PAGE_FOR_CERTIFIER);
+
+    verifyZeroInteractions(questionScopeHelper);
+  }
+
+  @Test
+  public void willIgnoreRolesThatHaveNoQuestionScope() {
+    final UserQuestionContext applicantWithOtherRole =
+        new UserQuestionContext(
+            User.builder()
+                .name("applicant")
+                .role(exporterUserRole.getRoleId())
+                .role("some-other-role")
+                .token("token")
+                .userId(UUID.randomUUID())
+                .build(),
+            false);
+    when(questionScopeHelper.fromRole(exporterUserRole.getRoleId()))
+        .thenReturn(QuestionScope.APPLICANT);
+    when(questionScopeHelper.fromRole("some-other-role"))
+        .thenThrow(new IllegalArgumentException("Unknown role 'some-other-role'."));
+
+    assertThat(
+            scopedFilter.filterPagesByUser(
+                Arrays.asList(PAGE_FOR_CERTIFIER, PAGE_FOR_APPLICANT), applicantWithOtherRole))
+        .containsExactly(PAGE_FOR_APPLICANT);
+  }
 }